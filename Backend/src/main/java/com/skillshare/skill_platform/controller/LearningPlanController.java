@@ -2,11 +2,19 @@ package com.skillshare.skill_platform.controller;
 
 import com.skillshare.skill_platform.dto.LearningPlanRQ;
 import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.PlanFollowRQ;
+import com.skillshare.skill_platform.dto.PlanProgressResponse;
+import com.skillshare.skill_platform.dto.SimilarPlanResponse;
+import com.skillshare.skill_platform.dto.TopicUpdateResponse;
+import com.skillshare.skill_platform.dto.UserProgressResponse;
 import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Resource;
+import com.skillshare.skill_platform.entity.Topic;
 import com.skillshare.skill_platform.exception.ResourceNotFoundException;
 import com.skillshare.skill_platform.service.LearningPlanService;
 import java.util.List;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -32,10 +40,11 @@ public class LearningPlanController {
   }
 
   @GetMapping("/learning-plans")
-  public ResponseEntity<List<LearningPlanResponse>> getAllLearningPlans() {
+  public ResponseEntity<List<LearningPlanResponse>> getAllLearningPlans(
+      @RequestParam(value = "viewerId", required = false) String viewerId) {
     try {
       System.out.println("Fetching all learning plans");
-      List<LearningPlanResponse> result = learningPlanService.getAll();
+      List<LearningPlanResponse> result = learningPlanService.getAll(viewerId);
       System.out.println("Retrieved " + result.size() + " learning plans");
       return ResponseEntity.ok(result);
     } catch (Exception e) {
@@ -47,13 +56,14 @@ public class LearningPlanController {
   
   @GetMapping("/learning-plans/user")
   public ResponseEntity<List<LearningPlanResponse>> getLearningPlansByUserId(
-      @RequestParam(value = "userId", required = true) String userId) {
+      @RequestParam(value = "userId", required = true) String userId,
+      @RequestParam(value = "viewerId", required = false) String viewerId) {
     try {
       if (userId == null || userId.isEmpty()) {
         return ResponseEntity.badRequest().build();
       }
       System.out.println("Fetching learning plans for user: " + userId);
-      List<LearningPlanResponse> result = learningPlanService.getById(userId);
+      List<LearningPlanResponse> result = learningPlanService.getById(userId, viewerId);
       System.out.println("Retrieved " + result.size() + " learning plans for user: " + userId);
       return ResponseEntity.ok(result);
     } catch (ResourceNotFoundException e) {
@@ -66,12 +76,44 @@ public class LearningPlanController {
     }
   }
 
+  /**
+   * Plans the user follows, most recently followed first. Pass the id of the last plan of a page
+   * as {@code before} to get the next one.
+   */
+  @GetMapping("/learning-plans/following")
+  public ResponseEntity<List<LearningPlanResponse>> getFollowedPlans(
+      @RequestParam(value = "userId") String userId,
+      @RequestParam(value = "before", required = false) String before,
+      @RequestParam(value = "limit", required = false, defaultValue = "20") Integer limit) {
+    return ResponseEntity.ok(learningPlanService.getFollowedPlans(userId, before, limit));
+  }
+
+  @GetMapping("/learning-plans/progress")
+  public ResponseEntity<UserProgressResponse> getUserProgress(
+      @RequestParam(value = "userId") String userId) {
+    return ResponseEntity.ok(learningPlanService.getUserProgress(userId));
+  }
+
+  @GetMapping("/learning-plans/{learning-plan-id}/progress")
+  public ResponseEntity<PlanProgressResponse> getPlanProgress(
+      @PathVariable("learning-plan-id") String learningPlanId) {
+    return ResponseEntity.ok(learningPlanService.getPlanProgress(learningPlanId));
+  }
+
+  @GetMapping("/learning-plans/{learning-plan-id}/similar")
+  public ResponseEntity<List<SimilarPlanResponse>> getSimilarPlans(
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @RequestParam(value = "limit", required = false, defaultValue = "5") Integer limit) {
+    return ResponseEntity.ok(learningPlanService.getSimilarPlans(learningPlanId, limit));
+  }
+
   @GetMapping("/learning-plans/{learning-plan-id}")
   public ResponseEntity<LearningPlanResponse> getLearningPlanById(
-      @PathVariable("learning-plan-id") String learningPlanId) {
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @RequestParam(value = "viewerId", required = false) String viewerId) {
     try {
       System.out.println("Fetching learning plan with ID: " + learningPlanId);
-      LearningPlanResponse response = learningPlanService.getByPlanId(learningPlanId);
+      LearningPlanResponse response = learningPlanService.getByPlanId(learningPlanId, viewerId);
       System.out.println("Successfully retrieved learning plan: " + response.getTitle());
       return ResponseEntity.ok(response);
     } catch (ResourceNotFoundException e) {
@@ -101,14 +143,67 @@ public class LearningPlanController {
   @PostMapping("/learning-plans/{learning-plan-id}/follow")
   public ResponseEntity<LearningPlanResponse> followPlan(
       @PathVariable("learning-plan-id") String learningPlanId,
-      @RequestBody String userId) {
-    return ResponseEntity.ok(learningPlanService.followPlan(learningPlanId, userId));
+      @RequestBody PlanFollowRQ rq) {
+    return ResponseEntity.ok(learningPlanService.followPlan(learningPlanId, rq.getUserId()));
   }
   
   @PostMapping("/learning-plans/{learning-plan-id}/unfollow")
   public ResponseEntity<LearningPlanResponse> unfollowPlan(
       @PathVariable("learning-plan-id") String learningPlanId,
-      @RequestBody String userId) {
-    return ResponseEntity.ok(learningPlanService.unfollowPlan(learningPlanId, userId));
+      @RequestBody PlanFollowRQ rq) {
+    return ResponseEntity.ok(learningPlanService.unfollowPlan(learningPlanId, rq.getUserId()));
+  }
+
+  @PostMapping("/learning-plans/{learning-plan-id}/topics/{topic-id}/toggle-completion")
+  public ResponseEntity<TopicUpdateResponse> updateTopicCompletion(
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @PathVariable("topic-id") String topicId,
+      @RequestParam(value = "completed") boolean completed) {
+    return ResponseEntity.ok(learningPlanService.updateTopicCompletion(learningPlanId, topicId, completed));
+  }
+
+  @PostMapping("/learning-plans/{learning-plan-id}/topics")
+  public ResponseEntity<Topic> addTopic(
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @RequestBody Topic topic) {
+    try {
+      return ResponseEntity.ok(learningPlanService.addTopic(learningPlanId, topic));
+    } catch (IllegalArgumentException e) {
+      System.err.println("Cannot add topic: " + e.getMessage());
+      return ResponseEntity.badRequest().build();
+    }
+  }
+
+  @DeleteMapping("/learning-plans/{learning-plan-id}/topics/{topic-id}")
+  public ResponseEntity<Void> removeTopic(
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @PathVariable("topic-id") String topicId) {
+    learningPlanService.removeTopic(learningPlanId, topicId);
+    return ResponseEntity.noContent().build();
+  }
+
+  /**
+   * Takes every topic id of the plan in the new order.
+   */
+  @PutMapping("/learning-plans/{learning-plan-id}/topics/order")
+  public ResponseEntity<List<String>> reorderTopics(
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @RequestBody List<String> topicIds) {
+    try {
+      return ResponseEntity.ok(learningPlanService.reorderTopics(learningPlanId, topicIds));
+    } catch (IllegalArgumentException e) {
+      System.err.println("Cannot reorder topics: " + e.getMessage());
+      return ResponseEntity.badRequest().build();
+    } catch (IllegalStateException e) {
+      System.err.println("Cannot reorder topics: " + e.getMessage());
+      return ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+  }
+
+  @PostMapping("/learning-plans/{learning-plan-id}/resources")
+  public ResponseEntity<Resource> addResource(
+      @PathVariable("learning-plan-id") String learningPlanId,
+      @RequestBody Resource resource) {
+    return ResponseEntity.ok(learningPlanService.addResource(learningPlanId, resource));
   }
 }
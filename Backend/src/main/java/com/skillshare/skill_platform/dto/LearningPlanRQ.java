@@ -5,9 +5,14 @@ import com.skillshare.skill_platform.entity.Topic;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.Data;
 
+/**
+ * Clients may still send the per-viewer {@code following} flag they were served; it is ignored.
+ */
 @Data
+@JsonIgnoreProperties("following")
 public class LearningPlanRQ {
 
   private String id;
@@ -20,5 +25,4 @@ public class LearningPlanRQ {
   private Integer estimatedDays;
   private Integer followers;
   private String userId;
-  private Boolean following;
 }
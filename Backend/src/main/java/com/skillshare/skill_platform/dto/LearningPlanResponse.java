@@ -25,6 +25,9 @@ public class LearningPlanResponse {
   private Integer estimatedDays;
   private Integer followers;
   private String userId;
+  /**
+   * Whether the viewer the response was built for follows the plan.
+   */
   private Boolean following;
   private Integer completionPercentage;
   private UserDTO user;
@@ -0,0 +1,9 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.Data;
+
+@Data
+public class PlanFollowRQ {
+
+  private String userId;
+}
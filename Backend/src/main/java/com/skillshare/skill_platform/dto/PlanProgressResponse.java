@@ -0,0 +1,21 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Topic counts and completion of one learning plan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlanProgressResponse {
+
+  private String planId;
+  private Integer totalTopics;
+  private Integer completedTopics;
+  private Integer completionPercentage;
+}
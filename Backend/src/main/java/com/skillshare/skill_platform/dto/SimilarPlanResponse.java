@@ -0,0 +1,21 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A learning plan similar to another one, with the cosine similarity of their TF-IDF vectors.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarPlanResponse {
+
+  private String id;
+  private String title;
+  private String subject;
+  private Double similarity;
+}
@@ -0,0 +1,23 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The state of one topic after it was marked, and the resulting completion of its plan.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopicUpdateResponse {
+
+  private String planId;
+  private String topicId;
+  private Boolean completed;
+  private Integer totalTopics;
+  private Integer completedTopics;
+  private Integer completionPercentage;
+}
@@ -0,0 +1,24 @@
+package com.skillshare.skill_platform.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a user over all their learning plans. A plan counts as completed once all of its
+ * topics are.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserProgressResponse {
+
+  private String userId;
+  private Integer plans;
+  private Integer completedPlans;
+  private Integer totalTopics;
+  private Integer completedTopics;
+  private Integer completionPercentage;
+}
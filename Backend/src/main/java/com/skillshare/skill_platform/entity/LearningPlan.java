@@ -22,17 +22,32 @@ public class LearningPlan {
   private Integer estimatedDays;
   private Integer followers;
   private String userId;
-  private Boolean following;
   
+  /**
+   * Kept in step with the topics by every update that changes them, so progress is read without
+   * looking at the topics.
+   */
+  private Integer totalTopics;
+  private Integer completedTopics;
+
   public int getCompletionPercentage() {
-    if (topics == null || topics.isEmpty()) {
+    if (totalTopics == null || totalTopics == 0 || completedTopics == null) {
+      return 0;
+    }
+    return (completedTopics * 100) / totalTopics;
+  }
+
+  public void recountTopics() {
+    totalTopics = topics == null ? 0 : topics.size();
+    completedTopics = countCompleted(topics);
+  }
+
+  public static int countCompleted(List<Topic> topics) {
+    if (topics == null) {
       return 0;
     }
-    
-    long completedCount = topics.stream()
+    return (int) topics.stream()
         .filter(topic -> topic.getStatus() == TopicStatus.COMPLETED)
         .count();
-        
-    return (int) ((completedCount * 100) / topics.size());
   }
 }
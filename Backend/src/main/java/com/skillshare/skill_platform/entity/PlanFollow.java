@@ -0,0 +1,27 @@
+package com.skillshare.skill_platform.entity;
+
+import java.time.LocalDateTime;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * A user following a learning plan. The unique index makes a repeated follow fail instead of
+ * counting twice; the second one serves a user's followed plans newest first.
+ */
+@Document(collection = "learning_plan_follows")
+@CompoundIndexes({
+    @CompoundIndex(name = "uk_learning_plan_follows_user_plan", def = "{'userId': 1, 'planId': 1}", unique = true),
+    @CompoundIndex(name = "idx_learning_plan_follows_user_id", def = "{'userId': 1, '_id': -1}")
+})
+@Data
+public class PlanFollow {
+
+  @Id
+  private String id;
+  private String userId;
+  private String planId;
+  private LocalDateTime createdAt;
+}
@@ -8,6 +8,10 @@ public class Topic {
   private String id;
   private String title;
   private TopicStatus status;
+  /**
+   * Set when the topics are reordered; the array itself is kept sorted by it.
+   */
+  private Integer position;
   
   public boolean isCompleted() {
     return status == TopicStatus.COMPLETED;
@@ -0,0 +1,10 @@
+package com.linkedin.backend.features.authentication.dto;
+
+import com.linkedin.backend.features.authentication.model.User;
+
+public record UserSummaryDto(Long id, String firstName, String lastName, String position, String profilePicture) {
+    public static UserSummaryDto of(User user) {
+        return new UserSummaryDto(user.getId(), user.getFirstName(), user.getLastName(), user.getPosition(),
+                user.getProfilePicture());
+    }
+}
@@ -0,0 +1,7 @@
+package com.linkedin.backend.features.authentication.event;
+
+/**
+ * Published inside the transaction that deletes the user.
+ */
+public record UserDeletedEvent(Long userId) {
+}
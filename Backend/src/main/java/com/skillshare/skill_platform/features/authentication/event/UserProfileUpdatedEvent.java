@@ -0,0 +1,8 @@
+package com.linkedin.backend.features.authentication.event;
+
+/**
+ * Published when a user's name, company, position or location changes, or their profile becomes
+ * complete or incomplete.
+ */
+public record UserProfileUpdatedEvent(Long userId) {
+}
@@ -9,13 +9,18 @@ import com.linkedin.backend.features.notifications.model.Notification;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Searchable;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
 import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity(name = "users")
+@Table(indexes = @Index(name = "idx_users_updated_at", columnList = "updatedAt, id"))
 @Indexed(index = "users")
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class User {
@@ -34,19 +39,25 @@ public class User {
     private String passwordResetToken = null;
     private LocalDateTime passwordResetTokenExpiryDate = null;
 
-    @FullTextField(analyzer = "standard")
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
+    @FullTextField(name = "firstName_autocomplete", analyzer = "autocomplete_indexing", searchAnalyzer = "autocomplete_query")
     private String firstName = null;
-    @FullTextField(analyzer = "standard")
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
+    @FullTextField(name = "lastName_autocomplete", analyzer = "autocomplete_indexing", searchAnalyzer = "autocomplete_query")
     private String lastName = null;
-    @FullTextField(analyzer = "standard")
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
     private String company = null;
-    @FullTextField(analyzer = "standard")
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
     private String position = null;
     private String location = null;
+    @GenericField(projectable = Projectable.YES, searchable = Searchable.NO)
     private String profilePicture = null;
     private String coverPicture = null;
     private Boolean profileComplete = false;
     private String about = null;
+    @JsonIgnore
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 
     @JsonIgnore
     @OneToMany(mappedBy = "recipient", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -1,9 +1,13 @@
 package com.linkedin.backend.features.authentication.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.linkedin.backend.features.authentication.model.User;
@@ -13,4 +17,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
 
     List<User> findAllByIdNot(Long id);
+
+    @Query("SELECT u FROM users u WHERE (u.updatedAt IS NULL OR u.updatedAt >= :since) AND u.id > :afterId ORDER BY u.id")
+    List<User> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Id, first name, last name, company and accepted connection count of every user.
+     */
+    @Query("""
+            SELECT u.id, u.firstName, u.lastName, u.company, COALESCE(c.acceptedCount, 0)
+            FROM users u LEFT JOIN connection_counters c ON c.userId = u.id""")
+    List<Object[]> findAutocompleteRows();
 }
@@ -9,6 +9,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -24,6 +25,8 @@ import org.springframework.web.multipart.MultipartFile;
 
 import com.linkedin.backend.features.authentication.dto.AuthenticationRequestBody;
 import com.linkedin.backend.features.authentication.dto.AuthenticationResponseBody;
+import com.linkedin.backend.features.authentication.event.UserDeletedEvent;
+import com.linkedin.backend.features.authentication.event.UserProfileUpdatedEvent;
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.authentication.repository.UserRepository;
 import com.linkedin.backend.features.authentication.utils.EmailService;
@@ -47,6 +50,7 @@ public class AuthenticationService {
     private final EmailService emailService;
     private final RestTemplate restTemplate;
     private final StorageService storageService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @PersistenceContext
     private EntityManager entityManager;
@@ -56,13 +60,14 @@ public class AuthenticationService {
     private String googleClientSecret;
 
     public AuthenticationService(UserRepository userRepository, Encoder encoder, JsonWebToken jsonWebToken,
-            EmailService emailService, RestTemplate restTemplate) {
+            EmailService emailService, RestTemplate restTemplate, ApplicationEventPublisher eventPublisher) {
         this.userRepository = userRepository;
         this.encoder = encoder;
         this.jsonWebToken = jsonWebToken;
         this.emailService = emailService;
         this.restTemplate = restTemplate;
         this.storageService = new StorageService();
+        this.eventPublisher = eventPublisher;
     }
 
     public static String generateEmailVerificationToken() {
@@ -206,7 +211,37 @@ public class AuthenticationService {
             entityManager.createNativeQuery("DELETE FROM posts_likes WHERE user_id = :userId")
                     .setParameter("userId", userId)
                     .executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM notifications_recent_actors WHERE user_id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM inbox_entries WHERE owner_id = :userId OR other_participant_id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("""
+                    DELETE FROM messages WHERE conversation_id IN
+                    (SELECT id FROM conversations WHERE author_id = :userId OR recipient_id = :userId)""")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("""
+                    DELETE FROM message_buckets WHERE conversation_id IN
+                    (SELECT id FROM conversations WHERE author_id = :userId OR recipient_id = :userId)""")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM connection_suggestions WHERE user_id = :userId OR suggested_user_id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            entityManager.createNativeQuery("DELETE FROM suggestion_states WHERE user_id = :userId")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
+            // Counters of the user's connections are rebuilt from the remaining rows on next use.
+            entityManager.createNativeQuery("""
+                    DELETE FROM connection_counters WHERE user_id = :userId
+                    OR user_id IN (SELECT author_id FROM connections WHERE recipient_id = :userId)
+                    OR user_id IN (SELECT recipient_id FROM connections WHERE author_id = :userId)""")
+                    .setParameter("userId", userId)
+                    .executeUpdate();
             entityManager.remove(user);
+            eventPublisher.publishEvent(new UserDeletedEvent(userId));
         }
     }
 
@@ -252,6 +287,12 @@ public class AuthenticationService {
 
     public User updateUserProfile(User user, String firstName, String lastName, String company,
             String position, String location, String about) {
+        boolean profileFieldsChanged = (firstName != null && !firstName.equals(user.getFirstName()))
+                || (lastName != null && !lastName.equals(user.getLastName()))
+                || (company != null && !company.equals(user.getCompany()))
+                || (position != null && !position.equals(user.getPosition()))
+                || (location != null && !location.equals(user.getLocation()));
+        Boolean wasComplete = user.getProfileComplete();
         if (firstName != null)
             user.setFirstName(firstName);
         if (lastName != null)
@@ -265,7 +306,11 @@ public class AuthenticationService {
         if (about != null)
             user.setAbout(about);
 
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        if (profileFieldsChanged || !savedUser.getProfileComplete().equals(wasComplete)) {
+            eventPublisher.publishEvent(new UserProfileUpdatedEvent(savedUser.getId()));
+        }
+        return savedUser;
     }
 
     public User updateProfilePicture(User user, MultipartFile profilePicture) throws IOException {
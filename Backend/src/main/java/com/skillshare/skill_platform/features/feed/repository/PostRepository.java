@@ -1,9 +1,13 @@
 package com.linkedin.backend.features.feed.repository;
 
 import com.linkedin.backend.features.feed.model.Post;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
@@ -14,4 +18,7 @@ public interface PostRepository extends JpaRepository<Post, Long> {
     List<Post> findAllByOrderByCreationDateDesc();
     
     List<Post> findByAuthorIdInOrderByCreationDateDesc(Set<Long> connectedUserIds);
+
+    @Query("SELECT p FROM posts p WHERE (p.updatedDate >= :since OR p.creationDate >= :since) AND p.id > :afterId ORDER BY p.id")
+    List<Post> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
 }
\ No newline at end of file
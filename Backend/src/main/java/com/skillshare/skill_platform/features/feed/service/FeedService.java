@@ -20,6 +20,8 @@ import com.linkedin.backend.features.networking.repository.ConnectionRepository;
 import com.linkedin.backend.features.notifications.service.NotificationService;
 import com.linkedin.backend.features.storage.service.StorageService;
 
+import jakarta.transaction.Transactional;
+
 @Service
 public class FeedService {
     private final PostRepository postRepository;
@@ -40,6 +42,7 @@ public class FeedService {
         this.storageService = storageService;
     }
 
+    @Transactional
     public Post createPost(MultipartFile picture, String content, Long id) throws Exception {
         User author = userRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("User not found"));
@@ -59,15 +62,16 @@ public class FeedService {
         }
         post.setLikes(new HashSet<>());
 
-        notificationService.sendNewPostNotificationToFeed(post);
-
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        notificationService.sendNewPostNotificationToFeed(savedPost);
+        return savedPost;
     }
 
     public Post getPost(Long postId) {
         return postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
     }
 
+    @Transactional
     public Post editPost(Long postId, Long id, MultipartFile picture, String content) throws Exception {
         Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
 
@@ -94,11 +98,12 @@ public class FeedService {
             }
         }
 
-        notificationService.sendEditNotificationToPost(postId, post);
-
-        return postRepository.save(post);
+        Post savedPost = postRepository.save(post);
+        notificationService.sendEditNotificationToPost(postId, savedPost);
+        return savedPost;
     }
 
+    @Transactional
     public void deletePost(Long postId, Long userId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
         User user = userRepository.findById(userId)
@@ -106,10 +111,11 @@ public class FeedService {
         if (!post.getAuthor().equals(user)) {
             throw new IllegalArgumentException("User is not the author of the post");
         }
-        notificationService.sendDeleteNotificationToPost(postId);
         postRepository.delete(post);
+        notificationService.sendDeleteNotificationToPost(postId);
     }
 
+    @Transactional
     public Post likePost(Long postId, Long userId) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
         User user = userRepository.findById(userId)
@@ -125,6 +131,7 @@ public class FeedService {
         return savedPost;
     }
 
+    @Transactional
     public Comment addComment(Long postId, Long userId, String content) {
         Post post = postRepository.findById(postId).orElseThrow(() -> new IllegalArgumentException("Post not found"));
         User user = userRepository.findById(userId)
@@ -135,6 +142,7 @@ public class FeedService {
         return comment;
     }
 
+    @Transactional
     public Comment editComment(Long commentId, Long userId, String newContent) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
@@ -149,6 +157,7 @@ public class FeedService {
         return savedComment;
     }
 
+    @Transactional
     public void deleteComment(Long commentId, Long userId) {
         Comment comment = commentRepository.findById(commentId)
                 .orElseThrow(() -> new IllegalArgumentException("Comment not found"));
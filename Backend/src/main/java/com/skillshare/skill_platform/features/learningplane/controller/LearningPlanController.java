@@ -26,7 +26,7 @@ public class LearningPlanController {
         try {
             List<LearningPlan> plans = learningPlanService.getAllLearningPlans(user, userId);
             // Convert to DTOs instead of initializing entities
-            List<LearningPlanDTO> dtoList = LearningPlanDTO.fromEntities(plans);
+            List<LearningPlanDTO> dtoList = learningPlanService.toDtos(plans, user);
             return ResponseEntity.ok(dtoList);
         } catch (Exception e) {
             e.printStackTrace();
@@ -34,6 +34,23 @@ public class LearningPlanController {
         }
     }
 
+    /**
+     * Plans the authenticated user follows, most recently followed first. Pass the id of the last
+     * plan of a page as {@code before} to get the next one.
+     */
+    @GetMapping("/following")
+    public ResponseEntity<List<LearningPlanDTO>> getFollowedPlans(
+            @RequestAttribute("authenticatedUser") User user,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        try {
+            return ResponseEntity.ok(learningPlanService.getFollowedPlans(user, before, limit));
+        } catch (Exception e) {
+            e.printStackTrace();
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LearningPlanDTO> getLearningPlanById(
             @PathVariable Long id,
@@ -42,7 +59,7 @@ public class LearningPlanController {
             return learningPlanService.getLearningPlanById(id, user)
                     .map(plan -> {
                         // Convert to DTO
-                        LearningPlanDTO dto = new LearningPlanDTO(plan);
+                        LearningPlanDTO dto = learningPlanService.toDto(plan, user);
                         return ResponseEntity.ok(dto);
                     })
                     .orElse(ResponseEntity.notFound().build());
@@ -75,7 +92,7 @@ public class LearningPlanController {
         try {
             LearningPlan updatedPlan = learningPlanService.updateLearningPlan(id, plan, user);
             // Convert to DTO
-            LearningPlanDTO dto = new LearningPlanDTO(updatedPlan);
+            LearningPlanDTO dto = learningPlanService.toDto(updatedPlan, user);
             return ResponseEntity.ok(dto);
         } catch (Exception e) {
             e.printStackTrace();
@@ -103,7 +120,7 @@ public class LearningPlanController {
         try {
             LearningPlan plan = learningPlanService.followPlan(id, user);
             // Convert to DTO
-            LearningPlanDTO dto = new LearningPlanDTO(plan);
+            LearningPlanDTO dto = new LearningPlanDTO(plan, true);
             return ResponseEntity.ok(dto);
         } catch (Exception e) {
             e.printStackTrace();
@@ -118,7 +135,7 @@ public class LearningPlanController {
         try {
             LearningPlan plan = learningPlanService.unfollowPlan(id, user);
             // Convert to DTO
-            LearningPlanDTO dto = new LearningPlanDTO(plan);
+            LearningPlanDTO dto = new LearningPlanDTO(plan, false);
             return ResponseEntity.ok(dto);
         } catch (Exception e) {
             e.printStackTrace();
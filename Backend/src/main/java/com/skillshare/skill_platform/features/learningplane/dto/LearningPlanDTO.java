@@ -6,6 +6,7 @@ import com.linkedin.backend.features.learningplane.model.Topic;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -16,6 +17,7 @@ public class LearningPlanDTO {
     private String title;
     private String description;
     private String subject;
+    private String difficulty;
     private double completionPercentage;
     private int estimatedDays;
     private int followers;
@@ -30,18 +32,26 @@ public class LearningPlanDTO {
     }
 
     /**
-     * Constructor to create a DTO from a LearningPlan entity
+     * Constructor to create a DTO from a LearningPlan entity the viewer does not follow
      */
     public LearningPlanDTO(LearningPlan plan) {
+        this(plan, false);
+    }
+
+    /**
+     * Constructor to create a DTO from a LearningPlan entity, with whether the viewer follows it
+     */
+    public LearningPlanDTO(LearningPlan plan, boolean following) {
         this.id = plan.getId();
         this.title = plan.getTitle();
         this.description = plan.getDescription();
         this.subject = plan.getSubject();
+        this.difficulty = plan.getDifficulty();
         this.completionPercentage = plan.getCompletionPercentage();
         this.estimatedDays = plan.getEstimatedDays();
         this.followers = plan.getFollowers();
         this.createdAt = plan.getCreatedAt();
-        this.following = plan.isFollowing();
+        this.following = following;
         
         if (plan.getUser() != null) {
             this.user = new UserSummaryDTO(plan.getUser());
@@ -68,6 +78,15 @@ public class LearningPlanDTO {
             .map(LearningPlanDTO::new)
             .collect(Collectors.toList());
     }
+
+    /**
+     * Convert a list of LearningPlan entities to DTOs, marking those in {@code followedPlanIds}
+     */
+    public static List<LearningPlanDTO> fromEntities(List<LearningPlan> plans, Set<Long> followedPlanIds) {
+        return plans.stream()
+            .map(plan -> new LearningPlanDTO(plan, followedPlanIds.contains(plan.getId())))
+            .collect(Collectors.toList());
+    }
     
     // Inner DTOs for related entities
     
@@ -183,6 +202,7 @@ public class LearningPlanDTO {
     public String getTitle() { return title; }
     public String getDescription() { return description; }
     public String getSubject() { return subject; }
+    public String getDifficulty() { return difficulty; }
     public double getCompletionPercentage() { return completionPercentage; }
     public int getEstimatedDays() { return estimatedDays; }
     public int getFollowers() { return followers; }
@@ -1,29 +1,54 @@
 package com.linkedin.backend.features.learningplane.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.List;
 import com.linkedin.backend.features.authentication.model.User;
+import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.search.engine.backend.types.Aggregable;
+import org.hibernate.search.engine.backend.types.Projectable;
+import org.hibernate.search.engine.backend.types.Sortable;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.GenericField;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.Indexed;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.IndexedEmbedded;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.KeywordField;
 
 @Entity
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler", "following"})
+@Table(indexes = @Index(name = "idx_learning_plan_updated_at", columnList = "updatedAt, id"))
+@Indexed(index = "learning_plans")
 public class LearningPlan {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
     private String title;
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
     private String description;
+    @FullTextField(analyzer = "standard", projectable = Projectable.YES)
+    @KeywordField(name = "subject_facet", normalizer = "lowercase", aggregable = Aggregable.YES)
     private String subject;
+    @KeywordField(normalizer = "lowercase", aggregable = Aggregable.YES, projectable = Projectable.YES)
+    private String difficulty;
     private double completionPercentage;
+    private int totalTopics;
+    private int completedTopics;
     private int estimatedDays;
+    @GenericField(projectable = Projectable.YES, sortable = Sortable.YES)
     private int followers;
+    @GenericField(projectable = Projectable.YES, sortable = Sortable.YES)
     private LocalDateTime createdAt;
-    private boolean following;
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
 
+    @IndexedEmbedded(includePaths = "title")
     @OneToMany(mappedBy = "learningPlan", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Topic> topics;
 
@@ -63,6 +88,14 @@ public class LearningPlan {
         this.subject = subject;
     }
 
+    public String getDifficulty() {
+        return difficulty;
+    }
+
+    public void setDifficulty(String difficulty) {
+        this.difficulty = difficulty;
+    }
+
     public double getCompletionPercentage() {
         return completionPercentage;
     }
@@ -71,6 +104,22 @@ public class LearningPlan {
         this.completionPercentage = completionPercentage;
     }
 
+    public int getTotalTopics() {
+        return totalTopics;
+    }
+
+    public void setTotalTopics(int totalTopics) {
+        this.totalTopics = totalTopics;
+    }
+
+    public int getCompletedTopics() {
+        return completedTopics;
+    }
+
+    public void setCompletedTopics(int completedTopics) {
+        this.completedTopics = completedTopics;
+    }
+
     public int getEstimatedDays() {
         return estimatedDays;
     }
@@ -95,12 +144,8 @@ public class LearningPlan {
         this.createdAt = createdAt;
     }
 
-    public boolean isFollowing() {
-        return following;
-    }
-
-    public void setFollowing(boolean following) {
-        this.following = following;
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
     }
 
     public User getUser() {
@@ -0,0 +1,50 @@
+package com.linkedin.backend.features.learningplane.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A user following a learning plan. The unique key makes a repeated follow fail instead of
+ * counting twice; the second index serves a user's followed plans newest first.
+ */
+@Entity
+@Table(name = "learning_plan_follows",
+        uniqueConstraints = @UniqueConstraint(name = "uk_learning_plan_follows_user_plan", columnNames = {"userId", "learningPlanId"}),
+        indexes = @Index(name = "idx_learning_plan_follows_user_id", columnList = "userId, id"))
+public class PlanFollow {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    private Long learningPlanId;
+
+    private LocalDateTime createdAt;
+
+    public PlanFollow() {
+    }
+
+    public PlanFollow(Long userId, Long learningPlanId) {
+        this.userId = userId;
+        this.learningPlanId = learningPlanId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getLearningPlanId() {
+        return learningPlanId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -1,6 +1,7 @@
 package com.linkedin.backend.features.learningplane.model;
 
 import jakarta.persistence.*;
+import org.hibernate.search.mapper.pojo.mapping.definition.annotation.FullTextField;
 
 @Entity
 public class Topic {
@@ -8,6 +9,7 @@ public class Topic {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @FullTextField(analyzer = "standard")
     private String title;
     private boolean completed;
 
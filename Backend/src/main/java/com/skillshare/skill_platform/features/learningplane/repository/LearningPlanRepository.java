@@ -2,10 +2,50 @@ package com.linkedin.backend.features.learningplane.repository;
 
 import com.linkedin.backend.features.learningplane.model.LearningPlan;
 import com.linkedin.backend.features.authentication.model.User;
+import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface LearningPlanRepository extends JpaRepository<LearningPlan, Long> {
     List<LearningPlan> findByUser(User user);
     List<LearningPlan> findByUserId(Long userId);
-} 
\ No newline at end of file
+
+    /**
+     * Locks the plan row until the transaction ends, so follows and edits of the same plan apply
+     * one after the other instead of overwriting each other's follower count.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM LearningPlan p WHERE p.id = :id")
+    Optional<LearningPlan> findByIdForUpdate(@Param("id") Long id);
+
+    @Query("SELECT p.id FROM LearningPlan p WHERE p.user.id = :userId")
+    List<Long> findIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.id, p.title, p.subject, p.followers FROM LearningPlan p")
+    List<Object[]> findAutocompleteRows();
+
+    @Query("SELECT p FROM LearningPlan p WHERE (p.updatedAt IS NULL OR p.updatedAt >= :since) AND p.id > :afterId ORDER BY p.id")
+    List<LearningPlan> findChangedSince(@Param("since") LocalDateTime since, @Param("afterId") Long afterId, Pageable pageable);
+
+    /**
+     * Counts the topics of plans stored before the counters were kept: plans with topics but a
+     * total of zero.
+     */
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE LearningPlan p
+            SET p.totalTopics = (SELECT COUNT(t) FROM Topic t WHERE t.learningPlan = p),
+            p.completedTopics = (SELECT COUNT(t) FROM Topic t WHERE t.learningPlan = p AND t.completed = true)
+            WHERE p.totalTopics = 0 AND EXISTS (SELECT t FROM Topic t WHERE t.learningPlan = p)""")
+    int countTopicsOfUncountedPlans();
+}
@@ -0,0 +1,36 @@
+package com.linkedin.backend.features.learningplane.repository;
+
+import com.linkedin.backend.features.learningplane.model.PlanFollow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+public interface PlanFollowRepository extends JpaRepository<PlanFollow, Long> {
+    boolean existsByUserIdAndLearningPlanId(Long userId, Long learningPlanId);
+
+    Optional<PlanFollow> findByUserIdAndLearningPlanId(Long userId, Long learningPlanId);
+
+    @Query("SELECT f.learningPlanId FROM PlanFollow f WHERE f.userId = :userId AND f.learningPlanId IN :planIds")
+    Set<Long> findFollowedPlanIds(@Param("userId") Long userId, @Param("planIds") Collection<Long> planIds);
+
+    @Query("SELECT f.learningPlanId FROM PlanFollow f WHERE f.userId = :userId ORDER BY f.id DESC")
+    List<Long> findFirstPlanIdsPage(@Param("userId") Long userId, Pageable pageable);
+
+    @Query("SELECT f.learningPlanId FROM PlanFollow f WHERE f.userId = :userId AND f.id < :id ORDER BY f.id DESC")
+    List<Long> findPlanIdsPageBefore(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PlanFollow f WHERE f.userId = :userId AND f.learningPlanId = :planId")
+    int deleteByUserIdAndPlanId(@Param("userId") Long userId, @Param("planId") Long planId);
+
+    @Modifying
+    @Query("DELETE FROM PlanFollow f WHERE f.learningPlanId = :planId")
+    int deleteByPlanId(@Param("planId") Long planId);
+}
@@ -70,11 +70,11 @@ public class LearningPlanGenerationService {
                            ? request.getDescription() 
                            : generateDescription(request.getSubject(), request.getDifficulty()));
         plan.setSubject(request.getSubject());
+        plan.setDifficulty(request.getDifficulty().toLowerCase());
         plan.setEstimatedDays(request.getEstimatedDays() != null ? request.getEstimatedDays() : 30);
         plan.setCreatedAt(LocalDateTime.now());
         plan.setCompletionPercentage(0.0);
         plan.setFollowers(0);
-        plan.setFollowing(false);
         
         // Create and save plan to get ID
         LearningPlan savedPlan = learningPlanService.createLearningPlan(plan, user);
@@ -82,6 +82,7 @@ public class LearningPlanGenerationService {
         // Generate topics
         List<Topic> topics = generateTopics(savedPlan, request.getSubject(), request.getDifficulty());
         savedPlan.setTopics(topics);
+        LearningPlanService.countTopics(savedPlan, topics);
         
         // Generate resources
         List<Resource> resources = generateResources(savedPlan, request.getSubject());
@@ -1,26 +1,49 @@
 package com.linkedin.backend.features.learningplane.service;
 
+import com.linkedin.backend.features.learningplane.dto.LearningPlanDTO;
 import com.linkedin.backend.features.learningplane.model.LearningPlan;
+import com.linkedin.backend.features.learningplane.model.PlanFollow;
 import com.linkedin.backend.features.learningplane.model.Topic;
 import com.linkedin.backend.features.learningplane.repository.LearningPlanRepository;
+import com.linkedin.backend.features.learningplane.repository.PlanFollowRepository;
 import com.linkedin.backend.features.learningplane.repository.TopicRepository;
 import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.search.service.AutocompleteService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class LearningPlanService {
+    private static final Logger log = LoggerFactory.getLogger(LearningPlanService.class);
+    public static final int MAX_PAGE_SIZE = 50;
+
     @Autowired
     private LearningPlanRepository learningPlanRepository;
     
     @Autowired
     private TopicRepository topicRepository;
 
+    @Autowired
+    private PlanFollowRepository planFollowRepository;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
     @Transactional(readOnly = true)
     public List<LearningPlan> getAllLearningPlans(User user, String userId) {
         if (userId != null && !userId.isEmpty()) {
@@ -39,12 +62,57 @@ public class LearningPlanService {
         return learningPlanRepository.findById(id);
     }
 
+    /**
+     * DTOs of {@code plans} as seen by {@code viewer}, resolving which of them the viewer follows
+     * with one query for the whole list.
+     */
+    @Transactional(readOnly = true)
+    public List<LearningPlanDTO> toDtos(List<LearningPlan> plans, User viewer) {
+        if (plans.isEmpty()) {
+            return List.of();
+        }
+        Set<Long> followed = planFollowRepository.findFollowedPlanIds(viewer.getId(),
+                plans.stream().map(LearningPlan::getId).toList());
+        return LearningPlanDTO.fromEntities(plans, followed);
+    }
+
+    @Transactional(readOnly = true)
+    public LearningPlanDTO toDto(LearningPlan plan, User viewer) {
+        return new LearningPlanDTO(plan, planFollowRepository.existsByUserIdAndLearningPlanId(viewer.getId(), plan.getId()));
+    }
+
+    /**
+     * Plans the user follows, most recently followed first. {@code before} is the id of the last
+     * plan of the previous page.
+     */
+    @Transactional(readOnly = true)
+    public List<LearningPlanDTO> getFollowedPlans(User user, Long before, int limit) {
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        List<Long> planIds;
+        if (before == null) {
+            planIds = planFollowRepository.findFirstPlanIdsPage(user.getId(), page);
+        } else {
+            PlanFollow cursor = planFollowRepository.findByUserIdAndLearningPlanId(user.getId(), before)
+                    .orElseThrow(() -> new IllegalArgumentException("Learning plan is not followed"));
+            planIds = planFollowRepository.findPlanIdsPageBefore(user.getId(), cursor.getId(), page);
+        }
+        Map<Long, LearningPlan> plans = learningPlanRepository.findAllById(planIds).stream()
+                .collect(Collectors.toMap(LearningPlan::getId, Function.identity()));
+        return planIds.stream()
+                .map(plans::get)
+                .filter(Objects::nonNull)
+                .map(plan -> new LearningPlanDTO(plan, true))
+                .toList();
+    }
+
     @Transactional
     public LearningPlan createLearningPlan(LearningPlan plan, User user) {
         plan.setUser(user);
         plan.setFollowers(0);
-        plan.setFollowing(false);
-        return learningPlanRepository.save(plan);
+        countTopics(plan, plan.getTopics());
+        LearningPlan savedPlan = learningPlanRepository.save(plan);
+        autocompleteService.planChangedAfterCommit(savedPlan);
+        return savedPlan;
     }
 
     @Transactional
@@ -52,49 +120,80 @@ public class LearningPlanService {
         learningPlanRepository.findById(id).ifPresent(plan -> {
             if (plan.getUser().getId().equals(user.getId())) {
                 learningPlanRepository.deleteById(id);
+                planFollowRepository.deleteByPlanId(id);
+                autocompleteService.planRemovedAfterCommit(id);
             }
         });
     }
 
+    /**
+     * Copies the fields the owner may edit onto the locked plan; fields missing from the request
+     * keep their value. Followers, progress, timestamps, topics and resources are not editable here.
+     */
     @Transactional
     public LearningPlan updateLearningPlan(Long id, LearningPlan updatedPlan, User user) {
-        return learningPlanRepository.findById(id)
+        return learningPlanRepository.findByIdForUpdate(id)
             .filter(plan -> plan.getUser().getId().equals(user.getId()))
             .map(plan -> {
-                updatedPlan.setId(id);
-                updatedPlan.setUser(user);
-                updatedPlan.setFollowers(plan.getFollowers());
-                updatedPlan.setFollowing(plan.isFollowing());
-                return learningPlanRepository.save(updatedPlan);
+                if (updatedPlan.getTitle() != null)
+                    plan.setTitle(updatedPlan.getTitle());
+                if (updatedPlan.getDescription() != null)
+                    plan.setDescription(updatedPlan.getDescription());
+                if (updatedPlan.getSubject() != null)
+                    plan.setSubject(updatedPlan.getSubject());
+                if (updatedPlan.getDifficulty() != null)
+                    plan.setDifficulty(updatedPlan.getDifficulty());
+                if (updatedPlan.getEstimatedDays() > 0)
+                    plan.setEstimatedDays(updatedPlan.getEstimatedDays());
+                autocompleteService.planChangedAfterCommit(plan);
+                return plan;
             })
             .orElseThrow();
     }
 
+    /**
+     * Records that {@code user} follows the plan and counts them once, however often they click.
+     * The plan row is locked, so concurrent follows each see the previous count.
+     */
     @Transactional
     public LearningPlan followPlan(Long id, User user) {
-        return learningPlanRepository.findById(id)
-            .map(plan -> {
-                plan.setFollowers(plan.getFollowers() + 1);
-                plan.setFollowing(true);
-                return learningPlanRepository.save(plan);
-            })
-            .orElseThrow();
+        LearningPlan plan = learningPlanRepository.findByIdForUpdate(id).orElseThrow();
+        if (!planFollowRepository.existsByUserIdAndLearningPlanId(user.getId(), id)) {
+            planFollowRepository.save(new PlanFollow(user.getId(), id));
+            plan.setFollowers(plan.getFollowers() + 1);
+            autocompleteService.planChangedAfterCommit(plan);
+        }
+        return plan;
     }
 
     @Transactional
     public LearningPlan unfollowPlan(Long id, User user) {
-        return learningPlanRepository.findById(id)
-            .map(plan -> {
-                plan.setFollowers(plan.getFollowers() - 1);
-                plan.setFollowing(false);
-                return learningPlanRepository.save(plan);
-            })
-            .orElseThrow();
+        LearningPlan plan = learningPlanRepository.findByIdForUpdate(id).orElseThrow();
+        if (planFollowRepository.deleteByUserIdAndPlanId(user.getId(), id) > 0) {
+            plan.setFollowers(Math.max(plan.getFollowers() - 1, 0));
+            autocompleteService.planChangedAfterCommit(plan);
+        }
+        return plan;
     }
-    
+
+    /**
+     * Counts the topics of plans created before the topic counters were kept.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void countTopicsOfUncountedPlans() {
+        int counted = learningPlanRepository.countTopicsOfUncountedPlans();
+        if (counted > 0) {
+            log.info("Counted topics of {} learning plans.", counted);
+        }
+    }
+
+    /**
+     * Flips the topic and moves the plan's completed count by one on the locked plan row, so the
+     * percentage is derived from the stored counts without loading the plan's topics.
+     */
     @Transactional
     public LearningPlan toggleTopicCompletion(Long planId, Long topicId, User user) {
-        LearningPlan plan = learningPlanRepository.findById(planId)
+        LearningPlan plan = learningPlanRepository.findByIdForUpdate(planId)
                 .orElseThrow(() -> new NoSuchElementException("Learning plan not found"));
         
         Topic topic = topicRepository.findById(topicId)
@@ -105,29 +204,27 @@ public class LearningPlanService {
             throw new IllegalArgumentException("Topic does not belong to the specified learning plan");
         }
         
-        // Toggle completion status
         topic.setCompleted(!topic.isCompleted());
-        topicRepository.save(topic);
-        
-        // Update completion percentage
+        int completed = plan.getCompletedTopics() + (topic.isCompleted() ? 1 : -1);
+        plan.setCompletedTopics(Math.max(0, Math.min(completed, plan.getTotalTopics())));
+        updatePlanCompletionPercentage(plan);
+        return plan;
+    }
+
+    /**
+     * Sets the plan's topic counts from {@code topics}, for a plan whose topics are being replaced.
+     */
+    static void countTopics(LearningPlan plan, List<Topic> topics) {
+        plan.setTotalTopics(topics == null ? 0 : topics.size());
+        plan.setCompletedTopics(topics == null ? 0 : (int) topics.stream().filter(Topic::isCompleted).count());
         updatePlanCompletionPercentage(plan);
-        
-        return learningPlanRepository.save(plan);
     }
     
-    private void updatePlanCompletionPercentage(LearningPlan plan) {
-        List<Topic> topics = plan.getTopics();
-        
-        if (topics == null || topics.isEmpty()) {
+    private static void updatePlanCompletionPercentage(LearningPlan plan) {
+        if (plan.getTotalTopics() == 0) {
             plan.setCompletionPercentage(0);
             return;
         }
-        
-        long completedCount = topics.stream()
-                .filter(Topic::isCompleted)
-                .count();
-        
-        double percentage = (double) completedCount / topics.size() * 100;
-        plan.setCompletionPercentage(percentage);
+        plan.setCompletionPercentage((double) plan.getCompletedTopics() / plan.getTotalTopics() * 100);
     }
-} 
\ No newline at end of file
+}
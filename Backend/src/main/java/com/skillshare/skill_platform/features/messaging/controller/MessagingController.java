@@ -2,6 +2,9 @@ package com.linkedin.backend.features.messaging.controller;
 
 import com.linkedin.backend.dto.Response;
 import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.messaging.dto.ConversationMessageDto;
+import com.linkedin.backend.features.messaging.dto.ConversationSummaryDto;
+import com.linkedin.backend.features.messaging.dto.MessageBucketDto;
 import com.linkedin.backend.features.messaging.dto.MessageDto;
 import com.linkedin.backend.features.messaging.model.Conversation;
 import com.linkedin.backend.features.messaging.model.Message;
@@ -20,8 +23,10 @@ public class MessagingController {
     }
 
     @GetMapping("/conversations")
-    public List<Conversation> getConversations(@RequestAttribute("authenticatedUser") User user) {
-        return messagingService.getConversationsOfUser(user);
+    public List<ConversationSummaryDto> getConversations(@RequestAttribute("authenticatedUser") User user,
+                                                         @RequestParam(required = false) Long before,
+                                                         @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        return messagingService.getConversationsOfUser(user, before, limit);
     }
 
     @GetMapping("/conversations/{conversationId}")
@@ -29,6 +34,40 @@ public class MessagingController {
         return messagingService.getConversation(user, conversationId);
     }
 
+    @GetMapping("/conversations/{conversationId}/messages")
+    public List<ConversationMessageDto> getMessages(@RequestAttribute("authenticatedUser") User user, @PathVariable Long conversationId,
+                                                    @RequestParam(required = false) Long before,
+                                                    @RequestParam(required = false, defaultValue = "30") Integer limit) {
+        return messagingService.getMessages(user, conversationId, before, limit);
+    }
+
+    @GetMapping("/conversations/{conversationId}/buckets")
+    public List<MessageBucketDto> getBuckets(@RequestAttribute("authenticatedUser") User user, @PathVariable Long conversationId,
+                                             @RequestParam(required = false) Integer before,
+                                             @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        return messagingService.getBuckets(user, conversationId, before, limit);
+    }
+
+    @GetMapping("/conversations/{conversationId}/buckets/{seq}/messages")
+    public List<ConversationMessageDto> getBucketMessages(@RequestAttribute("authenticatedUser") User user, @PathVariable Long conversationId,
+                                                          @PathVariable Integer seq) {
+        return messagingService.getBucketMessages(user, conversationId, seq);
+    }
+
+    @DeleteMapping("/conversations/{conversationId}/buckets")
+    public Response deleteBuckets(@RequestAttribute("authenticatedUser") User user, @PathVariable Long conversationId,
+                                  @RequestParam Integer upTo) {
+        messagingService.deleteBucketsUpTo(user, conversationId, upTo);
+        return new Response("Messages deleted");
+    }
+
+    @PutMapping("/conversations/{conversationId}/read")
+    public Response markConversationAsRead(@RequestAttribute("authenticatedUser") User user, @PathVariable Long conversationId,
+                                           @RequestParam Long upTo) {
+        messagingService.markConversationAsRead(user, conversationId, upTo);
+        return new Response("Conversation marked as read");
+    }
+
     @PostMapping("/conversations")
     public Conversation createConversationAndAddMessage(@RequestAttribute("authenticatedUser") User sender, @RequestBody MessageDto messageDto) {
         return messagingService.createConversationAndAddMessage(sender, messageDto.receiverId(), messageDto.content());
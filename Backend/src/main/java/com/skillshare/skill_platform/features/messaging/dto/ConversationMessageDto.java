@@ -0,0 +1,15 @@
+package com.linkedin.backend.features.messaging.dto;
+
+import com.linkedin.backend.features.messaging.model.Message;
+
+import java.time.LocalDateTime;
+
+public record ConversationMessageDto(Long id, Long conversationId, Long senderId, Long receiverId, String content,
+        Boolean isRead, LocalDateTime createdAt, Integer bucketSeq) {
+
+    public static ConversationMessageDto of(Message message) {
+        return new ConversationMessageDto(message.getId(), message.getConversation().getId(),
+                message.getSender().getId(), message.getReceiver().getId(), message.getContent(), message.getIsRead(),
+                message.getCreatedAt(), message.getBucketSeq());
+    }
+}
@@ -0,0 +1,16 @@
+package com.linkedin.backend.features.messaging.dto;
+
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
+import com.linkedin.backend.features.messaging.model.InboxEntry;
+
+import java.time.LocalDateTime;
+
+public record ConversationSummaryDto(Long conversationId, UserSummaryDto participant, Long lastMessageId,
+        String lastMessagePreview, Long lastMessageSenderId, LocalDateTime lastActivity, int unreadCount) {
+
+    public static ConversationSummaryDto of(InboxEntry entry) {
+        return new ConversationSummaryDto(entry.getConversationId(), UserSummaryDto.of(entry.getOtherParticipant()),
+                entry.getLastMessageId(), entry.getLastMessagePreview(), entry.getLastMessageSenderId(),
+                entry.getLastActivity(), entry.getUnreadCount());
+    }
+}
@@ -0,0 +1,15 @@
+package com.linkedin.backend.features.messaging.dto;
+
+import com.linkedin.backend.features.messaging.model.MessageBucket;
+
+import java.time.LocalDateTime;
+
+public record MessageBucketDto(int seq, int messageCount, Long firstMessageId, Long lastMessageId,
+        LocalDateTime firstMessageAt, LocalDateTime lastMessageAt, boolean archived) {
+
+    public static MessageBucketDto of(MessageBucket bucket) {
+        return new MessageBucketDto(bucket.getSeq(), bucket.getMessageCount(), bucket.getFirstMessageId(),
+                bucket.getLastMessageId(), bucket.getFirstMessageAt(), bucket.getLastMessageAt(),
+                bucket.isArchived());
+    }
+}
@@ -0,0 +1,4 @@
+package com.linkedin.backend.features.messaging.dto;
+
+public record ReadReceiptDto(Long conversationId, Long readerId, Long upToMessageId) {
+}
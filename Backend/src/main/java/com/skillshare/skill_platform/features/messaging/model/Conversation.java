@@ -1,19 +1,19 @@
 package com.linkedin.backend.features.messaging.model;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.linkedin.backend.features.authentication.model.User;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.ManyToOne;
-import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 
 @Entity(name = "conversations")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_conversations_participants", columnNames = {"participantLowId", "participantHighId"}))
 public class Conversation {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,8 +25,21 @@ public class Conversation {
     @ManyToOne(optional = false)
     private User recipient;
 
-    @OneToMany(mappedBy = "conversation", cascade = CascadeType.ALL, orphanRemoval = true)
-    private List<Message> messages = new ArrayList<>();
+    @JsonIgnore
+    private Long participantLowId;
+
+    @JsonIgnore
+    private Long participantHighId;
+
+    private Long authorLastReadMessageId;
+
+    private Long recipientLastReadMessageId;
+
+    @JsonIgnore
+    private Integer authorHiddenUpToSeq;
+
+    @JsonIgnore
+    private Integer recipientHiddenUpToSeq;
 
     public Conversation() {
     }
@@ -34,6 +47,13 @@ public class Conversation {
     public Conversation(User author, User recipient) {
         this.author = author;
         this.recipient = recipient;
+        assignParticipantPair();
+    }
+
+    @PrePersist
+    public void assignParticipantPair() {
+        this.participantLowId = Math.min(author.getId(), recipient.getId());
+        this.participantHighId = Math.max(author.getId(), recipient.getId());
     }
 
     public Long getId() {
@@ -60,11 +80,43 @@ public class Conversation {
         this.recipient = recipient;
     }
 
-    public List<Message> getMessages() {
-        return messages;
+    public Long getAuthorLastReadMessageId() {
+        return authorLastReadMessageId;
+    }
+
+    public void setAuthorLastReadMessageId(Long authorLastReadMessageId) {
+        this.authorLastReadMessageId = authorLastReadMessageId;
+    }
+
+    public Long getRecipientLastReadMessageId() {
+        return recipientLastReadMessageId;
+    }
+
+    public void setRecipientLastReadMessageId(Long recipientLastReadMessageId) {
+        this.recipientLastReadMessageId = recipientLastReadMessageId;
+    }
+
+    public Integer getAuthorHiddenUpToSeq() {
+        return authorHiddenUpToSeq;
+    }
+
+    public void setAuthorHiddenUpToSeq(Integer authorHiddenUpToSeq) {
+        this.authorHiddenUpToSeq = authorHiddenUpToSeq;
+    }
+
+    public Integer getRecipientHiddenUpToSeq() {
+        return recipientHiddenUpToSeq;
+    }
+
+    public void setRecipientHiddenUpToSeq(Integer recipientHiddenUpToSeq) {
+        this.recipientHiddenUpToSeq = recipientHiddenUpToSeq;
     }
 
-    public void setMessages(List<Message> messages) {
-        this.messages = messages;
+    /**
+     * The last bucket the user has deleted from their view of the conversation, or -1.
+     */
+    public int hiddenUpToSeqOf(Long userId) {
+        Integer hidden = author.getId().equals(userId) ? authorHiddenUpToSeq : recipientHiddenUpToSeq;
+        return hidden == null ? -1 : hidden;
     }
 }
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.linkedin.backend.features.messaging.model;
+
+import java.time.LocalDateTime;
+
+import com.linkedin.backend.features.authentication.model.User;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * One row per (user, conversation): the denormalized summary the inbox is rendered from, kept
+ * current as messages are sent and read so listing conversations never touches messages.
+ */
+@Entity(name = "inbox_entries")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_inbox_entries_owner_conversation", columnNames = {"owner_id", "conversationId"}),
+        indexes = @Index(name = "idx_inbox_entries_owner_activity", columnList = "owner_id, lastActivity, id"))
+public class InboxEntry {
+    public static final int PREVIEW_LENGTH = 100;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "owner_id")
+    private User owner;
+
+    private Long conversationId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "other_participant_id")
+    private User otherParticipant;
+
+    private Long lastMessageId;
+    private String lastMessagePreview;
+    private Long lastMessageSenderId;
+    private LocalDateTime lastActivity;
+    private int unreadCount;
+
+    public InboxEntry() {
+    }
+
+    public InboxEntry(User owner, Long conversationId, User otherParticipant) {
+        this.owner = owner;
+        this.conversationId = conversationId;
+        this.otherParticipant = otherParticipant;
+        this.lastActivity = LocalDateTime.now();
+    }
+
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        return content.substring(0, PREVIEW_LENGTH);
+    }
+
+    public void applyMessage(Message message) {
+        this.lastMessageId = message.getId();
+        this.lastMessagePreview = preview(message.getContent());
+        this.lastMessageSenderId = message.getSender().getId();
+        this.lastActivity = message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getOwner() {
+        return owner;
+    }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public User getOtherParticipant() {
+        return otherParticipant;
+    }
+
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public String getLastMessagePreview() {
+        return lastMessagePreview;
+    }
+
+    public Long getLastMessageSenderId() {
+        return lastMessageSenderId;
+    }
+
+    public LocalDateTime getLastActivity() {
+        return lastActivity;
+    }
+
+    public int getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(int unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
@@ -11,9 +11,15 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
 
 @Entity(name = "messages")
+@Table(indexes = {
+        @Index(name = "idx_messages_conversation_id", columnList = "conversation_id, id"),
+        @Index(name = "idx_messages_conversation_bucket", columnList = "conversation_id, bucketSeq, id")
+})
 public class Message {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -31,6 +37,7 @@ public class Message {
 
     private String content;
     private Boolean isRead = false;
+    private Integer bucketSeq;
 
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -46,6 +53,11 @@ public class Message {
         this.isRead = false;
     }
 
+    public Message(User sender, User receiver, Conversation conversation, String content, int bucketSeq) {
+        this(sender, receiver, conversation, content);
+        this.bucketSeq = bucketSeq;
+    }
+
     public void setId(Long id) {
         this.id = id;
     }
@@ -101,4 +113,12 @@ public class Message {
     public void setConversation(Conversation conversation) {
         this.conversation = conversation;
     }
+
+    public Integer getBucketSeq() {
+        return bucketSeq;
+    }
+
+    public void setBucketSeq(Integer bucketSeq) {
+        this.bucketSeq = bucketSeq;
+    }
 }
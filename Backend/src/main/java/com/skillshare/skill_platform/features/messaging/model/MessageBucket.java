@@ -0,0 +1,116 @@
+package com.linkedin.backend.features.messaging.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * A fixed-size slice of a conversation's history. Messages are appended to the tail bucket until
+ * it is full, so every read and write touches one bucket regardless of how long the conversation
+ * is, and older history can be dropped a bucket at a time. Once archived, a bucket's messages
+ * live in a segment file and the row keeps the pointer to them.
+ */
+@Entity(name = "message_buckets")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_message_buckets_conversation_seq", columnNames = {"conversationId", "seq"}))
+public class MessageBucket {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long conversationId;
+    private int seq;
+    private int messageCount;
+    private Long firstMessageId;
+    private Long lastMessageId;
+    private LocalDateTime firstMessageAt;
+    private LocalDateTime lastMessageAt;
+    private String segment;
+    private Long segmentOffset;
+    private Integer segmentLength;
+    private LocalDateTime archivedAt;
+
+    public MessageBucket() {
+    }
+
+    public MessageBucket(Long conversationId, int seq) {
+        this.conversationId = conversationId;
+        this.seq = seq;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getConversationId() {
+        return conversationId;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(int messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    public Long getFirstMessageId() {
+        return firstMessageId;
+    }
+
+    public void setFirstMessageId(Long firstMessageId) {
+        this.firstMessageId = firstMessageId;
+    }
+
+    public Long getLastMessageId() {
+        return lastMessageId;
+    }
+
+    public void setLastMessageId(Long lastMessageId) {
+        this.lastMessageId = lastMessageId;
+    }
+
+    public LocalDateTime getFirstMessageAt() {
+        return firstMessageAt;
+    }
+
+    public void setFirstMessageAt(LocalDateTime firstMessageAt) {
+        this.firstMessageAt = firstMessageAt;
+    }
+
+    public LocalDateTime getLastMessageAt() {
+        return lastMessageAt;
+    }
+
+    public void setLastMessageAt(LocalDateTime lastMessageAt) {
+        this.lastMessageAt = lastMessageAt;
+    }
+
+    public boolean isArchived() {
+        return segment != null;
+    }
+
+    public String getSegment() {
+        return segment;
+    }
+
+    public Long getSegmentOffset() {
+        return segmentOffset;
+    }
+
+    public Integer getSegmentLength() {
+        return segmentLength;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
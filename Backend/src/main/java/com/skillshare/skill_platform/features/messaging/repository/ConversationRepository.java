@@ -2,15 +2,120 @@ package com.linkedin.backend.features.messaging.repository;
 
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.messaging.model.Conversation;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ConversationRepository extends JpaRepository<Conversation, Long> {
-    Optional<Conversation> findByAuthorAndRecipient(User author, User recipient);
-
     List<Conversation> findByAuthorOrRecipient(User userOne, User userTwo);
-}
\ No newline at end of file
+
+    Optional<Conversation> findByParticipantLowIdAndParticipantHighId(Long participantLowId, Long participantHighId);
+
+    default Optional<Conversation> findByParticipants(Long userOneId, Long userTwoId) {
+        return findByParticipantLowIdAndParticipantHighId(Math.min(userOneId, userTwoId), Math.max(userOneId, userTwoId));
+    }
+
+    /**
+     * Creates the conversation of the pair unless one exists. A duplicate pair is ignored instead
+     * of failing, so the caller's transaction stays usable; a pair inserted by a transaction that
+     * has not committed yet blocks this insert until it ends.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO conversations (author_id, recipient_id, participant_low_id, participant_high_id)
+            VALUES (:authorId, :recipientId, LEAST(:authorId, :recipientId), GREATEST(:authorId, :recipientId))""",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("authorId") Long authorId, @Param("recipientId") Long recipientId);
+
+    /**
+     * Locking read, so it sees a conversation committed after the calling transaction's snapshot.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM conversations c WHERE c.participantLowId = :lowId AND c.participantHighId = :highId")
+    Optional<Conversation> findCurrentByParticipantPair(@Param("lowId") Long lowId, @Param("highId") Long highId);
+
+    default Optional<Conversation> findCurrentByParticipants(Long userOneId, Long userTwoId) {
+        return findCurrentByParticipantPair(Math.min(userOneId, userTwoId), Math.max(userOneId, userTwoId));
+    }
+
+    /**
+     * Conversations that share their two participants with another conversation, oldest first.
+     * Only conversations started before participant pairs were unique can match.
+     */
+    @Query("""
+            SELECT c FROM conversations c WHERE EXISTS (SELECT o.id FROM conversations o WHERE o.id <> c.id
+            AND ((o.author.id = c.author.id AND o.recipient.id = c.recipient.id)
+                OR (o.author.id = c.recipient.id AND o.recipient.id = c.author.id)))
+            ORDER BY c.id""")
+    List<Conversation> findWithDuplicatePair();
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE conversations c
+            SET c.participantLowId = CASE WHEN c.author.id < c.recipient.id THEN c.author.id ELSE c.recipient.id END,
+            c.participantHighId = CASE WHEN c.author.id < c.recipient.id THEN c.recipient.id ELSE c.author.id END
+            WHERE c.participantLowId IS NULL""")
+    int backfillParticipantPairs();
+
+    /**
+     * Advances the author's read watermark to {@code upToMessageId}, clamped to the conversation's
+     * newest message so an id from the future cannot pre-mark messages that are not sent yet.
+     */
+    @Modifying
+    @Query("""
+            UPDATE conversations c SET c.authorLastReadMessageId = least(:upToMessageId,
+                (SELECT MAX(m.id) FROM messages m WHERE m.conversation.id = :conversationId))
+            WHERE c.id = :conversationId AND (c.authorLastReadMessageId IS NULL OR c.authorLastReadMessageId < least(:upToMessageId,
+                (SELECT MAX(m.id) FROM messages m WHERE m.conversation.id = :conversationId)))""")
+    int advanceAuthorReadWatermark(@Param("conversationId") Long conversationId,
+            @Param("upToMessageId") Long upToMessageId);
+
+    /**
+     * Same as {@link #advanceAuthorReadWatermark} for the recipient.
+     */
+    @Modifying
+    @Query("""
+            UPDATE conversations c SET c.recipientLastReadMessageId = least(:upToMessageId,
+                (SELECT MAX(m.id) FROM messages m WHERE m.conversation.id = :conversationId))
+            WHERE c.id = :conversationId AND (c.recipientLastReadMessageId IS NULL OR c.recipientLastReadMessageId < least(:upToMessageId,
+                (SELECT MAX(m.id) FROM messages m WHERE m.conversation.id = :conversationId)))""")
+    int advanceRecipientReadWatermark(@Param("conversationId") Long conversationId,
+            @Param("upToMessageId") Long upToMessageId);
+
+    @Query("""
+            SELECT CASE WHEN c.author.id = :userId THEN c.authorLastReadMessageId ELSE c.recipientLastReadMessageId END
+            FROM conversations c WHERE c.id = :conversationId""")
+    Long findReadWatermark(@Param("conversationId") Long conversationId, @Param("userId") Long userId);
+
+    @Modifying
+    @Query("""
+            UPDATE conversations c SET c.authorHiddenUpToSeq = :upToSeq
+            WHERE c.id = :conversationId AND (c.authorHiddenUpToSeq IS NULL OR c.authorHiddenUpToSeq < :upToSeq)""")
+    int advanceAuthorHiddenWatermark(@Param("conversationId") Long conversationId, @Param("upToSeq") int upToSeq);
+
+    @Modifying
+    @Query("""
+            UPDATE conversations c SET c.recipientHiddenUpToSeq = :upToSeq
+            WHERE c.id = :conversationId AND (c.recipientHiddenUpToSeq IS NULL OR c.recipientHiddenUpToSeq < :upToSeq)""")
+    int advanceRecipientHiddenWatermark(@Param("conversationId") Long conversationId, @Param("upToSeq") int upToSeq);
+
+    /**
+     * The last bucket both participants have deleted, or null while either still sees all of them.
+     */
+    @Query("""
+            SELECT CASE WHEN c.authorHiddenUpToSeq IS NULL OR c.recipientHiddenUpToSeq IS NULL THEN NULL
+            ELSE least(c.authorHiddenUpToSeq, c.recipientHiddenUpToSeq) END
+            FROM conversations c WHERE c.id = :conversationId""")
+    Integer findHiddenFromBoth(@Param("conversationId") Long conversationId);
+}
@@ -0,0 +1,46 @@
+package com.linkedin.backend.features.messaging.repository;
+
+import com.linkedin.backend.features.messaging.model.InboxEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface InboxEntryRepository extends JpaRepository<InboxEntry, Long> {
+    Optional<InboxEntry> findByOwnerIdAndConversationId(Long ownerId, Long conversationId);
+
+    @Query("SELECT e FROM inbox_entries e JOIN FETCH e.otherParticipant WHERE e.owner.id = :ownerId ORDER BY e.lastActivity DESC, e.id DESC")
+    List<InboxEntry> findFirstPage(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query("""
+            SELECT e FROM inbox_entries e JOIN FETCH e.otherParticipant WHERE e.owner.id = :ownerId
+            AND (e.lastActivity < :lastActivity OR (e.lastActivity = :lastActivity AND e.id < :id))
+            ORDER BY e.lastActivity DESC, e.id DESC""")
+    List<InboxEntry> findPageBefore(@Param("ownerId") Long ownerId, @Param("lastActivity") LocalDateTime lastActivity,
+            @Param("id") Long id, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            UPDATE inbox_entries e SET e.lastMessageId = :messageId, e.lastMessagePreview = :preview,
+            e.lastMessageSenderId = :senderId, e.lastActivity = :activity, e.unreadCount = e.unreadCount + :unreadDelta
+            WHERE e.owner.id = :ownerId AND e.conversationId = :conversationId""")
+    int applyMessage(@Param("ownerId") Long ownerId, @Param("conversationId") Long conversationId,
+            @Param("messageId") Long messageId, @Param("preview") String preview, @Param("senderId") Long senderId,
+            @Param("activity") LocalDateTime activity, @Param("unreadDelta") int unreadDelta);
+
+    @Modifying
+    @Query("DELETE FROM inbox_entries e WHERE e.conversationId = :conversationId")
+    int deleteByConversationId(@Param("conversationId") Long conversationId);
+
+    @Modifying
+    @Query("""
+            UPDATE inbox_entries e SET e.unreadCount = CASE WHEN e.unreadCount > :count THEN e.unreadCount - :count ELSE 0 END
+            WHERE e.owner.id = :ownerId AND e.conversationId = :conversationId""")
+    int decrementUnread(@Param("ownerId") Long ownerId, @Param("conversationId") Long conversationId,
+            @Param("count") int count);
+}
@@ -0,0 +1,94 @@
+package com.linkedin.backend.features.messaging.repository;
+
+import com.linkedin.backend.features.messaging.model.MessageBucket;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface MessageBucketRepository extends JpaRepository<MessageBucket, Long> {
+    Optional<MessageBucket> findFirstByConversationIdOrderBySeqDesc(Long conversationId);
+
+    Optional<MessageBucket> findByConversationIdAndSeq(Long conversationId, int seq);
+
+    List<MessageBucket> findByConversationIdAndSeqGreaterThanOrderBySeqDesc(Long conversationId, int after,
+            Pageable pageable);
+
+    List<MessageBucket> findByConversationIdAndSeqGreaterThanAndSeqLessThanOrderBySeqDesc(Long conversationId,
+            int after, int before, Pageable pageable);
+
+    /**
+     * Counts a message into the bucket and moves its bounds to cover it, in one statement.
+     * Matches nothing once the bucket is full.
+     */
+    @Modifying
+    @Query("""
+            UPDATE message_buckets b SET b.messageCount = b.messageCount + 1,
+            b.firstMessageId = CASE WHEN b.firstMessageId IS NULL OR b.firstMessageId > :messageId THEN :messageId ELSE b.firstMessageId END,
+            b.firstMessageAt = CASE WHEN b.firstMessageAt IS NULL OR b.firstMessageAt > :createdAt THEN :createdAt ELSE b.firstMessageAt END,
+            b.lastMessageId = CASE WHEN b.lastMessageId IS NULL OR b.lastMessageId < :messageId THEN :messageId ELSE b.lastMessageId END,
+            b.lastMessageAt = CASE WHEN b.lastMessageAt IS NULL OR b.lastMessageAt < :createdAt THEN :createdAt ELSE b.lastMessageAt END
+            WHERE b.id = :id AND b.messageCount < :capacity""")
+    int appendMessage(@Param("id") Long id, @Param("capacity") int capacity, @Param("messageId") Long messageId,
+            @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Opens bucket {@code seq} with the message in it or, if another sender opened it first,
+     * counts the message into that bucket instead.
+     */
+    @Modifying
+    @Query(value = """
+            INSERT INTO message_buckets (conversation_id, seq, message_count, first_message_id, first_message_at,
+                last_message_id, last_message_at)
+            VALUES (:conversationId, :seq, 1, :messageId, :createdAt, :messageId, :createdAt)
+            ON DUPLICATE KEY UPDATE message_count = message_count + 1,
+                first_message_id = LEAST(COALESCE(first_message_id, :messageId), :messageId),
+                first_message_at = LEAST(COALESCE(first_message_at, :createdAt), :createdAt),
+                last_message_id = GREATEST(COALESCE(last_message_id, :messageId), :messageId),
+                last_message_at = GREATEST(COALESCE(last_message_at, :createdAt), :createdAt)""", nativeQuery = true)
+    int openWithMessage(@Param("conversationId") Long conversationId, @Param("seq") int seq,
+            @Param("messageId") Long messageId, @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * Renumbers a conversation's buckets after {@code seqOffset - 1} and moves them to another
+     * conversation, archived ones included.
+     */
+    @Modifying
+    @Query("UPDATE message_buckets b SET b.conversationId = :targetId, b.seq = b.seq + :seqOffset WHERE b.conversationId = :sourceId")
+    int moveToConversation(@Param("sourceId") Long sourceId, @Param("targetId") Long targetId,
+            @Param("seqOffset") int seqOffset);
+
+    @Modifying
+    @Query("DELETE FROM message_buckets b WHERE b.conversationId = :conversationId AND b.seq <= :upToSeq")
+    int deleteUpTo(@Param("conversationId") Long conversationId, @Param("upToSeq") int upToSeq);
+
+    /**
+     * Buckets whose newest message is older than the cutoff, that are not their conversation's
+     * tail, i.e. will never be appended to again, and whose messages have all been read.
+     */
+    @Query("""
+            SELECT b FROM message_buckets b WHERE b.segment IS NULL AND b.lastMessageAt < :cutoff
+            AND b.seq < (SELECT MAX(t.seq) FROM message_buckets t WHERE t.conversationId = b.conversationId)
+            AND NOT EXISTS (SELECT m FROM messages m WHERE m.conversation.id = b.conversationId
+                AND m.bucketSeq = b.seq AND m.isRead = false)
+            ORDER BY b.id""")
+    List<MessageBucket> findArchivable(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Query("""
+            SELECT b FROM message_buckets b WHERE b.conversationId = :conversationId AND b.segment IS NOT NULL
+            AND b.firstMessageId < :beforeMessageId ORDER BY b.seq DESC""")
+    List<MessageBucket> findArchivedBefore(@Param("conversationId") Long conversationId,
+            @Param("beforeMessageId") Long beforeMessageId, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            UPDATE message_buckets b SET b.segment = :segment, b.segmentOffset = :offset, b.segmentLength = :length,
+            b.archivedAt = :archivedAt WHERE b.id = :id AND b.segment IS NULL""")
+    int markArchived(@Param("id") Long id, @Param("segment") String segment, @Param("offset") long offset,
+            @Param("length") int length, @Param("archivedAt") LocalDateTime archivedAt);
+}
@@ -1,8 +1,69 @@
 package com.linkedin.backend.features.messaging.repository;
 
+import com.linkedin.backend.features.messaging.model.Conversation;
 import com.linkedin.backend.features.messaging.model.Message;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
 
 
 public interface MessageRepository extends JpaRepository<Message, Long> {
-}
\ No newline at end of file
+    Optional<Message> findFirstByConversationIdOrderByIdDesc(Long conversationId);
+
+    long countByConversationIdAndReceiverIdAndIsReadFalse(Long conversationId, Long receiverId);
+
+    List<Message> findByConversationIdAndBucketSeqGreaterThanOrderByIdDesc(Long conversationId, Integer afterSeq,
+            Pageable pageable);
+
+    List<Message> findByConversationIdAndBucketSeqGreaterThanAndIdLessThanOrderByIdDesc(Long conversationId,
+            Integer afterSeq, Long before, Pageable pageable);
+
+    @Modifying
+    @Query("""
+            UPDATE messages m SET m.isRead = true WHERE m.conversation.id = :conversationId
+            AND m.receiver.id = :receiverId AND m.id <= :upToMessageId AND m.isRead = false""")
+    int markReadUpTo(@Param("conversationId") Long conversationId, @Param("receiverId") Long receiverId,
+            @Param("upToMessageId") Long upToMessageId);
+
+    List<Message> findByConversationIdAndBucketSeqOrderByIdDesc(Long conversationId, Integer bucketSeq);
+
+    @Modifying
+    @Query("""
+            UPDATE messages m SET m.isRead = true WHERE m.conversation.id = :conversationId
+            AND m.receiver.id = :receiverId AND m.bucketSeq <= :upToSeq AND m.isRead = false""")
+    int markReadUpToBucket(@Param("conversationId") Long conversationId, @Param("receiverId") Long receiverId,
+            @Param("upToSeq") int upToSeq);
+
+    @Modifying
+    @Query("DELETE FROM messages m WHERE m.conversation.id = :conversationId AND m.bucketSeq <= :upToSeq")
+    int deleteUpToBucket(@Param("conversationId") Long conversationId, @Param("upToSeq") int upToSeq);
+
+    @Modifying
+    @Query("DELETE FROM messages m WHERE m.conversation.id = :conversationId AND m.bucketSeq = :seq")
+    int deleteBucket(@Param("conversationId") Long conversationId, @Param("seq") int seq);
+
+    /**
+     * Moves a conversation's messages to {@code target}, shifting their bucket numbers by
+     * {@code seqOffset} along with the buckets themselves.
+     */
+    @Modifying
+    @Query("""
+            UPDATE messages m SET m.conversation = :target, m.bucketSeq = m.bucketSeq + :seqOffset
+            WHERE m.conversation.id = :sourceId""")
+    int moveToConversation(@Param("sourceId") Long sourceId, @Param("target") Conversation target,
+            @Param("seqOffset") int seqOffset);
+
+    @Query("SELECT DISTINCT m.conversation.id FROM messages m WHERE m.bucketSeq IS NULL")
+    List<Long> findConversationIdsWithoutBucket();
+
+    List<Message> findByConversationIdAndBucketSeqIsNullOrderByIdAsc(Long conversationId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE messages m SET m.bucketSeq = :seq WHERE m.id IN :ids")
+    int assignBucket(@Param("ids") List<Long> ids, @Param("seq") int seq);
+}
@@ -0,0 +1,166 @@
+package com.linkedin.backend.features.messaging.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.backend.features.messaging.dto.ConversationMessageDto;
+import com.linkedin.backend.features.messaging.model.Message;
+import com.linkedin.backend.features.messaging.model.MessageBucket;
+import com.linkedin.backend.features.messaging.repository.MessageBucketRepository;
+import com.linkedin.backend.features.messaging.repository.MessageRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves sealed message buckets whose newest message is older than
+ * {@code messaging.archive.after-days} out of the {@code messages} table into compressed segment
+ * files, and reads them back for history requests. Only buckets whose messages have all been
+ * read are archived, so the records keep their read state and the inbox counts need no change.
+ * Segments are appended by the one node configured with {@code messaging.archive.writer}; every
+ * node reads them from the shared {@link MessageSegmentStore} directory.
+ */
+@Service
+public class MessageArchiveService {
+    private static final Logger log = LoggerFactory.getLogger(MessageArchiveService.class);
+    private static final TypeReference<List<ConversationMessageDto>> MESSAGE_LIST = new TypeReference<>() {
+    };
+
+    private final MessageBucketRepository messageBucketRepository;
+    private final MessageRepository messageRepository;
+    private final MessageSegmentStore segmentStore;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final long archiveAfterDays;
+    private final int batchSize;
+    private final boolean writer;
+
+    public MessageArchiveService(MessageBucketRepository messageBucketRepository, MessageRepository messageRepository,
+            MessageSegmentStore segmentStore, ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+            @Value("${messaging.archive.after-days:180}") long archiveAfterDays,
+            @Value("${messaging.archive.batch-size:100}") int batchSize,
+            @Value("${messaging.archive.writer:false}") boolean writer) {
+        this.messageBucketRepository = messageBucketRepository;
+        this.messageRepository = messageRepository;
+        this.segmentStore = segmentStore;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.archiveAfterDays = archiveAfterDays;
+        this.batchSize = batchSize;
+        this.writer = writer;
+    }
+
+    @Scheduled(cron = "${messaging.archive.cron:0 30 3 * * *}")
+    public void archiveOldBuckets() {
+        if (!writer) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+        long startedAt = System.nanoTime();
+        int buckets = 0;
+        long messages = 0;
+        long bytes = 0;
+
+        List<MessageBucket> batch;
+        while (!(batch = messageBucketRepository.findArchivable(cutoff, PageRequest.of(0, batchSize))).isEmpty()) {
+            int archivedInBatch = 0;
+            for (MessageBucket bucket : batch) {
+                try {
+                    Integer length = transactionTemplate.execute(status -> archiveBucket(bucket));
+                    archivedInBatch++;
+                    buckets++;
+                    messages += bucket.getMessageCount();
+                    bytes += length;
+                } catch (RuntimeException e) {
+                    log.error("Failed to archive bucket {} of conversation {}: {}", bucket.getSeq(),
+                            bucket.getConversationId(), e.getMessage());
+                }
+            }
+            if (archivedInBatch == 0) {
+                // Every bucket in the batch failed; the next query would return the same ones.
+                break;
+            }
+        }
+
+        if (buckets > 0) {
+            double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 1e-3);
+            log.info("Archived {} message buckets ({} messages, {} KiB compressed) in {} s: {} messages/s.",
+                    buckets, messages, bytes / 1024, String.format("%.1f", seconds),
+                    String.format("%.0f", messages / seconds));
+        }
+    }
+
+    /**
+     * Messages of the conversation's archived buckets with an id below {@code beforeMessageId},
+     * newest first.
+     */
+    public List<ConversationMessageDto> readBefore(Long conversationId, Long beforeMessageId, int limit) {
+        List<ConversationMessageDto> result = new ArrayList<>(limit);
+        Long cursor = beforeMessageId == null ? Long.MAX_VALUE : beforeMessageId;
+        while (result.size() < limit) {
+            List<MessageBucket> buckets = messageBucketRepository.findArchivedBefore(conversationId, cursor,
+                    PageRequest.of(0, 2));
+            if (buckets.isEmpty()) {
+                break;
+            }
+            for (MessageBucket bucket : buckets) {
+                for (ConversationMessageDto message : readBucket(bucket)) {
+                    if (message.id() < cursor && result.size() < limit) {
+                        result.add(message);
+                    }
+                }
+            }
+            cursor = buckets.get(buckets.size() - 1).getFirstMessageId();
+        }
+        return result;
+    }
+
+    /**
+     * The messages of an archived bucket, newest first.
+     */
+    public List<ConversationMessageDto> readBucket(MessageBucket bucket) {
+        long startedAt = System.nanoTime();
+        byte[] payload = segmentStore.read(new MessageSegmentStore.SegmentPointer(bucket.getSegment(),
+                bucket.getSegmentOffset(), bucket.getSegmentLength()));
+        try {
+            List<ConversationMessageDto> messages = objectMapper.readValue(payload, MESSAGE_LIST);
+            log.debug("Read archived bucket {} of conversation {} in {} us.", bucket.getSeq(),
+                    bucket.getConversationId(), (System.nanoTime() - startedAt) / 1000);
+            return messages;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable archive record for bucket " + bucket.getId(), e);
+        }
+    }
+
+    private int archiveBucket(MessageBucket bucket) {
+        List<Message> messages = messageRepository.findByConversationIdAndBucketSeqOrderByIdDesc(
+                bucket.getConversationId(), bucket.getSeq());
+        byte[] payload;
+        try {
+            payload = objectMapper.writeValueAsBytes(messages.stream().map(ConversationMessageDto::of).toList());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize bucket " + bucket.getId(), e);
+        }
+
+        // Written before the rows are deleted: if the transaction then fails, the record is just
+        // unreferenced space in the segment.
+        MessageSegmentStore.SegmentPointer pointer = segmentStore.append(payload);
+        if (messageBucketRepository.markArchived(bucket.getId(), pointer.segment(), pointer.offset(),
+                pointer.length(), LocalDateTime.now()) == 0) {
+            return 0;
+        }
+
+        messageRepository.deleteBucket(bucket.getConversationId(), bucket.getSeq());
+        return pointer.length();
+    }
+}
@@ -0,0 +1,177 @@
+package com.linkedin.backend.features.messaging.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only segment files holding compressed archive records. Each record is a header (payload
+ * length and CRC32 of the compressed bytes) followed by the deflated payload; callers keep the
+ * returned pointer, so the files themselves need no index. Records are read back through
+ * memory-mapped regions of the segment. Every node reads the records, so
+ * {@code messaging.archive.directory} must be storage all nodes mount; only the archive writer
+ * node appends to it.
+ */
+@Component
+public class MessageSegmentStore {
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    private final Path directory;
+    private final long maxSegmentBytes;
+    private final Map<String, FileChannel> readChannels = new ConcurrentHashMap<>();
+
+    private FileChannel writeChannel;
+    private String writeSegment;
+    private int nextSegmentNumber;
+
+    public MessageSegmentStore(@Value("${messaging.archive.directory:./message-archive}") String directory,
+            @Value("${messaging.archive.segment-size-bytes:67108864}") long maxSegmentBytes) {
+        this.directory = Path.of(directory);
+        this.maxSegmentBytes = maxSegmentBytes;
+    }
+
+    public record SegmentPointer(String segment, long offset, int length) {
+    }
+
+    /**
+     * Compresses and appends a payload, forcing it to disk before returning its pointer.
+     */
+    public synchronized SegmentPointer append(byte[] payload) {
+        byte[] compressed = deflate(payload);
+        CRC32 crc = new CRC32();
+        crc.update(compressed);
+        ByteBuffer record = ByteBuffer.allocate(HEADER_BYTES + compressed.length);
+        record.putInt(compressed.length).putInt((int) crc.getValue()).put(compressed).flip();
+
+        try {
+            if (writeChannel == null || writeChannel.size() + record.remaining() > maxSegmentBytes) {
+                openNextSegment();
+            }
+            long offset = writeChannel.size();
+            while (record.hasRemaining()) {
+                writeChannel.write(record, offset + record.position());
+            }
+            writeChannel.force(false);
+            return new SegmentPointer(writeSegment, offset, HEADER_BYTES + compressed.length);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append to message archive", e);
+        }
+    }
+
+    public byte[] read(SegmentPointer pointer) {
+        try {
+            FileChannel channel = readChannels.computeIfAbsent(pointer.segment(), this::openForRead);
+            MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, pointer.offset(), pointer.length());
+            int length = region.getInt();
+            int checksum = region.getInt();
+            byte[] compressed = new byte[length];
+            region.get(compressed);
+
+            CRC32 crc = new CRC32();
+            crc.update(compressed);
+            if ((int) crc.getValue() != checksum) {
+                throw new IllegalStateException("Corrupt archive record in " + pointer.segment() + " at " + pointer.offset());
+            }
+            return inflate(compressed);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read message archive", e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (writeChannel != null) {
+            writeChannel.close();
+        }
+        for (FileChannel channel : readChannels.values()) {
+            channel.close();
+        }
+    }
+
+    private void openNextSegment() throws IOException {
+        if (writeChannel == null) {
+            Files.createDirectories(directory);
+            nextSegmentNumber = findLastSegmentNumber() + 1;
+        } else {
+            writeChannel.close();
+        }
+        writeSegment = String.format("%s%08d%s", SEGMENT_PREFIX, nextSegmentNumber++, SEGMENT_SUFFIX);
+        writeChannel = FileChannel.open(directory.resolve(writeSegment), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+    }
+
+    private int findLastSegmentNumber() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .mapToInt(name -> Integer.parseInt(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .max()
+                    .orElse(0);
+        }
+    }
+
+    private FileChannel openForRead(String segment) {
+        try {
+            return FileChannel.open(directory.resolve(segment), StandardOpenOption.READ);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Archive segment " + segment + " is missing", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] payload) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, payload.length / 4));
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 4);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && inflater.needsInput()) {
+                    throw new IllegalStateException("Truncated archive record");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt archive record", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -1,14 +1,31 @@
 package com.linkedin.backend.features.messaging.service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.authentication.service.AuthenticationService;
+import com.linkedin.backend.features.messaging.dto.ConversationMessageDto;
+import com.linkedin.backend.features.messaging.dto.ConversationSummaryDto;
+import com.linkedin.backend.features.messaging.dto.MessageBucketDto;
+import com.linkedin.backend.features.messaging.dto.ReadReceiptDto;
 import com.linkedin.backend.features.messaging.model.Conversation;
+import com.linkedin.backend.features.messaging.model.InboxEntry;
 import com.linkedin.backend.features.messaging.model.Message;
+import com.linkedin.backend.features.messaging.model.MessageBucket;
 import com.linkedin.backend.features.messaging.repository.ConversationRepository;
+import com.linkedin.backend.features.messaging.repository.InboxEntryRepository;
+import com.linkedin.backend.features.messaging.repository.MessageBucketRepository;
 import com.linkedin.backend.features.messaging.repository.MessageRepository;
 import com.linkedin.backend.features.notifications.service.NotificationService;
 
@@ -16,21 +33,122 @@ import jakarta.transaction.Transactional;
 
 @Service
 public class MessagingService {
+    private static final int MAX_PAGE_SIZE = 50;
+
     private final ConversationRepository conversationRepository;
     private final MessageRepository messageRepository;
+    private final MessageBucketRepository messageBucketRepository;
+    private final InboxEntryRepository inboxEntryRepository;
     private final AuthenticationService authenticationService;
     private final NotificationService notificationService;
+    private final MessageArchiveService messageArchiveService;
+    private final int bucketSize;
 
     public MessagingService(ConversationRepository conversationRepository, MessageRepository messageRepository,
-            AuthenticationService authenticationService, NotificationService notificationService) {
+            MessageBucketRepository messageBucketRepository, InboxEntryRepository inboxEntryRepository,
+            AuthenticationService authenticationService, NotificationService notificationService,
+            MessageArchiveService messageArchiveService, @Value("${messaging.bucket-size:500}") int bucketSize) {
         this.conversationRepository = conversationRepository;
         this.messageRepository = messageRepository;
+        this.messageBucketRepository = messageBucketRepository;
+        this.inboxEntryRepository = inboxEntryRepository;
         this.authenticationService = authenticationService;
         this.notificationService = notificationService;
+        this.messageArchiveService = messageArchiveService;
+        this.bucketSize = bucketSize;
+    }
+
+    @Transactional
+    public List<ConversationSummaryDto> getConversationsOfUser(User user, Long before, int limit) {
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        List<InboxEntry> entries;
+        if (before == null) {
+            entries = inboxEntryRepository.findFirstPage(user.getId(), page);
+        } else {
+            InboxEntry cursor = inboxEntryRepository.findByOwnerIdAndConversationId(user.getId(), before)
+                    .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
+            entries = inboxEntryRepository.findPageBefore(user.getId(), cursor.getLastActivity(), cursor.getId(), page);
+        }
+        return entries.stream().map(ConversationSummaryDto::of).toList();
+    }
+
+    /**
+     * Builds the inbox projection for conversations that predate it. Runs once, on the first
+     * start with an empty inbox table. Conversations that predate unique participant pairs are
+     * merged per pair first, so assigning the pairs cannot violate the unique key.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillInbox() {
+        Set<Conversation> merged = mergeDuplicateConversations();
+        conversationRepository.backfillParticipantPairs();
+        if (inboxEntryRepository.count() > 0) {
+            for (Conversation conversation : merged) {
+                inboxEntryRepository.save(buildInboxEntry(conversation.getAuthor(), conversation));
+                inboxEntryRepository.save(buildInboxEntry(conversation.getRecipient(), conversation));
+            }
+            return;
+        }
+        for (Conversation conversation : conversationRepository.findAll()) {
+            inboxEntryRepository.save(buildInboxEntry(conversation.getAuthor(), conversation));
+            inboxEntryRepository.save(buildInboxEntry(conversation.getRecipient(), conversation));
+        }
+    }
+
+    /**
+     * Folds every conversation that repeats an older one's participants, in either direction,
+     * into the oldest: its buckets are renumbered after the oldest's, its messages follow them,
+     * and the inbox rows of both are dropped. Returns the conversations that absorbed others.
+     */
+    private Set<Conversation> mergeDuplicateConversations() {
+        Map<List<Long>, Conversation> oldestByPair = new HashMap<>();
+        Set<Conversation> merged = new LinkedHashSet<>();
+        for (Conversation conversation : conversationRepository.findWithDuplicatePair()) {
+            Long authorId = conversation.getAuthor().getId();
+            Long recipientId = conversation.getRecipient().getId();
+            Conversation oldest = oldestByPair.putIfAbsent(
+                    List.of(Math.min(authorId, recipientId), Math.max(authorId, recipientId)), conversation);
+            if (oldest == null) {
+                continue;
+            }
+
+            int seqOffset = messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(oldest.getId())
+                    .map(bucket -> bucket.getSeq() + 1)
+                    .orElse(0);
+            messageBucketRepository.moveToConversation(conversation.getId(), oldest.getId(), seqOffset);
+            messageRepository.moveToConversation(conversation.getId(), oldest, seqOffset);
+            inboxEntryRepository.deleteByConversationId(conversation.getId());
+            inboxEntryRepository.deleteByConversationId(oldest.getId());
+            conversationRepository.delete(conversation);
+            merged.add(oldest);
+        }
+        return merged;
     }
 
-    public List<Conversation> getConversationsOfUser(User user) {
-        return conversationRepository.findByAuthorOrRecipient(user, user);
+    /**
+     * Assigns messages written before bucketing existed to buckets, oldest first.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillMessageBuckets() {
+        for (Long conversationId : messageRepository.findConversationIdsWithoutBucket()) {
+            int seq = messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(conversationId)
+                    .map(bucket -> bucket.getSeq() + 1)
+                    .orElse(0);
+            List<Message> batch;
+            while (!(batch = messageRepository.findByConversationIdAndBucketSeqIsNullOrderByIdAsc(conversationId,
+                    PageRequest.of(0, bucketSize))).isEmpty()) {
+                MessageBucket bucket = new MessageBucket(conversationId, seq);
+                bucket.setMessageCount(batch.size());
+                bucket.setFirstMessageId(batch.get(0).getId());
+                bucket.setFirstMessageAt(batch.get(0).getCreatedAt());
+                bucket.setLastMessageId(batch.get(batch.size() - 1).getId());
+                bucket.setLastMessageAt(batch.get(batch.size() - 1).getCreatedAt());
+                messageBucketRepository.save(bucket);
+                messageRepository.assignBucket(batch.stream().map(Message::getId).toList(), seq);
+                seq++;
+            }
+        }
     }
 
     public Conversation getConversation(User user, Long conversationId) {
@@ -43,35 +161,144 @@ public class MessagingService {
         return conversation;
     }
 
+    /**
+     * A page of history, newest first, without the buckets the user has deleted. Pages that run
+     * past the messages still in the table continue into the conversation's archived buckets.
+     */
+    @Transactional
+    public List<ConversationMessageDto> getMessages(User user, Long conversationId, Long before, int limit) {
+        Conversation conversation = getConversation(user, conversationId);
+        int hiddenUpToSeq = conversation.hiddenUpToSeqOf(user.getId());
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        List<Message> messages = before == null
+                ? messageRepository.findByConversationIdAndBucketSeqGreaterThanOrderByIdDesc(conversation.getId(),
+                        hiddenUpToSeq, page)
+                : messageRepository.findByConversationIdAndBucketSeqGreaterThanAndIdLessThanOrderByIdDesc(
+                        conversation.getId(), hiddenUpToSeq, before, page);
+        List<ConversationMessageDto> result = new ArrayList<>(page.getPageSize());
+        messages.forEach(message -> result.add(ConversationMessageDto.of(message)));
+        if (result.size() < page.getPageSize()) {
+            Long archiveCursor = result.isEmpty() ? before : result.get(result.size() - 1).id();
+            messageArchiveService.readBefore(conversation.getId(), archiveCursor, page.getPageSize() - result.size())
+                    .stream()
+                    .filter(message -> message.bucketSeq() > hiddenUpToSeq)
+                    .forEach(result::add);
+        }
+        return result;
+    }
+
+    /**
+     * Lists the conversation's buckets newest first, {@code before} being a bucket sequence number.
+     */
+    @Transactional
+    public List<MessageBucketDto> getBuckets(User user, Long conversationId, Integer before, int limit) {
+        Conversation conversation = getConversation(user, conversationId);
+        int hiddenUpToSeq = conversation.hiddenUpToSeqOf(user.getId());
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        List<MessageBucket> buckets = before == null
+                ? messageBucketRepository.findByConversationIdAndSeqGreaterThanOrderBySeqDesc(conversation.getId(),
+                        hiddenUpToSeq, page)
+                : messageBucketRepository.findByConversationIdAndSeqGreaterThanAndSeqLessThanOrderBySeqDesc(
+                        conversation.getId(), hiddenUpToSeq, before, page);
+        return buckets.stream().map(MessageBucketDto::of).toList();
+    }
+
+    @Transactional
+    public List<ConversationMessageDto> getBucketMessages(User user, Long conversationId, int seq) {
+        Conversation conversation = getConversation(user, conversationId);
+        if (seq <= conversation.hiddenUpToSeqOf(user.getId())) {
+            throw new IllegalArgumentException("Bucket not found");
+        }
+        MessageBucket bucket = messageBucketRepository.findByConversationIdAndSeq(conversation.getId(), seq)
+                .orElseThrow(() -> new IllegalArgumentException("Bucket not found"));
+        if (bucket.isArchived()) {
+            return messageArchiveService.readBucket(bucket);
+        }
+        return messageRepository.findByConversationIdAndBucketSeqOrderByIdDesc(conversation.getId(), seq).stream()
+                .map(ConversationMessageDto::of)
+                .toList();
+    }
+
+    /**
+     * Deletes every bucket of the conversation up to and including {@code upToSeq} from the
+     * user's view by advancing their hidden watermark; the other participant keeps seeing them.
+     * Messages the user had not read yet count as read. Buckets only leave the tables once both
+     * participants have deleted them, with one statement for the messages and one for the
+     * buckets. The tail bucket is kept so the inbox preview always points at an existing message.
+     */
+    @Transactional
+    public void deleteBucketsUpTo(User user, Long conversationId, int upToSeq) {
+        Conversation conversation = getConversation(user, conversationId);
+        MessageBucket tail = messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(conversationId)
+                .orElseThrow(() -> new IllegalArgumentException("Conversation has no messages"));
+        if (upToSeq >= tail.getSeq()) {
+            throw new IllegalArgumentException("The latest bucket of a conversation cannot be deleted");
+        }
+
+        boolean isAuthor = conversation.getAuthor().getId().equals(user.getId());
+        int advanced = isAuthor
+                ? conversationRepository.advanceAuthorHiddenWatermark(conversationId, upToSeq)
+                : conversationRepository.advanceRecipientHiddenWatermark(conversationId, upToSeq);
+        if (advanced == 0) {
+            return;
+        }
+
+        int marked = messageRepository.markReadUpToBucket(conversationId, user.getId(), upToSeq);
+        if (marked > 0) {
+            inboxEntryRepository.decrementUnread(user.getId(), conversationId, marked);
+        }
+        Integer hiddenFromBoth = conversationRepository.findHiddenFromBoth(conversationId);
+        if (hiddenFromBoth != null) {
+            messageRepository.deleteUpToBucket(conversationId, hiddenFromBoth);
+            messageBucketRepository.deleteUpTo(conversationId, hiddenFromBoth);
+        }
+        publishInboxUpdate(user.getId(), conversationId);
+    }
+
+    /**
+     * Advances the user's read watermark to {@code upToMessageId}, clamped to the newest message
+     * of the conversation, then marks every message the user received up to the watermark as
+     * read with one update and emits a single receipt for it.
+     */
+    @Transactional
+    public void markConversationAsRead(User user, Long conversationId, Long upToMessageId) {
+        Conversation conversation = getConversation(user, conversationId);
+        boolean isAuthor = conversation.getAuthor().getId().equals(user.getId());
+        int advanced = isAuthor
+                ? conversationRepository.advanceAuthorReadWatermark(conversationId, upToMessageId)
+                : conversationRepository.advanceRecipientReadWatermark(conversationId, upToMessageId);
+        if (advanced == 0) {
+            return;
+        }
+
+        Long readUpTo = conversationRepository.findReadWatermark(conversationId, user.getId());
+        int marked = messageRepository.markReadUpTo(conversationId, user.getId(), readUpTo);
+        if (marked > 0) {
+            inboxEntryRepository.decrementUnread(user.getId(), conversationId, marked);
+        }
+        notificationService.sendReadReceiptToConversation(conversationId,
+                new ReadReceiptDto(conversationId, user.getId(), readUpTo));
+    }
+
+    /**
+     * Sends the first message between two users. The conversation for the pair is looked up with
+     * one probe of the canonical participant index and created if missing; if it already exists,
+     * the message is appended to it.
+     */
     @Transactional
     public Conversation createConversationAndAddMessage(User sender, Long receiverId, String content) {
         User receiver = authenticationService.getUserById(receiverId);
-        conversationRepository.findByAuthorAndRecipient(sender, receiver).ifPresentOrElse(
-                conversation -> {
-                    throw new IllegalArgumentException(
-                            "Conversation already exists, use the conversation id to send messages.");
-                },
-                () -> {
-                });
-
-        conversationRepository.findByAuthorAndRecipient(receiver, sender).ifPresentOrElse(
-                conversation -> {
-                    throw new IllegalArgumentException(
-                            "Conversation already exists, use the conversation id to send messages.");
-                },
-                () -> {
-                });
-
-        Conversation conversation = conversationRepository.save(new Conversation(sender, receiver));
-        Message message = new Message(sender, receiver, conversation, content);
-        messageRepository.save(message);
-        conversation.getMessages().add(message);
-        notificationService.sendConversationToUsers(sender.getId(), receiver.getId(), conversation);
+        Conversation conversation = getOrCreateConversation(sender, receiver);
+        appendMessage(conversation, sender, receiver, content);
         return conversation;
     }
 
+    /**
+     * Appends a message without loading the conversation's history: the message is inserted
+     * directly, the two inbox rows are updated in place and only compact deltas are published.
+     */
+    @Transactional
     public Message addMessageToConversation(Long conversationId, User sender, Long receiverId, String content) {
-        User receiver = authenticationService.getUserById(receiverId);
         Conversation conversation = conversationRepository.findById(conversationId)
                 .orElseThrow(() -> new IllegalArgumentException("Conversation not found"));
 
@@ -80,19 +307,17 @@ public class MessagingService {
             throw new IllegalArgumentException("User not authorized to send message to this conversation");
         }
 
-        if (!conversation.getAuthor().getId().equals(receiver.getId())
-                && !conversation.getRecipient().getId().equals(receiver.getId())) {
+        User receiver = conversation.getAuthor().getId().equals(sender.getId())
+                ? conversation.getRecipient()
+                : conversation.getAuthor();
+        if (!receiver.getId().equals(receiverId)) {
             throw new IllegalArgumentException("Receiver is not part of this conversation");
         }
 
-        Message message = new Message(sender, receiver, conversation, content);
-        messageRepository.save(message);
-        conversation.getMessages().add(message);
-        notificationService.sendMessageToConversation(conversation.getId(), message);
-        notificationService.sendConversationToUsers(sender.getId(), receiver.getId(), conversation);
-        return message;
+        return appendMessage(conversation, sender, receiver, content);
     }
 
+    @Transactional
     public void markMessageAsRead(User user, Long messageId) {
         Message message = messageRepository.findById(messageId)
                 .orElseThrow(() -> new IllegalArgumentException("Message not found"));
@@ -104,7 +329,78 @@ public class MessagingService {
         if (!message.getIsRead()) {
             message.setIsRead(true);
             messageRepository.save(message);
-            notificationService.sendMessageToConversation(message.getConversation().getId(), message);
+            inboxEntryRepository.decrementUnread(user.getId(), message.getConversation().getId(), 1);
+            notificationService.sendMessageToConversation(message.getConversation().getId(),
+                    ConversationMessageDto.of(message));
+        }
+    }
+
+    /**
+     * Creates the pair's conversation in the caller's transaction, so it is only committed with
+     * the message. The participant pair is unique: when another sender's insert wins, ours is
+     * ignored and the locking read returns their row once they commit.
+     */
+    private Conversation getOrCreateConversation(User sender, User receiver) {
+        return conversationRepository.findByParticipants(sender.getId(), receiver.getId()).orElseGet(() -> {
+            conversationRepository.insertIfAbsent(sender.getId(), receiver.getId());
+            return conversationRepository.findCurrentByParticipants(sender.getId(), receiver.getId())
+                    .orElseThrow(() -> new IllegalStateException("Conversation of users " + sender.getId()
+                            + " and " + receiver.getId() + " was not created"));
+        });
+    }
+
+    /**
+     * Inserts the message into the conversation's tail bucket, then counts it into the bucket with
+     * one statement. Once the tail is full, one upsert opens the next bucket with the message or,
+     * if a concurrent sender opened it first, counts the message into theirs; two senders racing
+     * past a full tail may leave that bucket a message over its size. The bucket row stays locked
+     * until the caller's transaction ends, so a rolled back send never leaves it counted.
+     */
+    private Message appendMessage(Conversation conversation, User sender, User receiver, String content) {
+        MessageBucket tail = messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(conversation.getId())
+                .orElse(null);
+        Message message = messageRepository.save(
+                new Message(sender, receiver, conversation, content, tail == null ? 0 : tail.getSeq()));
+        if (tail == null || messageBucketRepository.appendMessage(tail.getId(), bucketSize, message.getId(),
+                message.getCreatedAt()) == 0) {
+            int seq = tail == null ? 0 : tail.getSeq() + 1;
+            messageBucketRepository.openWithMessage(conversation.getId(), seq, message.getId(), message.getCreatedAt());
+            message.setBucketSeq(seq);
         }
+        recordMessageInInbox(conversation, message);
+        notificationService.sendMessageToConversation(conversation.getId(), ConversationMessageDto.of(message));
+        return message;
+    }
+
+    private void recordMessageInInbox(Conversation conversation, Message message) {
+        User sender = message.getSender();
+        User receiver = message.getReceiver();
+        String preview = InboxEntry.preview(message.getContent());
+        if (inboxEntryRepository.applyMessage(sender.getId(), conversation.getId(), message.getId(), preview,
+                sender.getId(), message.getCreatedAt(), 0) == 0) {
+            inboxEntryRepository.save(buildInboxEntry(sender, conversation));
+        }
+        if (inboxEntryRepository.applyMessage(receiver.getId(), conversation.getId(), message.getId(), preview,
+                sender.getId(), message.getCreatedAt(), 1) == 0) {
+            inboxEntryRepository.save(buildInboxEntry(receiver, conversation));
+        }
+        publishInboxUpdate(sender.getId(), conversation.getId());
+        publishInboxUpdate(receiver.getId(), conversation.getId());
+    }
+
+    private void publishInboxUpdate(Long ownerId, Long conversationId) {
+        inboxEntryRepository.findByOwnerIdAndConversationId(ownerId, conversationId)
+                .ifPresent(entry -> notificationService.sendInboxUpdateToUser(ownerId, ConversationSummaryDto.of(entry)));
+    }
+
+    private InboxEntry buildInboxEntry(User owner, Conversation conversation) {
+        User otherParticipant = conversation.getAuthor().getId().equals(owner.getId())
+                ? conversation.getRecipient()
+                : conversation.getAuthor();
+        InboxEntry entry = new InboxEntry(owner, conversation.getId(), otherParticipant);
+        messageRepository.findFirstByConversationIdOrderByIdDesc(conversation.getId()).ifPresent(entry::applyMessage);
+        entry.setUnreadCount((int) messageRepository.countByConversationIdAndReceiverIdAndIsReadFalse(
+                conversation.getId(), owner.getId()));
+        return entry;
     }
 }
@@ -1,6 +1,9 @@
 package com.linkedin.backend.features.networking.controller;
 
 import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.networking.dto.ConnectionCountsDto;
+import com.linkedin.backend.features.networking.dto.ConnectionPathDto;
+import com.linkedin.backend.features.networking.dto.ConnectionSummaryDto;
 import com.linkedin.backend.features.networking.model.Connection;
 import com.linkedin.backend.features.networking.model.Status;
 import com.linkedin.backend.features.networking.service.ConnectionService;
@@ -18,11 +21,16 @@ public class ConnectionController {
     }
 
     @GetMapping("/connections")
-    public List<Connection> getUserConnections(@RequestAttribute("authenticatedUser") User user, @RequestParam(required = false) Status status, @RequestParam(required = false) Long userId) {
-        if (userId != null) {
-            return connectionService.getUserConnections(userId, status);
-        }
-        return connectionService.getUserConnections(user, status);
+    public List<ConnectionSummaryDto> getUserConnections(@RequestAttribute("authenticatedUser") User user, @RequestParam(required = false) Status status,
+                                                         @RequestParam(required = false) Long userId,
+                                                         @RequestParam(required = false) Long before,
+                                                         @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        return connectionService.getUserConnections(userId != null ? userId : user.getId(), status, before, limit);
+    }
+
+    @GetMapping("/connections/counts")
+    public ConnectionCountsDto getConnectionCounts(@RequestAttribute("authenticatedUser") User user, @RequestParam(required = false) Long userId) {
+        return connectionService.getConnectionCounts(userId != null ? userId : user.getId());
     }
 
     @PostMapping("/connections")
@@ -45,6 +53,11 @@ public class ConnectionController {
         return connectionService.markConnectionAsSeen(user, id);
     }
 
+    @GetMapping("/path/{userId}")
+    public ConnectionPathDto getConnectionPath(@RequestAttribute("authenticatedUser") User user, @PathVariable Long userId) {
+        return connectionService.getConnectionPath(user, userId);
+    }
+
     @GetMapping("/suggestions")
     public List<User> getConnectionSuggestions(@RequestAttribute("authenticatedUser") User user, @RequestParam(required = false, defaultValue = "6") Integer limit) {
         return connectionService.getRecommendations(user.getId(), limit);
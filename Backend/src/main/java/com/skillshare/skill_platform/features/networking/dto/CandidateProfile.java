@@ -0,0 +1,4 @@
+package com.linkedin.backend.features.networking.dto;
+
+public record CandidateProfile(Long id, String company, String position, String location) {
+}
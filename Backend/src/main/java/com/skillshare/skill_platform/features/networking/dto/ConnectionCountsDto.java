@@ -0,0 +1,10 @@
+package com.linkedin.backend.features.networking.dto;
+
+import com.linkedin.backend.features.networking.model.ConnectionCounter;
+
+public record ConnectionCountsDto(long accepted, long pendingIncoming, long pendingOutgoing) {
+    public static ConnectionCountsDto of(ConnectionCounter counter) {
+        return new ConnectionCountsDto(counter.getAcceptedCount(), counter.getPendingIncomingCount(),
+                counter.getPendingOutgoingCount());
+    }
+}
@@ -0,0 +1,13 @@
+package com.linkedin.backend.features.networking.dto;
+
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
+
+import java.util.List;
+
+/**
+ * The shortest chain of connections from the requesting user to another user, both included.
+ * {@code degree} is the number of hops, or null with an empty path if the users are not within
+ * reach.
+ */
+public record ConnectionPathDto(Integer degree, List<UserSummaryDto> path) {
+}
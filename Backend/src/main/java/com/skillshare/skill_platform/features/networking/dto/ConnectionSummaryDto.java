@@ -0,0 +1,17 @@
+package com.linkedin.backend.features.networking.dto;
+
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
+import com.linkedin.backend.features.networking.model.Connection;
+import com.linkedin.backend.features.networking.model.Status;
+
+import java.time.LocalDateTime;
+
+public record ConnectionSummaryDto(Long id, Status status, Boolean seen, LocalDateTime connectionDate,
+        UserSummaryDto author, UserSummaryDto recipient) {
+
+    public static ConnectionSummaryDto of(Connection connection) {
+        return new ConnectionSummaryDto(connection.getId(), connection.getStatus(), connection.getSeen(),
+                connection.getConnectionDate(), UserSummaryDto.of(connection.getAuthor()),
+                UserSummaryDto.of(connection.getRecipient()));
+    }
+}
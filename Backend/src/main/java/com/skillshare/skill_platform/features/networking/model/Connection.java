@@ -1,5 +1,6 @@
 package com.linkedin.backend.features.networking.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.linkedin.backend.features.authentication.model.User;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
@@ -8,6 +9,7 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity(name = "connections")
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_connections_participants", columnNames = {"participantLowId", "participantHighId"}))
 public class Connection {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -21,6 +23,12 @@ public class Connection {
     @JoinColumn(name = "recipient_id", nullable = false)
     private User recipient;
 
+    @JsonIgnore
+    private Long participantLowId;
+
+    @JsonIgnore
+    private Long participantHighId;
+
     @NotNull
     private Status status = Status.PENDING;
 
@@ -35,6 +43,13 @@ public class Connection {
     public Connection(User author, User recipient) {
         this.author = author;
         this.recipient = recipient;
+        assignParticipantPair();
+    }
+
+    @PrePersist
+    public void assignParticipantPair() {
+        this.participantLowId = Math.min(author.getId(), recipient.getId());
+        this.participantHighId = Math.max(author.getId(), recipient.getId());
     }
 
     public Long getId() {
@@ -0,0 +1,39 @@
+package com.linkedin.backend.features.networking.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+@Entity(name = "connection_counters")
+public class ConnectionCounter {
+    @Id
+    private Long userId;
+    private long acceptedCount;
+    private long pendingIncomingCount;
+    private long pendingOutgoingCount;
+
+    public ConnectionCounter() {
+    }
+
+    public ConnectionCounter(Long userId, long acceptedCount, long pendingIncomingCount, long pendingOutgoingCount) {
+        this.userId = userId;
+        this.acceptedCount = acceptedCount;
+        this.pendingIncomingCount = pendingIncomingCount;
+        this.pendingOutgoingCount = pendingOutgoingCount;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getAcceptedCount() {
+        return acceptedCount;
+    }
+
+    public long getPendingIncomingCount() {
+        return pendingIncomingCount;
+    }
+
+    public long getPendingOutgoingCount() {
+        return pendingOutgoingCount;
+    }
+}
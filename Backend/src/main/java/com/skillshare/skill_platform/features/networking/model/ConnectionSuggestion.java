@@ -0,0 +1,56 @@
+package com.linkedin.backend.features.networking.model;
+
+import com.linkedin.backend.features.authentication.model.User;
+import jakarta.persistence.*;
+
+/**
+ * One precomputed "people you may know" entry; a user's list is the rows with their
+ * {@code userId} in {@code position} order.
+ */
+@Entity(name = "connection_suggestions")
+@Table(indexes = @Index(name = "idx_connection_suggestions_user_position", columnList = "userId, position"))
+public class ConnectionSuggestion {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long userId;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "suggested_user_id")
+    private User suggestedUser;
+
+    private int position;
+
+    private double score;
+
+    public ConnectionSuggestion() {
+    }
+
+    public ConnectionSuggestion(Long userId, User suggestedUser, int position, double score) {
+        this.userId = userId;
+        this.suggestedUser = suggestedUser;
+        this.position = position;
+        this.score = score;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public User getSuggestedUser() {
+        return suggestedUser;
+    }
+
+    public int getPosition() {
+        return position;
+    }
+
+    public double getScore() {
+        return score;
+    }
+}
@@ -0,0 +1,42 @@
+package com.linkedin.backend.features.networking.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity(name = "suggestion_states")
+@Table(indexes = @Index(name = "idx_suggestion_states_dirty", columnList = "dirty, markedAt"))
+public class SuggestionState {
+    @Id
+    private Long userId;
+
+    private boolean dirty;
+
+    private LocalDateTime markedAt;
+
+    private LocalDateTime computedAt;
+
+    public SuggestionState() {
+    }
+
+    public SuggestionState(Long userId, LocalDateTime computedAt) {
+        this.userId = userId;
+        this.computedAt = computedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    public LocalDateTime getMarkedAt() {
+        return markedAt;
+    }
+
+    public LocalDateTime getComputedAt() {
+        return computedAt;
+    }
+}
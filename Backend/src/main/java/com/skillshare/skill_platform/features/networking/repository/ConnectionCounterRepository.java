@@ -0,0 +1,37 @@
+package com.linkedin.backend.features.networking.repository;
+
+import com.linkedin.backend.features.networking.model.ConnectionCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface ConnectionCounterRepository extends JpaRepository<ConnectionCounter, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE connection_counters c
+            SET c.acceptedCount = CASE WHEN c.acceptedCount + :acceptedDelta < 0 THEN 0 ELSE c.acceptedCount + :acceptedDelta END,
+            c.pendingIncomingCount = CASE WHEN c.pendingIncomingCount + :pendingIncomingDelta < 0 THEN 0 ELSE c.pendingIncomingCount + :pendingIncomingDelta END,
+            c.pendingOutgoingCount = CASE WHEN c.pendingOutgoingCount + :pendingOutgoingDelta < 0 THEN 0 ELSE c.pendingOutgoingCount + :pendingOutgoingDelta END
+            WHERE c.userId = :userId""")
+    int adjust(@Param("userId") Long userId, @Param("acceptedDelta") long acceptedDelta,
+            @Param("pendingIncomingDelta") long pendingIncomingDelta,
+            @Param("pendingOutgoingDelta") long pendingOutgoingDelta);
+
+    /**
+     * Creates the user's counter with the given counts, or leaves an existing one untouched.
+     * Never fails on a concurrent insert, so the caller's transaction stays usable.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO connection_counters (user_id, accepted_count, pending_incoming_count, pending_outgoing_count)
+            VALUES (:userId, GREATEST(:acceptedCount, 0), GREATEST(:pendingIncomingCount, 0), GREATEST(:pendingOutgoingCount, 0))
+            ON DUPLICATE KEY UPDATE user_id = user_id""", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("acceptedCount") long acceptedCount,
+            @Param("pendingIncomingCount") long pendingIncomingCount,
+            @Param("pendingOutgoingCount") long pendingOutgoingCount);
+}
@@ -3,19 +3,54 @@ package com.linkedin.backend.features.networking.repository;
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.networking.model.Connection;
 import com.linkedin.backend.features.networking.model.Status;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 public interface ConnectionRepository extends JpaRepository<Connection, Long> {
-    boolean existsByAuthorAndRecipient(User sender, User recipient);
+    boolean existsByParticipantLowIdAndParticipantHighId(Long participantLowId, Long participantHighId);
 
-    List<Connection> findAllByAuthorOrRecipient(User userOne, User userTwo);
+    default boolean existsBetween(Long userOneId, Long userTwoId) {
+        return existsByParticipantLowIdAndParticipantHighId(Math.min(userOneId, userTwoId), Math.max(userOneId, userTwoId));
+    }
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE connections c
+            SET c.participantLowId = CASE WHEN c.author.id < c.recipient.id THEN c.author.id ELSE c.recipient.id END,
+            c.participantHighId = CASE WHEN c.author.id < c.recipient.id THEN c.recipient.id ELSE c.author.id END
+            WHERE c.participantLowId IS NULL""")
+    int backfillParticipantPairs();
 
-    @Query("SELECT c FROM connections c WHERE (c.author = :user OR c.recipient = :user) AND c.status = :status")
-    List<Connection> findConnectionsByUserAndStatus(@Param("user") User user, @Param("status") Status status);
+    @Query("SELECT c.participantLowId, c.participantHighId FROM connections c WHERE c.status = :status")
+    List<Object[]> findParticipantPairsByStatus(@Param("status") Status status);
+
+    List<Connection> findAllByAuthorOrRecipient(User userOne, User userTwo);
 
     List<Connection> findByAuthorIdAndStatusOrRecipientIdAndStatus(Long authenticatedUserId, Status status, Long authenticatedUserId1, Status status1);
+
+    @Query("""
+            SELECT c FROM connections c JOIN FETCH c.author JOIN FETCH c.recipient
+            WHERE (c.author.id = :userId OR c.recipient.id = :userId) AND c.status = :status ORDER BY c.id DESC""")
+    List<Connection> findFirstPage(@Param("userId") Long userId, @Param("status") Status status, Pageable pageable);
+
+    @Query("""
+            SELECT c FROM connections c JOIN FETCH c.author JOIN FETCH c.recipient
+            WHERE (c.author.id = :userId OR c.recipient.id = :userId) AND c.status = :status AND c.id < :before
+            ORDER BY c.id DESC""")
+    List<Connection> findPageBefore(@Param("userId") Long userId, @Param("status") Status status,
+            @Param("before") Long before, Pageable pageable);
+
+    @Query("SELECT COUNT(c) FROM connections c WHERE (c.author.id = :userId OR c.recipient.id = :userId) AND c.status = :status")
+    long countByUserAndStatus(@Param("userId") Long userId, @Param("status") Status status);
+
+    long countByAuthorIdAndStatus(Long authorId, Status status);
+
+    long countByRecipientIdAndStatus(Long recipientId, Status status);
 }
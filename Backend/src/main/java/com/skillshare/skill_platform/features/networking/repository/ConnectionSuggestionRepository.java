@@ -0,0 +1,35 @@
+package com.linkedin.backend.features.networking.repository;
+
+import com.linkedin.backend.features.networking.dto.CandidateProfile;
+import com.linkedin.backend.features.networking.model.ConnectionSuggestion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ConnectionSuggestionRepository extends JpaRepository<ConnectionSuggestion, Long> {
+    @Query("SELECT s FROM connection_suggestions s JOIN FETCH s.suggestedUser WHERE s.userId = :userId ORDER BY s.position")
+    List<ConnectionSuggestion> findByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM connection_suggestions s WHERE s.userId IN :userIds")
+    int deleteByUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("SELECT u.id FROM users u WHERE u.id IN :userIds")
+    List<Long> findExistingUserIds(@Param("userIds") Collection<Long> userIds);
+
+    @Query("""
+            SELECT new com.linkedin.backend.features.networking.dto.CandidateProfile(u.id, u.company, u.position, u.location)
+            FROM users u WHERE u.profileComplete = true""")
+    List<CandidateProfile> findCandidateProfiles();
+
+    @Query("""
+            SELECT new com.linkedin.backend.features.networking.dto.CandidateProfile(u.id, u.company, u.position, u.location)
+            FROM users u WHERE u.id = :userId AND u.profileComplete = true""")
+    Optional<CandidateProfile> findCandidateProfile(@Param("userId") Long userId);
+}
@@ -0,0 +1,48 @@
+package com.linkedin.backend.features.networking.repository;
+
+import com.linkedin.backend.features.networking.model.SuggestionState;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface SuggestionStateRepository extends JpaRepository<SuggestionState, Long> {
+    @Query("SELECT s.userId FROM suggestion_states s WHERE s.dirty = true ORDER BY s.markedAt")
+    List<Long> findDirtyUserIds(Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE suggestion_states s SET s.dirty = true, s.markedAt = :now WHERE s.userId IN :userIds")
+    int markDirty(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE suggestion_states s SET s.dirty = true, s.markedAt = :now")
+    int markAllDirty(@Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT INTO suggestion_states (user_id, dirty, marked_at)
+            SELECT u.id, true, :now FROM users u WHERE NOT EXISTS (SELECT 1 FROM suggestion_states s WHERE s.user_id = u.id)""",
+            nativeQuery = true)
+    int insertMissing(@Param("now") LocalDateTime now);
+
+    /**
+     * Clears the dirty flag of users that were not marked again after {@code startedAt}, i.e.
+     * while their suggestions were being computed.
+     */
+    @Modifying
+    @Query("""
+            UPDATE suggestion_states s SET s.computedAt = :computedAt,
+            s.dirty = CASE WHEN s.markedAt > :startedAt THEN true ELSE false END
+            WHERE s.userId IN :userIds""")
+    int markComputed(@Param("userIds") Collection<Long> userIds, @Param("startedAt") LocalDateTime startedAt,
+            @Param("computedAt") LocalDateTime computedAt);
+}
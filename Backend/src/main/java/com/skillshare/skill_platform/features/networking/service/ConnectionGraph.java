@@ -0,0 +1,436 @@
+package com.linkedin.backend.features.networking.service;
+
+import com.linkedin.backend.features.networking.model.Status;
+import com.linkedin.backend.features.networking.repository.ConnectionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory adjacency index of accepted connections. Users are mapped to dense int indexes and
+ * neighbours are kept as sorted int lists: a CSR snapshot ({@code offsets}/{@code neighbors})
+ * built at startup, plus per-user replacement lists for users whose connections changed since.
+ * Once enough users have changed, the overlay is folded back into a fresh snapshot.
+ */
+@Component
+public class ConnectionGraph {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionGraph.class);
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    private final ConnectionRepository connectionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> indexByUserId = new HashMap<>();
+    private long[] userIdByIndex = new long[0];
+    private int userCount;
+
+    private int[] offsets = {0};
+    private int[] neighbors = NO_NEIGHBORS;
+    private final Map<Integer, int[]> changedNeighbors = new HashMap<>();
+
+    public ConnectionGraph(ConnectionRepository connectionRepository) {
+        this.connectionRepository = connectionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<Object[]> pairs = connectionRepository.findParticipantPairsByStatus(Status.ACCEPTED);
+        lock.writeLock().lock();
+        try {
+            int[] from = new int[pairs.size()];
+            int[] to = new int[pairs.size()];
+            for (int i = 0; i < pairs.size(); i++) {
+                from[i] = indexOf((Long) pairs.get(i)[0]);
+                to[i] = indexOf((Long) pairs.get(i)[1]);
+            }
+            buildSnapshot(from, to);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded connection graph: {} users, {} connections.", userCount, pairs.size());
+    }
+
+    /**
+     * Applies the edge once the surrounding transaction commits, so a rolled back accept never
+     * shows up in recommendations.
+     */
+    public void addConnectionAfterCommit(Long userOneId, Long userTwoId) {
+        afterCommit(() -> addConnection(userOneId, userTwoId));
+    }
+
+    public void removeConnectionAfterCommit(Long userOneId, Long userTwoId) {
+        afterCommit(() -> removeConnection(userOneId, userTwoId));
+    }
+
+    public void addConnection(Long userOneId, Long userTwoId) {
+        lock.writeLock().lock();
+        try {
+            int a = indexOf(userOneId);
+            int b = indexOf(userTwoId);
+            changedNeighbors.put(a, withNeighbor(a, b));
+            changedNeighbors.put(b, withNeighbor(b, a));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeConnection(Long userOneId, Long userTwoId) {
+        lock.writeLock().lock();
+        try {
+            Integer a = indexByUserId.get(userOneId);
+            Integer b = indexByUserId.get(userTwoId);
+            if (a == null || b == null) {
+                return;
+            }
+            changedNeighbors.put(a, withoutNeighbor(a, b));
+            changedNeighbors.put(b, withoutNeighbor(b, a));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Drops every connection of the user, leaving their index unused.
+     */
+    public void removeUser(Long userId) {
+        lock.writeLock().lock();
+        try {
+            Integer user = indexByUserId.get(userId);
+            if (user == null) {
+                return;
+            }
+            int[] list = neighborArray(user);
+            int end = neighborsEnd(user, list);
+            for (int i = neighborsStart(user, list); i < end; i++) {
+                changedNeighbors.put(list[i], withoutNeighbor(list[i], user));
+            }
+            changedNeighbors.put(user, new int[0]);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long[] connectionsOf(Long userId) {
+        lock.readLock().lock();
+        try {
+            Integer user = indexByUserId.get(userId);
+            if (user == null) {
+                return new long[0];
+            }
+            int[] direct = neighborArray(user);
+            int start = neighborsStart(user, direct);
+            long[] userIds = new long[neighborsEnd(user, direct) - start];
+            for (int i = 0; i < userIds.length; i++) {
+                userIds[i] = userIdByIndex[direct[start + i]];
+            }
+            return userIds;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Users two hops away from {@code userId} that are not already connected to them, each with
+     * the number of connections they share, computed by intersecting sorted neighbour lists.
+     */
+    public List<Candidate> secondDegreeConnections(Long userId) {
+        lock.readLock().lock();
+        try {
+            Integer user = indexByUserId.get(userId);
+            if (user == null) {
+                return List.of();
+            }
+            int[] direct = neighborArray(user);
+            int directStart = neighborsStart(user, direct);
+            int directEnd = neighborsEnd(user, direct);
+
+            int size = 0;
+            for (int i = directStart; i < directEnd; i++) {
+                int[] next = neighborArray(direct[i]);
+                size += neighborsEnd(direct[i], next) - neighborsStart(direct[i], next);
+            }
+            int[] reachable = new int[size];
+            int position = 0;
+            for (int i = directStart; i < directEnd; i++) {
+                int[] next = neighborArray(direct[i]);
+                int start = neighborsStart(direct[i], next);
+                int length = neighborsEnd(direct[i], next) - start;
+                System.arraycopy(next, start, reachable, position, length);
+                position += length;
+            }
+            Arrays.sort(reachable);
+
+            Candidate[] candidates = new Candidate[reachable.length];
+            int count = 0;
+            for (int i = 0; i < reachable.length; i++) {
+                int candidate = reachable[i];
+                if ((i > 0 && reachable[i - 1] == candidate) || candidate == user
+                        || Arrays.binarySearch(direct, directStart, directEnd, candidate) >= 0) {
+                    continue;
+                }
+                int[] theirs = neighborArray(candidate);
+                candidates[count++] = new Candidate(userIdByIndex[candidate], intersectionSize(direct, directStart,
+                        directEnd, theirs, neighborsStart(candidate, theirs), neighborsEnd(candidate, theirs)));
+            }
+            return Arrays.asList(Arrays.copyOf(candidates, count));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * User ids along a shortest chain of accepted connections from one user to another, both
+     * included, or an empty array if they are more than {@code maxDepth} hops apart. Runs a
+     * bidirectional BFS that always expands the smaller frontier by one level.
+     */
+    public long[] shortestPath(Long fromUserId, Long toUserId, int maxDepth) {
+        lock.readLock().lock();
+        try {
+            Integer source = indexByUserId.get(fromUserId);
+            Integer target = indexByUserId.get(toUserId);
+            if (source == null || target == null) {
+                return new long[0];
+            }
+            if (source.equals(target)) {
+                return new long[]{fromUserId};
+            }
+
+            Map<Integer, Integer> forwardParents = new HashMap<>();
+            Map<Integer, Integer> backwardParents = new HashMap<>();
+            forwardParents.put(source, -1);
+            backwardParents.put(target, -1);
+            int[] forward = {source};
+            int[] backward = {target};
+
+            for (int depth = 0; depth < maxDepth; depth++) {
+                boolean expandForward = forward.length <= backward.length;
+                int[] frontier = expandForward ? forward : backward;
+                Map<Integer, Integer> parents = expandForward ? forwardParents : backwardParents;
+                Map<Integer, Integer> otherParents = expandForward ? backwardParents : forwardParents;
+
+                int[] next = new int[Math.max(16, frontier.length * 4)];
+                int size = 0;
+                for (int node : frontier) {
+                    int[] list = neighborArray(node);
+                    int end = neighborsEnd(node, list);
+                    for (int i = neighborsStart(node, list); i < end; i++) {
+                        int neighbor = list[i];
+                        if (parents.containsKey(neighbor)) {
+                            continue;
+                        }
+                        parents.put(neighbor, node);
+                        if (otherParents.containsKey(neighbor)) {
+                            return buildPath(neighbor, forwardParents, backwardParents);
+                        }
+                        if (size == next.length) {
+                            next = Arrays.copyOf(next, size * 2);
+                        }
+                        next[size++] = neighbor;
+                    }
+                }
+                if (size == 0) {
+                    return new long[0];
+                }
+                if (expandForward) {
+                    forward = Arrays.copyOf(next, size);
+                } else {
+                    backward = Arrays.copyOf(next, size);
+                }
+            }
+            return new long[0];
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Candidate(Long userId, int mutualConnections) {
+    }
+
+    private long[] buildPath(int meeting, Map<Integer, Integer> forwardParents, Map<Integer, Integer> backwardParents) {
+        int forwardLength = 0;
+        for (int node = meeting; node != -1; node = forwardParents.get(node)) {
+            forwardLength++;
+        }
+        int backwardLength = 0;
+        for (int node = backwardParents.get(meeting); node != -1; node = backwardParents.get(node)) {
+            backwardLength++;
+        }
+
+        long[] path = new long[forwardLength + backwardLength];
+        int position = forwardLength - 1;
+        for (int node = meeting; node != -1; node = forwardParents.get(node)) {
+            path[position--] = userIdByIndex[node];
+        }
+        position = forwardLength;
+        for (int node = backwardParents.get(meeting); node != -1; node = backwardParents.get(node)) {
+            path[position++] = userIdByIndex[node];
+        }
+        return path;
+    }
+
+    /**
+     * The array holding the user's sorted neighbours, to be read in place between
+     * {@link #neighborsStart} and {@link #neighborsEnd}: their replacement list if their
+     * connections changed since the snapshot, otherwise the snapshot's shared array.
+     */
+    private int[] neighborArray(int user) {
+        int[] changed = changedNeighbors.get(user);
+        return changed != null ? changed : neighbors;
+    }
+
+    private int neighborsStart(int user, int[] list) {
+        if (list != neighbors) {
+            return 0;
+        }
+        return user + 1 < offsets.length ? offsets[user] : 0;
+    }
+
+    private int neighborsEnd(int user, int[] list) {
+        if (list != neighbors) {
+            return list.length;
+        }
+        return user + 1 < offsets.length ? offsets[user + 1] : 0;
+    }
+
+    private int indexOf(Long userId) {
+        Integer index = indexByUserId.get(userId);
+        if (index != null) {
+            return index;
+        }
+        if (userCount == userIdByIndex.length) {
+            userIdByIndex = Arrays.copyOf(userIdByIndex, Math.max(16, userCount * 2));
+        }
+        userIdByIndex[userCount] = userId;
+        indexByUserId.put(userId, userCount);
+        return userCount++;
+    }
+
+    private void compactIfNeeded() {
+        if (changedNeighbors.size() <= Math.max(1024, userCount / 10)) {
+            return;
+        }
+        int edgeEnds = 0;
+        for (int user = 0; user < userCount; user++) {
+            int[] list = neighborArray(user);
+            edgeEnds += neighborsEnd(user, list) - neighborsStart(user, list);
+        }
+        int[] from = new int[edgeEnds / 2];
+        int[] to = new int[edgeEnds / 2];
+        int edge = 0;
+        for (int user = 0; user < userCount; user++) {
+            int[] list = neighborArray(user);
+            int end = neighborsEnd(user, list);
+            for (int i = neighborsStart(user, list); i < end; i++) {
+                if (user < list[i]) {
+                    from[edge] = user;
+                    to[edge++] = list[i];
+                }
+            }
+        }
+        buildSnapshot(from, to);
+    }
+
+    private void buildSnapshot(int[] from, int[] to) {
+        int[] newOffsets = new int[userCount + 1];
+        for (int i = 0; i < from.length; i++) {
+            newOffsets[from[i] + 1]++;
+            newOffsets[to[i] + 1]++;
+        }
+        for (int user = 0; user < userCount; user++) {
+            newOffsets[user + 1] += newOffsets[user];
+        }
+
+        int[] newNeighbors = new int[newOffsets[userCount]];
+        int[] fill = Arrays.copyOf(newOffsets, userCount);
+        for (int i = 0; i < from.length; i++) {
+            newNeighbors[fill[from[i]]++] = to[i];
+            newNeighbors[fill[to[i]]++] = from[i];
+        }
+        for (int user = 0; user < userCount; user++) {
+            Arrays.sort(newNeighbors, newOffsets[user], newOffsets[user + 1]);
+        }
+
+        offsets = newOffsets;
+        neighbors = newNeighbors;
+        changedNeighbors.clear();
+    }
+
+    private static int intersectionSize(int[] a, int aStart, int aEnd, int[] b, int bStart, int bEnd) {
+        int i = aStart;
+        int j = bStart;
+        int count = 0;
+        while (i < aEnd && j < bEnd) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                count++;
+                i++;
+                j++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * A new sorted neighbour list for the user with {@code value} added, copied straight from
+     * wherever their current list lives.
+     */
+    private int[] withNeighbor(int user, int value) {
+        int[] list = neighborArray(user);
+        int start = neighborsStart(user, list);
+        int end = neighborsEnd(user, list);
+        int position = Arrays.binarySearch(list, start, end, value);
+        if (position >= 0) {
+            return list == neighbors ? Arrays.copyOfRange(list, start, end) : list;
+        }
+        position = -position - 1;
+        int[] result = new int[end - start + 1];
+        System.arraycopy(list, start, result, 0, position - start);
+        result[position - start] = value;
+        System.arraycopy(list, position, result, position - start + 1, end - position);
+        return result;
+    }
+
+    private int[] withoutNeighbor(int user, int value) {
+        int[] list = neighborArray(user);
+        int start = neighborsStart(user, list);
+        int end = neighborsEnd(user, list);
+        int position = Arrays.binarySearch(list, start, end, value);
+        if (position < 0) {
+            return list == neighbors ? Arrays.copyOfRange(list, start, end) : list;
+        }
+        int[] result = new int[end - start - 1];
+        System.arraycopy(list, start, result, 0, position - start);
+        System.arraycopy(list, position + 1, result, position - start, end - position - 1);
+        return result;
+    }
+
+    static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
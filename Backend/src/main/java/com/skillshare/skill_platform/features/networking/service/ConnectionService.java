@@ -1,46 +1,81 @@
 package com.linkedin.backend.features.networking.service;
 
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.networking.dto.ConnectionCountsDto;
+import com.linkedin.backend.features.networking.dto.ConnectionPathDto;
+import com.linkedin.backend.features.networking.dto.ConnectionSummaryDto;
 import com.linkedin.backend.features.networking.model.Connection;
 import com.linkedin.backend.features.networking.model.Status;
+import com.linkedin.backend.features.networking.repository.ConnectionCounterRepository;
 import com.linkedin.backend.features.networking.repository.ConnectionRepository;
 import com.linkedin.backend.features.notifications.service.NotificationService;
+import jakarta.transaction.Transactional;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class ConnectionService {
+    private static final int MAX_PATH_DEPTH = 3;
+    private static final int MAX_PAGE_SIZE = 50;
 
     private final ConnectionRepository connectionRepository;
+    private final ConnectionCounterRepository connectionCounterRepository;
     private final UserRepository userRepository;
     private final NotificationService notificationService;
+    private final ConnectionGraph connectionGraph;
+    private final ConnectionSuggestionService connectionSuggestionService;
 
-    public ConnectionService(ConnectionRepository connectionRepository, UserRepository userRepository, NotificationService notificationService) {
+    public ConnectionService(ConnectionRepository connectionRepository,
+            ConnectionCounterRepository connectionCounterRepository, UserRepository userRepository,
+            NotificationService notificationService, ConnectionGraph connectionGraph,
+            ConnectionSuggestionService connectionSuggestionService) {
         this.connectionRepository = connectionRepository;
+        this.connectionCounterRepository = connectionCounterRepository;
         this.userRepository = userRepository;
         this.notificationService = notificationService;
+        this.connectionGraph = connectionGraph;
+        this.connectionSuggestionService = connectionSuggestionService;
     }
 
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillParticipantPairs() {
+        connectionRepository.backfillParticipantPairs();
+    }
+
+    @Transactional
     public Connection sendConnectionRequest(User sender, Long recipientId) {
         User recipient = userRepository.findById(recipientId)
                 .orElseThrow(() -> new IllegalArgumentException("Recipient not found"));
 
-        if (connectionRepository.existsByAuthorAndRecipient(sender, recipient) ||
-                connectionRepository.existsByAuthorAndRecipient(recipient, sender)) {
+        if (connectionRepository.existsBetween(sender.getId(), recipient.getId())) {
             throw new IllegalStateException("Connection request already exists");
         }
 
-        Connection connection = connectionRepository.save(new Connection(sender, recipient));
+        Connection connection;
+        try {
+            connection = connectionRepository.saveAndFlush(new Connection(sender, recipient));
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Connection request already exists");
+        }
+        adjustCounts(sender.getId(), 0, 0, 1);
+        adjustCounts(recipient.getId(), 0, 1, 0);
         notificationService.sendNewInvitationToUsers(sender.getId(), recipient.getId(), connection);
         return connection;
     }
 
+    @Transactional
     public Connection acceptConnectionRequest(User recipient, Long connectionId) {
         Connection connection = connectionRepository.findById(connectionId)
                 .orElseThrow(() -> new IllegalArgumentException("Connection not found"));
@@ -54,10 +89,17 @@ public class ConnectionService {
         }
 
         connection.setStatus(Status.ACCEPTED);
-        notificationService.sendInvitationAcceptedToUsers(connection.getAuthor().getId(), connection.getRecipient().getId(), connection);
-        return connectionRepository.save(connection);
+        Connection savedConnection = connectionRepository.save(connection);
+        adjustCounts(savedConnection.getAuthor().getId(), 1, 0, -1);
+        adjustCounts(savedConnection.getRecipient().getId(), 1, -1, 0);
+        connectionGraph.addConnectionAfterCommit(savedConnection.getAuthor().getId(), savedConnection.getRecipient().getId());
+        connectionSuggestionService.markConnectionChangedAfterCommit(savedConnection.getAuthor().getId(),
+                savedConnection.getRecipient().getId());
+        notificationService.sendInvitationAcceptedToUsers(savedConnection.getAuthor().getId(), savedConnection.getRecipient().getId(), savedConnection);
+        return savedConnection;
     }
 
+    @Transactional
     public Connection rejectOrCancelConnection(User recipient, Long connectionId) {
         Connection connection = connectionRepository.findById(connectionId)
                 .orElseThrow(() -> new IllegalArgumentException("Connection not found"));
@@ -66,20 +108,47 @@ public class ConnectionService {
             throw new IllegalStateException("User is not the recipient or author of the connection request");
         }
         connectionRepository.deleteById(connectionId);
+        if (connection.getStatus().equals(Status.ACCEPTED)) {
+            adjustCounts(connection.getAuthor().getId(), -1, 0, 0);
+            adjustCounts(connection.getRecipient().getId(), -1, 0, 0);
+            connectionGraph.removeConnectionAfterCommit(connection.getAuthor().getId(), connection.getRecipient().getId());
+            connectionSuggestionService.markConnectionChangedAfterCommit(connection.getAuthor().getId(),
+                    connection.getRecipient().getId());
+        } else {
+            adjustCounts(connection.getAuthor().getId(), 0, 0, -1);
+            adjustCounts(connection.getRecipient().getId(), 0, -1, 0);
+        }
         notificationService.sendRemoveConnectionToUsers(connection.getAuthor().getId(), connection.getRecipient().getId(), connection);
         return connection;
     }
 
-    public List<Connection> getUserConnections(User user, Status status) {
-        return connectionRepository.findConnectionsByUserAndStatus(user, status != null ? status : Status.ACCEPTED);
+    /**
+     * A page of the user's connections with the given status, newest first, {@code before} being
+     * a connection id.
+     */
+    public List<ConnectionSummaryDto> getUserConnections(Long userId, Status status, Long before, int limit) {
+        if (!userRepository.existsById(userId)) {
+            throw new IllegalArgumentException("User not found");
+        }
+        Status effectiveStatus = status != null ? status : Status.ACCEPTED;
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        List<Connection> connections = before == null
+                ? connectionRepository.findFirstPage(userId, effectiveStatus, page)
+                : connectionRepository.findPageBefore(userId, effectiveStatus, before, page);
+        return connections.stream().map(ConnectionSummaryDto::of).toList();
     }
 
-    public List<Connection> getUserConnections(Long userId, Status status) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return connectionRepository.findConnectionsByUserAndStatus(user, status != null ? status : Status.ACCEPTED);
+    public ConnectionCountsDto getConnectionCounts(Long userId) {
+        return connectionCounterRepository.findById(userId)
+                .or(() -> {
+                    initializeCounts(userId, 0, 0, 0);
+                    return connectionCounterRepository.findById(userId);
+                })
+                .map(ConnectionCountsDto::of)
+                .orElseThrow(() -> new IllegalStateException("Connection counts of user " + userId + " are missing"));
     }
 
+    @Transactional
     public Connection markConnectionAsSeen(User user, Long id) {
         Connection connection = connectionRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Connection not found"));
@@ -89,110 +158,53 @@ public class ConnectionService {
         }
 
         connection.setSeen(true);
-        notificationService.sendConnectionSeenNotification(connection.getRecipient().getId(), connection);
-        return connectionRepository.save(connection);
+        Connection savedConnection = connectionRepository.save(connection);
+        notificationService.sendConnectionSeenNotification(savedConnection.getRecipient().getId(), savedConnection);
+        return savedConnection;
     }
 
 
-    public List<User> getRecommendations(Long userId, int limit) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-
-        Set<User> secondDegreeConnections = getSecondDegreeConnections(user);
-
-        secondDegreeConnections = secondDegreeConnections.isEmpty() ? new HashSet<>(userRepository.findAllByIdNot(userId)) : secondDegreeConnections;
-
-        List<UserRecommendation> recommendations = new ArrayList<>();
-
-        for (User potentialConnection : secondDegreeConnections) {
-            if (!potentialConnection.getProfileComplete()) {
-                continue;
-            }
-
-            double score = calculateProfileSimilarity(user, potentialConnection);
-
-            int mutualConnections = countMutualConnections(user, potentialConnection);
-            score += mutualConnections * 0.5;
-
-            recommendations.add(new UserRecommendation(potentialConnection, score));
+    public ConnectionPathDto getConnectionPath(User user, Long targetUserId) {
+        if (!userRepository.existsById(targetUserId)) {
+            throw new IllegalArgumentException("User not found");
         }
-
-        return recommendations.stream()
-                .sorted((r1, r2) -> Double.compare(r2.score(), r1.score()))
-                .limit(limit)
-                .map(UserRecommendation::user)
-                .collect(Collectors.toList());
-    }
-
-    private double calculateProfileSimilarity(User user1, User user2) {
-        double score = 0.0;
-
-        if (user1.getCompany().equalsIgnoreCase(user2.getCompany())) {
-            score += 3.0;
-        }
-        if (user1.getPosition().equalsIgnoreCase(user2.getPosition())) {
-            score += 2.0;
+        long[] path = connectionGraph.shortestPath(user.getId(), targetUserId, MAX_PATH_DEPTH);
+        if (path.length == 0) {
+            return new ConnectionPathDto(null, List.of());
         }
 
-        if (user1.getLocation().equalsIgnoreCase(user2.getLocation())) {
-            score += 1.5;
-        }
-
-        return score;
+        List<Long> userIds = Arrays.stream(path).boxed().toList();
+        Map<Long, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+        List<UserSummaryDto> users = userIds.stream()
+                .map(usersById::get)
+                .filter(Objects::nonNull)
+                .map(UserSummaryDto::of)
+                .toList();
+        return new ConnectionPathDto(path.length - 1, users);
     }
 
-    private Set<User> getSecondDegreeConnections(User user) {
-        Set<User> directConnections = new HashSet<>();
-
-        user.getInitiatedConnections().stream()
-                .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                .forEach(conn -> directConnections.add(conn.getRecipient()));
-
-        user.getReceivedConnections().stream()
-                .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                .forEach(conn -> directConnections.add(conn.getAuthor()));
-
-        Set<User> secondDegreeConnections = new HashSet<>();
-
-        for (User directConnection : directConnections) {
-            directConnection.getInitiatedConnections().stream()
-                    .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                    .forEach(conn -> secondDegreeConnections.add(conn.getRecipient()));
+    public List<User> getRecommendations(Long userId, int limit) {
+        return connectionSuggestionService.getSuggestions(userId, limit);
+    }
 
-            directConnection.getReceivedConnections().stream()
-                    .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                    .forEach(conn -> secondDegreeConnections.add(conn.getAuthor()));
+    /**
+     * Applies the deltas to the user's counter, creating it first if the user has none. The
+     * counter is seeded from the rows as they were before this change, so the deltas are always
+     * applied on top, whether this transaction or a concurrent one created it.
+     */
+    private void adjustCounts(Long userId, long acceptedDelta, long pendingIncomingDelta, long pendingOutgoingDelta) {
+        if (connectionCounterRepository.adjust(userId, acceptedDelta, pendingIncomingDelta, pendingOutgoingDelta) == 0) {
+            initializeCounts(userId, acceptedDelta, pendingIncomingDelta, pendingOutgoingDelta);
+            connectionCounterRepository.adjust(userId, acceptedDelta, pendingIncomingDelta, pendingOutgoingDelta);
         }
-
-        secondDegreeConnections.remove(user);
-        secondDegreeConnections.removeAll(directConnections);
-
-        return secondDegreeConnections;
-    }
-    
-    private int countMutualConnections(User user1, User user2) {
-        Set<User> user1Connections = new HashSet<>();
-
-        user1.getInitiatedConnections().stream()
-                .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                .forEach(conn -> user1Connections.add(conn.getRecipient()));
-        user1.getReceivedConnections().stream()
-                .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                .forEach(conn -> user1Connections.add(conn.getAuthor()));
-
-        Set<User> user2Connections = new HashSet<>();
-        user2.getInitiatedConnections().stream()
-                .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                .forEach(conn -> user2Connections.add(conn.getRecipient()));
-        user2.getReceivedConnections().stream()
-                .filter(conn -> conn.getStatus().equals(Status.ACCEPTED))
-                .forEach(conn -> user2Connections.add(conn.getAuthor()));
-
-        user1Connections.retainAll(user2Connections);
-        return user1Connections.size();
     }
 
-    private record UserRecommendation(User user, double score) {
+    private void initializeCounts(Long userId, long acceptedDelta, long pendingIncomingDelta, long pendingOutgoingDelta) {
+        connectionCounterRepository.insertIfAbsent(userId,
+                connectionRepository.countByUserAndStatus(userId, Status.ACCEPTED) - acceptedDelta,
+                connectionRepository.countByRecipientIdAndStatus(userId, Status.PENDING) - pendingIncomingDelta,
+                connectionRepository.countByAuthorIdAndStatus(userId, Status.PENDING) - pendingOutgoingDelta);
     }
 
 
@@ -0,0 +1,240 @@
+package com.linkedin.backend.features.networking.service;
+
+import com.linkedin.backend.features.authentication.event.UserDeletedEvent;
+import com.linkedin.backend.features.authentication.event.UserProfileUpdatedEvent;
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.networking.model.ConnectionSuggestion;
+import com.linkedin.backend.features.networking.model.SuggestionState;
+import com.linkedin.backend.features.networking.repository.ConnectionSuggestionRepository;
+import com.linkedin.backend.features.networking.repository.SuggestionStateRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Precomputes the top suggestions of every user so the suggestions endpoint is a single indexed
+ * read. Users are marked dirty when their connections, their connections' connections or the
+ * profile fields suggestions are scored on change; a background job rescores dirty users in
+ * parallel on a fork/join pool, taking second-degree candidates from the {@link ConnectionGraph}
+ * and profile similarity from the {@link ProfileAttributeIndex}. A daily full refresh covers
+ * users whose suggestions only depend on profile similarity, since there is no connection path
+ * to invalidate them through.
+ */
+@Service
+public class ConnectionSuggestionService {
+    private static final Logger log = LoggerFactory.getLogger(ConnectionSuggestionService.class);
+
+    private final ConnectionSuggestionRepository connectionSuggestionRepository;
+    private final SuggestionStateRepository suggestionStateRepository;
+    private final UserRepository userRepository;
+    private final ConnectionGraph connectionGraph;
+    private final ProfileAttributeIndex profileAttributeIndex;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool scoringPool;
+    private final int suggestionsPerUser;
+    private final int batchSize;
+
+    public ConnectionSuggestionService(ConnectionSuggestionRepository connectionSuggestionRepository,
+            SuggestionStateRepository suggestionStateRepository, UserRepository userRepository,
+            ConnectionGraph connectionGraph, ProfileAttributeIndex profileAttributeIndex,
+            PlatformTransactionManager transactionManager,
+            @Value("${connections.suggestions.size:20}") int suggestionsPerUser,
+            @Value("${connections.suggestions.batch-size:500}") int batchSize,
+            @Value("${connections.suggestions.parallelism:0}") int parallelism) {
+        this.connectionSuggestionRepository = connectionSuggestionRepository;
+        this.suggestionStateRepository = suggestionStateRepository;
+        this.userRepository = userRepository;
+        this.connectionGraph = connectionGraph;
+        this.profileAttributeIndex = profileAttributeIndex;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.suggestionsPerUser = suggestionsPerUser;
+        this.batchSize = batchSize;
+    }
+
+    public List<User> getSuggestions(Long userId, int limit) {
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), suggestionsPerUser));
+        List<ConnectionSuggestion> suggestions = connectionSuggestionRepository.findByUserId(userId, page);
+        if (suggestions.isEmpty() && !suggestionStateRepository.existsById(userId)) {
+            // First request of a user the job has not reached yet.
+            refresh(List.of(userId));
+            suggestions = connectionSuggestionRepository.findByUserId(userId, page);
+        }
+        return suggestions.stream().map(ConnectionSuggestion::getSuggestedUser).toList();
+    }
+
+    /**
+     * A new or removed connection changes both users' candidates and the second-degree
+     * connections of everyone directly connected to either of them. Applied after commit, once
+     * the graph reflects the change.
+     */
+    public void markConnectionChangedAfterCommit(Long userOneId, Long userTwoId) {
+        ConnectionGraph.afterCommit(() -> markConnectionChanged(userOneId, userTwoId));
+    }
+
+    private void markConnectionChanged(Long userOneId, Long userTwoId) {
+        Set<Long> affected = new HashSet<>(List.of(userOneId, userTwoId));
+        for (long connectionId : connectionGraph.connectionsOf(userOneId)) {
+            affected.add(connectionId);
+        }
+        for (long connectionId : connectionGraph.connectionsOf(userTwoId)) {
+            affected.add(connectionId);
+        }
+        suggestionStateRepository.markDirty(affected, LocalDateTime.now());
+    }
+
+    @EventListener
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        Set<Long> affected = new HashSet<>();
+        affected.add(event.userId());
+        connectionGraph.secondDegreeConnections(event.userId())
+                .forEach(candidate -> affected.add(candidate.userId()));
+        suggestionStateRepository.markDirty(affected, LocalDateTime.now());
+    }
+
+    /**
+     * Takes the user out of the graph and the profile index once the deletion commits, and marks
+     * their former connections dirty since their second-degree connections changed.
+     */
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        ConnectionGraph.afterCommit(() -> {
+            Set<Long> affected = new HashSet<>();
+            for (long connectionId : connectionGraph.connectionsOf(event.userId())) {
+                affected.add(connectionId);
+            }
+            connectionGraph.removeUser(event.userId());
+            profileAttributeIndex.removeUser(event.userId());
+            if (!affected.isEmpty()) {
+                suggestionStateRepository.markDirty(affected, LocalDateTime.now());
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeStates() {
+        suggestionStateRepository.insertMissing(LocalDateTime.now());
+    }
+
+    @Scheduled(cron = "${connections.suggestions.full-refresh-cron:0 0 4 * * *}")
+    public void markAllDirty() {
+        LocalDateTime now = LocalDateTime.now();
+        suggestionStateRepository.insertMissing(now);
+        suggestionStateRepository.markAllDirty(now);
+    }
+
+    @Scheduled(fixedDelayString = "${connections.suggestions.refresh-interval-ms:60000}")
+    public void refreshDirtySuggestions() {
+        List<Long> dirty = suggestionStateRepository.findDirtyUserIds(PageRequest.of(0, batchSize));
+        if (dirty.isEmpty()) {
+            return;
+        }
+        long startedAt = System.nanoTime();
+        refresh(dirty);
+        log.info("Refreshed connection suggestions of {} users in {} ms.", dirty.size(),
+                (System.nanoTime() - startedAt) / 1_000_000);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scoringPool.shutdown();
+    }
+
+    /**
+     * Rescores the users and replaces their stored suggestions. Users deleted since they were
+     * scored, as owners or as candidates, are left out instead of being referenced by new rows;
+     * if one is deleted concurrently all the same, the batch rolls back and stays dirty for the
+     * next run.
+     */
+    private void refresh(List<Long> userIds) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Map<Long, List<ScoredCandidate>> computed = scoringPool.submit(() -> userIds.parallelStream()
+                .collect(Collectors.toMap(Function.identity(), this::score)))
+                .join();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Set<Long> referenced = new HashSet<>(userIds);
+                computed.values().forEach(candidates ->
+                        candidates.forEach(candidate -> referenced.add(candidate.userId())));
+                Set<Long> existing = new HashSet<>(connectionSuggestionRepository.findExistingUserIds(referenced));
+
+                connectionSuggestionRepository.deleteByUserIds(userIds);
+                List<ConnectionSuggestion> rows = new ArrayList<>();
+                computed.forEach((userId, candidates) -> {
+                    if (!existing.contains(userId)) {
+                        return;
+                    }
+                    int position = 0;
+                    for (ScoredCandidate candidate : candidates) {
+                        if (existing.contains(candidate.userId())) {
+                            rows.add(new ConnectionSuggestion(userId,
+                                    userRepository.getReferenceById(candidate.userId()), position++, candidate.score()));
+                        }
+                    }
+                });
+                connectionSuggestionRepository.saveAll(rows);
+
+                LocalDateTime computedAt = LocalDateTime.now();
+                Set<Long> missing = new HashSet<>(existing);
+                missing.retainAll(userIds);
+                suggestionStateRepository.findAllById(userIds).forEach(state -> missing.remove(state.getUserId()));
+                missing.forEach(userId -> suggestionStateRepository.save(new SuggestionState(userId, computedAt)));
+                suggestionStateRepository.markComputed(userIds, startedAt, computedAt);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Could not store connection suggestions of {} users, a suggested user was deleted meanwhile: {}",
+                    userIds.size(), e.getMessage());
+        }
+    }
+
+    private List<ScoredCandidate> score(Long userId) {
+        Set<Long> excluded = new HashSet<>();
+        excluded.add(userId);
+        for (long connectionId : connectionGraph.connectionsOf(userId)) {
+            excluded.add(connectionId);
+        }
+
+        List<ScoredCandidate> scored = new ArrayList<>();
+        for (ConnectionGraph.Candidate candidate : connectionGraph.secondDegreeConnections(userId)) {
+            if (profileAttributeIndex.isComplete(candidate.userId())) {
+                scored.add(new ScoredCandidate(candidate.userId(),
+                        profileAttributeIndex.similarity(userId, candidate.userId()) + candidate.mutualConnections() * 0.5));
+            }
+        }
+        scored.sort(Comparator.comparingDouble(ScoredCandidate::score).reversed());
+        if (scored.size() >= suggestionsPerUser) {
+            return new ArrayList<>(scored.subList(0, suggestionsPerUser));
+        }
+
+        // Too few second-degree connections: fill up with the best profile matches.
+        scored.forEach(candidate -> excluded.add(candidate.userId()));
+        profileAttributeIndex.bestMatches(userId, excluded, suggestionsPerUser - scored.size())
+                .forEach(match -> scored.add(new ScoredCandidate(match.userId(), match.score())));
+        return scored;
+    }
+
+    private record ScoredCandidate(Long userId, double score) {
+    }
+}
@@ -0,0 +1,251 @@
+package com.linkedin.backend.features.networking.service;
+
+import com.linkedin.backend.features.authentication.event.UserProfileUpdatedEvent;
+import com.linkedin.backend.features.networking.dto.CandidateProfile;
+import com.linkedin.backend.features.networking.repository.ConnectionSuggestionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Inverted index from normalized company, position and location to bitsets of the users (dense
+ * indexes) with a complete profile holding that value. Similarity scoring tests bits instead of
+ * comparing strings, and the best profile matches of a user are enumerated tier by tier from
+ * intersections and differences of their three bitsets.
+ */
+@Component
+public class ProfileAttributeIndex {
+    public static final double COMPANY_WEIGHT = 3.0;
+    public static final double POSITION_WEIGHT = 2.0;
+    public static final double LOCATION_WEIGHT = 1.5;
+
+    private static final Logger log = LoggerFactory.getLogger(ProfileAttributeIndex.class);
+    private static final int COMPANY = 0;
+    private static final int POSITION = 1;
+    private static final int LOCATION = 2;
+
+    private final ConnectionSuggestionRepository connectionSuggestionRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Integer> indexByUserId = new HashMap<>();
+    private long[] userIdByIndex = new long[0];
+    private String[][] valuesByIndex = new String[0][];
+    private int userCount;
+
+    private final List<Map<String, BitSet>> usersByValue = List.of(new HashMap<>(), new HashMap<>(), new HashMap<>());
+    private final BitSet completeProfiles = new BitSet();
+
+    public ProfileAttributeIndex(ConnectionSuggestionRepository connectionSuggestionRepository) {
+        this.connectionSuggestionRepository = connectionSuggestionRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<CandidateProfile> profiles = connectionSuggestionRepository.findCandidateProfiles();
+        lock.writeLock().lock();
+        try {
+            profiles.forEach(this::put);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} complete profiles for suggestions.", profiles.size());
+    }
+
+    /**
+     * Runs before other listeners of the event so they see the updated profile.
+     */
+    @EventListener
+    @Order(0)
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        CandidateProfile profile = connectionSuggestionRepository.findCandidateProfile(event.userId()).orElse(null);
+        lock.writeLock().lock();
+        try {
+            remove(event.userId());
+            if (profile != null) {
+                put(profile);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeUser(Long userId) {
+        lock.writeLock().lock();
+        try {
+            remove(userId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isComplete(Long userId) {
+        lock.readLock().lock();
+        try {
+            Integer index = indexByUserId.get(userId);
+            return index != null && completeProfiles.get(index);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Profile similarity of two users with complete profiles, 0 otherwise.
+     */
+    public double similarity(Long userId, Long candidateId) {
+        lock.readLock().lock();
+        try {
+            Integer user = indexByUserId.get(userId);
+            Integer candidate = indexByUserId.get(candidateId);
+            if (user == null || candidate == null || !completeProfiles.get(user) || !completeProfiles.get(candidate)) {
+                return 0.0;
+            }
+            BitSet[] matches = matchesOf(user);
+            return (matches[COMPANY].get(candidate) ? COMPANY_WEIGHT : 0)
+                    + (matches[POSITION].get(candidate) ? POSITION_WEIGHT : 0)
+                    + (matches[LOCATION].get(candidate) ? LOCATION_WEIGHT : 0);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code limit} users with a complete profile, best profile match first and then any
+     * other complete profile, skipping {@code excluded}.
+     */
+    public List<Match> bestMatches(Long userId, Set<Long> excluded, int limit) {
+        lock.readLock().lock();
+        try {
+            List<Match> result = new ArrayList<>(limit);
+            Integer user = indexByUserId.get(userId);
+            BitSet taken = new BitSet();
+            if (user != null && completeProfiles.get(user)) {
+                BitSet[] matches = matchesOf(user);
+                // Every combination of matching fields, highest scoring first.
+                int[][] tiers = {
+                        {COMPANY, POSITION, LOCATION}, {COMPANY, POSITION}, {COMPANY, LOCATION},
+                        {POSITION, LOCATION}, {COMPANY}, {POSITION}, {LOCATION}
+                };
+                for (int[] tier : tiers) {
+                    BitSet members = (BitSet) completeProfiles.clone();
+                    double score = 0;
+                    for (int field = COMPANY; field <= LOCATION; field++) {
+                        if (contains(tier, field)) {
+                            members.and(matches[field]);
+                            score += weight(field);
+                        } else {
+                            members.andNot(matches[field]);
+                        }
+                    }
+                    collect(members, score, excluded, taken, result, limit);
+                }
+            }
+            collect(completeProfiles, 0.0, excluded, taken, result, limit);
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public record Match(Long userId, double score) {
+    }
+
+    private void collect(BitSet members, double score, Set<Long> excluded, BitSet taken, List<Match> result, int limit) {
+        for (int i = members.nextSetBit(0); i >= 0 && result.size() < limit; i = members.nextSetBit(i + 1)) {
+            Long candidateId = userIdByIndex[i];
+            if (!taken.get(i) && !excluded.contains(candidateId)) {
+                taken.set(i);
+                result.add(new Match(candidateId, score));
+            }
+        }
+    }
+
+    private BitSet[] matchesOf(int user) {
+        BitSet[] matches = new BitSet[3];
+        for (int field = COMPANY; field <= LOCATION; field++) {
+            BitSet members = usersByValue.get(field).get(valuesByIndex[user][field]);
+            matches[field] = members != null ? members : new BitSet();
+        }
+        return matches;
+    }
+
+    private void put(CandidateProfile profile) {
+        int index = indexOf(profile.id());
+        String[] values = {normalize(profile.company()), normalize(profile.position()), normalize(profile.location())};
+        valuesByIndex[index] = values;
+        for (int field = COMPANY; field <= LOCATION; field++) {
+            if (values[field] != null) {
+                usersByValue.get(field).computeIfAbsent(values[field], value -> new BitSet()).set(index);
+            }
+        }
+        completeProfiles.set(index);
+    }
+
+    private void remove(Long userId) {
+        Integer index = indexByUserId.get(userId);
+        if (index == null || valuesByIndex[index] == null) {
+            return;
+        }
+        for (int field = COMPANY; field <= LOCATION; field++) {
+            String value = valuesByIndex[index][field];
+            BitSet members = value != null ? usersByValue.get(field).get(value) : null;
+            if (members != null) {
+                members.clear(index);
+                if (members.isEmpty()) {
+                    usersByValue.get(field).remove(value);
+                }
+            }
+        }
+        valuesByIndex[index] = null;
+        completeProfiles.clear(index);
+    }
+
+    private int indexOf(Long userId) {
+        Integer index = indexByUserId.get(userId);
+        if (index != null) {
+            return index;
+        }
+        if (userCount == userIdByIndex.length) {
+            int capacity = Math.max(16, userCount * 2);
+            userIdByIndex = Arrays.copyOf(userIdByIndex, capacity);
+            valuesByIndex = Arrays.copyOf(valuesByIndex, capacity);
+        }
+        userIdByIndex[userCount] = userId;
+        indexByUserId.put(userId, userCount);
+        return userCount++;
+    }
+
+    private static boolean contains(int[] fields, int field) {
+        for (int f : fields) {
+            if (f == field) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double weight(int field) {
+        return switch (field) {
+            case COMPANY -> COMPANY_WEIGHT;
+            case POSITION -> POSITION_WEIGHT;
+            default -> LOCATION_WEIGHT;
+        };
+    }
+
+    private static String normalize(String value) {
+        return value == null ? null : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
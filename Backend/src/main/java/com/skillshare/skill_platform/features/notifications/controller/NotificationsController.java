@@ -1,15 +1,19 @@
 package com.linkedin.backend.features.notifications.controller;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.notifications.dto.UnreadCountDto;
 import com.linkedin.backend.features.notifications.model.Notification;
 import com.linkedin.backend.features.notifications.service.NotificationService;
 
@@ -23,8 +27,24 @@ public class NotificationsController {
     }
 
     @GetMapping
-    public List<Notification> getUserNotifications(@RequestAttribute("authenticatedUser") User user) {
-        return notificationService.getUserNotifications(user);
+    public List<Notification> getUserNotifications(@RequestAttribute("authenticatedUser") User user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime beforeDate,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false, defaultValue = "20") Integer limit) {
+        return notificationService.getUserNotifications(user, beforeDate, before, limit);
+    }
+
+    @GetMapping("/unread-count")
+    public UnreadCountDto getUnreadCount(@RequestAttribute("authenticatedUser") User user) {
+        return new UnreadCountDto(notificationService.getUnreadCount(user));
+    }
+
+    @PutMapping("/read")
+    public UnreadCountDto markAllNotificationsAsRead(@RequestAttribute("authenticatedUser") User user,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime upToDate,
+            @RequestParam Long upTo) {
+        return new UnreadCountDto(notificationService.markAllNotificationsAsRead(user, upToDate, upTo));
     }
 
     @PutMapping("/{notificationId}")
@@ -0,0 +1,4 @@
+package com.linkedin.backend.features.notifications.dto;
+
+public record UnreadCountDto(long unreadCount) {
+}
@@ -1,18 +1,32 @@
 package com.linkedin.backend.features.notifications.model;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.CreationTimestamp;
 
 import com.linkedin.backend.features.authentication.model.User;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_notification_recipient_creation", columnList = "recipient_id, creationDate"),
+        @Index(name = "idx_notification_coalescing", columnList = "recipient_id, type, resourceId")
+})
 public class Notification {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -24,6 +38,13 @@ public class Notification {
     private boolean isRead;
     private NotificationType type;
     private Long resourceId;
+    private Integer actorCount = 1;
+
+    @BatchSize(size = 50)
+    @ManyToMany(fetch = FetchType.EAGER)
+    @OrderColumn(name = "position")
+    @JoinTable(name = "notifications_recent_actors", joinColumns = @JoinColumn(name = "notification_id"), inverseJoinColumns = @JoinColumn(name = "user_id"))
+    private List<User> recentActors = new ArrayList<>();
 
     @CreationTimestamp
     private LocalDateTime creationDate;
@@ -34,6 +55,7 @@ public class Notification {
         this.type = type;
         this.isRead = false;
         this.resourceId = resourceId;
+        this.recentActors.add(actor);
     }
 
     public Notification() {
@@ -88,6 +110,39 @@ public class Notification {
         this.resourceId = resourceId;
     }
 
+    public int getActorCount() {
+        return actorCount != null ? actorCount : 1;
+    }
+
+    public void setActorCount(Integer actorCount) {
+        this.actorCount = actorCount;
+    }
+
+    public List<User> getRecentActors() {
+        return recentActors;
+    }
+
+    public void setRecentActors(List<User> recentActors) {
+        this.recentActors = recentActors;
+    }
+
+    /**
+     * Folds another occurrence of the same event into this notification. An actor that is
+     * already among the recent actors is moved to the front without being counted twice.
+     */
+    public void addActor(User newActor, int maxRecentActors) {
+        boolean repeated = recentActors.removeIf(recentActor -> recentActor.getId().equals(newActor.getId()));
+        recentActors.add(0, newActor);
+        while (recentActors.size() > maxRecentActors) {
+            recentActors.remove(recentActors.size() - 1);
+        }
+        if (!repeated) {
+            actorCount = getActorCount() + 1;
+        }
+        actor = newActor;
+        creationDate = LocalDateTime.now();
+    }
+
     public LocalDateTime getCreationDate() {
         return creationDate;
     }
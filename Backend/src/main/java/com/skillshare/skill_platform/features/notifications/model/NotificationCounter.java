@@ -0,0 +1,35 @@
+package com.linkedin.backend.features.notifications.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+@Entity(name = "notification_counters")
+public class NotificationCounter {
+    @Id
+    private Long userId;
+    private long unreadCount;
+
+    public NotificationCounter() {
+    }
+
+    public NotificationCounter(Long userId, long unreadCount) {
+        this.userId = userId;
+        this.unreadCount = unreadCount;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public long getUnreadCount() {
+        return unreadCount;
+    }
+
+    public void setUnreadCount(long unreadCount) {
+        this.unreadCount = unreadCount;
+    }
+}
@@ -0,0 +1,39 @@
+package com.linkedin.backend.features.notifications.repository;
+
+import com.linkedin.backend.features.notifications.model.NotificationCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface NotificationCounterRepository extends JpaRepository<NotificationCounter, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE notification_counters c SET c.unreadCount = CASE WHEN c.unreadCount + :delta < 0 THEN 0 ELSE c.unreadCount + :delta END WHERE c.userId = :userId")
+    int incrementUnread(@Param("userId") Long userId, @Param("delta") long delta);
+
+    /**
+     * Creates the counter with the given count, or leaves an existing one untouched. Never fails
+     * on a concurrent insert, so the caller's transaction stays usable.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            INSERT IGNORE INTO notification_counters (user_id, unread_count)
+            VALUES (:userId, GREATEST(:unreadCount, 0))""",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("unreadCount") long unreadCount);
+
+    /**
+     * Locking read, so it sees a counter committed after the calling transaction's snapshot.
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM notification_counters c WHERE c.userId = :userId")
+    Optional<NotificationCounter> findCurrent(@Param("userId") Long userId);
+}
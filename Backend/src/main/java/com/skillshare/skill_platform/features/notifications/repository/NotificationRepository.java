@@ -2,12 +2,49 @@ package com.linkedin.backend.features.notifications.repository;
 
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.notifications.model.Notification;
+import com.linkedin.backend.features.notifications.model.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
     List<Notification> findByRecipient(User recipient);
 
     List<Notification> findByRecipientOrderByCreationDateDesc(User user);
+
+    @Query("SELECT n FROM Notification n WHERE n.recipient.id = :recipientId ORDER BY n.creationDate DESC, n.id DESC")
+    List<Notification> findFirstPage(@Param("recipientId") Long recipientId, Pageable pageable);
+
+    @Query("""
+            SELECT n FROM Notification n WHERE n.recipient.id = :recipientId
+            AND (n.creationDate < :creationDate OR (n.creationDate = :creationDate AND n.id < :id))
+            ORDER BY n.creationDate DESC, n.id DESC""")
+    List<Notification> findPageBefore(@Param("recipientId") Long recipientId,
+            @Param("creationDate") LocalDateTime creationDate, @Param("id") Long id, Pageable pageable);
+
+    Optional<Notification> findFirstByRecipientIdAndTypeAndResourceIdAndIsReadFalseAndCreationDateAfterOrderByCreationDateDesc(
+            Long recipientId, NotificationType type, Long resourceId, LocalDateTime after);
+
+    long countByRecipientIdAndIsReadFalse(Long recipientId);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.id = :id AND n.isRead = false")
+    int markAsRead(@Param("id") Long id);
+
+    /**
+     * Marks read the unread notifications at or below {@code (creationDate, id)} in the order the
+     * list is served in, so a coalesced notification bumped above the watermark stays unread.
+     */
+    @Modifying
+    @Query("""
+            UPDATE Notification n SET n.isRead = true WHERE n.recipient.id = :recipientId AND n.isRead = false
+            AND (n.creationDate < :creationDate OR (n.creationDate = :creationDate AND n.id <= :id))""")
+    int markAllAsReadUpTo(@Param("recipientId") Long recipientId,
+            @Param("creationDate") LocalDateTime creationDate, @Param("id") Long id);
 }
@@ -0,0 +1,126 @@
+package com.linkedin.backend.features.notifications.service;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.notifications.model.Notification;
+import com.linkedin.backend.features.notifications.model.NotificationType;
+import com.linkedin.backend.features.notifications.repository.NotificationRepository;
+import com.linkedin.backend.features.ws.service.OutboxService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Aggregates like and comment events on the same resource into a single notification per
+ * recipient. Events for the same (recipient, type, resourceId) within the coalescing window
+ * update the existing unread row in place, and WebSocket pushes for a row are sent at most
+ * once per push interval; intermediate updates are flushed by {@link #flushPendingPushes()}.
+ */
+@Component
+public class NotificationCoalescer {
+    private static final int MAX_RECENT_ACTORS = 3;
+    private static final int LOCK_STRIPES = 64;
+
+    private final NotificationRepository notificationRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+    private final long windowMinutes;
+    private final long pushIntervalMillis;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    private final Map<Long, Long> lastPushByNotification = new ConcurrentHashMap<>();
+    private final Set<Long> pendingPushes = ConcurrentHashMap.newKeySet();
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+            OutboxService outboxService, PlatformTransactionManager transactionManager,
+            @Value("${notifications.coalescing.window-minutes:60}") long windowMinutes,
+            @Value("${notifications.coalescing.push-interval-ms:2000}") long pushIntervalMillis) {
+        this.notificationRepository = notificationRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.windowMinutes = windowMinutes;
+        this.pushIntervalMillis = pushIntervalMillis;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Records an event and returns {@code true} if it created a new notification row, or
+     * {@code false} if it was folded into an existing unread one.
+     */
+    public boolean record(User actor, User recipient, NotificationType type, Long resourceId) {
+        boolean[] created = new boolean[1];
+        Notification notification;
+        // The stripe lock serialises lookups for the same key on this node. The write joins the
+        // caller's transaction, so a concurrent duplicate can at worst add a second row, and
+        // later events coalesce into the newest one.
+        synchronized (lockFor(recipient.getId(), type, resourceId)) {
+            notification = transactionTemplate.execute(status -> {
+                Notification existing = notificationRepository
+                        .findFirstByRecipientIdAndTypeAndResourceIdAndIsReadFalseAndCreationDateAfterOrderByCreationDateDesc(
+                                recipient.getId(), type, resourceId, LocalDateTime.now().minusMinutes(windowMinutes))
+                        .orElse(null);
+                if (existing == null) {
+                    created[0] = true;
+                    return notificationRepository.save(new Notification(actor, recipient, type, resourceId));
+                }
+                existing.addActor(actor, MAX_RECENT_ACTORS);
+                return notificationRepository.save(existing);
+            });
+        }
+        schedulePush(notification);
+        return created[0];
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.coalescing.push-interval-ms:2000}")
+    public void flushPendingPushes() {
+        long now = System.currentTimeMillis();
+        lastPushByNotification.values().removeIf(lastPush -> now - lastPush >= pushIntervalMillis);
+        if (pendingPushes.isEmpty()) {
+            return;
+        }
+
+        List<Long> ids = new ArrayList<>(pendingPushes);
+        pendingPushes.removeAll(ids);
+        for (Notification notification : notificationRepository.findAllById(ids)) {
+            lastPushByNotification.put(notification.getId(), now);
+            push(notification);
+        }
+    }
+
+    private void schedulePush(Notification notification) {
+        long now = System.currentTimeMillis();
+        boolean[] pushNow = new boolean[1];
+        lastPushByNotification.compute(notification.getId(), (id, lastPush) -> {
+            if (lastPush == null || now - lastPush >= pushIntervalMillis) {
+                pushNow[0] = true;
+                return now;
+            }
+            return lastPush;
+        });
+
+        if (pushNow[0]) {
+            push(notification);
+        } else {
+            pendingPushes.add(notification.getId());
+        }
+    }
+
+    private void push(Notification notification) {
+        outboxService.enqueueToUser(notification.getRecipient().getId(), "notifications", notification);
+    }
+
+    private Object lockFor(Long recipientId, NotificationType type, Long resourceId) {
+        return locks[Math.floorMod(Objects.hash(recipientId, type, resourceId), LOCK_STRIPES)];
+    }
+}
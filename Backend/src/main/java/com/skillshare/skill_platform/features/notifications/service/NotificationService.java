@@ -3,64 +3,104 @@ package com.linkedin.backend.features.notifications.service;
 import com.linkedin.backend.features.authentication.model.User;
 import com.linkedin.backend.features.feed.model.Comment;
 import com.linkedin.backend.features.feed.model.Post;
-import com.linkedin.backend.features.messaging.model.Conversation;
-import com.linkedin.backend.features.messaging.model.Message;
+import com.linkedin.backend.features.messaging.dto.ConversationMessageDto;
+import com.linkedin.backend.features.messaging.dto.ConversationSummaryDto;
+import com.linkedin.backend.features.messaging.dto.ReadReceiptDto;
 import com.linkedin.backend.features.networking.model.Connection;
 import com.linkedin.backend.features.networking.model.Status;
 import com.linkedin.backend.features.notifications.model.Notification;
+import com.linkedin.backend.features.notifications.model.NotificationCounter;
 import com.linkedin.backend.features.notifications.model.NotificationType;
+import com.linkedin.backend.features.notifications.repository.NotificationCounterRepository;
 import com.linkedin.backend.features.notifications.repository.NotificationRepository;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import com.linkedin.backend.features.ws.service.OutboxService;
+import com.linkedin.backend.features.ws.service.PresenceRegistry;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
 @Service
 public class NotificationService {
-    private final NotificationRepository notificationRepository;
-    private final SimpMessagingTemplate messagingTemplate;
+    private static final int MAX_PAGE_SIZE = 50;
 
-    public NotificationService(NotificationRepository notificationRepository, SimpMessagingTemplate messagingTemplate) {
+    private final NotificationRepository notificationRepository;
+    private final NotificationCounterRepository notificationCounterRepository;
+    private final NotificationCoalescer notificationCoalescer;
+    private final OutboxService outboxService;
+    private final PresenceRegistry presenceRegistry;
+
+    public NotificationService(NotificationRepository notificationRepository,
+            NotificationCounterRepository notificationCounterRepository, NotificationCoalescer notificationCoalescer,
+            OutboxService outboxService, PresenceRegistry presenceRegistry) {
         this.notificationRepository = notificationRepository;
-        this.messagingTemplate = messagingTemplate;
+        this.notificationCounterRepository = notificationCounterRepository;
+        this.notificationCoalescer = notificationCoalescer;
+        this.outboxService = outboxService;
+        this.presenceRegistry = presenceRegistry;
+    }
+
+    /**
+     * A page of the user's notifications, newest first. The cursor is the {@code (creationDate, id)}
+     * of the last notification of the previous page as it was served: coalescing moves a
+     * notification to the top, so its current position is not where the previous page ended.
+     */
+    public List<Notification> getUserNotifications(User user, LocalDateTime beforeDate, Long before, int limit) {
+        PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+        if (before == null) {
+            return notificationRepository.findFirstPage(user.getId(), page);
+        }
+        if (beforeDate == null) {
+            throw new IllegalArgumentException("beforeDate is required with before");
+        }
+        return notificationRepository.findPageBefore(user.getId(), beforeDate, before, page);
     }
 
-    public List<Notification> getUserNotifications(User user) {
-        return notificationRepository.findByRecipientOrderByCreationDateDesc(user);
+    public long getUnreadCount(User user) {
+        return notificationCounterRepository.findById(user.getId())
+                .map(NotificationCounter::getUnreadCount)
+                .orElseGet(() -> initializeUnreadCount(user.getId()));
     }
 
     public void sendDeleteNotificationToPost(Long postId) {
-        messagingTemplate.convertAndSend("/topic/posts/" + postId + "/delete", postId);
+        outboxService.enqueue("/topic/posts/" + postId + "/delete", postId);
     }
 
     public void sendEditNotificationToPost(Long postId, Post post) {
-        messagingTemplate.convertAndSend("/topic/posts/" + postId + "/edit", post);
+        outboxService.enqueue("/topic/posts/" + postId + "/edit", post);
     }
 
     public void sendNewPostNotificationToFeed(Post post) {
+        List<Long> connectionIds = new ArrayList<>();
         for (Connection connection : post.getAuthor().getInitiatedConnections()) {
             if (connection.getStatus().equals(Status.ACCEPTED)) {
-                messagingTemplate.convertAndSend("/topic/feed/" + connection.getRecipient().getId() + "/post", post);
+                connectionIds.add(connection.getRecipient().getId());
             }
         }
         for (Connection connection : post.getAuthor().getReceivedConnections()) {
             if (connection.getStatus().equals(Status.ACCEPTED)) {
-                messagingTemplate.convertAndSend("/topic/feed/" + connection.getAuthor().getId() + "/post", post);
+                connectionIds.add(connection.getAuthor().getId());
             }
         }
+        for (Long userId : presenceRegistry.filterOnline(connectionIds)) {
+            outboxService.enqueue("/topic/feed/" + userId + "/post", post);
+        }
     }
 
     public void sendLikeToPost(Long postId, Set<User> likes) {
-        messagingTemplate.convertAndSend("/topic/likes/" + postId, likes);
+        outboxService.enqueue("/topic/likes/" + postId, likes);
     }
 
     public void sendCommentToPost(Long postId, Comment comment) {
-        messagingTemplate.convertAndSend("/topic/comments/" + postId, comment);
+        outboxService.enqueue("/topic/comments/" + postId, comment);
     }
 
     public void sendDeleteCommentToPost(Long postId, Comment comment) {
-        messagingTemplate.convertAndSend("/topic/comments/" + postId + "/delete", comment);
+        outboxService.enqueue("/topic/comments/" + postId + "/delete", comment);
     }
 
 
@@ -69,14 +109,9 @@ public class NotificationService {
             return;
         }
 
-        Notification notification = new Notification(
-                author,
-                recipient,
-                NotificationType.COMMENT,
-                resourceId);
-        notificationRepository.save(notification);
-
-        messagingTemplate.convertAndSend("/topic/users/" + recipient.getId() + "/notifications", notification);
+        if (notificationCoalescer.record(author, recipient, NotificationType.COMMENT, resourceId)) {
+            adjustUnreadCount(recipient.getId(), 1);
+        }
     }
 
     public void sendLikeNotification(User author, User recipient, Long resourceId) {
@@ -84,52 +119,84 @@ public class NotificationService {
             return;
         }
 
-        Notification notification = new Notification(
-                author,
-                recipient,
-                NotificationType.LIKE,
-                resourceId);
-        notificationRepository.save(notification);
-
-        messagingTemplate.convertAndSend("/topic/users/" + recipient.getId() + "/notifications", notification);
+        if (notificationCoalescer.record(author, recipient, NotificationType.LIKE, resourceId)) {
+            adjustUnreadCount(recipient.getId(), 1);
+        }
     }
 
+    @Transactional
     public Notification markNotificationAsRead(Long notificationId) {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new IllegalArgumentException("Notification not found"));
+        if (notificationRepository.markAsRead(notificationId) > 0) {
+            adjustUnreadCount(notification.getRecipient().getId(), -1);
+        }
         notification.setRead(true);
-        messagingTemplate.convertAndSend("/topic/users/" + notification.getRecipient().getId() + "/notifications",
-                notification);
-        return notificationRepository.save(notification);
+        outboxService.enqueueToUser(notification.getRecipient().getId(), "notifications", notification);
+        return notification;
+    }
+
+    @Transactional
+    public long markAllNotificationsAsRead(User user, LocalDateTime upToDate, Long upToId) {
+        int updated = notificationRepository.markAllAsReadUpTo(user.getId(), upToDate, upToId);
+        if (updated > 0) {
+            adjustUnreadCount(user.getId(), -updated);
+        }
+        long unreadCount = getUnreadCount(user);
+        outboxService.enqueueToUser(user.getId(), "notifications/unread", unreadCount);
+        return unreadCount;
+    }
+
+    /**
+     * Applies the delta to the user's counter, creating it first if the user has none. The
+     * counter is seeded from the unread rows as they were before this change, so the delta is
+     * always applied on top, whether this transaction or a concurrent one created it.
+     */
+    private void adjustUnreadCount(Long userId, long delta) {
+        if (notificationCounterRepository.incrementUnread(userId, delta) == 0) {
+            notificationCounterRepository.insertIfAbsent(userId,
+                    notificationRepository.countByRecipientIdAndIsReadFalse(userId) - delta);
+            notificationCounterRepository.incrementUnread(userId, delta);
+        }
+    }
+
+    private long initializeUnreadCount(Long userId) {
+        notificationCounterRepository.insertIfAbsent(userId, notificationRepository.countByRecipientIdAndIsReadFalse(userId));
+        return notificationCounterRepository.findCurrent(userId)
+                .map(NotificationCounter::getUnreadCount)
+                .orElse(0L);
+    }
+
+    public void sendInboxUpdateToUser(Long userId, ConversationSummaryDto summary) {
+        outboxService.enqueueToUser(userId, "conversations", summary);
     }
 
-    public void sendConversationToUsers(Long senderId, Long receiverId, Conversation conversation) {
-        messagingTemplate.convertAndSend("/topic/users/" + senderId + "/conversations", conversation);
-        messagingTemplate.convertAndSend("/topic/users/" + receiverId + "/conversations", conversation);
+    public void sendMessageToConversation(Long conversationId, ConversationMessageDto message) {
+        outboxService.enqueue("/topic/conversations/" + conversationId + "/messages", message);
     }
 
-    public void sendMessageToConversation(Long conversationId, Message message) {
-        messagingTemplate.convertAndSend("/topic/conversations/" + conversationId + "/messages", message);
+    public void sendReadReceiptToConversation(Long conversationId, ReadReceiptDto receipt) {
+        outboxService.enqueue("/topic/conversations/" + conversationId + "/read", receipt);
     }
 
     public void sendNewInvitationToUsers(Long senderId, Long receiverId, Connection connection) {
-        messagingTemplate.convertAndSend("/topic/users/" + receiverId + "/connections/new", connection);
-        messagingTemplate.convertAndSend("/topic/users/" + senderId + "/connections/new", connection);
+        outboxService.enqueueToUser(receiverId, "connections/new", connection);
+        outboxService.enqueueToUser(senderId, "connections/new", connection);
     }
 
 
     public void sendInvitationAcceptedToUsers(Long senderId, Long receiverId, Connection connection) {
-        messagingTemplate.convertAndSend("/topic/users/" + receiverId + "/connections/accepted", connection);
-        messagingTemplate.convertAndSend("/topic/users/" + senderId + "/connections/accepted", connection);
+        outboxService.enqueueToUser(receiverId, "connections/accepted", connection);
+        outboxService.enqueueToUser(senderId, "connections/accepted", connection);
     }
 
     public void sendRemoveConnectionToUsers(Long senderId, Long receiverId, Connection connection) {
-        messagingTemplate.convertAndSend("/topic/users/" + receiverId + "/connections/remove", connection);
-        messagingTemplate.convertAndSend("/topic/users/" + senderId + "/connections/remove", connection);
+        outboxService.enqueueToUser(receiverId, "connections/remove", connection);
+        outboxService.enqueueToUser(senderId, "connections/remove", connection);
     }
 
     public void sendConnectionSeenNotification(Long id, Connection connection) {
-        messagingTemplate.convertAndSend("/topic/users/" + id + "/connections/seen", connection);
+        outboxService.enqueueToUser(id, "connections/seen", connection);
     }
 
 
@@ -0,0 +1,38 @@
+package com.linkedin.backend.features.search.configuration;
+
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilterFactory;
+import org.apache.lucene.analysis.ngram.EdgeNGramFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurationContext;
+import org.hibernate.search.backend.lucene.analysis.LuceneAnalysisConfigurer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Analyzers for typeahead: names are indexed as edge n-grams so a prefix typed so far is an exact
+ * term lookup, while queries are only lowercased and folded, never split into n-grams themselves.
+ * The {@code lowercase} normalizer lets keyword facets group values regardless of case.
+ * Registered with Hibernate Search by {@link SearchConfiguration}.
+ */
+@Component("searchAnalysisConfigurer")
+public class SearchAnalysisConfigurer implements LuceneAnalysisConfigurer {
+    @Override
+    public void configure(LuceneAnalysisConfigurationContext context) {
+        context.analyzer("autocomplete_indexing").custom()
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class)
+                .tokenFilter(EdgeNGramFilterFactory.class)
+                .param("minGramSize", "1")
+                .param("maxGramSize", "15");
+
+        context.analyzer("autocomplete_query").custom()
+                .tokenizer(StandardTokenizerFactory.class)
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class);
+
+        context.normalizer("lowercase").custom()
+                .tokenFilter(LowerCaseFilterFactory.class)
+                .tokenFilter(ASCIIFoldingFilterFactory.class);
+    }
+}
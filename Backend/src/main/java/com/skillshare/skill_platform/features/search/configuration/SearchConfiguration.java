@@ -1,39 +1,27 @@
 package com.linkedin.backend.features.search.configuration;
 
-import jakarta.annotation.PreDestroy;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-
+/**
+ * Points the Lucene backend at {@code search.index-directory}, the directory the
+ * {@link com.linkedin.backend.features.search.service.SearchIndexSynchronizer} keeps its marker
+ * file in, and registers the {@link SearchAnalysisConfigurer}.
+ */
 @Configuration
 public class SearchConfiguration {
+    static final String DIRECTORY_ROOT = "hibernate.search.backend.directory.root";
+    static final String ANALYSIS_CONFIGURER = "hibernate.search.backend.analysis.configurer";
 
-    private static final String LUCENE_INDEX_DIR = "./lucene/indexes";
-    private static final Logger log = LoggerFactory.getLogger(SearchConfiguration.class);
-
-    @PreDestroy
-    public void cleanUp() {
-        try {
-            Path directory = Paths.get(LUCENE_INDEX_DIR);
-            if (Files.exists(directory)) {
-                deleteDirectoryRecursively(directory);
-                log.info("Lucene index directory cleared successfully.");
-            }
-        } catch (IOException e) {
-            log.error("Error while clearing Lucene index directory: {}", e.getMessage());
-        }
-    }
-
-    private void deleteDirectoryRecursively(Path path) throws IOException {
-        Files.walk(path)
-                .sorted((path1, path2) -> path2.compareTo(path1)) // Sort in reverse order to delete files before directories
-                .map(Path::toFile)
-                .forEach(File::delete);
+    @Bean
+    public HibernatePropertiesCustomizer searchPropertiesCustomizer(
+            @Value("${search.index-directory:./lucene/indexes}") String indexDirectory,
+            SearchAnalysisConfigurer searchAnalysisConfigurer) {
+        return properties -> {
+            properties.put(DIRECTORY_ROOT, indexDirectory);
+            properties.put(ANALYSIS_CONFIGURER, searchAnalysisConfigurer);
+        };
     }
 }
@@ -1,25 +1,99 @@
 package com.linkedin.backend.features.search.controller;
 
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
 import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.search.dto.AutocompleteSuggestionDto;
+import com.linkedin.backend.features.search.dto.ReindexProgressDto;
+import com.linkedin.backend.features.search.dto.SearchCacheStatsDto;
+import com.linkedin.backend.features.search.dto.SearchPageDto;
+import com.linkedin.backend.features.search.dto.SearchResultsDto;
+import com.linkedin.backend.features.search.dto.UserSearchHitDto;
+import com.linkedin.backend.features.search.model.SearchType;
+import com.linkedin.backend.features.search.model.SuggestionType;
+import com.linkedin.backend.features.search.service.AutocompleteService;
+import com.linkedin.backend.features.search.service.SearchIndexSynchronizer;
+import com.linkedin.backend.features.search.service.SearchResultCache;
 import com.linkedin.backend.features.search.service.SearchService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/v1/search")
 public class SearchController {
     private final SearchService searchService;
+    private final SearchIndexSynchronizer searchIndexSynchronizer;
+    private final AutocompleteService autocompleteService;
+    private final SearchResultCache searchResultCache;
 
-    public SearchController(SearchService searchService) {
+    public SearchController(SearchService searchService, SearchIndexSynchronizer searchIndexSynchronizer,
+            AutocompleteService autocompleteService, SearchResultCache searchResultCache) {
         this.searchService = searchService;
+        this.searchIndexSynchronizer = searchIndexSynchronizer;
+        this.autocompleteService = autocompleteService;
+        this.searchResultCache = searchResultCache;
+    }
+
+    /**
+     * Searches every requested type at once, each with its own page.
+     */
+    @GetMapping
+    public SearchResultsDto search(@RequestParam(defaultValue = "") String query,
+            @RequestParam(required = false) Set<SearchType> types,
+            @RequestParam(defaultValue = "0") int userPage, @RequestParam(defaultValue = "0") int postPage,
+            @RequestParam(defaultValue = "0") int learningPlanPage, @RequestParam(defaultValue = "20") int size,
+            @RequestParam(required = false) List<String> subjects,
+            @RequestParam(required = false) List<String> difficulties,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Set<SearchType> requested = types == null || types.isEmpty() ? EnumSet.allOf(SearchType.class) : types;
+        return new SearchResultsDto(
+                requested.contains(SearchType.USERS) ? searchService.searchUsers(query, userPage, size) : null,
+                requested.contains(SearchType.POSTS) ? searchService.searchPosts(query, from, to, postPage, size) : null,
+                requested.contains(SearchType.LEARNING_PLANS)
+                        ? searchService.searchLearningPlans(query, subjects, difficulties, from, to, learningPlanPage, size)
+                        : null);
     }
 
     @GetMapping("/users")
-    public List<User> searchUsers(@RequestParam String query) {
-        return searchService.searchUsers(query);
+    public SearchPageDto<UserSearchHitDto> searchUsers(@RequestParam String query, @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return searchService.searchUsers(query, page, size);
+    }
+
+    @GetMapping("/users/typeahead")
+    public List<UserSummaryDto> typeahead(@RequestParam String query, @RequestParam(defaultValue = "8") int limit) {
+        return searchService.typeahead(query, limit);
+    }
+
+    @GetMapping("/autocomplete")
+    public List<AutocompleteSuggestionDto> autocomplete(@RequestParam String query,
+            @RequestParam(required = false) Set<SuggestionType> types, @RequestParam(defaultValue = "8") int limit) {
+        return autocompleteService.suggest(query, types, limit);
+    }
+
+    @GetMapping("/cache")
+    public SearchCacheStatsDto getCacheStats(@RequestAttribute("authenticatedUser") User user) {
+        searchIndexSynchronizer.requireAdmin(user);
+        return searchResultCache.getStats();
+    }
+
+    @PostMapping("/reindex")
+    public ReindexProgressDto startReindex(@RequestAttribute("authenticatedUser") User user) {
+        return searchIndexSynchronizer.startMassIndexing(user);
+    }
+
+    @GetMapping("/reindex")
+    public ReindexProgressDto getReindexProgress(@RequestAttribute("authenticatedUser") User user) {
+        return searchIndexSynchronizer.getProgress(user);
     }
-}
\ No newline at end of file
+}
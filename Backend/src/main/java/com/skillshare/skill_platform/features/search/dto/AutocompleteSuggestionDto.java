@@ -0,0 +1,9 @@
+package com.linkedin.backend.features.search.dto;
+
+import com.linkedin.backend.features.search.model.SuggestionType;
+
+/**
+ * {@code id} is the user or learning plan id, and null for companies and subjects.
+ */
+public record AutocompleteSuggestionDto(SuggestionType type, Long id, String text) {
+}
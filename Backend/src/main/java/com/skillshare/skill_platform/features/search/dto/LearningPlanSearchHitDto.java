@@ -0,0 +1,7 @@
+package com.linkedin.backend.features.search.dto;
+
+import java.time.LocalDateTime;
+
+public record LearningPlanSearchHitDto(Long id, String title, String description, String subject, String difficulty,
+                                       int followers, LocalDateTime createdAt, float score) {
+}
@@ -0,0 +1,9 @@
+package com.linkedin.backend.features.search.dto;
+
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
+
+import java.time.LocalDateTime;
+
+public record PostSearchHitDto(Long id, String content, String picture, LocalDateTime creationDate,
+                               UserSummaryDto author, float score) {
+}
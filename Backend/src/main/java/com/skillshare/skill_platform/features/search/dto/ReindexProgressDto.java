@@ -0,0 +1,22 @@
+package com.linkedin.backend.features.search.dto;
+
+import java.time.LocalDateTime;
+
+public record ReindexProgressDto(String state, long totalEntities, long documentsAdded, LocalDateTime startedAt,
+                                 LocalDateTime finishedAt, String error) {
+    public static ReindexProgressDto idle() {
+        return new ReindexProgressDto("IDLE", 0, 0, null, null, null);
+    }
+
+    public static ReindexProgressDto running(LocalDateTime startedAt, long totalEntities, long documentsAdded) {
+        return new ReindexProgressDto("RUNNING", totalEntities, documentsAdded, startedAt, null, null);
+    }
+
+    public static ReindexProgressDto completed(LocalDateTime startedAt, long totalEntities, long documentsAdded) {
+        return new ReindexProgressDto("COMPLETED", totalEntities, documentsAdded, startedAt, LocalDateTime.now(), null);
+    }
+
+    public static ReindexProgressDto failed(LocalDateTime startedAt, long totalEntities, long documentsAdded, String error) {
+        return new ReindexProgressDto("FAILED", totalEntities, documentsAdded, startedAt, LocalDateTime.now(), error);
+    }
+}
@@ -0,0 +1,8 @@
+package com.linkedin.backend.features.search.dto;
+
+/**
+ * {@code stale} counts lookups that found an entry from an older index generation; they are
+ * included in {@code misses}.
+ */
+public record SearchCacheStatsDto(int entries, long hits, long misses, long stale, long evictions, double hitRate) {
+}
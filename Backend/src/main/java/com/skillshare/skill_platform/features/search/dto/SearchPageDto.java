@@ -0,0 +1,16 @@
+package com.linkedin.backend.features.search.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of search hits. {@code totalHits} is a lower bound once it reaches the counting
+ * threshold, in which case {@code totalHitsExact} is false. {@code facets} maps a facet name to
+ * hit counts per value, for the types that have facets.
+ */
+public record SearchPageDto<T>(List<T> hits, long totalHits, boolean totalHitsExact, int page, int size,
+                               Map<String, Map<String, Long>> facets) {
+    public static <T> SearchPageDto<T> empty(int page, int size) {
+        return new SearchPageDto<>(List.of(), 0, true, page, size, Map.of());
+    }
+}
@@ -0,0 +1,9 @@
+package com.linkedin.backend.features.search.dto;
+
+/**
+ * Results of a unified search, one independently paged section per requested type; sections of
+ * types that were not requested are null.
+ */
+public record SearchResultsDto(SearchPageDto<UserSearchHitDto> users, SearchPageDto<PostSearchHitDto> posts,
+                               SearchPageDto<LearningPlanSearchHitDto> learningPlans) {
+}
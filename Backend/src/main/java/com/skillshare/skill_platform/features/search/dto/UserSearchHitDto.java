@@ -0,0 +1,5 @@
+package com.linkedin.backend.features.search.dto;
+
+public record UserSearchHitDto(Long id, String firstName, String lastName, String position, String company,
+                               String profilePicture, float score) {
+}
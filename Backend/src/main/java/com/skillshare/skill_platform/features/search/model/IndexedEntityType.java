@@ -0,0 +1,21 @@
+package com.linkedin.backend.features.search.model;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.feed.model.Post;
+import com.linkedin.backend.features.learningplane.model.LearningPlan;
+
+public enum IndexedEntityType {
+    USER(User.class),
+    POST(Post.class),
+    LEARNING_PLAN(LearningPlan.class);
+
+    private final Class<?> entityClass;
+
+    IndexedEntityType(Class<?> entityClass) {
+        this.entityClass = entityClass;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+}
@@ -0,0 +1,61 @@
+package com.linkedin.backend.features.search.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change to an indexed entity, written in the transaction that made it. Every node replays
+ * these into its own local index; rows are kept for a retention period rather than consumed.
+ */
+@Entity(name = "search_index_events")
+@Table(indexes = @Index(name = "idx_search_index_events_created_at", columnList = "createdAt"))
+public class SearchIndexEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private IndexedEntityType entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    private String originNode;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public SearchIndexEvent() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public IndexedEntityType getEntityType() {
+        return entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public String getOriginNode() {
+        return originNode;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.linkedin.backend.features.search.model;
+
+public enum SearchType {
+    USERS,
+    POSTS,
+    LEARNING_PLANS
+}
@@ -0,0 +1,8 @@
+package com.linkedin.backend.features.search.model;
+
+public enum SuggestionType {
+    USER,
+    COMPANY,
+    LEARNING_PLAN,
+    SUBJECT
+}
@@ -0,0 +1,24 @@
+package com.linkedin.backend.features.search.repository;
+
+import com.linkedin.backend.features.search.model.SearchIndexEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface SearchIndexEventRepository extends JpaRepository<SearchIndexEvent, Long> {
+    List<SearchIndexEvent> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM search_index_events e")
+    long findLatestId();
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM search_index_events e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
@@ -0,0 +1,316 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.authentication.event.UserDeletedEvent;
+import com.linkedin.backend.features.authentication.event.UserProfileUpdatedEvent;
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.learningplane.model.LearningPlan;
+import com.linkedin.backend.features.learningplane.repository.LearningPlanRepository;
+import com.linkedin.backend.features.networking.model.ConnectionCounter;
+import com.linkedin.backend.features.networking.repository.ConnectionCounterRepository;
+import com.linkedin.backend.features.search.dto.AutocompleteSuggestionDto;
+import com.linkedin.backend.features.search.model.SuggestionType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keystroke autocomplete over user names, companies, learning plan titles and subjects, served
+ * from one immutable {@link CompletionTrie} per suggestion type. Users are weighted by accepted
+ * connections, plans by followers, companies and subjects by how many users or plans use them.
+ * <p>
+ * The tries are rebuilt from the database periodically and swapped in atomically. Changes in
+ * between are written to a small overlay of added, updated and removed completions that lookups
+ * merge in; an overlay that grows past its limit triggers an early rebuild. Companies and subjects
+ * are only added by patches, their weights are corrected by the next rebuild.
+ */
+@Service
+public class AutocompleteService {
+    public static final int MAX_SUGGESTIONS = 10;
+    /**
+     * Completions kept per trie node, with slack for entries hidden by the overlay.
+     */
+    private static final int TOP_SIZE = MAX_SUGGESTIONS + 6;
+
+    private static final Logger log = LoggerFactory.getLogger(AutocompleteService.class);
+
+    private final UserRepository userRepository;
+    private final LearningPlanRepository learningPlanRepository;
+    private final ConnectionCounterRepository connectionCounterRepository;
+    private final int maxOverlaySize;
+    private final long rebuildIntervalMs;
+
+    private volatile Snapshot snapshot = Snapshot.empty();
+    private final Object swapLock = new Object();
+    /**
+     * Overlay of the snapshot being built, non-null while a rebuild runs. Guarded by swapLock.
+     */
+    private Map<String, Completion> pendingOverlay;
+
+    public AutocompleteService(UserRepository userRepository, LearningPlanRepository learningPlanRepository,
+            ConnectionCounterRepository connectionCounterRepository,
+            @Value("${search.autocomplete.max-overlay-size:2000}") int maxOverlaySize,
+            @Value("${search.autocomplete.rebuild-interval-ms:900000}") long rebuildIntervalMs) {
+        this.userRepository = userRepository;
+        this.learningPlanRepository = learningPlanRepository;
+        this.connectionCounterRepository = connectionCounterRepository;
+        this.maxOverlaySize = maxOverlaySize;
+        this.rebuildIntervalMs = rebuildIntervalMs;
+    }
+
+    public List<AutocompleteSuggestionDto> suggest(String query, Set<SuggestionType> types, int limit) {
+        String prefix = CompletionTrie.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        if (prefix.length() > CompletionTrie.MAX_KEY_LENGTH) {
+            prefix = prefix.substring(0, CompletionTrie.MAX_KEY_LENGTH);
+        }
+        Set<SuggestionType> requested = types == null || types.isEmpty() ? EnumSet.allOf(SuggestionType.class) : types;
+        int size = Math.min(Math.max(limit, 1), MAX_SUGGESTIONS);
+
+        Snapshot current = snapshot;
+        Map<String, Completion> overlay = current.overlay();
+        List<Completion> candidates = new ArrayList<>(size * 2);
+        for (SuggestionType type : requested) {
+            CompletionTrie trie = current.tries().get(type);
+            int node = trie.find(prefix);
+            if (node < 0) {
+                continue;
+            }
+            int taken = 0;
+            for (int rank = 0; rank < trie.topCount(node) && taken < size; rank++) {
+                Completion completion = trie.top(node, rank);
+                if (!overlay.containsKey(completion.key())) {
+                    candidates.add(completion);
+                    taken++;
+                }
+            }
+        }
+        for (Completion completion : overlay.values()) {
+            if (!completion.isRemoved() && requested.contains(completion.type()) && completion.matches(prefix)) {
+                candidates.add(completion);
+            }
+        }
+
+        candidates.sort(Comparator.comparingInt(Completion::weight).reversed());
+        return candidates.stream().limit(size).map(Completion::toDto).toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.autocomplete.check-interval-ms:60000}")
+    public void rebuildIfNeeded() {
+        Snapshot current = snapshot;
+        if (current.overlay().size() >= maxOverlaySize
+                || System.currentTimeMillis() - current.builtAt() >= rebuildIntervalMs) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Patches made while the new tries are built are written to both the current and the next
+     * overlay, so none is lost by the swap.
+     */
+    public void rebuild() {
+        synchronized (swapLock) {
+            if (pendingOverlay != null) {
+                return;
+            }
+            pendingOverlay = new ConcurrentHashMap<>();
+        }
+        try {
+            long startedAt = System.nanoTime();
+            Map<SuggestionType, CompletionTrie> tries = new EnumMap<>(SuggestionType.class);
+            loadCompletions().forEach((type, completions) -> tries.put(type, CompletionTrie.build(completions, TOP_SIZE)));
+            synchronized (swapLock) {
+                snapshot = new Snapshot(tries, pendingOverlay, System.currentTimeMillis());
+                pendingOverlay = null;
+            }
+            log.info("Rebuilt autocomplete: {} users, {} companies, {} learning plans, {} subjects in {} ms.",
+                    tries.get(SuggestionType.USER).size(), tries.get(SuggestionType.COMPANY).size(),
+                    tries.get(SuggestionType.LEARNING_PLAN).size(), tries.get(SuggestionType.SUBJECT).size(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            synchronized (swapLock) {
+                pendingOverlay = null;
+            }
+            log.error("Rebuilding autocomplete failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reads the user once the update commits, so the overlay never holds a name that was rolled
+     * back.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onProfileUpdated(UserProfileUpdatedEvent event) {
+        User user = userRepository.findById(event.userId()).orElse(null);
+        if (user == null) {
+            patch(Completion.removed(SuggestionType.USER, event.userId()));
+            return;
+        }
+        int connections = connectionCounterRepository.findById(user.getId())
+                .map(ConnectionCounter::getAcceptedCount)
+                .orElse(0L)
+                .intValue();
+        patch(userCompletion(user.getId(), user.getFirstName(), user.getLastName(), connections));
+        addIfMissing(SuggestionType.COMPANY, user.getCompany());
+    }
+
+    /**
+     * Removes the user and their learning plans. The plan ids are read inside the deleting
+     * transaction, while the plans still reference the user.
+     */
+    @EventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        List<Long> planIds = learningPlanRepository.findIdsByUserId(event.userId());
+        afterCommit(() -> {
+            patch(Completion.removed(SuggestionType.USER, event.userId()));
+            planIds.forEach(planId -> patch(Completion.removed(SuggestionType.LEARNING_PLAN, planId)));
+        });
+    }
+
+    public void planChangedAfterCommit(LearningPlan plan) {
+        Long id = plan.getId();
+        String title = plan.getTitle();
+        String subject = plan.getSubject();
+        int followers = plan.getFollowers();
+        afterCommit(() -> {
+            patch(planCompletion(id, title, followers));
+            addIfMissing(SuggestionType.SUBJECT, subject);
+        });
+    }
+
+    public void planRemovedAfterCommit(Long planId) {
+        afterCommit(() -> patch(Completion.removed(SuggestionType.LEARNING_PLAN, planId)));
+    }
+
+    private Map<SuggestionType, List<Completion>> loadCompletions() {
+        Map<SuggestionType, List<Completion>> completions = new EnumMap<>(SuggestionType.class);
+        for (SuggestionType type : SuggestionType.values()) {
+            completions.put(type, new ArrayList<>());
+        }
+        Map<String, Aggregate> companies = new HashMap<>();
+        Map<String, Aggregate> subjects = new HashMap<>();
+
+        for (Object[] row : userRepository.findAutocompleteRows()) {
+            Completion user = userCompletion((Long) row[0], (String) row[1], (String) row[2],
+                    ((Number) row[4]).intValue());
+            if (!user.isRemoved()) {
+                completions.get(SuggestionType.USER).add(user);
+            }
+            aggregate(companies, (String) row[3], 1);
+        }
+        for (Object[] row : learningPlanRepository.findAutocompleteRows()) {
+            int followers = ((Number) row[3]).intValue();
+            Completion plan = planCompletion((Long) row[0], (String) row[1], followers);
+            if (!plan.isRemoved()) {
+                completions.get(SuggestionType.LEARNING_PLAN).add(plan);
+            }
+            aggregate(subjects, (String) row[2], 1 + Math.max(followers, 0));
+        }
+
+        companies.values().forEach(company ->
+                completions.get(SuggestionType.COMPANY).add(Completion.of(SuggestionType.COMPANY, null, company.text, company.weight)));
+        subjects.values().forEach(subject ->
+                completions.get(SuggestionType.SUBJECT).add(Completion.of(SuggestionType.SUBJECT, null, subject.text, subject.weight)));
+        return completions;
+    }
+
+    private void patch(Completion completion) {
+        synchronized (swapLock) {
+            snapshot.overlay().put(completion.key(), completion);
+            if (pendingOverlay != null) {
+                pendingOverlay.put(completion.key(), completion);
+            }
+        }
+    }
+
+    private void addIfMissing(SuggestionType type, String text) {
+        String normalized = CompletionTrie.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        String key = Completion.keyOf(type, null, normalized);
+        Snapshot current = snapshot;
+        if (current.tries().get(type).get(key) == null && !current.overlay().containsKey(key)) {
+            patch(Completion.of(type, null, text, 1));
+        }
+    }
+
+    private static Completion userCompletion(Long userId, String firstName, String lastName, int connections) {
+        String name = ((firstName != null ? firstName : "") + " " + (lastName != null ? lastName : "")).trim();
+        if (CompletionTrie.normalize(name).isEmpty()) {
+            return Completion.removed(SuggestionType.USER, userId);
+        }
+        return Completion.of(SuggestionType.USER, userId, name, 1 + connections);
+    }
+
+    private static Completion planCompletion(Long planId, String title, int followers) {
+        if (CompletionTrie.normalize(title).isEmpty()) {
+            return Completion.removed(SuggestionType.LEARNING_PLAN, planId);
+        }
+        return Completion.of(SuggestionType.LEARNING_PLAN, planId, title, 1 + Math.max(followers, 0));
+    }
+
+    private static void aggregate(Map<String, Aggregate> aggregates, String text, int weight) {
+        String normalized = CompletionTrie.normalize(text);
+        if (!normalized.isEmpty()) {
+            aggregates.computeIfAbsent(normalized, key -> new Aggregate(text)).weight += weight;
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Aggregate {
+        private final String text;
+        private int weight;
+
+        private Aggregate(String text) {
+            this.text = text;
+        }
+    }
+
+    private record Snapshot(Map<SuggestionType, CompletionTrie> tries, Map<String, Completion> overlay, long builtAt) {
+        static Snapshot empty() {
+            Map<SuggestionType, CompletionTrie> tries = new EnumMap<>(SuggestionType.class);
+            for (SuggestionType type : SuggestionType.values()) {
+                tries.put(type, CompletionTrie.build(List.of(), TOP_SIZE));
+            }
+            return new Snapshot(tries, new ConcurrentHashMap<>(), 0);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.search.dto.AutocompleteSuggestionDto;
+import com.linkedin.backend.features.search.model.SuggestionType;
+
+/**
+ * A suggestion with the normalized terms it can be found by. Completions with an id are keyed by
+ * it; companies and subjects are keyed by their normalized text. A completion without text marks
+ * a removed entry in the overlay of {@link AutocompleteService}.
+ */
+record Completion(String key, SuggestionType type, Long id, String text, int weight, String[] terms) {
+    private static final String[] NO_TERMS = new String[0];
+
+    static Completion of(SuggestionType type, Long id, String text, int weight) {
+        String normalized = CompletionTrie.normalize(text);
+        return new Completion(keyOf(type, id, normalized), type, id, text.trim(), weight,
+                CompletionTrie.terms(normalized));
+    }
+
+    static Completion removed(SuggestionType type, Long id) {
+        return new Completion(keyOf(type, id, null), type, id, null, 0, NO_TERMS);
+    }
+
+    static String keyOf(SuggestionType type, Long id, String normalizedText) {
+        return type.name() + ":" + (id != null ? id : normalizedText);
+    }
+
+    boolean isRemoved() {
+        return text == null;
+    }
+
+    boolean matches(String normalizedPrefix) {
+        for (String term : terms) {
+            if (term.startsWith(normalizedPrefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    AutocompleteSuggestionDto toDto() {
+        return new AutocompleteSuggestionDto(type, id, text);
+    }
+}
@@ -0,0 +1,247 @@
+package com.linkedin.backend.features.search.service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable prefix trie over the terms of a set of completions, laid out in flat arrays: nodes are
+ * numbered breadth-first so the children of a node are contiguous and sorted by label, and each
+ * node stores the ids of the highest weighted completions below it. A lookup is a binary search
+ * per prefix character followed by reading that precomputed list, with no allocation.
+ */
+final class CompletionTrie {
+    /**
+     * Terms are indexed up to this length; longer prefixes are matched on their first characters.
+     */
+    static final int MAX_KEY_LENGTH = 32;
+
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topOffsets;
+    private final int[] topCompletions;
+    private final Completion[] completions;
+    private final Map<String, Completion> completionsByKey;
+
+    private CompletionTrie(char[] labels, int[] firstChild, int[] childCount, int[] topOffsets, int[] topCompletions,
+            Completion[] completions) {
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topOffsets = topOffsets;
+        this.topCompletions = topCompletions;
+        this.completions = completions;
+        this.completionsByKey = new HashMap<>(completions.length * 2);
+        for (Completion completion : completions) {
+            completionsByKey.put(completion.key(), completion);
+        }
+    }
+
+    /**
+     * Builds a trie keeping the {@code topSize} highest weighted completions at every node.
+     */
+    static CompletionTrie build(Collection<Completion> input, int topSize) {
+        Completion[] completions = input.toArray(new Completion[0]);
+        List<Key> keys = new ArrayList<>();
+        for (int i = 0; i < completions.length; i++) {
+            for (String term : completions[i].terms()) {
+                keys.add(new Key(term, i));
+            }
+        }
+        keys.sort(Comparator.comparing(Key::term));
+
+        int capacity = Math.max(16, keys.size() * 4);
+        char[] labels = new char[capacity];
+        int[] firstChild = new int[capacity];
+        int[] childCount = new int[capacity];
+        int[] topOffsets = new int[capacity + 1];
+        int[] topCompletions = new int[Math.max(16, keys.size() * 2)];
+        int nodeCount = 1;
+        int topCount = 0;
+        int[] best = new int[topSize];
+
+        // Nodes are processed in the order they are numbered, each covering the range of sorted
+        // keys that share its prefix.
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        queue.add(new int[]{0, 0, keys.size(), 0});
+        while (!queue.isEmpty()) {
+            int[] next = queue.poll();
+            int node = next[0];
+            int from = next[1];
+            int to = next[2];
+            int depth = next[3];
+
+            int selected = selectTop(keys, from, to, completions, best);
+            if (topCount + selected > topCompletions.length) {
+                topCompletions = Arrays.copyOf(topCompletions, Math.max(topCompletions.length * 2, topCount + selected));
+            }
+            topOffsets[node] = topCount;
+            System.arraycopy(best, 0, topCompletions, topCount, selected);
+            topCount += selected;
+
+            int start = from;
+            while (start < to && keys.get(start).term().length() == depth) {
+                start++;
+            }
+            firstChild[node] = nodeCount;
+            while (start < to) {
+                char label = keys.get(start).term().charAt(depth);
+                int end = start;
+                while (end < to && keys.get(end).term().charAt(depth) == label) {
+                    end++;
+                }
+                if (nodeCount == labels.length) {
+                    int grown = labels.length * 2;
+                    labels = Arrays.copyOf(labels, grown);
+                    firstChild = Arrays.copyOf(firstChild, grown);
+                    childCount = Arrays.copyOf(childCount, grown);
+                    topOffsets = Arrays.copyOf(topOffsets, grown + 1);
+                }
+                labels[nodeCount] = label;
+                childCount[node]++;
+                queue.add(new int[]{nodeCount++, start, end, depth + 1});
+                start = end;
+            }
+        }
+        topOffsets[nodeCount] = topCount;
+
+        return new CompletionTrie(Arrays.copyOf(labels, nodeCount), Arrays.copyOf(firstChild, nodeCount),
+                Arrays.copyOf(childCount, nodeCount), Arrays.copyOf(topOffsets, nodeCount + 1),
+                Arrays.copyOf(topCompletions, topCount), completions);
+    }
+
+    /**
+     * The node reached by a normalized prefix, or -1 if no term starts with it.
+     */
+    int find(String prefix) {
+        int node = 0;
+        int length = Math.min(prefix.length(), MAX_KEY_LENGTH);
+        for (int i = 0; i < length; i++) {
+            char label = prefix.charAt(i);
+            int low = firstChild[node];
+            int high = low + childCount[node] - 1;
+            node = -1;
+            while (low <= high) {
+                int middle = (low + high) >>> 1;
+                if (labels[middle] < label) {
+                    low = middle + 1;
+                } else if (labels[middle] > label) {
+                    high = middle - 1;
+                } else {
+                    node = middle;
+                    break;
+                }
+            }
+            if (node < 0) {
+                return -1;
+            }
+        }
+        return node;
+    }
+
+    int topCount(int node) {
+        return topOffsets[node + 1] - topOffsets[node];
+    }
+
+    /**
+     * The {@code rank}-th highest weighted completion below {@code node}.
+     */
+    Completion top(int node, int rank) {
+        return completions[topCompletions[topOffsets[node] + rank]];
+    }
+
+    Completion get(String key) {
+        return completionsByKey.get(key);
+    }
+
+    int size() {
+        return completions.length;
+    }
+
+    /**
+     * Lowercases, strips accents and collapses everything that is not a letter or digit into
+     * single spaces.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(Character.toLowerCase(c));
+            } else if (!normalized.isEmpty() && normalized.charAt(normalized.length() - 1) != ' ') {
+                normalized.append(' ');
+            }
+        }
+        int end = normalized.length();
+        if (end > 0 && normalized.charAt(end - 1) == ' ') {
+            normalized.setLength(end - 1);
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * The suffixes of a normalized text starting at each word, so "ada lovelace" is found by
+     * "lov" as well as by "ada".
+     */
+    static String[] terms(String normalized) {
+        Set<String> terms = new LinkedHashSet<>();
+        int start = 0;
+        while (start < normalized.length()) {
+            terms.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            int space = normalized.indexOf(' ', start);
+            if (space < 0) {
+                break;
+            }
+            start = space + 1;
+        }
+        return terms.toArray(new String[0]);
+    }
+
+    /**
+     * Fills {@code best} with the distinct completions of the highest weight among the keys in
+     * [{@code from}, {@code to}), highest first, and returns how many were found.
+     */
+    private static int selectTop(List<Key> keys, int from, int to, Completion[] completions, int[] best) {
+        int selected = 0;
+        for (int i = from; i < to; i++) {
+            int candidate = keys.get(i).completion();
+            int weight = completions[candidate].weight();
+            boolean present = false;
+            for (int j = 0; j < selected; j++) {
+                if (best[j] == candidate) {
+                    present = true;
+                    break;
+                }
+            }
+            if (present || (selected == best.length && completions[best[selected - 1]].weight() >= weight)) {
+                continue;
+            }
+            int position = selected == best.length ? selected - 1 : selected++;
+            while (position > 0 && completions[best[position - 1]].weight() < weight) {
+                best[position] = best[position - 1];
+                position--;
+            }
+            best[position] = candidate;
+        }
+        return selected;
+    }
+
+    private record Key(String term, int completion) {
+    }
+}
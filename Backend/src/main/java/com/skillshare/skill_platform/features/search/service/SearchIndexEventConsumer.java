@@ -0,0 +1,163 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.search.model.IndexedEntityType;
+import com.linkedin.backend.features.search.model.SearchIndexEvent;
+import com.linkedin.backend.features.search.repository.SearchIndexEventRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchIndexingPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Replays search index events into the local index, skipping those this process wrote and
+ * Hibernate Search already indexed as they committed. Events are read in id order from a
+ * cursor the {@link SearchIndexSynchronizer} persists next to the index. Ids are assigned before
+ * commit, so a lower id can become visible after a higher one: the cursor only moves past a gap
+ * once the event after it is older than the reorder window, and events already applied beyond a
+ * gap are remembered so they are not applied twice.
+ */
+@Service
+public class SearchIndexEventConsumer {
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexEventConsumer.class);
+
+    private final SearchIndexEventRepository searchIndexEventRepository;
+    private final SearchIndexEventRecorder searchIndexEventRecorder;
+    private final SearchIndexGeneration searchIndexGeneration;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long reorderWindowSeconds;
+    private final long retentionHours;
+
+    private volatile long cursor = -1;
+    private final Set<Long> appliedAfterCursor = new HashSet<>();
+
+    public SearchIndexEventConsumer(SearchIndexEventRepository searchIndexEventRepository,
+            SearchIndexEventRecorder searchIndexEventRecorder, SearchIndexGeneration searchIndexGeneration,
+            EntityManager entityManager,
+            PlatformTransactionManager transactionManager,
+            @Value("${search.coordination.batch-size:500}") int batchSize,
+            @Value("${search.coordination.reorder-window-seconds:30}") long reorderWindowSeconds,
+            @Value("${search.coordination.retention-hours:48}") long retentionHours) {
+        this.searchIndexEventRepository = searchIndexEventRepository;
+        this.searchIndexEventRecorder = searchIndexEventRecorder;
+        this.searchIndexGeneration = searchIndexGeneration;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.reorderWindowSeconds = reorderWindowSeconds;
+        this.retentionHours = retentionHours;
+    }
+
+    public long latestEventId() {
+        return searchIndexEventRepository.findLatestId();
+    }
+
+    /**
+     * Whether every event written after {@code checkpoint} is still retained.
+     */
+    public boolean isRetainedSince(LocalDateTime checkpoint) {
+        return checkpoint.isAfter(LocalDateTime.now().minusHours(retentionHours).plusMinutes(5));
+    }
+
+    /**
+     * Starts replaying events with an id above {@code eventId}. Polling does nothing before.
+     */
+    public synchronized void startAfter(long eventId) {
+        appliedAfterCursor.clear();
+        searchIndexEventRecorder.forgetAppliedUpTo(eventId);
+        cursor = eventId;
+    }
+
+    /**
+     * The id up to which all events are applied, or -1 before {@link #startAfter(long)}.
+     */
+    public long getCursor() {
+        return cursor;
+    }
+
+    @Scheduled(fixedDelayString = "${search.coordination.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (cursor < 0) {
+            return;
+        }
+        boolean caughtUp;
+        do {
+            List<SearchIndexEvent> batch = searchIndexEventRepository.findByIdGreaterThanOrderByIdAsc(cursor,
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            apply(batch);
+            caughtUp = !advanceCursor(batch) || batch.size() < batchSize;
+        } while (!caughtUp);
+    }
+
+    @Scheduled(cron = "${search.coordination.cleanup-cron:0 30 * * * *}")
+    public void purgeOldEvents() {
+        int deleted = searchIndexEventRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} search index events.", deleted);
+        }
+    }
+
+    private void apply(List<SearchIndexEvent> batch) {
+        Set<IndexedEntityType> changed = EnumSet.noneOf(IndexedEntityType.class);
+        transactionTemplate.executeWithoutResult(status -> {
+            SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+            Set<String> seen = new HashSet<>();
+            for (SearchIndexEvent event : batch) {
+                if (searchIndexEventRecorder.isAppliedLocally(event.getId())
+                        || appliedAfterCursor.contains(event.getId())
+                        || !seen.add(event.getEntityType() + ":" + event.getEntityId())) {
+                    continue;
+                }
+                changed.add(event.getEntityType());
+                Class<?> entityClass = event.getEntityType().getEntityClass();
+                Object entity = entityManager.find(entityClass, event.getEntityId());
+                if (entity != null) {
+                    indexingPlan.addOrUpdate(entity);
+                } else {
+                    indexingPlan.purge(entityClass, event.getEntityId(), null);
+                }
+            }
+        });
+        changed.forEach(searchIndexGeneration::bump);
+    }
+
+    /**
+     * Moves the cursor over the contiguous run of ids at the start of the batch, treating gaps
+     * older than the reorder window as rolled back. Returns false if a recent gap stopped it.
+     */
+    private boolean advanceCursor(List<SearchIndexEvent> batch) {
+        LocalDateTime gapDeadline = LocalDateTime.now().minusSeconds(reorderWindowSeconds);
+        long contiguous = cursor;
+        boolean blocked = false;
+        for (SearchIndexEvent event : batch) {
+            if (!blocked && (event.getId() == contiguous + 1 || event.getCreatedAt().isBefore(gapDeadline))) {
+                contiguous = event.getId();
+            } else {
+                blocked = true;
+                appliedAfterCursor.add(event.getId());
+            }
+        }
+        long advanced = contiguous;
+        appliedAfterCursor.removeIf(id -> id <= advanced);
+        searchIndexEventRecorder.forgetAppliedUpTo(advanced);
+        cursor = advanced;
+        return !blocked;
+    }
+}
@@ -0,0 +1,191 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.feed.model.Post;
+import com.linkedin.backend.features.learningplane.model.LearningPlan;
+import com.linkedin.backend.features.learningplane.model.Topic;
+import com.linkedin.backend.features.search.model.IndexedEntityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records every insert, update and delete of an indexed entity as a search index event in the
+ * same transaction, so other nodes can replay it into their own index. Events are collected per
+ * session and written once, after the session's final flush and before commit; a rolled back
+ * transaction writes nothing. Topic changes are recorded against their learning plan, which
+ * embeds topic titles.
+ * <p>
+ * Hibernate Search indexes this process's own changes as they commit, so the ids of the events it
+ * wrote are remembered once committed and the {@link SearchIndexEventConsumer} skips them. Only
+ * this process's memory says so: a restarted process or another node replays them.
+ */
+@Component
+public class SearchIndexEventRecorder implements PostInsertEventListener, PostUpdateEventListener,
+        PostDeleteEventListener {
+    private final EntityManagerFactory entityManagerFactory;
+    private final SearchIndexGeneration searchIndexGeneration;
+    private final String nodeId;
+    private final Map<EventSource, Set<PendingEvent>> pendingBySession = new ConcurrentHashMap<>();
+    private final Map<EventSource, List<Long>> writtenBySession = new ConcurrentHashMap<>();
+    private final Set<Long> appliedLocally = ConcurrentHashMap.newKeySet();
+
+    public SearchIndexEventRecorder(EntityManagerFactory entityManagerFactory,
+            SearchIndexGeneration searchIndexGeneration, @Value("${search.coordination.node-id:}") String nodeId) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.searchIndexGeneration = searchIndexGeneration;
+        this.nodeId = nodeId.isBlank() ? UUID.randomUUID().toString() : nodeId;
+    }
+
+    @PostConstruct
+    public void register() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, this);
+        registry.appendListeners(EventType.POST_UPDATE, this);
+        registry.appendListeners(EventType.POST_DELETE, this);
+    }
+
+    /**
+     * Written with every event to tell where it came from; not used to skip events.
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Whether this process wrote the event and its change is already in the local index.
+     */
+    public boolean isAppliedLocally(long eventId) {
+        return appliedLocally.contains(eventId);
+    }
+
+    /**
+     * Forgets the ids up to {@code eventId}, which the consumer will not read again.
+     */
+    public void forgetAppliedUpTo(long eventId) {
+        appliedLocally.removeIf(id -> id <= eventId);
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        record(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        record(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        record(event.getSession(), event.getEntity());
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return false;
+    }
+
+    private void record(EventSource session, Object entity) {
+        PendingEvent event = toPendingEvent(entity);
+        if (event == null) {
+            return;
+        }
+        Set<PendingEvent> pending = pendingBySession.get(session);
+        if (pending == null) {
+            pending = new LinkedHashSet<>();
+            pendingBySession.put(session, pending);
+            session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::write);
+            session.getActionQueue().registerProcess(
+                    (AfterTransactionCompletionProcess) (success, completed) -> complete(session, success));
+        }
+        pending.add(event);
+    }
+
+    private void write(SessionImplementor session) {
+        Set<PendingEvent> pending = pendingBySession.get(session);
+        if (pending == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> written = new ArrayList<>(pending.size());
+        for (PendingEvent event : pending) {
+            session.createNativeQuery("""
+                    INSERT INTO search_index_events (entity_type, entity_id, origin_node, created_at)
+                    VALUES (:entityType, :entityId, :originNode, :createdAt)""")
+                    .setParameter("entityType", event.type().name())
+                    .setParameter("entityId", event.entityId())
+                    .setParameter("originNode", nodeId)
+                    .setParameter("createdAt", now)
+                    .executeUpdate();
+            written.add(((Number) session.createNativeQuery("SELECT LAST_INSERT_ID()").getSingleResult()).longValue());
+        }
+        writtenBySession.put(session, written);
+        bumpGenerations(pending);
+    }
+
+    /**
+     * Runs after Hibernate Search's own transaction synchronization has executed the indexing plan,
+     * so the index has the changes. Results cached since the bump before commit may have been
+     * computed without them and are invalidated again.
+     */
+    private void complete(EventSource session, boolean success) {
+        Set<PendingEvent> pending = pendingBySession.remove(session);
+        List<Long> written = writtenBySession.remove(session);
+        if (success && pending != null) {
+            if (written != null) {
+                appliedLocally.addAll(written);
+            }
+            bumpGenerations(pending);
+        }
+    }
+
+    private void bumpGenerations(Set<PendingEvent> pending) {
+        pending.stream().map(PendingEvent::type).distinct().forEach(searchIndexGeneration::bump);
+    }
+
+    private static PendingEvent toPendingEvent(Object entity) {
+        if (entity instanceof User user) {
+            return new PendingEvent(IndexedEntityType.USER, user.getId());
+        }
+        if (entity instanceof Post post) {
+            return new PendingEvent(IndexedEntityType.POST, post.getId());
+        }
+        if (entity instanceof LearningPlan plan) {
+            return new PendingEvent(IndexedEntityType.LEARNING_PLAN, plan.getId());
+        }
+        if (entity instanceof Topic topic && topic.getLearningPlan() != null) {
+            return new PendingEvent(IndexedEntityType.LEARNING_PLAN, topic.getLearningPlan().getId());
+        }
+        return null;
+    }
+
+    private record PendingEvent(IndexedEntityType type, Long entityId) {
+    }
+}
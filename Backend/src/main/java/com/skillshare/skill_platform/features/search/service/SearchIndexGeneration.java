@@ -0,0 +1,36 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.search.model.IndexedEntityType;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per entity type counter of changes applied to the local index, bumped after local commits,
+ * replayed events from other nodes and reindexing. Cached search results remember the generation
+ * they were computed at and are stale once it moves.
+ */
+@Component
+public class SearchIndexGeneration {
+    private final Map<IndexedEntityType, AtomicLong> generations = new EnumMap<>(IndexedEntityType.class);
+
+    public SearchIndexGeneration() {
+        for (IndexedEntityType type : IndexedEntityType.values()) {
+            generations.put(type, new AtomicLong());
+        }
+    }
+
+    public long current(IndexedEntityType type) {
+        return generations.get(type).get();
+    }
+
+    public void bump(IndexedEntityType type) {
+        generations.get(type).incrementAndGet();
+    }
+
+    public void bumpAll() {
+        generations.values().forEach(AtomicLong::incrementAndGet);
+    }
+}
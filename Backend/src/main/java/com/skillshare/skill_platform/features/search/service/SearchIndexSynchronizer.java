@@ -0,0 +1,307 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.feed.model.Post;
+import com.linkedin.backend.features.feed.repository.PostRepository;
+import com.linkedin.backend.features.learningplane.model.LearningPlan;
+import com.linkedin.backend.features.learningplane.repository.LearningPlanRepository;
+import com.linkedin.backend.features.search.dto.ReindexProgressDto;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchIndexingPlan;
+import org.hibernate.search.mapper.pojo.massindexing.MassIndexingMonitor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Keeps the Lucene indexes across restarts. A marker file next to the indexes records the
+ * mapping version they were built with, a checkpoint up to which they are known to be in sync
+ * with the database and the {@link SearchIndexEventConsumer} cursor. On startup they are rebuilt
+ * only if the marker is missing, unreadable or from another version. Otherwise the search index events after
+ * the cursor are replayed, or, if some may already be purged, users, posts and learning plans
+ * changed since the checkpoint are reindexed. While the application runs, Hibernate Search
+ * indexes local changes and the consumer applies those of other nodes.
+ */
+@Service
+public class SearchIndexSynchronizer implements ApplicationRunner {
+    /**
+     * Bump whenever the indexed fields of an entity change, to force a rebuild on next start.
+     */
+    private static final int INDEX_VERSION = 3;
+    private static final String MARKER_FILE = "index-state.properties";
+    private static final int CATCH_UP_BATCH_SIZE = 200;
+    /**
+     * Changes committed shortly before a checkpoint may not have reached the index yet.
+     */
+    private static final long CHECKPOINT_SAFETY_MINUTES = 5;
+
+    private static final Logger log = LoggerFactory.getLogger(SearchIndexSynchronizer.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityManager entityManager;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final LearningPlanRepository learningPlanRepository;
+    private final SearchIndexEventConsumer searchIndexEventConsumer;
+    private final SearchIndexGeneration searchIndexGeneration;
+    private final TransactionTemplate transactionTemplate;
+    private final Path markerFile;
+    private final int massIndexerThreads;
+    private final Set<String> adminEmails;
+
+    private final AtomicReference<ReindexProgressDto> progress = new AtomicReference<>(ReindexProgressDto.idle());
+
+    public SearchIndexSynchronizer(EntityManagerFactory entityManagerFactory, EntityManager entityManager,
+            UserRepository userRepository, PostRepository postRepository,
+            LearningPlanRepository learningPlanRepository, SearchIndexEventConsumer searchIndexEventConsumer,
+            SearchIndexGeneration searchIndexGeneration, PlatformTransactionManager transactionManager,
+            @Value("${search.index-directory:./lucene/indexes}") String indexDirectory,
+            @Value("${search.mass-indexer.threads:4}") int massIndexerThreads,
+            @Value("${search.reindex.admin-emails:}") Set<String> adminEmails) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.entityManager = entityManager;
+        this.userRepository = userRepository;
+        this.postRepository = postRepository;
+        this.learningPlanRepository = learningPlanRepository;
+        this.searchIndexEventConsumer = searchIndexEventConsumer;
+        this.searchIndexGeneration = searchIndexGeneration;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.markerFile = Path.of(indexDirectory).resolve(MARKER_FILE);
+        this.massIndexerThreads = massIndexerThreads;
+        this.adminEmails = adminEmails;
+    }
+
+    /**
+     * Application runners complete before the application reports ready, so the readiness probe
+     * only lets traffic in once the index is up to date.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        synchronizeOnStartup();
+    }
+
+    public void synchronizeOnStartup() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        Properties marker = readMarker();
+        Integer version = parseOrNull(marker.getProperty("version"), Integer::valueOf);
+        LocalDateTime checkpoint = parseOrNull(marker.getProperty("checkpoint"), LocalDateTime::parse);
+        Long eventCursor = parseOrNull(marker.getProperty("eventCursor"), Long::valueOf);
+        // Events after this one are replayed whichever way the index is brought up to date.
+        long latestEventId = searchIndexEventConsumer.latestEventId();
+
+        if (version == null || version != INDEX_VERSION || checkpoint == null) {
+            log.info("Search index missing, unreadable or built with another version; rebuilding.");
+            try {
+                runMassIndexer(startedAt).toCompletableFuture().join();
+            } catch (RuntimeException e) {
+                log.error("Rebuilding the search index failed: {}", e.getMessage());
+            }
+            searchIndexEventConsumer.startAfter(latestEventId);
+            return;
+        }
+
+        if (eventCursor != null && searchIndexEventConsumer.isRetainedSince(checkpoint)) {
+            searchIndexEventConsumer.startAfter(eventCursor);
+            searchIndexEventConsumer.poll();
+            writeMarker(startedAt);
+            log.info("Search indexes caught up from event {}.", eventCursor);
+            return;
+        }
+
+        LocalDateTime since = checkpoint.minusMinutes(CHECKPOINT_SAFETY_MINUTES);
+        long users = reindexChangedSince(since, userRepository::findChangedSince, User::getId);
+        long posts = reindexChangedSince(since, postRepository::findChangedSince, Post::getId);
+        long plans = reindexChangedSince(since, learningPlanRepository::findChangedSince, LearningPlan::getId);
+        searchIndexEventConsumer.startAfter(latestEventId);
+        searchIndexGeneration.bumpAll();
+        writeMarker(startedAt);
+        log.info("Search indexes caught up since {}: {} users, {} posts, {} learning plans reindexed.",
+                checkpoint, users, posts, plans);
+    }
+
+    @Scheduled(fixedDelayString = "${search.checkpoint-interval-ms:60000}")
+    public void advanceCheckpoint() {
+        if (!"RUNNING".equals(progress.get().state()) && Files.exists(markerFile)) {
+            writeMarker(LocalDateTime.now());
+        }
+    }
+
+    @PreDestroy
+    public void writeFinalCheckpoint() {
+        advanceCheckpoint();
+    }
+
+    /**
+     * Rebuilds the whole index in the background with parallel loader threads. Progress is
+     * available from {@link #getProgress(User)}.
+     */
+    public synchronized ReindexProgressDto startMassIndexing(User requester) {
+        requireAdmin(requester);
+        if ("RUNNING".equals(progress.get().state())) {
+            throw new IllegalStateException("Reindexing is already running");
+        }
+        runMassIndexer(LocalDateTime.now());
+        return progress.get();
+    }
+
+    public ReindexProgressDto getProgress(User requester) {
+        requireAdmin(requester);
+        return progress.get();
+    }
+
+    /**
+     * Managing the search index and its cache is limited to the configured admin emails.
+     */
+    public void requireAdmin(User requester) {
+        if (!adminEmails.contains(requester.getEmail())) {
+            throw new IllegalStateException("User is not allowed to manage the search index");
+        }
+    }
+
+    private CompletionStage<?> runMassIndexer(LocalDateTime startedAt) {
+        AtomicLong total = new AtomicLong();
+        AtomicLong added = new AtomicLong();
+        progress.set(ReindexProgressDto.running(startedAt, 0, 0));
+
+        MassIndexingMonitor monitor = new MassIndexingMonitor() {
+            @Override
+            public void documentsAdded(long increment) {
+                progress.set(ReindexProgressDto.running(startedAt, total.get(), added.addAndGet(increment)));
+            }
+
+            @Override
+            public void documentsBuilt(long increment) {
+            }
+
+            @Override
+            public void entitiesLoaded(long increment) {
+            }
+
+            @Override
+            public void addToTotalCount(long increment) {
+                progress.set(ReindexProgressDto.running(startedAt, total.addAndGet(increment), added.get()));
+            }
+
+            @Override
+            public void indexingCompleted() {
+            }
+        };
+
+        return Search.mapping(entityManagerFactory).scope(Object.class).massIndexer()
+                .threadsToLoadObjects(massIndexerThreads)
+                .batchSizeToLoadObjects(100)
+                .monitor(monitor)
+                .start()
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("Search mass indexing failed: {}", error.getMessage());
+                        progress.set(ReindexProgressDto.failed(startedAt, total.get(), added.get(), error.getMessage()));
+                        return;
+                    }
+                    searchIndexGeneration.bumpAll();
+                    writeMarker(startedAt);
+                    progress.set(ReindexProgressDto.completed(startedAt, total.get(), added.get()));
+                    log.info("Search mass indexing completed: {} documents indexed.", added.get());
+                });
+    }
+
+    private <T> long reindexChangedSince(LocalDateTime since, ChangedEntities<T> changedEntities, Function<T, Long> idOf) {
+        long reindexed = 0;
+        Long afterId = 0L;
+        while (true) {
+            Long cursor = afterId;
+            List<T> batch = transactionTemplate.execute(status -> {
+                List<T> entities = changedEntities.find(since, cursor, PageRequest.of(0, CATCH_UP_BATCH_SIZE));
+                SearchIndexingPlan indexingPlan = Search.session(entityManager).indexingPlan();
+                entities.forEach(indexingPlan::addOrUpdate);
+                return entities;
+            });
+            if (batch == null || batch.isEmpty()) {
+                return reindexed;
+            }
+            reindexed += batch.size();
+            afterId = idOf.apply(batch.get(batch.size() - 1));
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChangedEntities<T> {
+        List<T> find(LocalDateTime since, Long afterId, Pageable pageable);
+    }
+
+    private Properties readMarker() {
+        Properties marker = new Properties();
+        if (Files.exists(markerFile)) {
+            try (InputStream in = Files.newInputStream(markerFile)) {
+                marker.load(in);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Unreadable search index marker, rebuilding: {}", e.getMessage());
+                return new Properties();
+            }
+        }
+        return marker;
+    }
+
+    /**
+     * A malformed marker value counts as missing.
+     */
+    private static <T> T parseOrNull(String value, Function<String, T> parser) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (NumberFormatException | DateTimeParseException e) {
+            log.warn("Malformed search index marker value '{}': {}", value, e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized void writeMarker(LocalDateTime checkpoint) {
+        Properties marker = new Properties();
+        marker.setProperty("version", String.valueOf(INDEX_VERSION));
+        marker.setProperty("checkpoint", checkpoint.toString());
+        long eventCursor = searchIndexEventConsumer.getCursor();
+        if (eventCursor >= 0) {
+            marker.setProperty("eventCursor", String.valueOf(eventCursor));
+        }
+        try {
+            Files.createDirectories(markerFile.getParent());
+            Path temporary = markerFile.resolveSibling(MARKER_FILE + ".tmp");
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                marker.store(out, "Search index state");
+            }
+            Files.move(temporary, markerFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.error("Could not write search index marker: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.linkedin.backend.features.search.service;
+
+import com.linkedin.backend.features.search.dto.SearchCacheStatsDto;
+import com.linkedin.backend.features.search.model.IndexedEntityType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache of search results keyed by entity type, normalized query and page. An entry
+ * is only served while the {@link SearchIndexGeneration} of its type is the one it was computed
+ * at, so any change to that index invalidates it without tracking which queries it affected.
+ */
+@Component
+public class SearchResultCache {
+    private final SearchIndexGeneration searchIndexGeneration;
+    private final Map<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stale = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public SearchResultCache(SearchIndexGeneration searchIndexGeneration,
+            @Value("${search.cache.max-entries:10000}") int maxEntries) {
+        this.searchIndexGeneration = searchIndexGeneration;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The cached result for the query and page, or the one {@code search} computes, which is
+     * cached unless the index changed while it ran.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(IndexedEntityType type, String query, int page, int size, Supplier<T> search) {
+        String key = type + "|" + normalize(query) + "|" + page + "|" + size;
+        long generation = searchIndexGeneration.current(type);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.generation() == generation) {
+                hits.incrementAndGet();
+                return (T) entry.value();
+            }
+            if (entry != null) {
+                stale.incrementAndGet();
+                entries.remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        T value = search.get();
+        if (searchIndexGeneration.current(type) == generation) {
+            synchronized (entries) {
+                entries.put(key, new Entry(generation, value));
+            }
+        }
+        return value;
+    }
+
+    public SearchCacheStatsDto getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.get();
+        long missCount = misses.get();
+        long requests = hitCount + missCount;
+        return new SearchCacheStatsDto(size, hitCount, missCount, stale.get(), evictions.get(),
+                requests == 0 ? 0.0 : (double) hitCount / requests);
+    }
+
+    /**
+     * Lowercases, collapses whitespace and sorts the terms: user search matches any term, so
+     * their order does not change the result.
+     */
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String[] terms = query.trim().toLowerCase(Locale.ROOT).split("\\s+");
+        Arrays.sort(terms);
+        return String.join(" ", terms);
+    }
+
+    private record Entry(long generation, Object value) {
+    }
+}
@@ -1,30 +1,260 @@
 package com.linkedin.backend.features.search.service;
 
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
 import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.feed.model.Post;
+import com.linkedin.backend.features.learningplane.model.LearningPlan;
+import com.linkedin.backend.features.search.dto.LearningPlanSearchHitDto;
+import com.linkedin.backend.features.search.dto.PostSearchHitDto;
+import com.linkedin.backend.features.search.dto.SearchPageDto;
+import com.linkedin.backend.features.search.dto.UserSearchHitDto;
+import com.linkedin.backend.features.search.model.IndexedEntityType;
 import jakarta.persistence.EntityManager;
+import org.hibernate.search.engine.search.aggregation.AggregationKey;
+import org.hibernate.search.engine.search.predicate.dsl.BooleanPredicateClausesStep;
+import org.hibernate.search.engine.search.predicate.dsl.RangePredicateOptionsStep;
+import org.hibernate.search.engine.search.predicate.dsl.SearchPredicateFactory;
+import org.hibernate.search.engine.search.query.SearchResult;
 import org.hibernate.search.mapper.orm.Search;
 import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.hibernate.search.util.common.data.Range;
+import org.hibernate.search.util.common.data.RangeBoundInclusion;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Full-text search over users, posts and learning plans. Every search is paged through at most
+ * {@link #MAX_RESULTS} hits and stops counting after {@link #TOTAL_HIT_COUNT_THRESHOLD}. User and
+ * learning plan hits are projections of stored fields, so no entity is loaded; post hits load the
+ * page of posts with their authors. Typeahead matches the prefixes indexed in the
+ * {@code *_autocomplete} fields and only asks for the first few hits.
+ */
 @Service
 public class SearchService {
+    public static final int MAX_PAGE_SIZE = 50;
+    public static final int MAX_RESULTS = 1000;
+    public static final int MAX_TYPEAHEAD_SIZE = 10;
+    private static final int TOTAL_HIT_COUNT_THRESHOLD = 1000;
+    private static final int MIN_FUZZY_TERM_LENGTH = 4;
+    private static final int MAX_FACET_VALUES = 20;
+
+    private static final AggregationKey<Map<String, Long>> SUBJECT_FACET = AggregationKey.of("subject");
+    private static final AggregationKey<Map<String, Long>> DIFFICULTY_FACET = AggregationKey.of("difficulty");
+
     private final EntityManager entityManager;
+    private final SearchResultCache searchResultCache;
 
-    public SearchService(EntityManager entityManager) {
+    public SearchService(EntityManager entityManager, SearchResultCache searchResultCache) {
         this.entityManager = entityManager;
+        this.searchResultCache = searchResultCache;
+    }
+
+    /**
+     * Served from the {@link SearchResultCache} when the same normalized query and page were
+     * searched since users were last reindexed.
+     */
+    public SearchPageDto<UserSearchHitDto> searchUsers(String query, int page, int size) {
+        String text = SearchResultCache.normalize(query);
+        int pageSize = pageSize(size);
+        int offset = Math.max(page, 0) * pageSize;
+        if (text.isEmpty() || offset >= MAX_RESULTS) {
+            return SearchPageDto.empty(page, pageSize);
+        }
+        return searchResultCache.get(IndexedEntityType.USER, text, page, pageSize,
+                () -> runUserSearch(text, page, pageSize, offset));
+    }
+
+    private SearchPageDto<UserSearchHitDto> runUserSearch(String text, int page, int pageSize, int offset) {
+        SearchSession searchSession = Search.session(entityManager);
+        SearchResult<UserSearchHitDto> result = searchSession.search(User.class)
+                .select(f -> f.composite(values -> new UserSearchHitDto(
+                                (Long) values.get(0), (String) values.get(1), (String) values.get(2),
+                                (String) values.get(3), (String) values.get(4), (String) values.get(5),
+                                (Float) values.get(6)),
+                        f.id(Long.class),
+                        f.field("firstName", String.class),
+                        f.field("lastName", String.class),
+                        f.field("position", String.class),
+                        f.field("company", String.class),
+                        f.field("profilePicture", String.class),
+                        f.score()))
+                .where(f -> {
+                    BooleanPredicateClausesStep<?> predicate = f.bool();
+                    for (String term : text.split("\\s+")) {
+                        int edits = fuzzyEdits(term);
+                        predicate.should(f.match().fields("firstName", "lastName").matching(term).fuzzy(edits)
+                                        .boost(2.0f))
+                                .should(f.match().fields("position", "company").matching(term).fuzzy(edits));
+                    }
+                    return predicate;
+                })
+                .totalHitCountThreshold(TOTAL_HIT_COUNT_THRESHOLD)
+                .fetch(offset, fetchSize(offset, pageSize));
+
+        return new SearchPageDto<>(result.hits(), result.total().hitCountLowerBound(),
+                result.total().isHitCountExact(), page, pageSize, Map.of());
+    }
+
+    /**
+     * Posts matching the query, or the latest posts if it is empty, created in [{@code from},
+     * {@code to}] when given.
+     */
+    public SearchPageDto<PostSearchHitDto> searchPosts(String query, LocalDate from, LocalDate to, int page, int size) {
+        String text = normalize(query);
+        int pageSize = pageSize(size);
+        int offset = Math.max(page, 0) * pageSize;
+        if (offset >= MAX_RESULTS) {
+            return SearchPageDto.empty(page, pageSize);
+        }
+
+        SearchSession searchSession = Search.session(entityManager);
+        SearchResult<PostSearchHitDto> result = searchSession.search(Post.class)
+                .select(f -> f.composite(values -> toPostHit((Post) values.get(0), (Float) values.get(1)),
+                        f.entity(), f.score()))
+                .where(f -> {
+                    BooleanPredicateClausesStep<?> predicate = f.bool()
+                            .must(text.isEmpty() ? f.matchAll() : f.match().field("content").matching(text));
+                    if (from != null || to != null) {
+                        predicate.filter(dateRange(f, "creationDate", from, to));
+                    }
+                    return predicate;
+                })
+                .sort(f -> text.isEmpty() ? f.field("creationDate").desc() : f.score())
+                .totalHitCountThreshold(TOTAL_HIT_COUNT_THRESHOLD)
+                .fetch(offset, fetchSize(offset, pageSize));
+
+        return new SearchPageDto<>(result.hits(), result.total().hitCountLowerBound(),
+                result.total().isHitCountExact(), page, pageSize, Map.of());
     }
 
-    public List<User> searchUsers(String query) {
+    /**
+     * Learning plans matching the query on title, description, subject and topic titles, or the
+     * latest plans if it is empty, with subject and difficulty facet counts over all matches.
+     */
+    public SearchPageDto<LearningPlanSearchHitDto> searchLearningPlans(String query, List<String> subjects,
+            List<String> difficulties, LocalDate from, LocalDate to, int page, int size) {
+        String text = normalize(query);
+        int pageSize = pageSize(size);
+        int offset = Math.max(page, 0) * pageSize;
+        if (offset >= MAX_RESULTS) {
+            return SearchPageDto.empty(page, pageSize);
+        }
+
         SearchSession searchSession = Search.session(entityManager);
+        SearchResult<LearningPlanSearchHitDto> result = searchSession.search(LearningPlan.class)
+                .select(f -> f.composite(values -> new LearningPlanSearchHitDto(
+                                (Long) values.get(0), (String) values.get(1), (String) values.get(2),
+                                (String) values.get(3), (String) values.get(4), (Integer) values.get(5),
+                                (LocalDateTime) values.get(6), (Float) values.get(7)),
+                        f.id(Long.class),
+                        f.field("title", String.class),
+                        f.field("description", String.class),
+                        f.field("subject", String.class),
+                        f.field("difficulty", String.class),
+                        f.field("followers", Integer.class),
+                        f.field("createdAt", LocalDateTime.class),
+                        f.score()))
+                .where(f -> {
+                    BooleanPredicateClausesStep<?> predicate = f.bool().must(text.isEmpty() ? f.matchAll()
+                            : f.match().field("title").boost(2.0f).fields("description", "subject", "topics.title")
+                            .matching(text));
+                    if (subjects != null && !subjects.isEmpty()) {
+                        predicate.filter(anyOf(f, "subject_facet", subjects));
+                    }
+                    if (difficulties != null && !difficulties.isEmpty()) {
+                        predicate.filter(anyOf(f, "difficulty", difficulties));
+                    }
+                    if (from != null || to != null) {
+                        predicate.filter(dateRange(f, "createdAt", from, to));
+                    }
+                    return predicate;
+                })
+                .sort(f -> text.isEmpty() ? f.field("createdAt").desc() : f.score())
+                .aggregation(SUBJECT_FACET, f -> f.terms().field("subject_facet", String.class).maxTermCount(MAX_FACET_VALUES))
+                .aggregation(DIFFICULTY_FACET, f -> f.terms().field("difficulty", String.class).maxTermCount(MAX_FACET_VALUES))
+                .totalHitCountThreshold(TOTAL_HIT_COUNT_THRESHOLD)
+                .fetch(offset, fetchSize(offset, pageSize));
 
+        return new SearchPageDto<>(result.hits(), result.total().hitCountLowerBound(),
+                result.total().isHitCountExact(), page, pageSize,
+                Map.of("subject", result.aggregation(SUBJECT_FACET), "difficulty", result.aggregation(DIFFICULTY_FACET)));
+    }
+
+    /**
+     * Prefix matches on first and last name for per-keystroke suggestions. No scoring tweaks, no
+     * fuzziness and no exact total: the query is a handful of term lookups on the n-gram fields.
+     */
+    public List<UserSummaryDto> typeahead(String query, int limit) {
+        String text = normalize(query);
+        if (text.isEmpty()) {
+            return List.of();
+        }
+        int size = typeaheadSize(limit);
+
+        SearchSession searchSession = Search.session(entityManager);
         return searchSession.search(User.class)
-                .where(f -> f.match()
-                        .fields("firstName", "lastName", "position", "company")
-                        .matching(query)
-                        .fuzzy(2)
-                )
-                .fetchAllHits();
-    }
-}
\ No newline at end of file
+                .select(f -> f.composite(values -> new UserSummaryDto(
+                                (Long) values.get(0), (String) values.get(1), (String) values.get(2),
+                                (String) values.get(3), (String) values.get(4)),
+                        f.id(Long.class),
+                        f.field("firstName", String.class),
+                        f.field("lastName", String.class),
+                        f.field("position", String.class),
+                        f.field("profilePicture", String.class)))
+                .where(f -> f.match().fields("firstName_autocomplete", "lastName_autocomplete").matching(text))
+                .totalHitCountThreshold(size)
+                .fetchHits(size);
+    }
+
+    /**
+     * Edit distance 2 on short terms matches nearly every name, so fuzziness is kept for longer
+     * terms only. Decided per term: "al johnson" still matches "Al Jonson".
+     */
+    static int fuzzyEdits(String term) {
+        return term.length() < MIN_FUZZY_TERM_LENGTH ? 0 : 1;
+    }
+
+    private static PostSearchHitDto toPostHit(Post post, Float score) {
+        return new PostSearchHitDto(post.getId(), post.getContent(), post.getPicture(), post.getCreationDate(),
+                UserSummaryDto.of(post.getAuthor()), score);
+    }
+
+    private static BooleanPredicateClausesStep<?> anyOf(SearchPredicateFactory f, String field, List<String> values) {
+        BooleanPredicateClausesStep<?> predicate = f.bool();
+        values.forEach(value -> predicate.should(f.match().field(field).matching(value)));
+        return predicate;
+    }
+
+    /**
+     * Both ends inclusive, as whole days.
+     */
+    private static RangePredicateOptionsStep<?> dateRange(SearchPredicateFactory f, String field, LocalDate from,
+            LocalDate to) {
+        return f.range().field(field).range(Range.between(
+                from != null ? from.atStartOfDay() : null, RangeBoundInclusion.INCLUDED,
+                to != null ? to.plusDays(1).atStartOfDay() : null, RangeBoundInclusion.EXCLUDED));
+    }
+
+    static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    /**
+     * The hits of the page that lie within the first {@link #MAX_RESULTS}.
+     */
+    static int fetchSize(int offset, int pageSize) {
+        return Math.min(pageSize, MAX_RESULTS - offset);
+    }
+
+    static int typeaheadSize(int limit) {
+        return Math.min(Math.max(limit, 1), MAX_TYPEAHEAD_SIZE);
+    }
+
+    private static String normalize(String query) {
+        return query == null ? "" : query.trim();
+    }
+}
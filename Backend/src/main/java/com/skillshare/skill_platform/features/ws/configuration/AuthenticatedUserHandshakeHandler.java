@@ -0,0 +1,27 @@
+package com.linkedin.backend.features.ws.configuration;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.ws.model.UserPrincipal;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
+
+import java.security.Principal;
+import java.util.Map;
+
+/**
+ * Makes the user the {@code AuthenticationFilter} resolved for the handshake request the
+ * principal of the WebSocket session, so every STOMP frame of the session carries it.
+ */
+public class AuthenticatedUserHandshakeHandler extends DefaultHandshakeHandler {
+    @Override
+    protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+            Map<String, Object> attributes) {
+        if (request instanceof ServletServerHttpRequest servletRequest
+                && servletRequest.getServletRequest().getAttribute("authenticatedUser") instanceof User user) {
+            return new UserPrincipal(user.getId());
+        }
+        return null;
+    }
+}
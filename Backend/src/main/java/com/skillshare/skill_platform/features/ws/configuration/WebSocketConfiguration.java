@@ -12,7 +12,9 @@ public class WebSocketConfiguration  implements WebSocketMessageBrokerConfigurer
 
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
-        registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+        registry.addEndpoint("/ws")
+                .setHandshakeHandler(new AuthenticatedUserHandshakeHandler())
+                .setAllowedOriginPatterns("*");
     }
 
     @Override
@@ -0,0 +1,32 @@
+package com.linkedin.backend.features.ws.controller;
+
+import com.linkedin.backend.features.ws.dto.PresenceDto;
+import com.linkedin.backend.features.ws.service.PresenceRegistry;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/v1/presence")
+public class PresenceController {
+    private static final int MAX_USERS = 100;
+
+    private final PresenceRegistry presenceRegistry;
+
+    public PresenceController(PresenceRegistry presenceRegistry) {
+        this.presenceRegistry = presenceRegistry;
+    }
+
+    @GetMapping
+    public List<PresenceDto> getPresence(@RequestParam List<Long> userIds) {
+        if (userIds.size() > MAX_USERS) {
+            throw new IllegalArgumentException("At most " + MAX_USERS + " users can be queried at once");
+        }
+        Set<Long> online = presenceRegistry.filterOnline(userIds);
+        return userIds.stream().map(userId -> new PresenceDto(userId, online.contains(userId))).toList();
+    }
+}
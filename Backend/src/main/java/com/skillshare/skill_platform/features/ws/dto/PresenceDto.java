@@ -0,0 +1,4 @@
+package com.linkedin.backend.features.ws.dto;
+
+public record PresenceDto(Long userId, boolean online) {
+}
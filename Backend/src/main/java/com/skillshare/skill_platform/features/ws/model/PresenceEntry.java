@@ -0,0 +1,37 @@
+package com.linkedin.backend.features.ws.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+@Entity(name = "presence_entries")
+public class PresenceEntry {
+    @Id
+    private Long userId;
+
+    private int sessionCount;
+
+    private LocalDateTime lastSeen;
+
+    public PresenceEntry() {
+    }
+
+    public PresenceEntry(Long userId, int sessionCount, LocalDateTime lastSeen) {
+        this.userId = userId;
+        this.sessionCount = sessionCount;
+        this.lastSeen = lastSeen;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getSessionCount() {
+        return sessionCount;
+    }
+
+    public LocalDateTime getLastSeen() {
+        return lastSeen;
+    }
+}
@@ -0,0 +1,13 @@
+package com.linkedin.backend.features.ws.model;
+
+import java.security.Principal;
+
+/**
+ * The authenticated user of a WebSocket session, named by their id.
+ */
+public record UserPrincipal(Long userId) implements Principal {
+    @Override
+    public String getName() {
+        return String.valueOf(userId);
+    }
+}
@@ -0,0 +1,39 @@
+package com.linkedin.backend.features.ws.repository;
+
+import com.linkedin.backend.features.ws.model.PresenceEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface PresenceEntryRepository extends JpaRepository<PresenceEntry, Long> {
+    @Transactional
+    @Modifying
+    @Query("UPDATE presence_entries p SET p.sessionCount = p.sessionCount + 1, p.lastSeen = :now WHERE p.userId = :userId")
+    int incrementSessions(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("""
+            UPDATE presence_entries p SET p.sessionCount = CASE WHEN p.sessionCount > 0 THEN p.sessionCount - 1 ELSE 0 END
+            WHERE p.userId = :userId""")
+    int decrementSessions(@Param("userId") Long userId);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE presence_entries p SET p.lastSeen = :now WHERE p.userId IN :userIds")
+    int touch(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM presence_entries p WHERE p.sessionCount = 0 OR p.lastSeen < :cutoff")
+    int deleteExpired(@Param("cutoff") LocalDateTime cutoff);
+
+    @Query("SELECT p.userId FROM presence_entries p WHERE p.userId IN :userIds AND p.sessionCount > 0 AND p.lastSeen >= :cutoff")
+    List<Long> findOnline(@Param("userIds") Collection<Long> userIds, @Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,81 @@
+package com.linkedin.backend.features.ws.service;
+
+import com.linkedin.backend.features.ws.model.PresenceEntry;
+import com.linkedin.backend.features.ws.repository.PresenceEntryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Session counts shared by all nodes through the {@code presence_entries} table. Each node
+ * refreshes the rows of the users it holds sessions for, so the rows of a node that died without
+ * closing its sessions stop counting once the TTL passes.
+ */
+@Component
+@ConditionalOnProperty(name = "presence.backend", havingValue = "database")
+public class DatabasePresenceStore implements PresenceStore {
+    private final PresenceEntryRepository presenceEntryRepository;
+    private final long ttlMillis;
+
+    public DatabasePresenceStore(PresenceEntryRepository presenceEntryRepository,
+            @Value("${presence.ttl-ms:90000}") long ttlMillis) {
+        this.presenceEntryRepository = presenceEntryRepository;
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public void sessionOpened(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        if (presenceEntryRepository.incrementSessions(userId, now) > 0) {
+            return;
+        }
+        try {
+            presenceEntryRepository.save(new PresenceEntry(userId, 1, now));
+        } catch (DataIntegrityViolationException e) {
+            // Another node inserted the row first.
+            presenceEntryRepository.incrementSessions(userId, now);
+        }
+    }
+
+    @Override
+    public void sessionClosed(Long userId) {
+        presenceEntryRepository.decrementSessions(userId);
+    }
+
+    @Override
+    public void heartbeat(Collection<Long> userIds) {
+        if (!userIds.isEmpty()) {
+            presenceEntryRepository.touch(userIds, LocalDateTime.now());
+        }
+    }
+
+    @Override
+    public void expire() {
+        presenceEntryRepository.deleteExpired(cutoff());
+    }
+
+    @Override
+    public boolean isOnline(Long userId) {
+        return !presenceEntryRepository.findOnline(List.of(userId), cutoff()).isEmpty();
+    }
+
+    @Override
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        return new HashSet<>(presenceEntryRepository.findOnline(userIds, cutoff()));
+    }
+
+    private LocalDateTime cutoff() {
+        return LocalDateTime.now().minus(ttlMillis, ChronoUnit.MILLIS);
+    }
+}
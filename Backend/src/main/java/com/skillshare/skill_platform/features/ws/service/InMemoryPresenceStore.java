@@ -0,0 +1,66 @@
+package com.linkedin.backend.features.ws.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Session counts kept in a {@link ConcurrentHashMap}; every update is a per-key {@code compute},
+ * so writers for different users only contend on the same hash bin.
+ */
+@Component
+@ConditionalOnProperty(name = "presence.backend", havingValue = "memory", matchIfMissing = true)
+public class InMemoryPresenceStore implements PresenceStore {
+    private record Presence(int sessions, long lastSeen) {
+    }
+
+    private final ConcurrentHashMap<Long, Presence> presenceByUser = new ConcurrentHashMap<>();
+    private final long ttlMillis;
+
+    public InMemoryPresenceStore(@Value("${presence.ttl-ms:90000}") long ttlMillis) {
+        this.ttlMillis = ttlMillis;
+    }
+
+    @Override
+    public void sessionOpened(Long userId) {
+        long now = System.currentTimeMillis();
+        presenceByUser.compute(userId, (id, presence) ->
+                new Presence(presence == null ? 1 : presence.sessions() + 1, now));
+    }
+
+    @Override
+    public void sessionClosed(Long userId) {
+        presenceByUser.computeIfPresent(userId, (id, presence) ->
+                presence.sessions() <= 1 ? null : new Presence(presence.sessions() - 1, presence.lastSeen()));
+    }
+
+    @Override
+    public void heartbeat(Collection<Long> userIds) {
+        long now = System.currentTimeMillis();
+        for (Long userId : userIds) {
+            presenceByUser.computeIfPresent(userId, (id, presence) -> new Presence(presence.sessions(), now));
+        }
+    }
+
+    @Override
+    public void expire() {
+        long cutoff = System.currentTimeMillis() - ttlMillis;
+        presenceByUser.values().removeIf(presence -> presence.lastSeen() < cutoff);
+    }
+
+    @Override
+    public boolean isOnline(Long userId) {
+        Presence presence = presenceByUser.get(userId);
+        return presence != null && presence.lastSeen() >= System.currentTimeMillis() - ttlMillis;
+    }
+
+    @Override
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+        return userIds.stream().filter(this::isOnline).collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,163 @@
+package com.linkedin.backend.features.ws.service;
+
+import com.linkedin.backend.features.ws.model.OutboxEvent;
+import com.linkedin.backend.features.ws.repository.OutboxEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Publishes committed outbox events to this node's STOMP broker. The broker is in memory, so
+ * every node publishes every event to the sessions connected to it: each relay reads the outbox
+ * from its own cursor instead of claiming rows, starting at the latest event when it first polls.
+ * Ids are assigned before commit, so a lower id can become visible after a higher one: the cursor
+ * only moves past a gap once the event after it is older than the reorder window, and events
+ * published beyond a gap are remembered so they are not published twice. An event that fails to
+ * publish is retried by this node with a growing delay until it has used up its attempts.
+ */
+@Component
+public class OutboxRelay {
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final int batchSize;
+    private final long retentionHours;
+    private final long reorderWindowSeconds;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+
+    private long cursor = -1;
+    private final Set<Long> publishedAfterCursor = new HashSet<>();
+    private final Map<Long, FailedEvent> failedEvents = new LinkedHashMap<>();
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository, SimpMessagingTemplate messagingTemplate,
+            @Value("${outbox.relay.batch-size:200}") int batchSize,
+            @Value("${outbox.relay.retention-hours:24}") long retentionHours,
+            @Value("${outbox.relay.reorder-window-seconds:30}") long reorderWindowSeconds,
+            @Value("${outbox.relay.retry-delay-ms:1000}") long retryDelayMillis,
+            @Value("${outbox.relay.max-attempts:10}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.messagingTemplate = messagingTemplate;
+        this.batchSize = batchSize;
+        this.retentionHours = retentionHours;
+        this.reorderWindowSeconds = reorderWindowSeconds;
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.poll-interval-ms:200}")
+    public synchronized void relay() {
+        if (cursor < 0) {
+            // Sessions on this node connect after it starts and load earlier state over REST.
+            cursor = outboxEventRepository.findLatestId();
+            return;
+        }
+        retryFailedEvents();
+        boolean caughtUp;
+        do {
+            List<OutboxEvent> batch = outboxEventRepository.findByIdGreaterThanOrderByIdAsc(cursor,
+                    PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (OutboxEvent event : batch) {
+                if (!publishedAfterCursor.contains(event.getId())) {
+                    // A broken event must not block the ones queued behind it.
+                    tryPublish(event, 0);
+                }
+            }
+            caughtUp = !advanceCursor(batch) || batch.size() < batchSize;
+        } while (!caughtUp);
+    }
+
+    @Scheduled(cron = "${outbox.relay.cleanup-cron:0 0 * * * *}")
+    public void purgeOldEvents() {
+        int deleted = outboxEventRepository.deleteCreatedBefore(LocalDateTime.now().minusHours(retentionHours));
+        if (deleted > 0) {
+            log.info("Purged {} outbox events.", deleted);
+        }
+    }
+
+    private void retryFailedEvents() {
+        LocalDateTime now = LocalDateTime.now();
+        Iterator<FailedEvent> failed = failedEvents.values().iterator();
+        while (failed.hasNext()) {
+            FailedEvent retry = failed.next();
+            if (!retry.nextAttemptAt().isAfter(now)) {
+                failed.remove();
+                tryPublish(retry.event(), retry.attempts());
+            }
+        }
+    }
+
+    private void tryPublish(OutboxEvent event, int previousAttempts) {
+        try {
+            publish(event);
+        } catch (Exception e) {
+            recordFailure(event, previousAttempts + 1, e);
+        }
+    }
+
+    private void recordFailure(OutboxEvent event, int attempts, Exception e) {
+        if (attempts >= maxAttempts) {
+            log.error("Giving up on outbox event {} to {} after {} attempts: {}", event.getId(),
+                    event.getDestination(), attempts, e.getMessage());
+            return;
+        }
+        log.warn("Failed to publish outbox event {} to {} (attempt {}): {}", event.getId(),
+                event.getDestination(), attempts, e.getMessage());
+        Duration delay = retryDelay.multipliedBy(1L << Math.min(attempts - 1, 10));
+        failedEvents.put(event.getId(), new FailedEvent(event, attempts, LocalDateTime.now().plus(delay)));
+    }
+
+    /**
+     * Moves the cursor over the contiguous run of ids at the start of the batch, treating gaps
+     * older than the reorder window as rolled back. Returns false if a recent gap stopped it.
+     */
+    private boolean advanceCursor(List<OutboxEvent> batch) {
+        LocalDateTime gapDeadline = LocalDateTime.now().minusSeconds(reorderWindowSeconds);
+        long contiguous = cursor;
+        boolean blocked = false;
+        for (OutboxEvent event : batch) {
+            if (!blocked && (event.getId() == contiguous + 1 || event.getCreatedAt().isBefore(gapDeadline))) {
+                contiguous = event.getId();
+            } else {
+                blocked = true;
+                publishedAfterCursor.add(event.getId());
+            }
+        }
+        long advanced = contiguous;
+        publishedAfterCursor.removeIf(id -> id <= advanced);
+        cursor = advanced;
+        return !blocked;
+    }
+
+    private void publish(OutboxEvent event) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create();
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(event.getDestination(), MessageBuilder.createMessage(
+                event.getPayload().getBytes(StandardCharsets.UTF_8), accessor.getMessageHeaders()));
+    }
+
+    private record FailedEvent(OutboxEvent event, int attempts, LocalDateTime nextAttemptAt) {
+    }
+}
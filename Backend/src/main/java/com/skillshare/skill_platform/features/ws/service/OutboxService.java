@@ -0,0 +1,48 @@
+package com.linkedin.backend.features.ws.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.backend.features.ws.model.OutboxEvent;
+import com.linkedin.backend.features.ws.repository.OutboxEventRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.stereotype.Service;
+
+/**
+ * Records WebSocket events in the outbox table. Callers enqueue inside the transaction that
+ * performs the domain change, so an event becomes visible to {@link OutboxRelay} only if that
+ * change commits.
+ */
+@Service
+public class OutboxService {
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final PresenceRegistry presenceRegistry;
+
+    public OutboxService(OutboxEventRepository outboxEventRepository, ObjectMapper objectMapper,
+            PresenceRegistry presenceRegistry) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.objectMapper = objectMapper;
+        this.presenceRegistry = presenceRegistry;
+    }
+
+    /**
+     * Enqueues an event for {@code /topic/users/{userId}/{topic}}, or drops it without serializing
+     * the payload when the user has no open session: such users load current state over REST
+     * when they next connect.
+     */
+    @Transactional
+    public void enqueueToUser(Long userId, String topic, Object payload) {
+        if (presenceRegistry.isOnline(userId)) {
+            enqueue("/topic/users/" + userId + "/" + topic, payload);
+        }
+    }
+
+    @Transactional
+    public void enqueue(String destination, Object payload) {
+        try {
+            outboxEventRepository.save(new OutboxEvent(destination, objectMapper.writeValueAsString(payload)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event for " + destination, e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.linkedin.backend.features.ws.service;
+
+import com.linkedin.backend.features.ws.model.UserPrincipal;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks which users have an open WebSocket session. A session is attributed to the user it was
+ * authenticated as during the handshake once its STOMP connection is established, and released
+ * when it disconnects. Sessions without an authenticated user are not tracked.
+ */
+@Component
+public class PresenceRegistry {
+    private final PresenceStore presenceStore;
+    private final Map<String, Long> userBySession = new ConcurrentHashMap<>();
+
+    public PresenceRegistry(PresenceStore presenceStore) {
+        this.presenceStore = presenceStore;
+    }
+
+    @EventListener
+    public void onConnected(SessionConnectedEvent event) {
+        String sessionId = SimpMessageHeaderAccessor.getSessionId(event.getMessage().getHeaders());
+        if (sessionId == null || !(event.getUser() instanceof UserPrincipal principal)) {
+            return;
+        }
+        if (userBySession.putIfAbsent(sessionId, principal.userId()) == null) {
+            presenceStore.sessionOpened(principal.userId());
+        }
+    }
+
+    @EventListener
+    public void onDisconnect(SessionDisconnectEvent event) {
+        Long userId = userBySession.remove(event.getSessionId());
+        if (userId != null) {
+            presenceStore.sessionClosed(userId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${presence.heartbeat-interval-ms:30000}")
+    public void heartbeat() {
+        presenceStore.heartbeat(new HashSet<>(userBySession.values()));
+        presenceStore.expire();
+    }
+
+    public boolean isOnline(Long userId) {
+        return presenceStore.isOnline(userId);
+    }
+
+    public Set<Long> filterOnline(Collection<Long> userIds) {
+        return presenceStore.filterOnline(userIds);
+    }
+}
@@ -0,0 +1,30 @@
+package com.linkedin.backend.features.ws.service;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Where session counts per user are kept. The in-memory store serves a single node; the
+ * database store lets every node see sessions held by the others. Select with
+ * {@code presence.backend} ({@code memory} or {@code database}).
+ */
+public interface PresenceStore {
+    void sessionOpened(Long userId);
+
+    void sessionClosed(Long userId);
+
+    /**
+     * Refreshes the last-seen time of users holding sessions on this node.
+     */
+    void heartbeat(Collection<Long> userIds);
+
+    /**
+     * Forgets users whose last heartbeat is older than the TTL, e.g. sessions held by a node that
+     * went away without disconnecting them.
+     */
+    void expire();
+
+    boolean isOnline(Long userId);
+
+    Set<Long> filterOnline(Collection<Long> userIds);
+}
@@ -0,0 +1,23 @@
+package com.skillshare.skill_platform.repository;
+
+import com.skillshare.skill_platform.entity.PlanFollow;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+public interface PlanFollowRepository extends MongoRepository<PlanFollow, String> {
+
+  Optional<PlanFollow> findByUserIdAndPlanId(String userId, String planId);
+
+  List<PlanFollow> findByUserIdAndPlanIdIn(String userId, Collection<String> planIds);
+
+  List<PlanFollow> findByUserIdOrderByIdDesc(String userId, Pageable pageable);
+
+  List<PlanFollow> findByUserIdAndIdLessThanOrderByIdDesc(String userId, String id, Pageable pageable);
+
+  long deleteByUserIdAndPlanId(String userId, String planId);
+
+  long deleteByPlanId(String planId);
+}
@@ -1,29 +1,71 @@
 package com.skillshare.skill_platform.service.Impl;
 
+import com.mongodb.client.result.UpdateResult;
 import com.skillshare.skill_platform.dto.LearningPlanRQ;
 import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.PlanProgressResponse;
+import com.skillshare.skill_platform.dto.SimilarPlanResponse;
+import com.skillshare.skill_platform.dto.TopicUpdateResponse;
 import com.skillshare.skill_platform.dto.UserDTO;
+import com.skillshare.skill_platform.dto.UserProgressResponse;
 import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.PlanFollow;
+import com.skillshare.skill_platform.entity.Resource;
 import com.skillshare.skill_platform.entity.Topic;
+import com.skillshare.skill_platform.entity.TopicStatus;
 import com.skillshare.skill_platform.entity.User;
 import com.skillshare.skill_platform.entity.UserProfile;
 import com.skillshare.skill_platform.exception.ResourceNotFoundException;
 import com.skillshare.skill_platform.repository.LearningPlanRepository;
+import com.skillshare.skill_platform.repository.PlanFollowRepository;
 import com.skillshare.skill_platform.repository.UserRepository;
 import com.skillshare.skill_platform.service.LearningPlanService;
+import com.skillshare.skill_platform.service.SimilarPlanIndex;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.AllArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Service
 @AllArgsConstructor
 public class LearningPlanServiceImpl implements LearningPlanService {
 
+  private static final Logger log = LoggerFactory.getLogger(LearningPlanServiceImpl.class);
+
+  private static final int MAX_PAGE_SIZE = 50;
+
   private final LearningPlanRepository learningPlanRepository;
+  private final PlanFollowRepository planFollowRepository;
   private final UserRepository userRepository;
+  private final MongoTemplate mongoTemplate;
+  private final SimilarPlanIndex similarPlanIndex;
 
   @Override
   public LearningPlan create(LearningPlanRQ rq, String userId) {
@@ -32,11 +74,14 @@ public class LearningPlanServiceImpl implements LearningPlanService {
     learningPlan.setCreatedAt(LocalDateTime.now());
     learningPlan.setUserId(userId);
     learningPlan.setFollowers(0);
-    return learningPlanRepository.save(learningPlan);
+    learningPlan.recountTopics();
+    LearningPlan saved = learningPlanRepository.save(learningPlan);
+    similarPlanIndex.planChanged(saved);
+    return saved;
   }
 
   @Override
-  public List<LearningPlanResponse> getAll() {
+  public List<LearningPlanResponse> getAll(String viewerId) {
     try {
       System.out.println("Starting to fetch all learning plans...");
       
@@ -50,10 +95,11 @@ public class LearningPlanServiceImpl implements LearningPlanService {
       
       System.out.println("Mapping learning plans to response DTOs...");
       List<LearningPlanResponse> responses = new ArrayList<>();
+      Set<String> followed = followedPlanIds(viewerId, learningPlans);
       
       for (LearningPlan plan : learningPlans) {
         try {
-          LearningPlanResponse response = mapToResponse(plan);
+          LearningPlanResponse response = mapToResponse(plan, followed.contains(plan.getId()));
           responses.add(response);
         } catch (Exception e) {
           System.err.println("Error mapping learning plan with ID " + plan.getId() + ": " + e.getMessage());
@@ -71,20 +117,21 @@ public class LearningPlanServiceImpl implements LearningPlanService {
   }
 
   @Override
-  public List<LearningPlanResponse> getById(String userId) {
+  public List<LearningPlanResponse> getById(String userId, String viewerId) {
     List<LearningPlan> learningPlans = learningPlanRepository.findByUserId(userId);
 
     if (learningPlans.isEmpty()) {
       throw new ResourceNotFoundException("Not found learning plans for user with id: " + userId);
     }
 
+    Set<String> followed = followedPlanIds(viewerId, learningPlans);
     return learningPlans.stream()
-        .map(this::mapToResponse)
+        .map(plan -> mapToResponse(plan, followed.contains(plan.getId())))
         .toList();
   }
   
   @Override
-  public LearningPlanResponse getByPlanId(String planId) {
+  public LearningPlanResponse getByPlanId(String planId, String viewerId) {
     try {
       System.out.println("Service: Fetching learning plan with ID: " + planId);
       LearningPlan learningPlan = learningPlanRepository.findById(planId)
@@ -94,7 +141,9 @@ public class LearningPlanServiceImpl implements LearningPlanService {
           });
       
       System.out.println("Found learning plan: " + learningPlan.getTitle());
-      LearningPlanResponse response = mapToResponse(learningPlan);
+      boolean following = viewerId != null
+          && planFollowRepository.findByUserIdAndPlanId(viewerId, planId).isPresent();
+      LearningPlanResponse response = mapToResponse(learningPlan, following);
       System.out.println("Mapped learning plan to response DTO");
       return response;
     } catch (ResourceNotFoundException e) {
@@ -107,41 +156,30 @@ public class LearningPlanServiceImpl implements LearningPlanService {
     }
   }
 
+  /**
+   * Overwrites the editable fields only. Followers are never written back from the request, so an
+   * edit cannot undo follows counted while it was in flight.
+   */
   @Override
   public LearningPlan updateById(String userId, LearningPlanRQ rq, String learningPlanId) {
-    LearningPlan learningPlan = learningPlanRepository.findById(learningPlanId)
-        .orElseThrow(
-            () -> new ResourceNotFoundException(
-                "Not found learning plan with id: " + learningPlanId));
-
-    // Save the original userId to ensure it's not overwritten
-    String originalUserId = learningPlan.getUserId();
-    Integer originalFollowers = learningPlan.getFollowers();
-    Boolean originalFollowing = learningPlan.getFollowing();
-    
-    // Update the learning plan with the incoming data
-    BeanUtils.copyProperties(rq, learningPlan);
-    
-    // Ensure important fields are preserved
-    learningPlan.setUserId(originalUserId);
-    if (rq.getFollowers() == null) {
-      learningPlan.setFollowers(originalFollowers);
-    }
-    if (rq.getFollowing() == null) {
-      learningPlan.setFollowing(originalFollowing);
-    }
-    
-    // Process topics to ensure correct status conversion
-    if (rq.getTopics() != null) {
-      for (Topic topic : learningPlan.getTopics()) {
-        // Make sure the completed/status values are properly synchronized
-        // This ensures the boolean 'completed' field from frontend maps to TopicStatus enum
-        boolean isCompleted = topic.isCompleted();
-        topic.setCompleted(isCompleted);
-      }
+    Update update = new Update()
+        .set("title", rq.getTitle())
+        .set("description", rq.getDescription())
+        .set("subject", rq.getSubject())
+        .set("topics", rq.getTopics())
+        .set("resources", rq.getResources())
+        .set("estimatedDays", rq.getEstimatedDays())
+        .set("totalTopics", rq.getTopics() == null ? 0 : rq.getTopics().size())
+        .set("completedTopics", LearningPlan.countCompleted(rq.getTopics()));
+
+    LearningPlan learningPlan = mongoTemplate.findAndModify(
+        Query.query(Criteria.where("_id").is(learningPlanId)), update,
+        FindAndModifyOptions.options().returnNew(true), LearningPlan.class);
+    if (learningPlan == null) {
+      throw new ResourceNotFoundException("Not found learning plan with id: " + learningPlanId);
     }
-    
-    return learningPlanRepository.save(learningPlan);
+    similarPlanIndex.planChanged(learningPlan);
+    return learningPlan;
   }
 
   @Override
@@ -151,37 +189,335 @@ public class LearningPlanServiceImpl implements LearningPlanService {
             "Not found learning plan with id: " + learningPlanId));
 
     learningPlanRepository.delete(learningPlan);
+    planFollowRepository.deleteByPlanId(learningPlanId);
+    similarPlanIndex.planRemoved(learningPlanId);
   }
   
+  /**
+   * Records the follow edge and counts it with {@code $inc}. The unique index on (userId, planId)
+   * turns a repeated follow into a duplicate key error, so it is counted once.
+   */
   @Override
   public LearningPlanResponse followPlan(String planId, String userId) {
-    LearningPlan learningPlan = learningPlanRepository.findById(planId)
-        .orElseThrow(() -> new ResourceNotFoundException("Learning plan not found with id: " + planId));
-    
-    learningPlan.setFollowers(learningPlan.getFollowers() != null ? learningPlan.getFollowers() + 1 : 1);
-    learningPlan.setFollowing(true);
-    
-    learningPlanRepository.save(learningPlan);
-    
-    return mapToResponse(learningPlan);
+    if (!learningPlanRepository.existsById(planId)) {
+      throw new ResourceNotFoundException("Learning plan not found with id: " + planId);
+    }
+
+    PlanFollow follow = new PlanFollow();
+    follow.setUserId(userId);
+    follow.setPlanId(planId);
+    follow.setCreatedAt(LocalDateTime.now());
+    try {
+      planFollowRepository.insert(follow);
+      mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(planId)),
+          new Update().inc("followers", 1), LearningPlan.class);
+    } catch (DuplicateKeyException e) {
+      // Already following
+    }
+
+    return mapToResponse(findPlan(planId), true);
   }
   
   @Override
   public LearningPlanResponse unfollowPlan(String planId, String userId) {
-    LearningPlan learningPlan = learningPlanRepository.findById(planId)
+    if (planFollowRepository.deleteByUserIdAndPlanId(userId, planId) > 0) {
+      mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(planId).and("followers").gt(0)),
+          new Update().inc("followers", -1), LearningPlan.class);
+    }
+
+    return mapToResponse(findPlan(planId), false);
+  }
+
+  /**
+   * Plans the user follows, most recently followed first. {@code beforePlanId} is the id of the
+   * last plan of the previous page.
+   */
+  @Override
+  public List<LearningPlanResponse> getFollowedPlans(String userId, String beforePlanId, int limit) {
+    PageRequest page = PageRequest.of(0, Math.min(Math.max(limit, 1), MAX_PAGE_SIZE));
+    List<PlanFollow> follows;
+    if (beforePlanId == null) {
+      follows = planFollowRepository.findByUserIdOrderByIdDesc(userId, page);
+    } else {
+      PlanFollow cursor = planFollowRepository.findByUserIdAndPlanId(userId, beforePlanId)
+          .orElseThrow(() -> new IllegalArgumentException("Learning plan is not followed: " + beforePlanId));
+      follows = planFollowRepository.findByUserIdAndIdLessThanOrderByIdDesc(userId, cursor.getId(), page);
+    }
+
+    List<String> planIds = follows.stream().map(PlanFollow::getPlanId).toList();
+    Map<String, LearningPlan> plans = new HashMap<>();
+    learningPlanRepository.findAllById(planIds).forEach(plan -> plans.put(plan.getId(), plan));
+    return planIds.stream()
+        .map(plans::get)
+        .filter(Objects::nonNull)
+        .map(plan -> mapToResponse(plan, true))
+        .toList();
+  }
+
+  /**
+   * Sets the topic's status in place through the positional operator and moves the completed count
+   * in the same update. The update only matches while the topic is in the other state, so marking
+   * it twice counts once. Only that topic's state and the plan's counts come back.
+   */
+  @Override
+  public TopicUpdateResponse updateTopicCompletion(String planId, String topicId, boolean completed) {
+    Criteria topic = completed
+        ? Criteria.where("id").is(topicId).and("status").ne(TopicStatus.COMPLETED)
+        : Criteria.where("id").is(topicId).and("status").is(TopicStatus.COMPLETED);
+    Query query = Query.query(Criteria.where("_id").is(planId).and("topics").elemMatch(topic));
+    query.fields().include("totalTopics").include("completedTopics");
+    Update update = new Update()
+        .set("topics.$.status", completed ? TopicStatus.COMPLETED : TopicStatus.IN_PROGRESS)
+        .inc("completedTopics", completed ? 1 : -1);
+
+    LearningPlan learningPlan = mongoTemplate.findAndModify(query, update,
+        FindAndModifyOptions.options().returnNew(true), LearningPlan.class);
+    if (learningPlan == null) {
+      // Already in that state
+      Query unchanged = Query.query(Criteria.where("_id").is(planId).and("topics.id").is(topicId));
+      unchanged.fields().include("totalTopics").include("completedTopics");
+      learningPlan = mongoTemplate.findOne(unchanged, LearningPlan.class);
+    }
+    if (learningPlan == null) {
+      throw new ResourceNotFoundException(
+          "Not found topic " + topicId + " in learning plan with id: " + planId);
+    }
+
+    return TopicUpdateResponse.builder()
+        .planId(planId)
+        .topicId(topicId)
+        .completed(completed)
+        .totalTopics(learningPlan.getTotalTopics())
+        .completedTopics(learningPlan.getCompletedTopics())
+        .completionPercentage(learningPlan.getCompletionPercentage())
+        .build();
+  }
+
+  @Override
+  public Topic addTopic(String planId, Topic topic) {
+    if (topic.getId() == null) {
+      topic.setId(UUID.randomUUID().toString());
+    }
+    if (topic.getStatus() == null) {
+      topic.setStatus(TopicStatus.PENDING);
+    }
+
+    UpdateResult result = mongoTemplate.updateFirst(
+        Query.query(Criteria.where("_id").is(planId).and("topics.id").ne(topic.getId())),
+        new Update().push("topics", topic)
+            .inc("totalTopics", 1)
+            .inc("completedTopics", topic.isCompleted() ? 1 : 0), LearningPlan.class);
+    if (result.getMatchedCount() == 0) {
+      findPlan(planId);
+      throw new IllegalArgumentException("Topic already exists: " + topic.getId());
+    }
+    similarPlanIndex.planChanged(planId);
+    return topic;
+  }
+
+  /**
+   * Tries the removal as a completed topic first, so each attempt knows which counts to lower
+   * without reading the topic.
+   */
+  @Override
+  public void removeTopic(String planId, String topicId) {
+    Query completedTopic = Query.query(Criteria.where("_id").is(planId)
+        .and("topics").elemMatch(Criteria.where("id").is(topicId).and("status").is(TopicStatus.COMPLETED)));
+    Query openTopic = Query.query(Criteria.where("_id").is(planId)
+        .and("topics").elemMatch(Criteria.where("id").is(topicId).and("status").ne(TopicStatus.COMPLETED)));
+    Update removeCompleted = new Update().pull("topics", new Document("id", topicId))
+        .inc("totalTopics", -1)
+        .inc("completedTopics", -1);
+    Update removeOpen = new Update().pull("topics", new Document("id", topicId)).inc("totalTopics", -1);
+    // A toggle between the two attempts moves the topic to the one already tried, so retry until
+    // either matches or the topic is gone.
+    while (mongoTemplate.updateFirst(completedTopic, removeCompleted, LearningPlan.class).getMatchedCount() == 0
+        && mongoTemplate.updateFirst(openTopic, removeOpen, LearningPlan.class).getMatchedCount() == 0) {
+      if (!mongoTemplate.exists(Query.query(Criteria.where("_id").is(planId).and("topics.id").is(topicId)),
+          LearningPlan.class)) {
+        throw new ResourceNotFoundException(
+            "Not found topic " + topicId + " in learning plan with id: " + planId);
+      }
+    }
+    similarPlanIndex.planChanged(planId);
+  }
+
+  /**
+   * Numbers the topics through one array filter per topic, then lets the server sort the array by
+   * those numbers. The first update only applies while the plan still has exactly the listed
+   * topics, so a concurrent add or remove is reported instead of being reordered away.
+   */
+  @Override
+  public List<String> reorderTopics(String planId, List<String> topicIds) {
+    Query current = Query.query(Criteria.where("_id").is(planId));
+    current.fields().include("topics.id");
+    LearningPlan learningPlan = mongoTemplate.findOne(current, LearningPlan.class);
+    if (learningPlan == null) {
+      throw new ResourceNotFoundException("Not found learning plan with id: " + planId);
+    }
+    Set<String> existing = learningPlan.getTopics().stream().map(Topic::getId).collect(Collectors.toSet());
+    if (topicIds.size() != existing.size() || !existing.equals(new HashSet<>(topicIds))) {
+      throw new IllegalArgumentException("Topic order must list every topic of the plan exactly once");
+    }
+
+    Update positions = new Update();
+    for (int i = 0; i < topicIds.size(); i++) {
+      positions.set("topics.$[t" + i + "].position", i)
+          .filterArray(Criteria.where("t" + i + ".id").is(topicIds.get(i)));
+    }
+    Query unchanged = Query.query(Criteria.where("_id").is(planId)
+        .and("topics").size(topicIds.size())
+        .and("topics.id").all(topicIds));
+    if (mongoTemplate.updateFirst(unchanged, positions, LearningPlan.class).getMatchedCount() == 0) {
+      throw new IllegalStateException("Topics of learning plan " + planId + " changed while reordering");
+    }
+    mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(planId)),
+        new Update().push("topics").sort(Sort.by("position")).each(), LearningPlan.class);
+    return topicIds;
+  }
+
+  @Override
+  public Resource addResource(String planId, Resource resource) {
+    UpdateResult result = mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(planId)),
+        new Update().push("resources", resource), LearningPlan.class);
+    if (result.getMatchedCount() == 0) {
+      throw new ResourceNotFoundException("Not found learning plan with id: " + planId);
+    }
+    return resource;
+  }
+
+  @Override
+  public PlanProgressResponse getPlanProgress(String planId) {
+    Query query = Query.query(Criteria.where("_id").is(planId));
+    query.fields().include("totalTopics").include("completedTopics");
+    LearningPlan learningPlan = mongoTemplate.findOne(query, LearningPlan.class);
+    if (learningPlan == null) {
+      throw new ResourceNotFoundException("Not found learning plan with id: " + planId);
+    }
+
+    return PlanProgressResponse.builder()
+        .planId(planId)
+        .totalTopics(learningPlan.getTotalTopics())
+        .completedTopics(learningPlan.getCompletedTopics())
+        .completionPercentage(learningPlan.getCompletionPercentage())
+        .build();
+  }
+
+  /**
+   * Sums the stored counts of the user's plans in one aggregation.
+   */
+  @Override
+  public UserProgressResponse getUserProgress(String userId) {
+    AggregationExpression planCompleted = ConditionalOperators
+        .when(BooleanOperators.And.and(
+            ComparisonOperators.Gt.valueOf("totalTopics").greaterThanValue(0),
+            ComparisonOperators.Eq.valueOf("completedTopics").equalTo("totalTopics")))
+        .then(1)
+        .otherwise(0);
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("userId").is(userId)),
+        Aggregation.group("userId")
+            .count().as("plans")
+            .sum(planCompleted).as("completedPlans")
+            .sum("totalTopics").as("totalTopics")
+            .sum("completedTopics").as("completedTopics"));
+    Document totals = mongoTemplate.aggregate(aggregation, LearningPlan.class, Document.class)
+        .getUniqueMappedResult();
+
+    int totalTopics = totals == null ? 0 : totals.get("totalTopics", Number.class).intValue();
+    int completedTopics = totals == null ? 0 : totals.get("completedTopics", Number.class).intValue();
+    return UserProgressResponse.builder()
+        .userId(userId)
+        .plans(totals == null ? 0 : totals.get("plans", Number.class).intValue())
+        .completedPlans(totals == null ? 0 : totals.get("completedPlans", Number.class).intValue())
+        .totalTopics(totalTopics)
+        .completedTopics(completedTopics)
+        .completionPercentage(totalTopics == 0 ? 0 : (completedTopics * 100) / totalTopics)
+        .build();
+  }
+
+  /**
+   * Counts the topics of plans stored before the counters existed. Only plans still without them
+   * are written, so a plan updated meanwhile keeps its counts.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void backfillTopicCounts() {
+    Query missing = Query.query(Criteria.where("totalTopics").exists(false));
+    missing.fields().include("topics.status");
+    List<LearningPlan> learningPlans = mongoTemplate.find(missing, LearningPlan.class);
+    for (LearningPlan learningPlan : learningPlans) {
+      learningPlan.recountTopics();
+      mongoTemplate.updateFirst(
+          Query.query(Criteria.where("_id").is(learningPlan.getId()).and("totalTopics").exists(false)),
+          new Update()
+              .set("totalTopics", learningPlan.getTotalTopics())
+              .set("completedTopics", learningPlan.getCompletedTopics()),
+          LearningPlan.class);
+    }
+    if (!learningPlans.isEmpty()) {
+      log.info("Counted topics of {} learning plans.", learningPlans.size());
+    }
+  }
+
+  /**
+   * Raises follower counts that lag the follow edges, such as those of plans created before the
+   * edges were kept. Counts are only ever raised: an unfollow removes its edge before lowering the
+   * count, so a count above the edges may just be waiting for that decrement. A follow whose edge
+   * is counted here before its own increment lands still ends up one over; the recount runs once at
+   * startup, so only follows in flight at that moment are exposed to it.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconcileFollowerCounts() {
+    Query all = new Query();
+    all.fields().include("followers");
+    List<LearningPlan> learningPlans = mongoTemplate.find(all, LearningPlan.class);
+
+    Aggregation byPlan = Aggregation.newAggregation(Aggregation.group("planId").count().as("follows"));
+    Map<String, Integer> follows = new HashMap<>();
+    for (Document row : mongoTemplate.aggregate(byPlan, PlanFollow.class, Document.class).getMappedResults()) {
+      follows.put(row.getString("_id"), row.get("follows", Number.class).intValue());
+    }
+
+    int reconciled = 0;
+    for (LearningPlan learningPlan : learningPlans) {
+      int counted = follows.getOrDefault(learningPlan.getId(), 0);
+      if (learningPlan.getFollowers() != null && learningPlan.getFollowers() >= counted) {
+        continue;
+      }
+      UpdateResult result = mongoTemplate.updateFirst(
+          Query.query(Criteria.where("_id").is(learningPlan.getId()).and("followers").is(learningPlan.getFollowers())),
+          new Update().set("followers", counted), LearningPlan.class);
+      reconciled += (int) result.getModifiedCount();
+    }
+    if (reconciled > 0) {
+      log.info("Reconciled follower counts of {} learning plans.", reconciled);
+    }
+  }
+
+  @Override
+  public List<SimilarPlanResponse> getSimilarPlans(String planId, int limit) {
+    return similarPlanIndex.similarTo(planId, limit);
+  }
+
+  private LearningPlan findPlan(String planId) {
+    return learningPlanRepository.findById(planId)
         .orElseThrow(() -> new ResourceNotFoundException("Learning plan not found with id: " + planId));
-    
-    if (learningPlan.getFollowers() != null && learningPlan.getFollowers() > 0) {
-      learningPlan.setFollowers(learningPlan.getFollowers() - 1);
+  }
+
+  /**
+   * Which of {@code plans} the viewer follows, in one query for the whole list.
+   */
+  private Set<String> followedPlanIds(String viewerId, List<LearningPlan> plans) {
+    if (viewerId == null || plans.isEmpty()) {
+      return Set.of();
     }
-    learningPlan.setFollowing(false);
-    
-    learningPlanRepository.save(learningPlan);
-    
-    return mapToResponse(learningPlan);
+    List<String> planIds = plans.stream().map(LearningPlan::getId).toList();
+    return planFollowRepository.findByUserIdAndPlanIdIn(viewerId, planIds).stream()
+        .map(PlanFollow::getPlanId)
+        .collect(Collectors.toSet());
   }
   
-  private LearningPlanResponse mapToResponse(LearningPlan learningPlan) {
+  private LearningPlanResponse mapToResponse(LearningPlan learningPlan, boolean following) {
     try {
       // Build response with available data even if user is not found
       LearningPlanResponse response = LearningPlanResponse.builder()
@@ -195,7 +531,7 @@ public class LearningPlanServiceImpl implements LearningPlanService {
           .estimatedDays(learningPlan.getEstimatedDays())
           .followers(learningPlan.getFollowers())
           .userId(learningPlan.getUserId())
-          .following(learningPlan.getFollowing())
+          .following(following)
           .completionPercentage(learningPlan.getCompletionPercentage())
           .build(); // Build the initial response
     
@@ -2,18 +2,24 @@ package com.skillshare.skill_platform.service;
 
 import com.skillshare.skill_platform.dto.LearningPlanRQ;
 import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.PlanProgressResponse;
+import com.skillshare.skill_platform.dto.SimilarPlanResponse;
+import com.skillshare.skill_platform.dto.TopicUpdateResponse;
+import com.skillshare.skill_platform.dto.UserProgressResponse;
 import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Resource;
+import com.skillshare.skill_platform.entity.Topic;
 import java.util.List;
 
 public interface LearningPlanService {
 
   LearningPlan create(LearningPlanRQ rq, String userId);
 
-  List<LearningPlanResponse> getAll();
+  List<LearningPlanResponse> getAll(String viewerId);
 
-  List<LearningPlanResponse> getById(String userId);
+  List<LearningPlanResponse> getById(String userId, String viewerId);
   
-  LearningPlanResponse getByPlanId(String planId);
+  LearningPlanResponse getByPlanId(String planId, String viewerId);
 
   LearningPlan updateById(String userId, LearningPlanRQ rq, String learningPlanId);
 
@@ -22,4 +28,22 @@ public interface LearningPlanService {
   LearningPlanResponse followPlan(String planId, String userId);
   
   LearningPlanResponse unfollowPlan(String planId, String userId);
+
+  List<LearningPlanResponse> getFollowedPlans(String userId, String beforePlanId, int limit);
+
+  TopicUpdateResponse updateTopicCompletion(String planId, String topicId, boolean completed);
+
+  Topic addTopic(String planId, Topic topic);
+
+  void removeTopic(String planId, String topicId);
+
+  List<String> reorderTopics(String planId, List<String> topicIds);
+
+  Resource addResource(String planId, Resource resource);
+
+  PlanProgressResponse getPlanProgress(String planId);
+
+  UserProgressResponse getUserProgress(String userId);
+
+  List<SimilarPlanResponse> getSimilarPlans(String planId, int limit);
 }
@@ -0,0 +1,443 @@
+package com.skillshare.skill_platform.service;
+
+import com.skillshare.skill_platform.dto.SimilarPlanResponse;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Topic;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory TF-IDF index of learning plans for "similar plans" recommendations. Each plan is a
+ * sparse unit vector over the terms of its title, subject, description and topic titles, kept as
+ * parallel term id and weight arrays. Every term has a posting list of the plans containing it,
+ * sorted by decreasing weight, so a query walks the lists of its own terms, most promising first,
+ * and stops early once the rest cannot change the top K.
+ * <p>
+ * {@link com.skillshare.skill_platform.service.Impl.LearningPlanServiceImpl} updates the index as
+ * plans change. Inverse document frequencies are only recomputed when the whole index is rebuilt,
+ * nightly; terms first seen in between are weighted as if they occurred in a single plan.
+ */
+@Component
+public class SimilarPlanIndex {
+
+  public static final int MAX_SIMILAR = 20;
+  private static final int TITLE_WEIGHT = 2;
+  private static final int SUBJECT_WEIGHT = 2;
+  /**
+   * Postings are skipped once their contribution drops below this fraction of the current K-th
+   * score, split over the query terms, so a skipped plan loses at most that fraction overall.
+   */
+  private static final float PRUNING_ERROR = 0.05f;
+  private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+  private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "are", "as", "at", "be", "by", "for",
+      "from", "how", "in", "into", "is", "it", "of", "on", "or", "the", "this", "to", "with", "your", "you");
+  private static final int[] NO_TERMS = new int[0];
+  private static final float[] NO_WEIGHTS = new float[0];
+
+  private static final Logger log = LoggerFactory.getLogger(SimilarPlanIndex.class);
+
+  private final MongoTemplate mongoTemplate;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+  private Index index = new Index();
+  /**
+   * Plans changed while a rebuild was reading the collection, reapplied to the rebuilt index.
+   */
+  private Set<String> changedDuringRebuild;
+
+  public SimilarPlanIndex(MongoTemplate mongoTemplate) {
+    this.mongoTemplate = mongoTemplate;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${learning-plans.similar.rebuild-cron:0 30 4 * * *}")
+  public void rebuild() {
+    lock.writeLock().lock();
+    try {
+      changedDuringRebuild = new HashSet<>();
+    } finally {
+      lock.writeLock().unlock();
+    }
+
+    List<LearningPlan> learningPlans = mongoTemplate.find(textFields(new Query()), LearningPlan.class);
+    Index rebuilt = Index.build(learningPlans);
+
+    Set<String> changed;
+    lock.writeLock().lock();
+    try {
+      index = rebuilt;
+      changed = changedDuringRebuild;
+      changedDuringRebuild = null;
+    } finally {
+      lock.writeLock().unlock();
+    }
+    changed.forEach(this::planChanged);
+    log.info("Built similar learning plan index: {} plans, {} terms.", learningPlans.size(), rebuilt.termCount);
+  }
+
+  /**
+   * Reindexes a plan whose title, subject, description and topics are all loaded.
+   */
+  public void planChanged(LearningPlan learningPlan) {
+    lock.writeLock().lock();
+    try {
+      index.put(learningPlan.getId(), learningPlan.getTitle(), learningPlan.getSubject(),
+          termFrequencies(learningPlan));
+      if (changedDuringRebuild != null) {
+        changedDuringRebuild.add(learningPlan.getId());
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Reads the plan's text fields back and reindexes it, or drops it if it no longer exists.
+   */
+  public void planChanged(String planId) {
+    LearningPlan learningPlan = mongoTemplate.findOne(
+        textFields(Query.query(Criteria.where("_id").is(planId))), LearningPlan.class);
+    if (learningPlan == null) {
+      planRemoved(planId);
+    } else {
+      planChanged(learningPlan);
+    }
+  }
+
+  public void planRemoved(String planId) {
+    lock.writeLock().lock();
+    try {
+      index.remove(planId);
+      if (changedDuringRebuild != null) {
+        changedDuringRebuild.add(planId);
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Up to {@code limit} other plans by decreasing cosine similarity to {@code planId}, or an
+   * empty list if the plan is not indexed or shares no term with any other.
+   */
+  public List<SimilarPlanResponse> similarTo(String planId, int limit) {
+    lock.readLock().lock();
+    try {
+      return index.similarTo(planId, Math.min(Math.max(limit, 1), MAX_SIMILAR));
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private static Query textFields(Query query) {
+    query.fields().include("title").include("subject").include("description").include("topics.title");
+    return query;
+  }
+
+  static Map<String, Integer> termFrequencies(LearningPlan learningPlan) {
+    Map<String, Integer> frequencies = new HashMap<>();
+    addTerms(frequencies, learningPlan.getTitle(), TITLE_WEIGHT);
+    addTerms(frequencies, learningPlan.getSubject(), SUBJECT_WEIGHT);
+    addTerms(frequencies, learningPlan.getDescription(), 1);
+    if (learningPlan.getTopics() != null) {
+      for (Topic topic : learningPlan.getTopics()) {
+        addTerms(frequencies, topic.getTitle(), 1);
+      }
+    }
+    return frequencies;
+  }
+
+  private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+    if (text == null) {
+      return;
+    }
+    for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+      if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+        frequencies.merge(token, weight, Integer::sum);
+      }
+    }
+  }
+
+  private static float idf(int plans, int documentFrequency) {
+    return (float) Math.log((1.0 + plans) / (1.0 + documentFrequency)) + 1f;
+  }
+
+  /**
+   * Plans are mapped to dense doc numbers and terms to dense term ids. Slots of removed plans
+   * stay empty until the next rebuild.
+   */
+  private static final class Index {
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private float[] idf = new float[16];
+    private int[][] postingDocs = new int[16][];
+    private float[][] postingWeights = new float[16][];
+    private int[] postingSizes = new int[16];
+    private int termCount;
+
+    private final Map<String, Integer> docByPlanId = new HashMap<>();
+    private String[] planIdByDoc = new String[16];
+    private String[] titleByDoc = new String[16];
+    private String[] subjectByDoc = new String[16];
+    private int[][] docTerms = new int[16][];
+    private float[][] docWeights = new float[16][];
+    private int docCount;
+
+    static Index build(List<LearningPlan> learningPlans) {
+      Index index = new Index();
+      List<Map<String, Integer>> frequencies = new ArrayList<>(learningPlans.size());
+      Map<String, Integer> documentFrequencies = new HashMap<>();
+      for (LearningPlan learningPlan : learningPlans) {
+        Map<String, Integer> planFrequencies = termFrequencies(learningPlan);
+        frequencies.add(planFrequencies);
+        planFrequencies.keySet().forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+      }
+      documentFrequencies.forEach((term, documentFrequency) -> {
+        int termId = index.termId(term);
+        index.idf[termId] = idf(learningPlans.size(), documentFrequency);
+      });
+      for (int i = 0; i < learningPlans.size(); i++) {
+        LearningPlan learningPlan = learningPlans.get(i);
+        index.put(learningPlan.getId(), learningPlan.getTitle(), learningPlan.getSubject(), frequencies.get(i));
+      }
+      return index;
+    }
+
+    void put(String planId, String title, String subject, Map<String, Integer> frequencies) {
+      Integer existing = docByPlanId.get(planId);
+      int doc;
+      if (existing != null) {
+        doc = existing;
+        removePostings(doc);
+      } else {
+        doc = newDoc(planId);
+      }
+      titleByDoc[doc] = title;
+      subjectByDoc[doc] = subject;
+
+      int[] terms = new int[frequencies.size()];
+      int size = 0;
+      for (String term : frequencies.keySet()) {
+        terms[size++] = termId(term);
+      }
+      Arrays.sort(terms);
+      float[] weights = new float[terms.length];
+      double squaredNorm = 0;
+      Map<Integer, Integer> frequencyByTerm = new HashMap<>();
+      frequencies.forEach((term, frequency) -> frequencyByTerm.put(termIds.get(term), frequency));
+      for (int i = 0; i < terms.length; i++) {
+        weights[i] = (float) (1 + Math.log(frequencyByTerm.get(terms[i]))) * idf[terms[i]];
+        squaredNorm += (double) weights[i] * weights[i];
+      }
+      float norm = (float) Math.sqrt(squaredNorm);
+      for (int i = 0; i < weights.length; i++) {
+        weights[i] /= norm;
+        addPosting(terms[i], doc, weights[i]);
+      }
+      docTerms[doc] = terms;
+      docWeights[doc] = weights;
+    }
+
+    void remove(String planId) {
+      Integer doc = docByPlanId.remove(planId);
+      if (doc != null) {
+        removePostings(doc);
+        docTerms[doc] = NO_TERMS;
+        docWeights[doc] = NO_WEIGHTS;
+        titleByDoc[doc] = null;
+        subjectByDoc[doc] = null;
+      }
+    }
+
+    List<SimilarPlanResponse> similarTo(String planId, int limit) {
+      Integer doc = docByPlanId.get(planId);
+      if (doc == null || docTerms[doc].length == 0) {
+        return List.of();
+      }
+      int[] queryTerms = docTerms[doc];
+      float[] queryWeights = docWeights[doc];
+
+      // Most a query term can add to any plan's score, and what the terms after it can add.
+      Integer[] order = new Integer[queryTerms.length];
+      float[] bounds = new float[queryTerms.length];
+      for (int i = 0; i < queryTerms.length; i++) {
+        order[i] = i;
+        int term = queryTerms[i];
+        bounds[i] = postingSizes[term] == 0 ? 0 : queryWeights[i] * postingWeights[term][0];
+      }
+      Arrays.sort(order, (a, b) -> Float.compare(bounds[b], bounds[a]));
+      float[] remaining = new float[order.length + 1];
+      for (int i = order.length - 1; i >= 0; i--) {
+        remaining[i] = remaining[i + 1] + bounds[order[i]];
+      }
+
+      float[] scores = new float[docCount];
+      int[] touched = new int[16];
+      int touchedCount = 0;
+      float threshold = 0;
+      for (int i = 0; i < order.length; i++) {
+        int term = queryTerms[order[i]];
+        float queryWeight = queryWeights[order[i]];
+        // A plan not seen yet can score at most remaining[i]; if that cannot reach the K-th
+        // score, only plans already seen are worth accumulating.
+        boolean admitNew = remaining[i] > threshold;
+        float cutoff = threshold * PRUNING_ERROR / queryTerms.length;
+        int[] docs = postingDocs[term];
+        float[] weights = postingWeights[term];
+        for (int p = 0; p < postingSizes[term]; p++) {
+          float contribution = queryWeight * weights[p];
+          if (contribution < cutoff) {
+            break;
+          }
+          int candidate = docs[p];
+          if (candidate == doc) {
+            continue;
+          }
+          if (scores[candidate] == 0) {
+            if (!admitNew) {
+              continue;
+            }
+            if (touchedCount == touched.length) {
+              touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = candidate;
+          }
+          scores[candidate] += contribution;
+        }
+        threshold = kthLargest(scores, touched, touchedCount, limit);
+      }
+
+      PriorityQueue<Integer> best = new PriorityQueue<>(limit + 1,
+          (a, b) -> Float.compare(scores[a], scores[b]));
+      for (int i = 0; i < touchedCount; i++) {
+        best.add(touched[i]);
+        if (best.size() > limit) {
+          best.poll();
+        }
+      }
+      SimilarPlanResponse[] similar = new SimilarPlanResponse[best.size()];
+      for (int i = similar.length - 1; i >= 0; i--) {
+        int candidate = best.poll();
+        similar[i] = SimilarPlanResponse.builder()
+            .id(planIdByDoc[candidate])
+            .title(titleByDoc[candidate])
+            .subject(subjectByDoc[candidate])
+            .similarity((double) Math.min(scores[candidate], 1f))
+            .build();
+      }
+      return Arrays.asList(similar);
+    }
+
+    private static float kthLargest(float[] scores, int[] touched, int touchedCount, int k) {
+      if (touchedCount < k) {
+        return 0;
+      }
+      PriorityQueue<Float> largest = new PriorityQueue<>(k + 1);
+      for (int i = 0; i < touchedCount; i++) {
+        largest.add(scores[touched[i]]);
+        if (largest.size() > k) {
+          largest.poll();
+        }
+      }
+      return largest.peek();
+    }
+
+    private int termId(String term) {
+      Integer id = termIds.get(term);
+      if (id != null) {
+        return id;
+      }
+      if (termCount == idf.length) {
+        int capacity = termCount * 2;
+        idf = Arrays.copyOf(idf, capacity);
+        postingDocs = Arrays.copyOf(postingDocs, capacity);
+        postingWeights = Arrays.copyOf(postingWeights, capacity);
+        postingSizes = Arrays.copyOf(postingSizes, capacity);
+      }
+      idf[termCount] = idf(docByPlanId.size(), 1);
+      postingDocs[termCount] = new int[4];
+      postingWeights[termCount] = new float[4];
+      termIds.put(term, termCount);
+      return termCount++;
+    }
+
+    private int newDoc(String planId) {
+      if (docCount == planIdByDoc.length) {
+        int capacity = docCount * 2;
+        planIdByDoc = Arrays.copyOf(planIdByDoc, capacity);
+        titleByDoc = Arrays.copyOf(titleByDoc, capacity);
+        subjectByDoc = Arrays.copyOf(subjectByDoc, capacity);
+        docTerms = Arrays.copyOf(docTerms, capacity);
+        docWeights = Arrays.copyOf(docWeights, capacity);
+      }
+      planIdByDoc[docCount] = planId;
+      docByPlanId.put(planId, docCount);
+      return docCount++;
+    }
+
+    /**
+     * Inserts the posting before the first one with a lower weight.
+     */
+    private void addPosting(int term, int doc, float weight) {
+      int size = postingSizes[term];
+      if (size == postingDocs[term].length) {
+        postingDocs[term] = Arrays.copyOf(postingDocs[term], size * 2);
+        postingWeights[term] = Arrays.copyOf(postingWeights[term], size * 2);
+      }
+      int[] docs = postingDocs[term];
+      float[] weights = postingWeights[term];
+      int low = 0;
+      int high = size;
+      while (low < high) {
+        int middle = (low + high) >>> 1;
+        if (weights[middle] >= weight) {
+          low = middle + 1;
+        } else {
+          high = middle;
+        }
+      }
+      System.arraycopy(docs, low, docs, low + 1, size - low);
+      System.arraycopy(weights, low, weights, low + 1, size - low);
+      docs[low] = doc;
+      weights[low] = weight;
+      postingSizes[term] = size + 1;
+    }
+
+    private void removePostings(int doc) {
+      int[] terms = docTerms[doc];
+      if (terms == null) {
+        return;
+      }
+      for (int term : terms) {
+        int[] docs = postingDocs[term];
+        int size = postingSizes[term];
+        for (int p = 0; p < size; p++) {
+          if (docs[p] == doc) {
+            System.arraycopy(docs, p + 1, docs, p, size - p - 1);
+            System.arraycopy(postingWeights[term], p + 1, postingWeights[term], p, size - p - 1);
+            postingSizes[term] = size - 1;
+            break;
+          }
+        }
+      }
+    }
+  }
+}
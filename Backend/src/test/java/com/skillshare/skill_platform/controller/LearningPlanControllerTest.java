@@ -0,0 +1,49 @@
+package com.skillshare.skill_platform.controller;
+
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.skillshare.skill_platform.service.LearningPlanService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+@ExtendWith(MockitoExtension.class)
+class LearningPlanControllerTest {
+
+  @Mock
+  private LearningPlanService learningPlanService;
+
+  private MockMvc mockMvc;
+
+  @BeforeEach
+  void setUp() {
+    mockMvc = MockMvcBuilders.standaloneSetup(new LearningPlanController(learningPlanService)).build();
+  }
+
+  @Test
+  void followBindsTheUserIdFromTheJsonBody() throws Exception {
+    mockMvc.perform(post("/api/learning-plans/p1/follow")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":\"u1\"}"))
+        .andExpect(status().isOk());
+
+    verify(learningPlanService).followPlan("p1", "u1");
+  }
+
+  @Test
+  void unfollowBindsTheUserIdFromTheJsonBody() throws Exception {
+    mockMvc.perform(post("/api/learning-plans/p1/unfollow")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"userId\":\"u1\"}"))
+        .andExpect(status().isOk());
+
+    verify(learningPlanService).unfollowPlan("p1", "u1");
+  }
+}
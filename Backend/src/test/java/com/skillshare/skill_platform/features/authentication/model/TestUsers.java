@@ -0,0 +1,24 @@
+package com.linkedin.backend.features.authentication.model;
+
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Mock users for service tests that only need to tell users apart.
+ */
+public final class TestUsers {
+    private TestUsers() {
+    }
+
+    public static User user(Long id) {
+        User user = mock(User.class);
+        lenient().when(user.getId()).thenReturn(id);
+        return user;
+    }
+
+    public static User userWithEmail(String email) {
+        User user = mock(User.class);
+        lenient().when(user.getEmail()).thenReturn(email);
+        return user;
+    }
+}
@@ -0,0 +1,161 @@
+package com.linkedin.backend.features.learningplane.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.learningplane.model.LearningPlan;
+import com.linkedin.backend.features.learningplane.model.Topic;
+import com.linkedin.backend.features.learningplane.repository.LearningPlanRepository;
+import com.linkedin.backend.features.learningplane.repository.PlanFollowRepository;
+import com.linkedin.backend.features.learningplane.repository.TopicRepository;
+import com.linkedin.backend.features.search.service.AutocompleteService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class LearningPlanServiceTest {
+    @Mock
+    private LearningPlanRepository learningPlanRepository;
+    @Mock
+    private TopicRepository topicRepository;
+    @Mock
+    private PlanFollowRepository planFollowRepository;
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @InjectMocks
+    private LearningPlanService learningPlanService;
+
+    private final LocalDateTime createdAt = LocalDateTime.of(2026, 1, 5, 9, 30);
+
+    @Test
+    void updateCopiesTheEditedFieldsOntoTheLockedPlan() {
+        User owner = user(1L);
+        LearningPlan plan = existing(owner);
+        when(learningPlanRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(plan));
+        LearningPlan request = new LearningPlan();
+        request.setTitle("Kotlin in depth");
+        request.setDescription("Coroutines and flows");
+        request.setEstimatedDays(21);
+
+        LearningPlan updated = learningPlanService.updateLearningPlan(4L, request, owner);
+
+        assertThat(updated).isSameAs(plan);
+        assertThat(updated.getTitle()).isEqualTo("Kotlin in depth");
+        assertThat(updated.getDescription()).isEqualTo("Coroutines and flows");
+        assertThat(updated.getEstimatedDays()).isEqualTo(21);
+        verify(learningPlanRepository, never()).save(any());
+        verify(autocompleteService).planChangedAfterCommit(plan);
+    }
+
+    @Test
+    void updateKeepsFieldsMissingFromTheRequest() {
+        User owner = user(1L);
+        LearningPlan plan = existing(owner);
+        when(learningPlanRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(plan));
+        LearningPlan request = new LearningPlan();
+        request.setTitle("Kotlin in depth");
+        request.setFollowers(0);
+        request.setCreatedAt(null);
+
+        LearningPlan updated = learningPlanService.updateLearningPlan(4L, request, owner);
+
+        assertThat(updated.getSubject()).isEqualTo("Programming");
+        assertThat(updated.getDifficulty()).isEqualTo("Intermediate");
+        assertThat(updated.getEstimatedDays()).isEqualTo(30);
+        assertThat(updated.getFollowers()).isEqualTo(12);
+        assertThat(updated.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(updated.getUser()).isSameAs(owner);
+    }
+
+    @Test
+    void updateOfAnotherUsersPlanIsRejected() {
+        LearningPlan plan = existing(user(1L));
+        when(learningPlanRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(plan));
+        LearningPlan request = new LearningPlan();
+        request.setTitle("Taken over");
+
+        assertThatThrownBy(() -> learningPlanService.updateLearningPlan(4L, request, user(2L)))
+                .isInstanceOf(NoSuchElementException.class);
+        assertThat(plan.getTitle()).isEqualTo("Kotlin basics");
+    }
+
+    @Test
+    void toggleMovesTheCompletedCountOfTheLockedPlan() {
+        LearningPlan plan = existing(user(1L));
+        plan.setTotalTopics(4);
+        plan.setCompletedTopics(1);
+        when(learningPlanRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(plan));
+        Topic topic = topic(9L, plan, false);
+        when(topicRepository.findById(9L)).thenReturn(Optional.of(topic));
+
+        LearningPlan toggled = learningPlanService.toggleTopicCompletion(4L, 9L, user(1L));
+
+        assertThat(topic.isCompleted()).isTrue();
+        assertThat(toggled.getCompletedTopics()).isEqualTo(2);
+        assertThat(toggled.getCompletionPercentage()).isEqualTo(50);
+        verify(learningPlanRepository, never()).save(any());
+    }
+
+    @Test
+    void toggleBackLowersTheCompletedCount() {
+        LearningPlan plan = existing(user(1L));
+        plan.setTotalTopics(4);
+        plan.setCompletedTopics(1);
+        when(learningPlanRepository.findByIdForUpdate(4L)).thenReturn(Optional.of(plan));
+        when(topicRepository.findById(9L)).thenReturn(Optional.of(topic(9L, plan, true)));
+
+        LearningPlan toggled = learningPlanService.toggleTopicCompletion(4L, 9L, user(1L));
+
+        assertThat(toggled.getCompletedTopics()).isZero();
+        assertThat(toggled.getCompletionPercentage()).isZero();
+    }
+
+    @Test
+    void createCountsTheTopicsOfThePlan() {
+        LearningPlan plan = new LearningPlan();
+        plan.setTopics(List.of(topic(1L, plan, true), topic(2L, plan, false)));
+        when(learningPlanRepository.save(plan)).thenReturn(plan);
+
+        LearningPlan created = learningPlanService.createLearningPlan(plan, user(1L));
+
+        assertThat(created.getTotalTopics()).isEqualTo(2);
+        assertThat(created.getCompletedTopics()).isEqualTo(1);
+        assertThat(created.getCompletionPercentage()).isEqualTo(50);
+    }
+
+    private static Topic topic(Long id, LearningPlan plan, boolean completed) {
+        Topic topic = new Topic();
+        topic.setId(id);
+        topic.setLearningPlan(plan);
+        topic.setCompleted(completed);
+        return topic;
+    }
+
+    private LearningPlan existing(User owner) {
+        LearningPlan plan = new LearningPlan();
+        plan.setId(4L);
+        plan.setUser(owner);
+        plan.setTitle("Kotlin basics");
+        plan.setDescription("Syntax and types");
+        plan.setSubject("Programming");
+        plan.setDifficulty("Intermediate");
+        plan.setEstimatedDays(30);
+        plan.setFollowers(12);
+        plan.setCreatedAt(createdAt);
+        return plan;
+    }
+}
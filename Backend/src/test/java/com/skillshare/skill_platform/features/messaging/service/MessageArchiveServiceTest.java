@@ -0,0 +1,182 @@
+package com.linkedin.backend.features.messaging.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.messaging.dto.ConversationMessageDto;
+import com.linkedin.backend.features.messaging.model.Conversation;
+import com.linkedin.backend.features.messaging.model.Message;
+import com.linkedin.backend.features.messaging.model.MessageBucket;
+import com.linkedin.backend.features.messaging.repository.MessageBucketRepository;
+import com.linkedin.backend.features.messaging.repository.MessageRepository;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class MessageArchiveServiceTest {
+    @Mock
+    private MessageBucketRepository messageBucketRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path directory;
+
+    private MessageSegmentStore segmentStore;
+    private MessageArchiveService messageArchiveService;
+
+    private final User alice = user(1L);
+    private final User bob = user(2L);
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        segmentStore = new MessageSegmentStore(directory.toString(), 1 << 20);
+        messageArchiveService = archiveService(true);
+        conversation = new Conversation(alice, bob);
+        conversation.setId(10L);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        segmentStore.close();
+    }
+
+    @Test
+    void archivedBucketLeavesTheTableWithItsReadState() {
+        MessageBucket bucket = archive(bucket(0, 1L, 2L),
+                message(2L, 0, alice, bob, true), message(1L, 0, bob, alice, true));
+
+        verify(messageRepository).deleteBucket(10L, 0);
+        assertThat(messageArchiveService.readBucket(bucket)).extracting(ConversationMessageDto::isRead)
+                .containsExactly(true, true);
+    }
+
+    @Test
+    void bucketArchivedConcurrentlyKeepsItsRows() {
+        MessageBucket bucket = bucket(0, 1L, 2L);
+        when(messageBucketRepository.findArchivable(any(), any())).thenReturn(List.of(bucket), List.of());
+        when(messageRepository.findByConversationIdAndBucketSeqOrderByIdDesc(10L, 0))
+                .thenReturn(List.of(message(2L, 0, alice, bob, true)));
+
+        messageArchiveService.archiveOldBuckets();
+
+        verify(messageRepository, never()).deleteBucket(anyLong(), anyInt());
+    }
+
+    @Test
+    void nodeThatIsNotTheWriterArchivesNothing() {
+        archiveService(false).archiveOldBuckets();
+
+        verify(messageBucketRepository, never()).findArchivable(any(), any());
+    }
+
+    @Test
+    void runStopsWhenEveryBucketOfABatchFails() {
+        MessageBucket bucket = bucket(0, 1L, 2L);
+        when(messageBucketRepository.findArchivable(any(), any())).thenReturn(List.of(bucket));
+        when(messageRepository.findByConversationIdAndBucketSeqOrderByIdDesc(10L, 0))
+                .thenThrow(new IllegalStateException("database unavailable"));
+
+        messageArchiveService.archiveOldBuckets();
+
+        verify(messageBucketRepository, times(1)).findArchivable(any(), any());
+    }
+
+    @Test
+    void historyBeforeACursorSpansArchivedBucketsNewestFirst() {
+        MessageBucket older = archive(bucket(0, 1L, 2L),
+                message(2L, 0, alice, bob, true), message(1L, 0, bob, alice, true));
+        MessageBucket newer = archive(bucket(1, 3L, 4L),
+                message(4L, 1, alice, bob, true), message(3L, 1, bob, alice, true));
+        when(messageBucketRepository.findArchivedBefore(eq(10L), eq(4L), any())).thenReturn(List.of(newer, older));
+        when(messageBucketRepository.findArchivedBefore(eq(10L), eq(1L), any())).thenReturn(List.of());
+
+        List<ConversationMessageDto> history = messageArchiveService.readBefore(10L, 4L, 10);
+
+        assertThat(history).extracting(ConversationMessageDto::id).containsExactly(3L, 2L, 1L);
+        assertThat(history).extracting(ConversationMessageDto::bucketSeq).containsExactly(1, 0, 0);
+    }
+
+    @Test
+    void historyStopsAtTheRequestedLimit() {
+        MessageBucket newer = archive(bucket(1, 3L, 4L),
+                message(4L, 1, alice, bob, true), message(3L, 1, bob, alice, true));
+        when(messageBucketRepository.findArchivedBefore(eq(10L), eq(Long.MAX_VALUE), any())).thenReturn(List.of(newer));
+
+        assertThat(messageArchiveService.readBefore(10L, null, 1)).extracting(ConversationMessageDto::id)
+                .containsExactly(4L);
+    }
+
+    private MessageArchiveService archiveService(boolean writer) {
+        return new MessageArchiveService(messageBucketRepository, messageRepository, segmentStore,
+                new ObjectMapper().findAndRegisterModules(), transactionManager, 180, 10, writer);
+    }
+
+    /**
+     * Archives the bucket through the service and points it at the record it wrote, the way
+     * {@code markArchived} does in the database.
+     */
+    private MessageBucket archive(MessageBucket bucket, Message... messages) {
+        when(messageBucketRepository.findArchivable(any(), any())).thenReturn(List.of(bucket), List.of());
+        when(messageRepository.findByConversationIdAndBucketSeqOrderByIdDesc(10L, bucket.getSeq()))
+                .thenReturn(List.of(messages));
+        lenient().when(messageBucketRepository.markArchived(any(), anyString(), anyLong(), anyInt(), any()))
+                .thenReturn(1);
+
+        messageArchiveService.archiveOldBuckets();
+
+        ArgumentCaptor<String> segment = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Long> offset = ArgumentCaptor.forClass(Long.class);
+        ArgumentCaptor<Integer> length = ArgumentCaptor.forClass(Integer.class);
+        verify(messageBucketRepository, atLeastOnce()).markArchived(any(), segment.capture(),
+                offset.capture(), length.capture(), any());
+        ReflectionTestUtils.setField(bucket, "segment", segment.getValue());
+        ReflectionTestUtils.setField(bucket, "segmentOffset", offset.getValue());
+        ReflectionTestUtils.setField(bucket, "segmentLength", length.getValue());
+        return bucket;
+    }
+
+    private static MessageBucket bucket(int seq, Long firstMessageId, Long lastMessageId) {
+        MessageBucket bucket = new MessageBucket(10L, seq);
+        bucket.setMessageCount((int) (lastMessageId - firstMessageId + 1));
+        bucket.setFirstMessageId(firstMessageId);
+        bucket.setLastMessageId(lastMessageId);
+        return bucket;
+    }
+
+    private Message message(Long id, int bucketSeq, User sender, User receiver, boolean read) {
+        Message message = new Message(sender, receiver, conversation, "message " + id, bucketSeq);
+        message.setId(id);
+        message.setIsRead(read);
+        message.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id));
+        return message;
+    }
+}
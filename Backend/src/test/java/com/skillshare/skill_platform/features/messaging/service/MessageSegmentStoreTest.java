@@ -0,0 +1,72 @@
+package com.linkedin.backend.features.messaging.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MessageSegmentStoreTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendedRecordIsReadBack() throws IOException {
+        MessageSegmentStore store = new MessageSegmentStore(directory.toString(), 1 << 20);
+        byte[] payload = "[{\"id\":1,\"content\":\"hello hello hello\"}]".getBytes(StandardCharsets.UTF_8);
+
+        MessageSegmentStore.SegmentPointer first = store.append(payload);
+        MessageSegmentStore.SegmentPointer second = store.append("second".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(store.read(first)).isEqualTo(payload);
+        assertThat(new String(store.read(second), StandardCharsets.UTF_8)).isEqualTo("second");
+        assertThat(second.offset()).isEqualTo(first.length());
+        store.close();
+    }
+
+    @Test
+    void fullSegmentRollsOverToTheNextFile() throws IOException {
+        MessageSegmentStore store = new MessageSegmentStore(directory.toString(), 32);
+
+        MessageSegmentStore.SegmentPointer first = store.append(new byte[64]);
+        MessageSegmentStore.SegmentPointer second = store.append(new byte[64]);
+
+        assertThat(first.segment()).isEqualTo("segment-00000001.seg");
+        assertThat(second.segment()).isEqualTo("segment-00000002.seg");
+        assertThat(second.offset()).isZero();
+        store.close();
+    }
+
+    @Test
+    void restartedStoreAppendsAfterTheExistingSegments() throws IOException {
+        MessageSegmentStore store = new MessageSegmentStore(directory.toString(), 1 << 20);
+        MessageSegmentStore.SegmentPointer before = store.append(new byte[16]);
+        store.close();
+
+        MessageSegmentStore restarted = new MessageSegmentStore(directory.toString(), 1 << 20);
+        MessageSegmentStore.SegmentPointer after = restarted.append(new byte[16]);
+
+        assertThat(after.segment()).isEqualTo("segment-00000002.seg");
+        assertThat(restarted.read(before)).hasSize(16);
+        restarted.close();
+    }
+
+    @Test
+    void corruptRecordIsRejected() throws IOException {
+        MessageSegmentStore store = new MessageSegmentStore(directory.toString(), 1 << 20);
+        MessageSegmentStore.SegmentPointer pointer = store.append("payload".getBytes(StandardCharsets.UTF_8));
+        store.close();
+        Path segment = directory.resolve(pointer.segment());
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x7f;
+        Files.write(segment, bytes);
+
+        MessageSegmentStore reopened = new MessageSegmentStore(directory.toString(), 1 << 20);
+        assertThatThrownBy(() -> reopened.read(pointer)).isInstanceOf(IllegalStateException.class);
+        reopened.close();
+    }
+}
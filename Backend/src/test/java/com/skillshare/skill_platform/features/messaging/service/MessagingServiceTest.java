@@ -0,0 +1,403 @@
+package com.linkedin.backend.features.messaging.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.service.AuthenticationService;
+import com.linkedin.backend.features.messaging.dto.ConversationMessageDto;
+import com.linkedin.backend.features.messaging.dto.ConversationSummaryDto;
+import com.linkedin.backend.features.messaging.dto.ReadReceiptDto;
+import com.linkedin.backend.features.messaging.model.Conversation;
+import com.linkedin.backend.features.messaging.model.InboxEntry;
+import com.linkedin.backend.features.messaging.model.Message;
+import com.linkedin.backend.features.messaging.model.MessageBucket;
+import com.linkedin.backend.features.messaging.repository.ConversationRepository;
+import com.linkedin.backend.features.messaging.repository.InboxEntryRepository;
+import com.linkedin.backend.features.messaging.repository.MessageBucketRepository;
+import com.linkedin.backend.features.messaging.repository.MessageRepository;
+import com.linkedin.backend.features.notifications.service.NotificationService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+@ExtendWith(MockitoExtension.class)
+class MessagingServiceTest {
+    private static final int BUCKET_SIZE = 3;
+
+    @Mock
+    private ConversationRepository conversationRepository;
+    @Mock
+    private MessageRepository messageRepository;
+    @Mock
+    private MessageBucketRepository messageBucketRepository;
+    @Mock
+    private InboxEntryRepository inboxEntryRepository;
+    @Mock
+    private AuthenticationService authenticationService;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private MessageArchiveService messageArchiveService;
+
+    private MessagingService messagingService;
+
+    private final User alice = user(1L);
+    private final User bob = user(2L);
+    private Conversation conversation;
+
+    @BeforeEach
+    void setUp() {
+        messagingService = new MessagingService(conversationRepository, messageRepository, messageBucketRepository,
+                inboxEntryRepository, authenticationService, notificationService, messageArchiveService, BUCKET_SIZE);
+        conversation = new Conversation(alice, bob);
+        conversation.setId(10L);
+    }
+
+    @Test
+    void inboxFirstPageIsReadFromTheProjection() {
+        InboxEntry entry = new InboxEntry(alice, 10L, bob);
+        entry.setUnreadCount(2);
+        when(inboxEntryRepository.findFirstPage(1L, PageRequest.of(0, 20))).thenReturn(List.of(entry));
+
+        List<ConversationSummaryDto> inbox = messagingService.getConversationsOfUser(alice, null, 20);
+
+        assertThat(inbox).extracting(ConversationSummaryDto::conversationId).containsExactly(10L);
+        assertThat(inbox.get(0).participant().id()).isEqualTo(2L);
+        assertThat(inbox.get(0).unreadCount()).isEqualTo(2);
+    }
+
+    @Test
+    void inboxPageContinuesBeforeTheCursorConversation() {
+        InboxEntry cursor = new InboxEntry(alice, 10L, bob);
+        when(inboxEntryRepository.findByOwnerIdAndConversationId(1L, 10L)).thenReturn(Optional.of(cursor));
+
+        messagingService.getConversationsOfUser(alice, 10L, 500);
+
+        verify(inboxEntryRepository).findPageBefore(eq(1L), eq(cursor.getLastActivity()), any(),
+                eq(PageRequest.of(0, 50)));
+    }
+
+    @Test
+    void newMessageUpdatesBothInboxRowsInPlace() {
+        stubSend();
+        when(inboxEntryRepository.applyMessage(eq(1L), eq(10L), eq(100L), eq("hi"), eq(1L), any(), eq(0)))
+                .thenReturn(1);
+        when(inboxEntryRepository.applyMessage(eq(2L), eq(10L), eq(100L), eq("hi"), eq(1L), any(), eq(1)))
+                .thenReturn(1);
+        when(inboxEntryRepository.findByOwnerIdAndConversationId(1L, 10L))
+                .thenReturn(Optional.of(new InboxEntry(alice, 10L, bob)));
+        when(inboxEntryRepository.findByOwnerIdAndConversationId(2L, 10L))
+                .thenReturn(Optional.of(new InboxEntry(bob, 10L, alice)));
+
+        messagingService.addMessageToConversation(10L, alice, 2L, "hi");
+
+        verify(inboxEntryRepository, never()).save(any());
+        verify(notificationService).sendInboxUpdateToUser(eq(1L), any());
+        verify(notificationService).sendInboxUpdateToUser(eq(2L), any());
+    }
+
+    @Test
+    void missingInboxRowIsRebuiltFromTheConversation() {
+        stubSend();
+        when(inboxEntryRepository.applyMessage(eq(1L), eq(10L), eq(100L), eq("hi"), eq(1L), any(), eq(0)))
+                .thenReturn(1);
+        when(messageRepository.countByConversationIdAndReceiverIdAndIsReadFalse(10L, 2L)).thenReturn(4L);
+
+        messagingService.addMessageToConversation(10L, alice, 2L, "hi");
+
+        ArgumentCaptor<InboxEntry> entry = ArgumentCaptor.forClass(InboxEntry.class);
+        verify(inboxEntryRepository).save(entry.capture());
+        assertThat(entry.getValue().getConversationId()).isEqualTo(10L);
+        assertThat(entry.getValue().getUnreadCount()).isEqualTo(4);
+    }
+
+    @Test
+    void backfillSkipsAnInboxThatIsAlreadyBuilt() {
+        when(inboxEntryRepository.count()).thenReturn(1L);
+
+        messagingService.backfillInbox();
+
+        verify(conversationRepository, never()).findAll();
+    }
+
+    @Test
+    void backfillBuildsOneRowPerParticipant() {
+        when(conversationRepository.findAll()).thenReturn(List.of(conversation));
+
+        messagingService.backfillInbox();
+
+        ArgumentCaptor<InboxEntry> entries = ArgumentCaptor.forClass(InboxEntry.class);
+        verify(inboxEntryRepository, times(2)).save(entries.capture());
+        assertThat(entries.getAllValues()).extracting(entry -> entry.getOtherParticipant().getId())
+                .containsExactly(2L, 1L);
+    }
+
+    @Test
+    void newMessageIsPublishedAsACompactDelta() {
+        stubSend();
+
+        messagingService.addMessageToConversation(10L, alice, 2L, "hi");
+
+        ArgumentCaptor<ConversationMessageDto> delta = ArgumentCaptor.forClass(ConversationMessageDto.class);
+        verify(notificationService).sendMessageToConversation(eq(10L), delta.capture());
+        assertThat(delta.getValue().id()).isEqualTo(100L);
+        assertThat(delta.getValue().senderId()).isEqualTo(1L);
+        assertThat(delta.getValue().receiverId()).isEqualTo(2L);
+        assertThat(delta.getValue().content()).isEqualTo("hi");
+        verify(authenticationService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    void senderOutsideTheConversationIsRejected() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+
+        assertThatThrownBy(() -> messagingService.addMessageToConversation(10L, user(3L), 2L, "hi"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void receiverOutsideTheConversationIsRejected() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+
+        assertThatThrownBy(() -> messagingService.addMessageToConversation(10L, alice, 3L, "hi"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(messageRepository, never()).save(any());
+    }
+
+    @Test
+    void readingAMessagePublishesItsDeltaOnce() {
+        Message message = new Message(alice, bob, conversation, "hi", 0);
+        message.setId(100L);
+        when(messageRepository.findById(100L)).thenReturn(Optional.of(message));
+
+        messagingService.markMessageAsRead(bob, 100L);
+        messagingService.markMessageAsRead(bob, 100L);
+
+        verify(inboxEntryRepository, times(1)).decrementUnread(2L, 10L, 1);
+        verify(notificationService, times(1)).sendMessageToConversation(eq(10L), any());
+    }
+
+    @Test
+    void readWatermarkThatDoesNotAdvanceChangesNothing() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+
+        messagingService.markConversationAsRead(bob, 10L, 50L);
+
+        verify(messageRepository, never()).markReadUpTo(anyLong(), anyLong(), anyLong());
+        verify(notificationService, never()).sendReadReceiptToConversation(anyLong(), any());
+    }
+
+    @Test
+    void messagesAreMarkedReadUpToTheClampedWatermark() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(conversationRepository.advanceRecipientReadWatermark(10L, 1_000L)).thenReturn(1);
+        when(conversationRepository.findReadWatermark(10L, 2L)).thenReturn(120L);
+        when(messageRepository.markReadUpTo(10L, 2L, 120L)).thenReturn(3);
+
+        messagingService.markConversationAsRead(bob, 10L, 1_000L);
+
+        verify(conversationRepository, never()).advanceAuthorReadWatermark(anyLong(), anyLong());
+        verify(inboxEntryRepository).decrementUnread(2L, 10L, 3);
+        verify(notificationService).sendReadReceiptToConversation(10L, new ReadReceiptDto(10L, 2L, 120L));
+    }
+
+    @Test
+    void authorAdvancesTheAuthorWatermark() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(conversationRepository.advanceAuthorReadWatermark(10L, 90L)).thenReturn(1);
+        when(conversationRepository.findReadWatermark(10L, 1L)).thenReturn(90L);
+
+        messagingService.markConversationAsRead(alice, 10L, 90L);
+
+        verify(messageRepository).markReadUpTo(10L, 1L, 90L);
+        verify(inboxEntryRepository, never()).decrementUnread(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void firstMessageReusesTheConversationOfThePair() {
+        stubSend();
+        when(authenticationService.getUserById(1L)).thenReturn(alice);
+        when(conversationRepository.findByParticipants(2L, 1L)).thenReturn(Optional.of(conversation));
+
+        assertThat(messagingService.createConversationAndAddMessage(bob, 1L, "hi")).isSameAs(conversation);
+        verify(conversationRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void firstMessageCreatesTheConversationInTheCallersTransaction() {
+        stubSend();
+        when(authenticationService.getUserById(2L)).thenReturn(bob);
+        when(conversationRepository.insertIfAbsent(1L, 2L)).thenReturn(1);
+        when(conversationRepository.findCurrentByParticipants(1L, 2L)).thenReturn(Optional.of(conversation));
+
+        assertThat(messagingService.createConversationAndAddMessage(alice, 2L, "hi")).isSameAs(conversation);
+        verify(conversationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void firstMessageThatLosesTheCreateRaceUsesTheWinnersConversation() {
+        stubSend();
+        when(authenticationService.getUserById(2L)).thenReturn(bob);
+        when(conversationRepository.insertIfAbsent(1L, 2L)).thenReturn(0);
+        when(conversationRepository.findCurrentByParticipants(1L, 2L)).thenReturn(Optional.of(conversation));
+
+        assertThat(messagingService.createConversationAndAddMessage(alice, 2L, "hi")).isSameAs(conversation);
+    }
+
+    @Test
+    void conversationsOfTheSamePairAreMergedIntoTheOldest() {
+        Conversation reversed = new Conversation(bob, alice);
+        reversed.setId(11L);
+        MessageBucket tail = new MessageBucket(10L, 4);
+        when(conversationRepository.findWithDuplicatePair()).thenReturn(List.of(conversation, reversed));
+        when(messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(10L)).thenReturn(Optional.of(tail));
+        when(inboxEntryRepository.count()).thenReturn(6L);
+
+        messagingService.backfillInbox();
+
+        verify(messageBucketRepository).moveToConversation(11L, 10L, 5);
+        verify(messageRepository).moveToConversation(11L, conversation, 5);
+        verify(inboxEntryRepository).deleteByConversationId(11L);
+        verify(conversationRepository).delete(reversed);
+        ArgumentCaptor<InboxEntry> rebuilt = ArgumentCaptor.forClass(InboxEntry.class);
+        verify(inboxEntryRepository, times(2)).save(rebuilt.capture());
+        assertThat(rebuilt.getAllValues()).extracting(InboxEntry::getConversationId).containsOnly(10L);
+        verify(conversationRepository).backfillParticipantPairs();
+    }
+
+    @Test
+    void messageIsCountedIntoTheTailBucketWithOneStatement() {
+        stubSend();
+
+        messagingService.addMessageToConversation(10L, alice, 2L, "hi");
+
+        verify(messageBucketRepository).appendMessage(any(), eq(BUCKET_SIZE), eq(100L), any());
+        verify(messageBucketRepository, never()).openWithMessage(anyLong(), anyInt(), anyLong(), any());
+    }
+
+    @Test
+    void fullTailBucketOpensTheNextOne() {
+        stubSend();
+        when(messageBucketRepository.appendMessage(any(), eq(BUCKET_SIZE), eq(100L), any())).thenReturn(0);
+
+        Message message = messagingService.addMessageToConversation(10L, alice, 2L, "hi");
+
+        verify(messageBucketRepository).openWithMessage(eq(10L), eq(1), eq(100L), any());
+        assertThat(message.getBucketSeq()).isEqualTo(1);
+    }
+
+    @Test
+    void firstMessageOfAConversationOpensItsFirstBucket() {
+        stubSend();
+        when(messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(10L)).thenReturn(Optional.empty());
+
+        Message message = messagingService.addMessageToConversation(10L, alice, 2L, "hi");
+
+        verify(messageBucketRepository, never()).appendMessage(any(), anyInt(), anyLong(), any());
+        verify(messageBucketRepository).openWithMessage(eq(10L), eq(0), eq(100L), any());
+        assertThat(message.getBucketSeq()).isZero();
+    }
+
+    @Test
+    void deletedBucketsAreOnlyHiddenFromTheUserWhoDeletedThem() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(10L))
+                .thenReturn(Optional.of(new MessageBucket(10L, 3)));
+        when(conversationRepository.advanceRecipientHiddenWatermark(10L, 1)).thenReturn(1);
+        when(messageRepository.markReadUpToBucket(10L, 2L, 1)).thenReturn(2);
+
+        messagingService.deleteBucketsUpTo(bob, 10L, 1);
+
+        verify(conversationRepository, never()).advanceAuthorHiddenWatermark(anyLong(), anyInt());
+        verify(inboxEntryRepository).decrementUnread(2L, 10L, 2);
+        verify(messageRepository, never()).deleteUpToBucket(anyLong(), anyInt());
+        verify(messageBucketRepository, never()).deleteUpTo(anyLong(), anyInt());
+        verify(inboxEntryRepository, never()).decrementUnread(eq(1L), anyLong(), anyInt());
+    }
+
+    @Test
+    void bucketsDeletedByBothParticipantsLeaveTheTables() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(10L))
+                .thenReturn(Optional.of(new MessageBucket(10L, 3)));
+        when(conversationRepository.advanceAuthorHiddenWatermark(10L, 2)).thenReturn(1);
+        when(conversationRepository.findHiddenFromBoth(10L)).thenReturn(1);
+
+        messagingService.deleteBucketsUpTo(alice, 10L, 2);
+
+        verify(messageRepository).deleteUpToBucket(10L, 1);
+        verify(messageBucketRepository).deleteUpTo(10L, 1);
+    }
+
+    @Test
+    void deletingAlreadyHiddenBucketsChangesNothing() {
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(10L))
+                .thenReturn(Optional.of(new MessageBucket(10L, 3)));
+
+        messagingService.deleteBucketsUpTo(alice, 10L, 1);
+
+        verify(messageRepository, never()).markReadUpToBucket(anyLong(), anyLong(), anyInt());
+        verify(conversationRepository, never()).findHiddenFromBoth(anyLong());
+    }
+
+    @Test
+    void historySkipsTheBucketsTheUserDeleted() {
+        conversation.setRecipientHiddenUpToSeq(2);
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        when(messageArchiveService.readBefore(10L, null, 20)).thenReturn(List.of(
+                new ConversationMessageDto(31L, 10L, 1L, 2L, "kept", true, LocalDateTime.now(), 3),
+                new ConversationMessageDto(30L, 10L, 1L, 2L, "hidden", true, LocalDateTime.now(), 2)));
+
+        List<ConversationMessageDto> history = messagingService.getMessages(bob, 10L, null, 20);
+
+        verify(messageRepository).findByConversationIdAndBucketSeqGreaterThanOrderByIdDesc(10L, 2,
+                PageRequest.of(0, 20));
+        assertThat(history).extracting(ConversationMessageDto::id).containsExactly(31L);
+    }
+
+    @Test
+    void otherParticipantStillSeesTheBucketsTheUserDeleted() {
+        conversation.setRecipientHiddenUpToSeq(2);
+        when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+
+        messagingService.getBuckets(alice, 10L, null, 20);
+
+        verify(messageBucketRepository).findByConversationIdAndSeqGreaterThanOrderBySeqDesc(10L, -1,
+                PageRequest.of(0, 20));
+        assertThatThrownBy(() -> messagingService.getBucketMessages(bob, 10L, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void stubSend() {
+        lenient().when(conversationRepository.findById(10L)).thenReturn(Optional.of(conversation));
+        MessageBucket tail = new MessageBucket(10L, 0);
+        lenient().when(messageBucketRepository.findFirstByConversationIdOrderBySeqDesc(10L)).thenReturn(Optional.of(tail));
+        lenient().when(messageBucketRepository.appendMessage(any(), eq(BUCKET_SIZE), eq(100L), any())).thenReturn(1);
+        when(messageRepository.save(any(Message.class))).thenAnswer(invocation -> {
+            Message message = invocation.getArgument(0);
+            message.setId(100L);
+            message.setCreatedAt(LocalDateTime.now());
+            return message;
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package com.linkedin.backend.features.networking.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.networking.model.Status;
+import com.linkedin.backend.features.networking.repository.ConnectionRepository;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionGraphTest {
+    @Mock
+    private ConnectionRepository connectionRepository;
+
+    private ConnectionGraph connectionGraph;
+
+    @BeforeEach
+    void setUp() {
+        when(connectionRepository.findParticipantPairsByStatus(Status.ACCEPTED)).thenReturn(List.of(
+                new Object[]{1L, 2L}, new Object[]{1L, 3L}, new Object[]{2L, 4L}, new Object[]{3L, 4L},
+                new Object[]{4L, 5L}));
+        connectionGraph = new ConnectionGraph(connectionRepository);
+        connectionGraph.load();
+    }
+
+    @Test
+    void connectionsAreReadFromTheSnapshot() {
+        assertThat(connectionGraph.connectionsOf(4L)).containsExactlyInAnyOrder(2L, 3L, 5L);
+        assertThat(connectionGraph.connectionsOf(9L)).isEmpty();
+    }
+
+    @Test
+    void secondDegreeConnectionsCountTheirMutualConnections() {
+        assertThat(connectionGraph.secondDegreeConnections(1L))
+                .containsExactly(new ConnectionGraph.Candidate(4L, 2));
+        assertThat(connectionGraph.secondDegreeConnections(5L))
+                .containsExactlyInAnyOrder(new ConnectionGraph.Candidate(2L, 1), new ConnectionGraph.Candidate(3L, 1));
+    }
+
+    @Test
+    void changedConnectionsOverlayTheSnapshot() {
+        connectionGraph.addConnection(1L, 5L);
+        connectionGraph.addConnection(1L, 5L);
+        connectionGraph.removeConnection(2L, 4L);
+
+        assertThat(connectionGraph.connectionsOf(1L)).containsExactlyInAnyOrder(2L, 3L, 5L);
+        assertThat(connectionGraph.connectionsOf(4L)).containsExactlyInAnyOrder(3L, 5L);
+        assertThat(connectionGraph.secondDegreeConnections(1L))
+                .containsExactly(new ConnectionGraph.Candidate(4L, 2));
+        assertThat(connectionGraph.secondDegreeConnections(2L))
+                .containsExactlyInAnyOrder(new ConnectionGraph.Candidate(3L, 1), new ConnectionGraph.Candidate(5L, 1));
+    }
+
+    @Test
+    void connectionOfANewUserIsAdded() {
+        connectionGraph.addConnection(6L, 5L);
+
+        assertThat(connectionGraph.connectionsOf(6L)).containsExactly(5L);
+        assertThat(connectionGraph.connectionsOf(5L)).containsExactlyInAnyOrder(4L, 6L);
+    }
+
+    @Test
+    void removedUserLosesEveryConnection() {
+        connectionGraph.removeUser(4L);
+        connectionGraph.removeUser(9L);
+
+        assertThat(connectionGraph.connectionsOf(4L)).isEmpty();
+        assertThat(connectionGraph.connectionsOf(2L)).containsExactly(1L);
+        assertThat(connectionGraph.connectionsOf(5L)).isEmpty();
+        assertThat(connectionGraph.shortestPath(1L, 5L, 5)).isEmpty();
+    }
+
+    @Test
+    void shortestPathIsBoundedByTheMaximumDepth() {
+        long[] path = connectionGraph.shortestPath(1L, 5L, 3);
+
+        assertThat(path).hasSize(4).startsWith(1L).endsWith(5L);
+        assertThat(path[2]).isEqualTo(4L);
+        assertThat(connectionGraph.shortestPath(1L, 5L, 2)).isEmpty();
+        assertThat(connectionGraph.shortestPath(1L, 1L, 2)).containsExactly(1L);
+    }
+
+    @Test
+    void compactedSnapshotKeepsEveryConnection() {
+        for (long userId = 100; userId < 1_200; userId++) {
+            connectionGraph.addConnection(5L, userId);
+        }
+        connectionGraph.removeConnection(4L, 5L);
+
+        assertThat(connectionGraph.connectionsOf(5L)).hasSize(1_100).doesNotContain(4L);
+        assertThat(connectionGraph.connectionsOf(4L)).containsExactlyInAnyOrder(2L, 3L);
+        assertThat(connectionGraph.connectionsOf(100L)).containsExactly(5L);
+        assertThat(connectionGraph.secondDegreeConnections(100L)).hasSize(1_099);
+    }
+}
@@ -0,0 +1,151 @@
+package com.linkedin.backend.features.networking.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.dto.UserSummaryDto;
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.networking.dto.ConnectionCountsDto;
+import com.linkedin.backend.features.networking.dto.ConnectionPathDto;
+import com.linkedin.backend.features.networking.model.Connection;
+import com.linkedin.backend.features.networking.model.ConnectionCounter;
+import com.linkedin.backend.features.networking.model.Status;
+import com.linkedin.backend.features.networking.repository.ConnectionCounterRepository;
+import com.linkedin.backend.features.networking.repository.ConnectionRepository;
+import com.linkedin.backend.features.notifications.service.NotificationService;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionServiceTest {
+    @Mock
+    private ConnectionRepository connectionRepository;
+    @Mock
+    private ConnectionCounterRepository connectionCounterRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private NotificationService notificationService;
+    @Mock
+    private ConnectionGraph connectionGraph;
+    @Mock
+    private ConnectionSuggestionService connectionSuggestionService;
+
+    @InjectMocks
+    private ConnectionService connectionService;
+
+    private final User alice = user(1L);
+    private final User bob = user(2L);
+
+    @Test
+    void pathListsTheUsersAlongTheChainInOrder() {
+        when(userRepository.existsById(4L)).thenReturn(true);
+        when(connectionGraph.shortestPath(1L, 4L, 3)).thenReturn(new long[]{1L, 2L, 4L});
+        when(userRepository.findAllById(List.of(1L, 2L, 4L))).thenReturn(List.of(user(4L), alice, user(2L)));
+
+        ConnectionPathDto path = connectionService.getConnectionPath(alice, 4L);
+
+        assertThat(path.degree()).isEqualTo(2);
+        assertThat(path.path()).extracting(UserSummaryDto::id).containsExactly(1L, 2L, 4L);
+    }
+
+    @Test
+    void usersMoreThanThreeHopsApartHaveNoPath() {
+        when(userRepository.existsById(9L)).thenReturn(true);
+        when(connectionGraph.shortestPath(1L, 9L, 3)).thenReturn(new long[0]);
+
+        ConnectionPathDto path = connectionService.getConnectionPath(alice, 9L);
+
+        assertThat(path.degree()).isNull();
+        assertThat(path.path()).isEmpty();
+        verify(userRepository, never()).findAllById(any());
+    }
+
+    @Test
+    void pathToAnUnknownUserIsRejected() {
+        assertThatThrownBy(() -> connectionService.getConnectionPath(alice, 9L))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(connectionGraph, never()).shortestPath(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void userDeletedSinceTheSearchIsLeftOutOfThePath() {
+        when(userRepository.existsById(4L)).thenReturn(true);
+        when(connectionGraph.shortestPath(1L, 4L, 3)).thenReturn(new long[]{1L, 2L, 4L});
+        when(userRepository.findAllById(List.of(1L, 2L, 4L))).thenReturn(List.of(alice, user(4L)));
+
+        ConnectionPathDto path = connectionService.getConnectionPath(alice, 4L);
+
+        assertThat(path.degree()).isEqualTo(2);
+        assertThat(path.path()).extracting(UserSummaryDto::id).containsExactly(1L, 4L);
+    }
+
+    @Test
+    void acceptingAppliesTheDeltasToExistingCounters() {
+        stubAccept();
+        when(connectionCounterRepository.adjust(1L, 1, 0, -1)).thenReturn(1);
+        when(connectionCounterRepository.adjust(2L, 1, -1, 0)).thenReturn(1);
+
+        connectionService.acceptConnectionRequest(bob, 5L);
+
+        verify(connectionCounterRepository, never()).insertIfAbsent(anyLong(), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    void missingCounterIsSeededFromTheRowsBeforeTheChangeAndThenAdjusted() {
+        stubAccept();
+        when(connectionCounterRepository.adjust(1L, 1, 0, -1)).thenReturn(1);
+        when(connectionCounterRepository.adjust(2L, 1, -1, 0)).thenReturn(0, 1);
+        when(connectionRepository.countByUserAndStatus(2L, Status.ACCEPTED)).thenReturn(5L);
+        when(connectionRepository.countByRecipientIdAndStatus(2L, Status.PENDING)).thenReturn(0L);
+        when(connectionRepository.countByAuthorIdAndStatus(2L, Status.PENDING)).thenReturn(2L);
+        when(connectionCounterRepository.insertIfAbsent(2L, 4L, 1L, 2L)).thenReturn(1);
+
+        connectionService.acceptConnectionRequest(bob, 5L);
+
+        verify(connectionCounterRepository, times(2)).adjust(2L, 1, -1, 0);
+    }
+
+    @Test
+    void deltasAreAppliedToACounterCreatedConcurrently() {
+        stubAccept();
+        when(connectionCounterRepository.adjust(1L, 1, 0, -1)).thenReturn(1);
+        when(connectionCounterRepository.adjust(2L, 1, -1, 0)).thenReturn(0, 1);
+
+        connectionService.acceptConnectionRequest(bob, 5L);
+
+        verify(connectionCounterRepository).insertIfAbsent(2L, -1L, 1L, 0L);
+        verify(connectionCounterRepository, times(2)).adjust(2L, 1, -1, 0);
+    }
+
+    @Test
+    void missingCountsAreCreatedFromTheRowsAndReadBack() {
+        when(connectionCounterRepository.findById(1L))
+                .thenReturn(Optional.empty(), Optional.of(new ConnectionCounter(1L, 3, 0, 1)));
+        when(connectionRepository.countByUserAndStatus(1L, Status.ACCEPTED)).thenReturn(3L);
+        when(connectionRepository.countByAuthorIdAndStatus(1L, Status.PENDING)).thenReturn(1L);
+
+        assertThat(connectionService.getConnectionCounts(1L)).isEqualTo(new ConnectionCountsDto(3, 0, 1));
+        verify(connectionCounterRepository).insertIfAbsent(1L, 3L, 0L, 1L);
+    }
+
+    private void stubAccept() {
+        Connection connection = new Connection(alice, bob);
+        when(connectionRepository.findById(5L)).thenReturn(Optional.of(connection));
+        when(connectionRepository.save(connection)).thenReturn(connection);
+    }
+}
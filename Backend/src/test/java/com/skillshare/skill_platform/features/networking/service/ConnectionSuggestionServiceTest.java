@@ -0,0 +1,196 @@
+package com.linkedin.backend.features.networking.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.event.UserDeletedEvent;
+import com.linkedin.backend.features.authentication.event.UserProfileUpdatedEvent;
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.networking.dto.CandidateProfile;
+import com.linkedin.backend.features.networking.model.ConnectionSuggestion;
+import com.linkedin.backend.features.networking.model.Status;
+import com.linkedin.backend.features.networking.repository.ConnectionRepository;
+import com.linkedin.backend.features.networking.repository.ConnectionSuggestionRepository;
+import com.linkedin.backend.features.networking.repository.SuggestionStateRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionSuggestionServiceTest {
+    private static final int SUGGESTIONS_PER_USER = 3;
+
+    @Mock
+    private ConnectionSuggestionRepository connectionSuggestionRepository;
+    @Mock
+    private SuggestionStateRepository suggestionStateRepository;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private ConnectionRepository connectionRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    @Captor
+    private ArgumentCaptor<List<ConnectionSuggestion>> rows;
+
+    private ConnectionGraph connectionGraph;
+    private ConnectionSuggestionService connectionSuggestionService;
+
+    @BeforeEach
+    void setUp() {
+        // 1 - 2 - 3 - 5, and 2 - 4; user 6 has no connections.
+        when(connectionRepository.findParticipantPairsByStatus(Status.ACCEPTED)).thenReturn(List.of(
+                new Object[]{1L, 2L}, new Object[]{2L, 3L}, new Object[]{2L, 4L}, new Object[]{3L, 5L}));
+        connectionGraph = new ConnectionGraph(connectionRepository);
+        connectionGraph.load();
+
+        when(connectionSuggestionRepository.findCandidateProfiles()).thenReturn(List.of(
+                new CandidateProfile(1L, "Acme", "Engineer", "Paris"),
+                new CandidateProfile(3L, "Acme", "Engineer", "Paris"),
+                new CandidateProfile(4L, "Globex", "Designer", "Rome"),
+                new CandidateProfile(5L, "Acme", "Designer", "Paris"),
+                new CandidateProfile(6L, " acme ", "ENGINEER", "Paris")));
+        ProfileAttributeIndex profileAttributeIndex = new ProfileAttributeIndex(connectionSuggestionRepository);
+        profileAttributeIndex.load();
+
+        connectionSuggestionService = new ConnectionSuggestionService(connectionSuggestionRepository,
+                suggestionStateRepository, userRepository, connectionGraph, profileAttributeIndex, transactionManager,
+                SUGGESTIONS_PER_USER, 10, 1);
+        lenient().when(userRepository.getReferenceById(anyLong()))
+                .thenAnswer(invocation -> user(invocation.getArgument(0)));
+        lenient().when(connectionSuggestionRepository.findExistingUserIds(any()))
+                .thenAnswer(invocation -> new ArrayList<Long>(invocation.getArgument(0)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        connectionSuggestionService.shutdown();
+    }
+
+    @Test
+    void storedSuggestionsAreReadWithoutScoring() {
+        User suggested = user(3L);
+        when(connectionSuggestionRepository.findByUserId(1L, PageRequest.of(0, 2)))
+                .thenReturn(List.of(new ConnectionSuggestion(1L, suggested, 0, 7.0)));
+
+        assertThat(connectionSuggestionService.getSuggestions(1L, 2)).containsExactly(suggested);
+        verify(connectionSuggestionRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void firstRequestOfAnUnscoredUserComputesTheirSuggestions() {
+        connectionSuggestionService.getSuggestions(1L, 10);
+
+        verify(connectionSuggestionRepository).deleteByUserIds(List.of(1L));
+        verify(connectionSuggestionRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(row -> row.getSuggestedUser().getId()).containsExactly(3L, 4L, 6L);
+        assertThat(rows.getValue()).extracting(ConnectionSuggestion::getPosition).containsExactly(0, 1, 2);
+        assertThat(rows.getValue()).extracting(ConnectionSuggestion::getScore).containsExactly(
+                ProfileAttributeIndex.COMPANY_WEIGHT + ProfileAttributeIndex.POSITION_WEIGHT
+                        + ProfileAttributeIndex.LOCATION_WEIGHT + 0.5,
+                0.5,
+                ProfileAttributeIndex.COMPANY_WEIGHT + ProfileAttributeIndex.POSITION_WEIGHT
+                        + ProfileAttributeIndex.LOCATION_WEIGHT);
+        verify(suggestionStateRepository).markComputed(eq(List.of(1L)), any(), any());
+    }
+
+    @Test
+    void usersWithoutACompleteProfileAreNotSuggested() {
+        when(suggestionStateRepository.findDirtyUserIds(PageRequest.of(0, 10))).thenReturn(List.of(5L));
+
+        connectionSuggestionService.refreshDirtySuggestions();
+
+        verify(connectionSuggestionRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(row -> row.getSuggestedUser().getId()).containsExactly(1L, 6L, 4L);
+    }
+
+    @Test
+    void nothingIsScoredWithoutDirtyUsers() {
+        when(suggestionStateRepository.findDirtyUserIds(PageRequest.of(0, 10))).thenReturn(List.of());
+
+        connectionSuggestionService.refreshDirtySuggestions();
+
+        verify(connectionSuggestionRepository, never()).deleteByUserIds(any());
+    }
+
+    @Test
+    void newConnectionMarksBothUsersAndTheirConnectionsDirty() {
+        connectionSuggestionService.markConnectionChangedAfterCommit(1L, 3L);
+
+        verify(suggestionStateRepository).markDirty(eq(Set.of(1L, 2L, 3L, 5L)), any());
+    }
+
+    @Test
+    void profileUpdateMarksTheUserAndTheirSecondDegreeConnectionsDirty() {
+        connectionSuggestionService.onProfileUpdated(new UserProfileUpdatedEvent(1L));
+
+        verify(suggestionStateRepository).markDirty(eq(Set.of(1L, 3L, 4L)), any());
+    }
+
+    @Test
+    void candidatesDeletedSinceScoringAreLeftOut() {
+        when(connectionSuggestionRepository.findExistingUserIds(any())).thenReturn(List.of(1L, 3L, 6L));
+
+        connectionSuggestionService.getSuggestions(1L, 10);
+
+        verify(connectionSuggestionRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(row -> row.getSuggestedUser().getId()).containsExactly(3L, 6L);
+        assertThat(rows.getValue()).extracting(ConnectionSuggestion::getPosition).containsExactly(0, 1);
+        verify(userRepository, never()).getReferenceById(4L);
+    }
+
+    @Test
+    void deletedUserGetsNeitherSuggestionsNorState() {
+        when(suggestionStateRepository.findDirtyUserIds(PageRequest.of(0, 10))).thenReturn(List.of(1L));
+        when(connectionSuggestionRepository.findExistingUserIds(any())).thenReturn(List.of(3L, 4L, 6L));
+
+        connectionSuggestionService.refreshDirtySuggestions();
+
+        verify(connectionSuggestionRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).isEmpty();
+        verify(suggestionStateRepository, never()).save(any());
+    }
+
+    @Test
+    void batchLosingARaceWithADeletionStaysDirty() {
+        when(suggestionStateRepository.findDirtyUserIds(PageRequest.of(0, 10))).thenReturn(List.of(1L));
+        when(connectionSuggestionRepository.saveAll(any()))
+                .thenThrow(new DataIntegrityViolationException("fk_connection_suggestions_suggested_user"));
+
+        assertThatCode(() -> connectionSuggestionService.refreshDirtySuggestions()).doesNotThrowAnyException();
+        verify(suggestionStateRepository, never()).markComputed(any(), any(), any());
+    }
+
+    @Test
+    void deletedUserLeavesTheGraphAndTheProfileIndex() {
+        connectionSuggestionService.onUserDeleted(new UserDeletedEvent(3L));
+
+        verify(suggestionStateRepository).markDirty(eq(Set.of(2L, 5L)), any());
+        assertThat(connectionGraph.connectionsOf(2L)).containsExactlyInAnyOrder(1L, 4L);
+
+        connectionSuggestionService.getSuggestions(1L, 10);
+
+        verify(connectionSuggestionRepository).saveAll(rows.capture());
+        assertThat(rows.getValue()).extracting(row -> row.getSuggestedUser().getId()).containsExactly(4L, 6L, 5L);
+    }
+}
@@ -0,0 +1,128 @@
+package com.linkedin.backend.features.notifications.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.notifications.model.Notification;
+import com.linkedin.backend.features.notifications.model.NotificationType;
+import com.linkedin.backend.features.notifications.repository.NotificationRepository;
+import com.linkedin.backend.features.ws.service.OutboxService;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationCoalescerTest {
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private NotificationCoalescer notificationCoalescer;
+
+    private final User recipient = user(2L);
+
+    @BeforeEach
+    void setUp() {
+        notificationCoalescer = new NotificationCoalescer(notificationRepository, outboxService, transactionManager,
+                60, 60_000);
+        lenient().when(notificationRepository.save(any(Notification.class))).thenAnswer(invocation -> {
+            Notification notification = invocation.getArgument(0);
+            if (notification.getId() == null) {
+                notification.setId(7L);
+            }
+            return notification;
+        });
+    }
+
+    @Test
+    void firstEventCreatesANotification() {
+        assertThat(notificationCoalescer.record(user(1L), recipient, NotificationType.LIKE, 9L)).isTrue();
+
+        verify(outboxService).enqueueToUser(eq(2L), eq("notifications"), any(Notification.class));
+    }
+
+    @Test
+    void laterEventsFoldIntoTheUnreadNotification() {
+        Notification existing = existing(user(1L));
+        when(notificationRepository
+                .findFirstByRecipientIdAndTypeAndResourceIdAndIsReadFalseAndCreationDateAfterOrderByCreationDateDesc(
+                        eq(2L), eq(NotificationType.LIKE), eq(9L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existing));
+
+        assertThat(notificationCoalescer.record(user(3L), recipient, NotificationType.LIKE, 9L)).isFalse();
+
+        assertThat(existing.getActorCount()).isEqualTo(2);
+        assertThat(existing.getRecentActors()).extracting(User::getId).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void repeatedActorIsCountedOnce() {
+        Notification existing = existing(user(1L));
+        when(notificationRepository
+                .findFirstByRecipientIdAndTypeAndResourceIdAndIsReadFalseAndCreationDateAfterOrderByCreationDateDesc(
+                        eq(2L), eq(NotificationType.LIKE), eq(9L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existing));
+
+        notificationCoalescer.record(user(1L), recipient, NotificationType.LIKE, 9L);
+
+        assertThat(existing.getActorCount()).isEqualTo(1);
+        assertThat(existing.getRecentActors()).extracting(User::getId).containsExactly(1L);
+    }
+
+    @Test
+    void onlyTheMostRecentActorsAreKept() {
+        Notification existing = existing(user(1L));
+        when(notificationRepository
+                .findFirstByRecipientIdAndTypeAndResourceIdAndIsReadFalseAndCreationDateAfterOrderByCreationDateDesc(
+                        eq(2L), eq(NotificationType.COMMENT), eq(9L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existing));
+
+        for (long actorId = 3; actorId <= 6; actorId++) {
+            notificationCoalescer.record(user(actorId), recipient, NotificationType.COMMENT, 9L);
+        }
+
+        assertThat(existing.getActorCount()).isEqualTo(5);
+        assertThat(existing.getRecentActors()).extracting(User::getId).containsExactly(6L, 5L, 4L);
+    }
+
+    @Test
+    void pushesWithinTheIntervalAreDeferredToTheFlush() {
+        Notification existing = existing(user(1L));
+        when(notificationRepository
+                .findFirstByRecipientIdAndTypeAndResourceIdAndIsReadFalseAndCreationDateAfterOrderByCreationDateDesc(
+                        eq(2L), eq(NotificationType.LIKE), eq(9L), any(LocalDateTime.class)))
+                .thenReturn(Optional.of(existing));
+        when(notificationRepository.findAllById(List.of(7L))).thenReturn(List.of(existing));
+
+        notificationCoalescer.record(user(3L), recipient, NotificationType.LIKE, 9L);
+        notificationCoalescer.record(user(4L), recipient, NotificationType.LIKE, 9L);
+        notificationCoalescer.record(user(5L), recipient, NotificationType.LIKE, 9L);
+        verify(outboxService, times(1)).enqueueToUser(anyLong(), any(), any());
+
+        notificationCoalescer.flushPendingPushes();
+        verify(outboxService, times(2)).enqueueToUser(anyLong(), any(), any());
+    }
+
+    private Notification existing(User actor) {
+        Notification notification = new Notification(actor, recipient, NotificationType.LIKE, 9L);
+        notification.setId(7L);
+        return notification;
+    }
+}
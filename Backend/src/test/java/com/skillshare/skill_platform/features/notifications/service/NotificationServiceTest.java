@@ -0,0 +1,183 @@
+package com.linkedin.backend.features.notifications.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.notifications.model.Notification;
+import com.linkedin.backend.features.notifications.model.NotificationCounter;
+import com.linkedin.backend.features.notifications.model.NotificationType;
+import com.linkedin.backend.features.notifications.repository.NotificationCounterRepository;
+import com.linkedin.backend.features.notifications.repository.NotificationRepository;
+import com.linkedin.backend.features.ws.service.OutboxService;
+import com.linkedin.backend.features.ws.service.PresenceRegistry;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationServiceTest {
+    private static final LocalDateTime SEEN_AT = LocalDateTime.of(2026, 3, 1, 12, 0);
+
+    @Mock
+    private NotificationRepository notificationRepository;
+    @Mock
+    private NotificationCounterRepository notificationCounterRepository;
+    @Mock
+    private NotificationCoalescer notificationCoalescer;
+    @Mock
+    private OutboxService outboxService;
+    @Mock
+    private PresenceRegistry presenceRegistry;
+
+    @InjectMocks
+    private NotificationService notificationService;
+
+    @Test
+    void unreadCountIsReadFromTheCounter() {
+        when(notificationCounterRepository.findById(1L)).thenReturn(Optional.of(new NotificationCounter(1L, 4)));
+
+        assertThat(notificationService.getUnreadCount(user(1L))).isEqualTo(4);
+        verify(notificationRepository, never()).countByRecipientIdAndIsReadFalse(anyLong());
+    }
+
+    @Test
+    void missingCounterIsCreatedFromTheUnreadRowsAndReadBack() {
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(1L)).thenReturn(3L);
+        when(notificationCounterRepository.insertIfAbsent(1L, 3L)).thenReturn(1);
+        when(notificationCounterRepository.findCurrent(1L)).thenReturn(Optional.of(new NotificationCounter(1L, 3)));
+
+        assertThat(notificationService.getUnreadCount(user(1L))).isEqualTo(3);
+    }
+
+    @Test
+    void counterCreatedConcurrentlyIsReadBackInsteadOfTheLocalCount() {
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(1L)).thenReturn(3L);
+        when(notificationCounterRepository.findCurrent(1L)).thenReturn(Optional.of(new NotificationCounter(1L, 5)));
+
+        assertThat(notificationService.getUnreadCount(user(1L))).isEqualTo(5);
+        verify(notificationCounterRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void newNotificationIncrementsTheCounter() {
+        User author = user(1L);
+        User recipient = user(2L);
+        when(notificationCoalescer.record(author, recipient, NotificationType.LIKE, 9L)).thenReturn(true);
+        when(notificationCounterRepository.incrementUnread(2L, 1)).thenReturn(1);
+
+        notificationService.sendLikeNotification(author, recipient, 9L);
+
+        verify(notificationCounterRepository, never()).insertIfAbsent(anyLong(), anyLong());
+    }
+
+    @Test
+    void coalescedNotificationLeavesTheCounterAlone() {
+        User author = user(1L);
+        User recipient = user(2L);
+
+        notificationService.sendCommentNotification(author, recipient, 9L);
+
+        verify(notificationCounterRepository, never()).incrementUnread(anyLong(), anyLong());
+    }
+
+    @Test
+    void missingCounterIsSeededWithTheUnreadRowsBeforeTheIncrement() {
+        User author = user(1L);
+        User recipient = user(2L);
+        when(notificationCoalescer.record(author, recipient, NotificationType.LIKE, 9L)).thenReturn(true);
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(2L)).thenReturn(6L);
+
+        notificationService.sendLikeNotification(author, recipient, 9L);
+
+        verify(notificationCounterRepository).insertIfAbsent(2L, 5L);
+        verify(notificationCounterRepository, times(2)).incrementUnread(2L, 1);
+    }
+
+    @Test
+    void incrementIsAppliedEvenWhenTheInsertReportsADuplicateAsFound() {
+        User author = user(1L);
+        User recipient = user(2L);
+        when(notificationCoalescer.record(author, recipient, NotificationType.LIKE, 9L)).thenReturn(true);
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(2L)).thenReturn(6L);
+        when(notificationCounterRepository.insertIfAbsent(2L, 5L)).thenReturn(1);
+
+        notificationService.sendLikeNotification(author, recipient, 9L);
+
+        verify(notificationCounterRepository, times(2)).incrementUnread(2L, 1);
+    }
+
+    @Test
+    void missingCounterIsSeededWithTheUnreadRowsBeforeMarkingAll() {
+        User user = user(2L);
+        when(notificationRepository.markAllAsReadUpTo(2L, SEEN_AT, 40L)).thenReturn(3);
+        when(notificationRepository.countByRecipientIdAndIsReadFalse(2L)).thenReturn(1L);
+        when(notificationCounterRepository.findById(2L)).thenReturn(Optional.of(new NotificationCounter(2L, 1)));
+
+        notificationService.markAllNotificationsAsRead(user, SEEN_AT, 40L);
+
+        verify(notificationCounterRepository).insertIfAbsent(2L, 4L);
+        verify(notificationCounterRepository, times(2)).incrementUnread(2L, -3);
+    }
+
+    @Test
+    void markingAnUnreadNotificationDecrementsOnce() {
+        Notification notification = new Notification(user(1L), user(2L), NotificationType.LIKE, 9L);
+        notification.setId(5L);
+        when(notificationRepository.findById(5L)).thenReturn(Optional.of(notification));
+        when(notificationRepository.markAsRead(5L)).thenReturn(1);
+        when(notificationCounterRepository.incrementUnread(2L, -1)).thenReturn(1);
+
+        assertThat(notificationService.markNotificationAsRead(5L).isRead()).isTrue();
+        verify(notificationCounterRepository).incrementUnread(2L, -1);
+    }
+
+    @Test
+    void markingAReadNotificationAgainCountsNothing() {
+        Notification notification = new Notification(user(1L), user(2L), NotificationType.LIKE, 9L);
+        notification.setId(5L);
+        when(notificationRepository.findById(5L)).thenReturn(Optional.of(notification));
+
+        notificationService.markNotificationAsRead(5L);
+
+        verify(notificationCounterRepository, never()).incrementUnread(anyLong(), anyLong());
+    }
+
+    @Test
+    void markAllUpToTheWatermarkSubtractsTheRowsItUpdated() {
+        User user = user(2L);
+        when(notificationRepository.markAllAsReadUpTo(2L, SEEN_AT, 40L)).thenReturn(3);
+        when(notificationCounterRepository.incrementUnread(2L, -3)).thenReturn(1);
+        when(notificationCounterRepository.findById(2L)).thenReturn(Optional.of(new NotificationCounter(2L, 1)));
+
+        assertThat(notificationService.markAllNotificationsAsRead(user, SEEN_AT, 40L)).isEqualTo(1);
+        verify(outboxService).enqueueToUser(eq(2L), eq("notifications/unread"), eq(1L));
+    }
+
+    @Test
+    void nextPageStartsBelowTheCursorKeyAsItWasServed() {
+        notificationService.getUserNotifications(user(2L), SEEN_AT, 40L, 20);
+
+        verify(notificationRepository).findPageBefore(eq(2L), eq(SEEN_AT), eq(40L), any(Pageable.class));
+        verify(notificationRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void pageCursorWithoutItsDateIsRejected() {
+        assertThatThrownBy(() -> notificationService.getUserNotifications(user(2L), null, 40L, 20))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,86 @@
+package com.linkedin.backend.features.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.event.UserDeletedEvent;
+import com.linkedin.backend.features.authentication.event.UserProfileUpdatedEvent;
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.learningplane.repository.LearningPlanRepository;
+import com.linkedin.backend.features.networking.repository.ConnectionCounterRepository;
+import com.linkedin.backend.features.search.dto.AutocompleteSuggestionDto;
+import com.linkedin.backend.features.search.model.SuggestionType;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@ExtendWith(MockitoExtension.class)
+class AutocompleteServiceTest {
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private LearningPlanRepository learningPlanRepository;
+    @Mock
+    private ConnectionCounterRepository connectionCounterRepository;
+
+    private AutocompleteService autocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        autocompleteService = new AutocompleteService(userRepository, learningPlanRepository,
+                connectionCounterRepository, 2000, 900_000);
+        when(userRepository.findAutocompleteRows()).thenReturn(List.<Object[]>of(
+                new Object[]{1L, "Ada", "Lovelace", "Analytical", 3L},
+                new Object[]{2L, "Alan", "Turing", "Bletchley", 5L}));
+        when(learningPlanRepository.findAutocompleteRows()).thenReturn(List.<Object[]>of(
+                new Object[]{10L, "Algorithms from scratch", "Computing", 4},
+                new Object[]{11L, "Algebra refresher", "Maths", 1}));
+        autocompleteService.rebuild();
+    }
+
+    @Test
+    void deletingAUserRemovesTheirLearningPlans() {
+        when(learningPlanRepository.findIdsByUserId(1L)).thenReturn(List.of(10L));
+
+        autocompleteService.onUserDeleted(new UserDeletedEvent(1L));
+
+        assertThat(autocompleteService.suggest("al", Set.of(SuggestionType.LEARNING_PLAN), 10))
+                .extracting(AutocompleteSuggestionDto::id).containsExactly(11L);
+        assertThat(autocompleteService.suggest("ada", Set.of(SuggestionType.USER), 10)).isEmpty();
+        assertThat(autocompleteService.suggest("alan", Set.of(SuggestionType.USER), 10))
+                .extracting(AutocompleteSuggestionDto::id).containsExactly(2L);
+    }
+
+    @Test
+    void profileUpdatesAreAppliedOnlyAfterCommit() throws NoSuchMethodException {
+        TransactionalEventListener listener = AutocompleteService.class
+                .getMethod("onProfileUpdated", UserProfileUpdatedEvent.class)
+                .getAnnotation(TransactionalEventListener.class);
+
+        assertThat(listener.phase()).isEqualTo(TransactionPhase.AFTER_COMMIT);
+    }
+
+    @Test
+    void updatedNameReplacesTheIndexedOne() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(1L);
+        when(user.getFirstName()).thenReturn("Augusta");
+        when(user.getLastName()).thenReturn("King");
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        autocompleteService.onProfileUpdated(new UserProfileUpdatedEvent(1L));
+
+        assertThat(autocompleteService.suggest("ada", Set.of(SuggestionType.USER), 10)).isEmpty();
+        assertThat(autocompleteService.suggest("king", Set.of(SuggestionType.USER), 10))
+                .extracting(AutocompleteSuggestionDto::text).containsExactly("Augusta King");
+    }
+}
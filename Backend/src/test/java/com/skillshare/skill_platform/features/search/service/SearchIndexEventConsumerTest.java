@@ -0,0 +1,207 @@
+package com.linkedin.backend.features.search.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.user;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.feed.model.Post;
+import com.linkedin.backend.features.search.model.IndexedEntityType;
+import com.linkedin.backend.features.search.model.SearchIndexEvent;
+import com.linkedin.backend.features.search.repository.SearchIndexEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.ActionQueue;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.query.sql.spi.NativeQueryImplementor;
+import org.hibernate.search.mapper.orm.Search;
+import org.hibernate.search.mapper.orm.session.SearchIndexingPlan;
+import org.hibernate.search.mapper.orm.session.SearchSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Recorders and consumers of application contexts sharing one event table, all configured with
+ * the same node id.
+ */
+@ExtendWith(MockitoExtension.class)
+class SearchIndexEventConsumerTest {
+    private final List<SearchIndexEvent> events = new ArrayList<>();
+    private MockedStatic<Search> search;
+
+    @BeforeEach
+    void setUp() {
+        search = mockStatic(Search.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        search.close();
+    }
+
+    @Test
+    void twoNodesConvergeOnEachOthersChanges() {
+        Node first = new Node();
+        Node second = new Node();
+        first.consumer.startAfter(0);
+        second.consumer.startAfter(0);
+        User user = user(1L);
+        Post post = post(2L);
+
+        first.commit(user);
+        second.commit(post);
+        when(first.entityManager.find(Post.class, 2L)).thenReturn(post);
+        when(second.entityManager.find(User.class, 1L)).thenReturn(user);
+        first.consumer.poll();
+        second.consumer.poll();
+
+        verify(first.indexingPlan).addOrUpdate(post);
+        verify(first.indexingPlan, never()).addOrUpdate(user);
+        verify(second.indexingPlan).addOrUpdate(user);
+        verify(second.indexingPlan, never()).addOrUpdate(post);
+    }
+
+    @Test
+    void restartedNodeReplaysItsOwnEarlierChanges() {
+        Node before = new Node();
+        before.consumer.startAfter(0);
+        User user = user(1L);
+        before.commit(user);
+        before.consumer.poll();
+        verify(before.indexingPlan, never()).addOrUpdate(any());
+
+        Node restarted = new Node();
+        restarted.consumer.startAfter(0);
+        when(restarted.entityManager.find(User.class, 1L)).thenReturn(user);
+        restarted.consumer.poll();
+
+        verify(restarted.indexingPlan).addOrUpdate(user);
+    }
+
+    @Test
+    void resultsCachedWhileTheIndexingPlanRunsAreNotServedAfterCommit() {
+        Node node = new Node();
+        node.consumer.startAfter(0);
+        SearchResultCache cache = new SearchResultCache(node.generation, 100);
+
+        node.commit(user(1L), () -> cache.get(IndexedEntityType.USER, "ada", 0, 20, () -> "before indexing"));
+        node.consumer.poll();
+
+        assertThat(cache.get(IndexedEntityType.USER, "ada", 0, 20, () -> "after indexing"))
+                .isEqualTo("after indexing");
+    }
+
+    private final class Node {
+        private final EntityManager entityManager = mock(EntityManager.class);
+        private final SearchIndexingPlan indexingPlan = mock(SearchIndexingPlan.class);
+        private final SearchIndexGeneration generation = new SearchIndexGeneration();
+        private final SearchIndexEventRecorder recorder = new SearchIndexEventRecorder(
+                mock(EntityManagerFactory.class), generation, "node");
+        private final SearchIndexEventConsumer consumer;
+        private long lastInsertId;
+
+        private Node() {
+            SearchIndexEventRepository repository = mock(SearchIndexEventRepository.class);
+            when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenAnswer(invocation -> {
+                long after = invocation.getArgument(0);
+                return events.stream().filter(event -> event.getId() > after).toList();
+            });
+            consumer = new SearchIndexEventConsumer(repository, recorder, generation, entityManager,
+                    mock(PlatformTransactionManager.class), 500, 30, 48);
+            SearchSession searchSession = mock(SearchSession.class);
+            when(searchSession.indexingPlan()).thenReturn(indexingPlan);
+            search.when(() -> Search.session(entityManager)).thenReturn(searchSession);
+        }
+
+        private void commit(Object entity) {
+            commit(entity, () -> {
+            });
+        }
+
+        /**
+         * Goes through the session callbacks Hibernate makes for a committed insert, running
+         * {@code duringCommit} between the commit and the after completion callbacks.
+         */
+        private void commit(Object entity, Runnable duringCommit) {
+            EventSource session = mock(EventSource.class);
+            ActionQueue actionQueue = mock(ActionQueue.class);
+            when(session.getActionQueue()).thenReturn(actionQueue);
+            NativeQueryImplementor<?> insert = insertQuery();
+            NativeQueryImplementor<?> lastId = mock(NativeQueryImplementor.class,
+                    invocation -> "getSingleResult".equals(invocation.getMethod().getName()) ? lastInsertId : null);
+            doAnswer(invocation -> invocation.<String>getArgument(0).startsWith("SELECT") ? lastId : insert)
+                    .when(session).createNativeQuery(anyString());
+            PostInsertEvent event = mock(PostInsertEvent.class);
+            when(event.getSession()).thenReturn(session);
+            when(event.getEntity()).thenReturn(entity);
+
+            recorder.onPostInsert(event);
+
+            ArgumentCaptor<BeforeTransactionCompletionProcess> beforeCompletion =
+                    ArgumentCaptor.forClass(BeforeTransactionCompletionProcess.class);
+            ArgumentCaptor<AfterTransactionCompletionProcess> afterCompletion =
+                    ArgumentCaptor.forClass(AfterTransactionCompletionProcess.class);
+            verify(actionQueue).registerProcess(beforeCompletion.capture());
+            verify(actionQueue).registerProcess(afterCompletion.capture());
+            beforeCompletion.getValue().doBeforeTransactionCompletion(session);
+            duringCommit.run();
+            afterCompletion.getValue().doAfterTransactionCompletion(true, session);
+        }
+
+        private NativeQueryImplementor<?> insertQuery() {
+            Map<String, Object> parameters = new HashMap<>();
+            return mock(NativeQueryImplementor.class, invocation -> switch (invocation.getMethod().getName()) {
+                case "setParameter" -> {
+                    parameters.put(invocation.getArgument(0), invocation.getArgument(1));
+                    yield invocation.getMock();
+                }
+                case "executeUpdate" -> {
+                    lastInsertId = store(parameters);
+                    yield 1;
+                }
+                default -> null;
+            });
+        }
+    }
+
+    private long store(Map<String, Object> parameters) {
+        SearchIndexEvent event = new SearchIndexEvent();
+        ReflectionTestUtils.setField(event, "id", events.size() + 1L);
+        ReflectionTestUtils.setField(event, "entityType",
+                IndexedEntityType.valueOf((String) parameters.get("entityType")));
+        ReflectionTestUtils.setField(event, "entityId", parameters.get("entityId"));
+        ReflectionTestUtils.setField(event, "originNode", parameters.get("originNode"));
+        ReflectionTestUtils.setField(event, "createdAt", parameters.get("createdAt"));
+        events.add(event);
+        return event.getId();
+    }
+
+    private static Post post(Long id) {
+        Post post = mock(Post.class);
+        when(post.getId()).thenReturn(id);
+        return post;
+    }
+}
@@ -0,0 +1,143 @@
+package com.linkedin.backend.features.search.service;
+
+import static com.linkedin.backend.features.authentication.model.TestUsers.userWithEmail;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.repository.UserRepository;
+import com.linkedin.backend.features.feed.repository.PostRepository;
+import com.linkedin.backend.features.learningplane.repository.LearningPlanRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Properties;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexSynchronizerTest {
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private UserRepository userRepository;
+    @Mock
+    private PostRepository postRepository;
+    @Mock
+    private LearningPlanRepository learningPlanRepository;
+    @Mock
+    private SearchIndexEventConsumer searchIndexEventConsumer;
+    @Mock
+    private SearchIndexGeneration searchIndexGeneration;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path indexDirectory;
+
+    private SearchIndexSynchronizer searchIndexSynchronizer;
+
+    @BeforeEach
+    void setUp() {
+        searchIndexSynchronizer = new SearchIndexSynchronizer(entityManagerFactory, entityManager, userRepository,
+                postRepository, learningPlanRepository, searchIndexEventConsumer, searchIndexGeneration,
+                transactionManager, indexDirectory.toString(), 1, Set.of("admin@example.com"));
+        lenient().when(searchIndexEventConsumer.latestEventId()).thenReturn(50L);
+        // Stands in for the Hibernate Search mapping, so a rebuild fails straight away.
+        lenient().when(entityManagerFactory.unwrap(any())).thenThrow(new PersistenceException("no search mapping"));
+    }
+
+    @Test
+    void currentMarkerReplaysTheEventsAfterItsCursorBeforeTheApplicationIsReady() throws IOException {
+        writeMarker("3", LocalDateTime.now().minusMinutes(10).toString(), "42");
+        when(searchIndexEventConsumer.isRetainedSince(any(LocalDateTime.class))).thenReturn(true);
+        when(searchIndexEventConsumer.getCursor()).thenReturn(48L);
+
+        searchIndexSynchronizer.run(new DefaultApplicationArguments());
+
+        verify(searchIndexEventConsumer).startAfter(42L);
+        verify(searchIndexEventConsumer).poll();
+        assertThat(readMarker().getProperty("eventCursor")).isEqualTo("48");
+    }
+
+    @Test
+    void markerFromAnotherVersionRebuilds() throws IOException {
+        writeMarker("2", LocalDateTime.now().minusMinutes(10).toString(), "42");
+
+        searchIndexSynchronizer.synchronizeOnStartup();
+
+        verify(searchIndexEventConsumer, never()).isRetainedSince(any());
+        verify(searchIndexEventConsumer).startAfter(50L);
+    }
+
+    @Test
+    void malformedVersionRebuildsInsteadOfFailingStartup() throws IOException {
+        writeMarker("three", LocalDateTime.now().minusMinutes(10).toString(), "42");
+
+        searchIndexSynchronizer.synchronizeOnStartup();
+
+        verify(searchIndexEventConsumer, never()).isRetainedSince(any());
+        verify(searchIndexEventConsumer).startAfter(50L);
+    }
+
+    @Test
+    void malformedCheckpointRebuildsInsteadOfFailingStartup() throws IOException {
+        writeMarker("3", "yesterday", "42");
+
+        searchIndexSynchronizer.synchronizeOnStartup();
+
+        verify(searchIndexEventConsumer, never()).isRetainedSince(any());
+        verify(searchIndexEventConsumer).startAfter(50L);
+    }
+
+    @Test
+    void missingMarkerRebuilds() {
+        searchIndexSynchronizer.synchronizeOnStartup();
+
+        verify(searchIndexEventConsumer).startAfter(50L);
+    }
+
+    @Test
+    void adminsMayManageTheIndex() {
+        assertThatCode(() -> searchIndexSynchronizer.requireAdmin(userWithEmail("admin@example.com")))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    void otherUsersMayNotManageTheIndex() {
+        assertThatThrownBy(() -> searchIndexSynchronizer.requireAdmin(userWithEmail("someone@example.com")))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private void writeMarker(String version, String checkpoint, String eventCursor) throws IOException {
+        Files.writeString(indexDirectory.resolve("index-state.properties"),
+                "version=" + version + "\ncheckpoint=" + checkpoint + "\neventCursor=" + eventCursor + "\n");
+    }
+
+    private Properties readMarker() throws IOException {
+        Properties marker = new Properties();
+        try (InputStream in = Files.newInputStream(indexDirectory.resolve("index-state.properties"))) {
+            marker.load(in);
+        }
+        return marker;
+    }
+}
@@ -0,0 +1,133 @@
+package com.linkedin.backend.features.search.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.search.dto.LearningPlanSearchHitDto;
+import com.linkedin.backend.features.search.dto.PostSearchHitDto;
+import com.linkedin.backend.features.search.dto.SearchPageDto;
+import com.linkedin.backend.features.search.dto.UserSearchHitDto;
+import com.linkedin.backend.features.search.model.IndexedEntityType;
+import jakarta.persistence.EntityManager;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SearchServiceTest {
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private SearchResultCache searchResultCache;
+
+    private SearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        searchService = new SearchService(entityManager, searchResultCache);
+    }
+
+    @Test
+    void shortTermsAreMatchedExactly() {
+        assertThat(SearchService.fuzzyEdits("al")).isZero();
+        assertThat(SearchService.fuzzyEdits("ann")).isZero();
+    }
+
+    @Test
+    void longerTermsAllowOneEdit() {
+        assertThat(SearchService.fuzzyEdits("anna")).isEqualTo(1);
+        assertThat(SearchService.fuzzyEdits("johnson")).isEqualTo(1);
+    }
+
+    @Test
+    void fuzzinessIsDecidedForEachTermOfTheQuery() {
+        String text = SearchResultCache.normalize("  Al   Johnson ");
+
+        assertThat(Arrays.stream(text.split("\\s+")).mapToInt(SearchService::fuzzyEdits)).containsExactly(0, 1);
+    }
+
+    @Test
+    void pageSizeIsKeptBetweenOneAndTheMaximum() {
+        assertThat(SearchService.pageSize(0)).isEqualTo(1);
+        assertThat(SearchService.pageSize(-5)).isEqualTo(1);
+        assertThat(SearchService.pageSize(20)).isEqualTo(20);
+        assertThat(SearchService.pageSize(500)).isEqualTo(SearchService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void lastPageIsCutAtTheResultCap() {
+        assertThat(SearchService.fetchSize(0, 20)).isEqualTo(20);
+        assertThat(SearchService.fetchSize(SearchService.MAX_RESULTS - 20, 20)).isEqualTo(20);
+        assertThat(SearchService.fetchSize(SearchService.MAX_RESULTS - 7, 20)).isEqualTo(7);
+    }
+
+    @Test
+    void userSearchIsCachedUnderTheNormalizedQueryAndClampedPageSize() {
+        SearchPageDto<UserSearchHitDto> cached = SearchPageDto.empty(2, SearchService.MAX_PAGE_SIZE);
+        when(searchResultCache.get(eq(IndexedEntityType.USER), eq("ann lee"), eq(2), eq(SearchService.MAX_PAGE_SIZE),
+                any())).thenReturn(cached);
+
+        assertThat(searchService.searchUsers("  Ann   LEE ", 2, 500)).isSameAs(cached);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void emptyUserQueryFindsNothing() {
+        SearchPageDto<UserSearchHitDto> page = searchService.searchUsers("   ", 0, 20);
+
+        assertThat(page.hits()).isEmpty();
+        assertThat(page.totalHits()).isZero();
+        verifyNoInteractions(searchResultCache, entityManager);
+    }
+
+    @Test
+    void userPagesPastTheResultCapAreEmpty() {
+        int lastPage = SearchService.MAX_RESULTS / 20;
+
+        SearchPageDto<UserSearchHitDto> page = searchService.searchUsers("ann", lastPage, 20);
+
+        assertThat(page.hits()).isEmpty();
+        assertThat(page.page()).isEqualTo(lastPage);
+        assertThat(page.size()).isEqualTo(20);
+        verifyNoInteractions(searchResultCache, entityManager);
+    }
+
+    @Test
+    void postPagesPastTheResultCapAreEmpty() {
+        SearchPageDto<PostSearchHitDto> page = searchService.searchPosts("java", null, null,
+                SearchService.MAX_RESULTS, 1);
+
+        assertThat(page.hits()).isEmpty();
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void learningPlanPagesPastTheResultCapAreEmpty() {
+        SearchPageDto<LearningPlanSearchHitDto> page = searchService.searchLearningPlans("java", null, null, null,
+                null, SearchService.MAX_RESULTS / SearchService.MAX_PAGE_SIZE, 500);
+
+        assertThat(page.hits()).isEmpty();
+        assertThat(page.size()).isEqualTo(SearchService.MAX_PAGE_SIZE);
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void emptyTypeaheadQuerySuggestsNothing() {
+        assertThat(searchService.typeahead(null, 5)).isEmpty();
+        assertThat(searchService.typeahead("  ", 5)).isEmpty();
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void typeaheadAsksForBetweenOneAndTheMaximumHits() {
+        assertThat(SearchService.typeaheadSize(0)).isEqualTo(1);
+        assertThat(SearchService.typeaheadSize(5)).isEqualTo(5);
+        assertThat(SearchService.typeaheadSize(100)).isEqualTo(SearchService.MAX_TYPEAHEAD_SIZE);
+    }
+}
@@ -0,0 +1,36 @@
+package com.linkedin.backend.features.ws.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.linkedin.backend.features.authentication.model.User;
+import com.linkedin.backend.features.ws.model.UserPrincipal;
+import java.util.HashMap;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.socket.WebSocketHandler;
+
+class AuthenticatedUserHandshakeHandlerTest {
+    private final AuthenticatedUserHandshakeHandler handshakeHandler = new AuthenticatedUserHandshakeHandler();
+
+    @Test
+    void sessionPrincipalIsTheAuthenticatedUser() {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn(7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws");
+        request.setAttribute("authenticatedUser", user);
+
+        assertThat(handshakeHandler.determineUser(new ServletServerHttpRequest(request), mock(WebSocketHandler.class),
+                new HashMap<>())).isEqualTo(new UserPrincipal(7L));
+    }
+
+    @Test
+    void requestWithoutAnAuthenticatedUserHasNoPrincipal() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/ws");
+
+        assertThat(handshakeHandler.determineUser(new ServletServerHttpRequest(request), mock(WebSocketHandler.class),
+                new HashMap<>())).isNull();
+    }
+}
@@ -0,0 +1,156 @@
+package com.linkedin.backend.features.ws.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.backend.features.ws.model.OutboxEvent;
+import com.linkedin.backend.features.ws.repository.OutboxEventRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Relays of several nodes reading one outbox table, each publishing to its own broker.
+ */
+class OutboxRelayTest {
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final List<OutboxEvent> events = new ArrayList<>();
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+
+    OutboxRelayTest() {
+        lenient().when(outboxEventRepository.findLatestId())
+                .thenAnswer(invocation -> events.isEmpty() ? 0L : events.get(events.size() - 1).getId());
+        lenient().when(outboxEventRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> {
+                    long after = invocation.getArgument(0);
+                    Pageable pageable = invocation.getArgument(1);
+                    return events.stream().filter(event -> event.getId() > after)
+                            .limit(pageable.getPageSize()).toList();
+                });
+    }
+
+    @Test
+    void everyNodePublishesEveryEventToItsOwnBroker() {
+        Node first = new Node(0);
+        Node second = new Node(0);
+        first.relay.relay();
+        second.relay.relay();
+
+        commit(1L, LocalDateTime.now());
+        first.relay.relay();
+        second.relay.relay();
+
+        verify(first.broker).send(eq("/topic/1"), any(Message.class));
+        verify(second.broker).send(eq("/topic/1"), any(Message.class));
+    }
+
+    @Test
+    void relayStartsAtTheLatestEvent() {
+        commit(1L, LocalDateTime.now());
+        Node node = new Node(0);
+
+        node.relay.relay();
+        commit(2L, LocalDateTime.now());
+        node.relay.relay();
+
+        verify(node.broker, never()).send(eq("/topic/1"), any(Message.class));
+        verify(node.broker).send(eq("/topic/2"), any(Message.class));
+    }
+
+    @Test
+    void eventCommittedBehindARecentGapIsPublishedOnce() {
+        Node node = new Node(30);
+        node.relay.relay();
+
+        commit(2L, LocalDateTime.now());
+        node.relay.relay();
+        commit(1L, LocalDateTime.now());
+        node.relay.relay();
+        node.relay.relay();
+
+        verify(node.broker).send(eq("/topic/1"), any(Message.class));
+        verify(node.broker).send(eq("/topic/2"), any(Message.class));
+    }
+
+    @Test
+    void fullBatchesAreFollowedByAnotherRead() {
+        Node node = new Node(0);
+        node.relay.relay();
+        for (long id = 1; id <= 5; id++) {
+            commit(id, LocalDateTime.now());
+        }
+
+        node.relay.relay();
+
+        verify(node.broker, times(5)).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    void failedEventDoesNotBlockTheOnesBehindItAndIsRetried() {
+        Node node = new Node(0, 0);
+        node.relay.relay();
+        commit(1L, LocalDateTime.now());
+        commit(2L, LocalDateTime.now());
+        doThrow(new MessageDeliveryException("broker down")).doNothing()
+                .when(node.broker).send(eq("/topic/1"), any(Message.class));
+
+        node.relay.relay();
+        verify(node.broker).send(eq("/topic/2"), any(Message.class));
+        node.relay.relay();
+
+        verify(node.broker, times(2)).send(eq("/topic/1"), any(Message.class));
+    }
+
+    @Test
+    void failedEventIsDroppedAfterItsLastAttempt() {
+        Node node = new Node(0, 0);
+        node.relay.relay();
+        commit(1L, LocalDateTime.now());
+        doThrow(new MessageDeliveryException("broker down")).when(node.broker).send(anyString(), any(Message.class));
+
+        for (int i = 0; i < MAX_ATTEMPTS + 2; i++) {
+            node.relay.relay();
+        }
+
+        verify(node.broker, times(MAX_ATTEMPTS)).send(eq("/topic/1"), any(Message.class));
+    }
+
+    private final class Node {
+        private final SimpMessagingTemplate broker = mock(SimpMessagingTemplate.class);
+        private final OutboxRelay relay;
+
+        private Node(long reorderWindowSeconds) {
+            this(reorderWindowSeconds, 1_000);
+        }
+
+        private Node(long reorderWindowSeconds, long retryDelayMillis) {
+            relay = new OutboxRelay(outboxEventRepository, broker, BATCH_SIZE, 24, reorderWindowSeconds,
+                    retryDelayMillis, MAX_ATTEMPTS);
+        }
+    }
+
+    private void commit(Long id, LocalDateTime createdAt) {
+        OutboxEvent event = mock(OutboxEvent.class);
+        lenient().when(event.getId()).thenReturn(id);
+        lenient().when(event.getDestination()).thenReturn("/topic/" + id);
+        lenient().when(event.getPayload()).thenReturn("{}");
+        lenient().when(event.getCreatedAt()).thenReturn(createdAt);
+        events.add(event);
+        events.sort((a, b) -> Long.compare(a.getId(), b.getId()));
+    }
+}
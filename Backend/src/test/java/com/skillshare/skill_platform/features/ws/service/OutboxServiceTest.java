@@ -0,0 +1,61 @@
+package com.linkedin.backend.features.ws.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.linkedin.backend.features.ws.model.OutboxEvent;
+import com.linkedin.backend.features.ws.repository.OutboxEventRepository;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxServiceTest {
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+    @Mock
+    private PresenceRegistry presenceRegistry;
+
+    private OutboxService outboxService;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxEventRepository, new ObjectMapper(), presenceRegistry);
+    }
+
+    @Test
+    void eventIsStoredAsJson() {
+        outboxService.enqueue("/topic/posts/1/edit", Map.of("id", 1));
+
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        assertThat(event.getValue().getDestination()).isEqualTo("/topic/posts/1/edit");
+        assertThat(event.getValue().getPayload()).isEqualTo("{\"id\":1}");
+    }
+
+    @Test
+    void eventForAnOnlineUserGoesToTheirTopic() {
+        when(presenceRegistry.isOnline(2L)).thenReturn(true);
+
+        outboxService.enqueueToUser(2L, "notifications", Map.of());
+
+        ArgumentCaptor<OutboxEvent> event = ArgumentCaptor.forClass(OutboxEvent.class);
+        verify(outboxEventRepository).save(event.capture());
+        assertThat(event.getValue().getDestination()).isEqualTo("/topic/users/2/notifications");
+    }
+
+    @Test
+    void eventForAnOfflineUserIsDropped() {
+        outboxService.enqueueToUser(2L, "notifications", Map.of());
+
+        verify(outboxEventRepository, never()).save(any());
+    }
+}
@@ -0,0 +1,88 @@
+package com.linkedin.backend.features.ws.service;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.linkedin.backend.features.ws.model.UserPrincipal;
+import java.security.Principal;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.messaging.SessionConnectedEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+@ExtendWith(MockitoExtension.class)
+class PresenceRegistryTest {
+    @Mock
+    private PresenceStore presenceStore;
+
+    private PresenceRegistry presenceRegistry;
+
+    @BeforeEach
+    void setUp() {
+        presenceRegistry = new PresenceRegistry(presenceStore);
+    }
+
+    @Test
+    void sessionIsAttributedToItsAuthenticatedUser() {
+        presenceRegistry.onConnected(connected("s1", new UserPrincipal(7L)));
+
+        verify(presenceStore).sessionOpened(7L);
+    }
+
+    @Test
+    void sessionWithoutAnAuthenticatedUserIsNotTracked() {
+        presenceRegistry.onConnected(connected("s1", null));
+        presenceRegistry.onConnected(connected("s2", () -> "7"));
+
+        verify(presenceStore, never()).sessionOpened(anyLong());
+    }
+
+    @Test
+    void sessionIsOpenedOnceAndClosedOnDisconnect() {
+        presenceRegistry.onConnected(connected("s1", new UserPrincipal(7L)));
+        presenceRegistry.onConnected(connected("s1", new UserPrincipal(7L)));
+        presenceRegistry.onDisconnect(disconnected("s1"));
+        presenceRegistry.onDisconnect(disconnected("s1"));
+
+        verify(presenceStore, times(1)).sessionOpened(7L);
+        verify(presenceStore, times(1)).sessionClosed(7L);
+    }
+
+    @Test
+    void heartbeatRefreshesTheUsersWithOpenSessions() {
+        presenceRegistry.onConnected(connected("s1", new UserPrincipal(7L)));
+        presenceRegistry.onConnected(connected("s2", new UserPrincipal(7L)));
+        presenceRegistry.onConnected(connected("s3", new UserPrincipal(8L)));
+        presenceRegistry.onDisconnect(disconnected("s3"));
+
+        presenceRegistry.heartbeat();
+
+        verify(presenceStore).heartbeat(Set.of(7L));
+        verify(presenceStore).expire();
+    }
+
+    private static SessionConnectedEvent connected(String sessionId, Principal user) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT_ACK);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionConnectedEvent(PresenceRegistryTest.class, message, user);
+    }
+
+    private static SessionDisconnectEvent disconnected(String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.DISCONNECT);
+        accessor.setSessionId(sessionId);
+        Message<byte[]> message = MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+        return new SessionDisconnectEvent(PresenceRegistryTest.class, message, sessionId, CloseStatus.NORMAL);
+    }
+}
@@ -0,0 +1,486 @@
+package com.skillshare.skill_platform.service.Impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mongodb.client.result.UpdateResult;
+import com.skillshare.skill_platform.dto.LearningPlanRQ;
+import com.skillshare.skill_platform.dto.LearningPlanResponse;
+import com.skillshare.skill_platform.dto.PlanProgressResponse;
+import com.skillshare.skill_platform.dto.TopicUpdateResponse;
+import com.skillshare.skill_platform.dto.UserProgressResponse;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.PlanFollow;
+import com.skillshare.skill_platform.entity.Topic;
+import com.skillshare.skill_platform.entity.TopicStatus;
+import com.skillshare.skill_platform.exception.ResourceNotFoundException;
+import com.skillshare.skill_platform.repository.LearningPlanRepository;
+import com.skillshare.skill_platform.repository.PlanFollowRepository;
+import com.skillshare.skill_platform.repository.UserRepository;
+import com.skillshare.skill_platform.service.SimilarPlanIndex;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@ExtendWith(MockitoExtension.class)
+class LearningPlanServiceImplTest {
+
+  @Mock
+  private LearningPlanRepository learningPlanRepository;
+  @Mock
+  private PlanFollowRepository planFollowRepository;
+  @Mock
+  private UserRepository userRepository;
+  @Mock
+  private SimilarPlanIndex similarPlanIndex;
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @InjectMocks
+  private LearningPlanServiceImpl learningPlanService;
+
+  @Test
+  void updateByIdSetsOnlyEditableFields() {
+    LearningPlanRQ rq = new LearningPlanRQ();
+    rq.setTitle("Java");
+    rq.setFollowers(99);
+    rq.setUserId("intruder");
+    LearningPlan updated = plan();
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+        eq(LearningPlan.class))).thenReturn(updated);
+
+    assertThat(learningPlanService.updateById("u1", rq, "p1")).isSameAs(updated);
+
+    Update update = captureFindAndModify().update();
+    assertThat(update.getUpdateObject().get("$set", Document.class).keySet())
+        .containsExactlyInAnyOrder("title", "description", "subject", "topics", "resources", "estimatedDays",
+            "totalTopics", "completedTopics");
+    verify(learningPlanRepository, never()).save(any());
+    verify(similarPlanIndex).planChanged(updated);
+  }
+
+  @Test
+  void createCountsTopics() {
+    LearningPlanRQ rq = new LearningPlanRQ();
+    rq.setTopics(plan(TopicStatus.COMPLETED, TopicStatus.PENDING, TopicStatus.IN_PROGRESS).getTopics());
+    when(learningPlanRepository.save(any(LearningPlan.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+    LearningPlan created = learningPlanService.create(rq, "u1");
+
+    assertThat(created.getTotalTopics()).isEqualTo(3);
+    assertThat(created.getCompletedTopics()).isEqualTo(1);
+    assertThat(created.getCompletionPercentage()).isEqualTo(33);
+  }
+
+  @Test
+  void updateTopicCompletionSetsTopicAndCountInOneUpdate() {
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+        eq(LearningPlan.class))).thenReturn(counts(2, 1));
+
+    TopicUpdateResponse response = learningPlanService.updateTopicCompletion("p1", "t1", true);
+
+    FindAndModify call = captureFindAndModify();
+    assertThat(call.query().getQueryObject().get("_id")).isEqualTo("p1");
+    assertThat(call.query().getQueryObject().get("topics", Document.class).get("$elemMatch"))
+        .isEqualTo(new Document("id", "t1").append("status", new Document("$ne", TopicStatus.COMPLETED)));
+    assertThat(call.update().getUpdateObject().get("$set", Document.class).get("topics.$.status"))
+        .isEqualTo(TopicStatus.COMPLETED);
+    assertThat(call.update().getUpdateObject().get("$inc", Document.class).get("completedTopics")).isEqualTo(1);
+    assertThat(response.getTopicId()).isEqualTo("t1");
+    assertThat(response.getCompleted()).isTrue();
+    assertThat(response.getTotalTopics()).isEqualTo(2);
+    assertThat(response.getCompletedTopics()).isEqualTo(1);
+    assertThat(response.getCompletionPercentage()).isEqualTo(50);
+  }
+
+  @Test
+  void updateTopicCompletionUncountsOnlyCompletedTopics() {
+    when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+        eq(LearningPlan.class))).thenReturn(counts(2, 0));
+
+    learningPlanService.updateTopicCompletion("p1", "t1", false);
+
+    FindAndModify call = captureFindAndModify();
+    assertThat(call.query().getQueryObject().get("topics", Document.class).get("$elemMatch"))
+        .isEqualTo(new Document("id", "t1").append("status", TopicStatus.COMPLETED));
+    assertThat(call.update().getUpdateObject().get("$inc", Document.class).get("completedTopics")).isEqualTo(-1);
+  }
+
+  @Test
+  void updateTopicCompletionInSameStateCountsNothing() {
+    when(mongoTemplate.findOne(any(Query.class), eq(LearningPlan.class))).thenReturn(counts(2, 1));
+
+    TopicUpdateResponse response = learningPlanService.updateTopicCompletion("p1", "t1", true);
+
+    assertThat(response.getCompletedTopics()).isEqualTo(1);
+    verify(mongoTemplate, times(1)).findAndModify(any(Query.class), any(Update.class),
+        any(FindAndModifyOptions.class), eq(LearningPlan.class));
+  }
+
+  @Test
+  void updateTopicCompletionOfMissingTopicFails() {
+    assertThatThrownBy(() -> learningPlanService.updateTopicCompletion("p1", "missing", true))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  @Test
+  void addTopicPushesTopicUnlessItsIdIsTaken() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    Topic topic = new Topic();
+    topic.setTitle("Streams");
+
+    Topic added = learningPlanService.addTopic("p1", topic);
+
+    assertThat(added.getId()).isNotNull();
+    assertThat(added.getStatus()).isEqualTo(TopicStatus.PENDING);
+    UpdateFirst call = captureUpdateFirst(1).get(0);
+    assertThat(call.query().getQueryObject().get("topics.id", Document.class).get("$ne")).isEqualTo(added.getId());
+    assertThat(call.update().getUpdateObject().get("$push", Document.class).get("topics")).isSameAs(added);
+    assertThat(call.update().getUpdateObject().get("$inc", Document.class))
+        .isEqualTo(new Document("totalTopics", 1).append("completedTopics", 0));
+    verify(similarPlanIndex).planChanged("p1");
+  }
+
+  @Test
+  void removeTopicPullsCompletedTopicAndBothCounts() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    learningPlanService.removeTopic("p1", "t1");
+
+    Update update = captureUpdateFirst(1).get(0).update();
+    assertThat(update.getUpdateObject().get("$pull", Document.class).get("topics"))
+        .isEqualTo(new Document("id", "t1"));
+    assertThat(update.getUpdateObject().get("$inc", Document.class))
+        .isEqualTo(new Document("totalTopics", -1).append("completedTopics", -1));
+  }
+
+  @Test
+  void removeTopicPullsOpenTopicAndTotalCount() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(1, 1L, null));
+
+    learningPlanService.removeTopic("p1", "t1");
+
+    UpdateFirst open = captureUpdateFirst(2).get(1);
+    assertThat(open.query().getQueryObject().get("topics", Document.class).get("$elemMatch"))
+        .isEqualTo(new Document("id", "t1").append("status", new Document("$ne", TopicStatus.COMPLETED)));
+    assertThat(open.update().getUpdateObject().get("$pull", Document.class).get("topics"))
+        .isEqualTo(new Document("id", "t1"));
+    assertThat(open.update().getUpdateObject().get("$inc", Document.class))
+        .isEqualTo(new Document("totalTopics", -1));
+  }
+
+  @Test
+  void removeTopicToggledBetweenAttemptsIsRetried() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null), UpdateResult.acknowledged(0, 0L, null),
+            UpdateResult.acknowledged(1, 1L, null));
+    when(mongoTemplate.exists(any(Query.class), eq(LearningPlan.class))).thenReturn(true);
+
+    learningPlanService.removeTopic("p1", "t1");
+
+    Update update = captureUpdateFirst(3).get(2).update();
+    assertThat(update.getUpdateObject().get("$inc", Document.class))
+        .isEqualTo(new Document("totalTopics", -1).append("completedTopics", -1));
+    verify(similarPlanIndex).planChanged("p1");
+  }
+
+  @Test
+  void removeMissingTopicFails() {
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+    when(mongoTemplate.exists(any(Query.class), eq(LearningPlan.class))).thenReturn(false);
+
+    assertThatThrownBy(() -> learningPlanService.removeTopic("p1", "missing"))
+        .isInstanceOf(ResourceNotFoundException.class);
+    verify(similarPlanIndex, never()).planChanged(any(String.class));
+  }
+
+  @Test
+  void reorderTopicsNumbersTopicsThroughArrayFilters() {
+    when(mongoTemplate.findOne(any(Query.class), eq(LearningPlan.class)))
+        .thenReturn(plan(TopicStatus.PENDING, TopicStatus.PENDING));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    assertThat(learningPlanService.reorderTopics("p1", List.of("t2", "t1"))).containsExactly("t2", "t1");
+
+    UpdateFirst positions = captureUpdateFirst(2).get(0);
+    Document set = positions.update().getUpdateObject().get("$set", Document.class);
+    assertThat(set.get("topics.$[t0].position")).isEqualTo(0);
+    assertThat(set.get("topics.$[t1].position")).isEqualTo(1);
+    assertThat(positions.update().getArrayFilters())
+        .extracting(filter -> filter.asDocument())
+        .containsExactly(new Document("t0.id", "t2"), new Document("t1.id", "t1"));
+    assertThat(positions.query().getQueryObject().get("topics", Document.class).get("$size")).isEqualTo(2);
+  }
+
+  @Test
+  void reorderTopicsRejectsIncompleteOrder() {
+    when(mongoTemplate.findOne(any(Query.class), eq(LearningPlan.class)))
+        .thenReturn(plan(TopicStatus.PENDING, TopicStatus.PENDING));
+
+    assertThatThrownBy(() -> learningPlanService.reorderTopics("p1", List.of("t2")))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class));
+  }
+
+  @Test
+  void reorderTopicsReportsConcurrentChanges() {
+    when(mongoTemplate.findOne(any(Query.class), eq(LearningPlan.class)))
+        .thenReturn(plan(TopicStatus.PENDING, TopicStatus.PENDING));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+    assertThatThrownBy(() -> learningPlanService.reorderTopics("p1", List.of("t2", "t1")))
+        .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void followPlanRecordsFollowAndCountsIt() {
+    LearningPlan followed = plan();
+    followed.setFollowers(1);
+    when(learningPlanRepository.existsById("p1")).thenReturn(true);
+    when(learningPlanRepository.findById("p1")).thenReturn(Optional.of(followed));
+
+    LearningPlanResponse response = learningPlanService.followPlan("p1", "u1");
+
+    ArgumentCaptor<PlanFollow> follow = ArgumentCaptor.forClass(PlanFollow.class);
+    verify(planFollowRepository).insert(follow.capture());
+    assertThat(follow.getValue().getUserId()).isEqualTo("u1");
+    assertThat(follow.getValue().getPlanId()).isEqualTo("p1");
+    Update update = captureUpdateFirst(1).get(0).update();
+    assertThat(update.getUpdateObject().get("$inc", Document.class)).isEqualTo(new Document("followers", 1));
+    assertThat(response.getFollowing()).isTrue();
+    assertThat(response.getFollowers()).isEqualTo(1);
+  }
+
+  @Test
+  void followPlanAgainCountsNothing() {
+    when(learningPlanRepository.existsById("p1")).thenReturn(true);
+    when(learningPlanRepository.findById("p1")).thenReturn(Optional.of(plan()));
+    when(planFollowRepository.insert(any(PlanFollow.class))).thenThrow(new DuplicateKeyException("duplicate"));
+
+    LearningPlanResponse response = learningPlanService.followPlan("p1", "u1");
+
+    verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class));
+    assertThat(response.getFollowing()).isTrue();
+  }
+
+  @Test
+  void followMissingPlanFails() {
+    assertThatThrownBy(() -> learningPlanService.followPlan("missing", "u1"))
+        .isInstanceOf(ResourceNotFoundException.class);
+    verify(planFollowRepository, never()).insert(any(PlanFollow.class));
+  }
+
+  @Test
+  void unfollowPlanUncountsDeletedFollow() {
+    when(planFollowRepository.deleteByUserIdAndPlanId("u1", "p1")).thenReturn(1L);
+    when(learningPlanRepository.findById("p1")).thenReturn(Optional.of(plan()));
+
+    LearningPlanResponse response = learningPlanService.unfollowPlan("p1", "u1");
+
+    UpdateFirst call = captureUpdateFirst(1).get(0);
+    assertThat(call.query().getQueryObject().get("followers")).isEqualTo(new Document("$gt", 0));
+    assertThat(call.update().getUpdateObject().get("$inc", Document.class)).isEqualTo(new Document("followers", -1));
+    assertThat(response.getFollowing()).isFalse();
+  }
+
+  @Test
+  void unfollowPlanNotFollowedCountsNothing() {
+    when(learningPlanRepository.findById("p1")).thenReturn(Optional.of(plan()));
+
+    learningPlanService.unfollowPlan("p1", "u1");
+
+    verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class));
+  }
+
+  @Test
+  void getAllMarksOnlyPlansTheViewerFollows() {
+    LearningPlan first = plan();
+    LearningPlan second = plan();
+    second.setId("p2");
+    PlanFollow follow = new PlanFollow();
+    follow.setUserId("viewer");
+    follow.setPlanId("p2");
+    when(learningPlanRepository.findAll()).thenReturn(List.of(first, second));
+    when(planFollowRepository.findByUserIdAndPlanIdIn("viewer", List.of("p1", "p2"))).thenReturn(List.of(follow));
+
+    List<LearningPlanResponse> responses = learningPlanService.getAll("viewer");
+
+    assertThat(responses).extracting(LearningPlanResponse::getFollowing).containsExactly(false, true);
+  }
+
+  @Test
+  void deleteRemovesFollowsOfThePlan() {
+    LearningPlan learningPlan = plan();
+    when(learningPlanRepository.findById("p1")).thenReturn(Optional.of(learningPlan));
+
+    learningPlanService.delete("u1", "p1");
+
+    verify(learningPlanRepository).delete(learningPlan);
+    verify(planFollowRepository).deleteByPlanId("p1");
+  }
+
+  @Test
+  void getPlanProgressReadsCountersOnly() {
+    when(mongoTemplate.findOne(any(Query.class), eq(LearningPlan.class))).thenReturn(counts(4, 3));
+
+    PlanProgressResponse progress = learningPlanService.getPlanProgress("p1");
+
+    assertThat(progress.getCompletionPercentage()).isEqualTo(75);
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).findOne(query.capture(), eq(LearningPlan.class));
+    assertThat(query.getValue().getFieldsObject().keySet()).containsExactlyInAnyOrder("totalTopics", "completedTopics");
+  }
+
+  @Test
+  void getUserProgressSumsPlanCounters() {
+    Document totals = new Document("plans", 3).append("completedPlans", 1)
+        .append("totalTopics", 10).append("completedTopics", 4);
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(LearningPlan.class), eq(Document.class)))
+        .thenReturn(new AggregationResults<>(List.of(totals), new Document()));
+
+    UserProgressResponse progress = learningPlanService.getUserProgress("u1");
+
+    assertThat(progress.getPlans()).isEqualTo(3);
+    assertThat(progress.getCompletedPlans()).isEqualTo(1);
+    assertThat(progress.getTotalTopics()).isEqualTo(10);
+    assertThat(progress.getCompletedTopics()).isEqualTo(4);
+    assertThat(progress.getCompletionPercentage()).isEqualTo(40);
+  }
+
+  @Test
+  void getUserProgressWithoutPlansIsEmpty() {
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(LearningPlan.class), eq(Document.class)))
+        .thenReturn(new AggregationResults<>(List.of(), new Document()));
+
+    UserProgressResponse progress = learningPlanService.getUserProgress("u1");
+
+    assertThat(progress.getPlans()).isZero();
+    assertThat(progress.getCompletionPercentage()).isZero();
+  }
+
+  @Test
+  void backfillCountsPlansStillWithoutCounters() {
+    when(mongoTemplate.find(any(Query.class), eq(LearningPlan.class)))
+        .thenReturn(List.of(plan(TopicStatus.COMPLETED, TopicStatus.PENDING)));
+
+    learningPlanService.backfillTopicCounts();
+
+    UpdateFirst call = captureUpdateFirst(1).get(0);
+    assertThat(call.query().getQueryObject().get("totalTopics")).isEqualTo(new Document("$exists", false));
+    assertThat(call.update().getUpdateObject().get("$set", Document.class))
+        .isEqualTo(new Document("totalTopics", 2).append("completedTopics", 1));
+  }
+
+  @Test
+  void reconcileRaisesFollowersThatLagTheFollowEdges() {
+    when(mongoTemplate.find(any(Query.class), eq(LearningPlan.class)))
+        .thenReturn(List.of(followers("p1", 1), followers("p2", 2), followers("p3", null)));
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(PlanFollow.class), eq(Document.class)))
+        .thenReturn(new AggregationResults<>(List.of(
+            new Document("_id", "p1").append("follows", 3),
+            new Document("_id", "p2").append("follows", 2)), new Document()));
+    when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class)))
+        .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+    learningPlanService.reconcileFollowerCounts();
+
+    List<UpdateFirst> calls = captureUpdateFirst(2);
+    assertThat(calls.get(0).query().getQueryObject())
+        .isEqualTo(new Document("_id", "p1").append("followers", 1));
+    assertThat(calls.get(0).update().getUpdateObject()).isEqualTo(new Document("$set", new Document("followers", 3)));
+    assertThat(calls.get(1).query().getQueryObject())
+        .isEqualTo(new Document("_id", "p3").append("followers", null));
+    assertThat(calls.get(1).update().getUpdateObject()).isEqualTo(new Document("$set", new Document("followers", 0)));
+  }
+
+  @Test
+  void reconcileLeavesFollowersAboveTheFollowEdgesForTheirPendingUnfollow() {
+    when(mongoTemplate.find(any(Query.class), eq(LearningPlan.class))).thenReturn(List.of(followers("p1", 5)));
+    when(mongoTemplate.aggregate(any(Aggregation.class), eq(PlanFollow.class), eq(Document.class)))
+        .thenReturn(new AggregationResults<>(List.of(new Document("_id", "p1").append("follows", 4)), new Document()));
+
+    learningPlanService.reconcileFollowerCounts();
+
+    verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(LearningPlan.class));
+  }
+
+  private FindAndModify captureFindAndModify() {
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+        eq(LearningPlan.class));
+    return new FindAndModify(query.getValue(), update.getValue());
+  }
+
+  private List<UpdateFirst> captureUpdateFirst(int calls) {
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+    verify(mongoTemplate, times(calls)).updateFirst(query.capture(), update.capture(), eq(LearningPlan.class));
+    List<UpdateFirst> captured = new ArrayList<>();
+    for (int i = 0; i < calls; i++) {
+      captured.add(new UpdateFirst(query.getAllValues().get(i), update.getAllValues().get(i)));
+    }
+    return captured;
+  }
+
+  private static LearningPlan plan(TopicStatus... statuses) {
+    LearningPlan learningPlan = new LearningPlan();
+    learningPlan.setId("p1");
+    List<Topic> topics = new ArrayList<>();
+    for (int i = 0; i < statuses.length; i++) {
+      Topic topic = new Topic();
+      topic.setId("t" + (i + 1));
+      topic.setStatus(statuses[i]);
+      topics.add(topic);
+    }
+    learningPlan.setTopics(topics);
+    return learningPlan;
+  }
+
+  private static LearningPlan followers(String id, Integer followers) {
+    LearningPlan learningPlan = new LearningPlan();
+    learningPlan.setId(id);
+    learningPlan.setFollowers(followers);
+    return learningPlan;
+  }
+
+  private static LearningPlan counts(int totalTopics, int completedTopics) {
+    LearningPlan learningPlan = new LearningPlan();
+    learningPlan.setId("p1");
+    learningPlan.setTotalTopics(totalTopics);
+    learningPlan.setCompletedTopics(completedTopics);
+    return learningPlan;
+  }
+
+  private record FindAndModify(Query query, Update update) {
+  }
+
+  private record UpdateFirst(Query query, Update update) {
+  }
+}
@@ -0,0 +1,99 @@
+package com.skillshare.skill_platform.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import com.skillshare.skill_platform.dto.SimilarPlanResponse;
+import com.skillshare.skill_platform.entity.LearningPlan;
+import com.skillshare.skill_platform.entity.Topic;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+@ExtendWith(MockitoExtension.class)
+class SimilarPlanIndexTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  private SimilarPlanIndex similarPlanIndex;
+
+  @BeforeEach
+  void setUp() {
+    when(mongoTemplate.find(any(Query.class), eq(LearningPlan.class))).thenReturn(List.of(
+        plan("1", "Java basics", "Programming", "Classes and objects", "Generics"),
+        plan("2", "Advanced Java", "Programming", "Generics and streams", "Streams"),
+        plan("3", "Watercolor painting", "Art", "Brushes and paper", "Colors"),
+        plan("4", "Java web services", "Programming", "Spring and REST", "Controllers")));
+    similarPlanIndex = new SimilarPlanIndex(mongoTemplate);
+    similarPlanIndex.rebuild();
+  }
+
+  @Test
+  void ranksPlansSharingMoreTermsFirst() {
+    List<SimilarPlanResponse> similar = similarPlanIndex.similarTo("1", 5);
+
+    assertThat(similar).extracting(SimilarPlanResponse::getId).containsExactly("2", "4");
+    assertThat(similar.get(0).getSimilarity()).isGreaterThan(similar.get(1).getSimilarity());
+  }
+
+  @Test
+  void limitsResults() {
+    assertThat(similarPlanIndex.similarTo("1", 1)).extracting(SimilarPlanResponse::getId).containsExactly("2");
+  }
+
+  @Test
+  void indexesChangedPlans() {
+    similarPlanIndex.planChanged(plan("5", "Watercolor landscapes", "Art", "Paper and colors", "Brushes"));
+
+    assertThat(similarPlanIndex.similarTo("3", 5)).extracting(SimilarPlanResponse::getId).containsExactly("5");
+  }
+
+  @Test
+  void replacesEditedPlans() {
+    similarPlanIndex.planChanged(plan("4", "Oil painting", "Art", "Canvas and paper", "Colors"));
+
+    assertThat(similarPlanIndex.similarTo("1", 5)).extracting(SimilarPlanResponse::getId).containsExactly("2");
+    assertThat(similarPlanIndex.similarTo("3", 5)).extracting(SimilarPlanResponse::getId).containsExactly("4");
+  }
+
+  @Test
+  void dropsRemovedPlans() {
+    similarPlanIndex.planRemoved("2");
+
+    assertThat(similarPlanIndex.similarTo("1", 5)).extracting(SimilarPlanResponse::getId).containsExactly("4");
+    assertThat(similarPlanIndex.similarTo("2", 5)).isEmpty();
+  }
+
+  @Test
+  void dropsPlansThatNoLongerExist() {
+    similarPlanIndex.planChanged("2");
+
+    assertThat(similarPlanIndex.similarTo("1", 5)).extracting(SimilarPlanResponse::getId).containsExactly("4");
+  }
+
+  private static LearningPlan plan(String id, String title, String subject, String description,
+      String... topicTitles) {
+    LearningPlan learningPlan = new LearningPlan();
+    learningPlan.setId(id);
+    learningPlan.setTitle(title);
+    learningPlan.setSubject(subject);
+    learningPlan.setDescription(description);
+    List<Topic> topics = new ArrayList<>();
+    for (String topicTitle : topicTitles) {
+      Topic topic = new Topic();
+      topic.setTitle(topicTitle);
+      topics.add(topic);
+    }
+    learningPlan.setTopics(topics);
+    return learningPlan;
+  }
+}
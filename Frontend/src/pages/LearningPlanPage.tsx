@@ -79,7 +79,7 @@ const LearningPlanPage = () => {
     
     try {
       const userId = user?.id || '1'; // Default user ID for testing
-      const updatedPlan = await markTopicAsCompleted(userId, id, topicId, completed);
+      const updatedPlan = await markTopicAsCompleted(userId, id, topicId, completed, plan);
       setPlan(updatedPlan);
     } catch (err) {
       console.error('Error updating topic completion:', err);
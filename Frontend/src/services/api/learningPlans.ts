@@ -76,7 +76,7 @@ const getCurrentUserId = (): string => {
 export const getAllLearningPlans = async (): Promise<LearningPlan[]> => {
   try {
     console.log('Fetching all learning plans');
-    const response = await axios.get('/learning-plans');
+    const response = await axios.get('/learning-plans', { params: { viewerId: getCurrentUserId() } });
     console.log('Successfully fetched all learning plans');
     return response.data as LearningPlan[];
   } catch (error) {
@@ -96,7 +96,7 @@ export const getAllLearningPlans = async (): Promise<LearningPlan[]> => {
 export const getLearningPlanById = async (planId: string): Promise<LearningPlan> => {
   try {
     console.log(`Fetching learning plan with ID ${planId}`);
-    const response = await axios.get(`/learning-plans/${planId}`);
+    const response = await axios.get(`/learning-plans/${planId}`, { params: { viewerId: getCurrentUserId() } });
     console.log(`Successfully fetched learning plan with ID ${planId}`);
     return response.data as LearningPlan;
   } catch (error) {
@@ -118,7 +118,7 @@ export const getLearningPlanById = async (planId: string): Promise<LearningPlan>
 export const getUserLearningPlans = async (userId: string = getCurrentUserId()): Promise<LearningPlan[]> => {
   try {
     console.log(`Fetching learning plans for user ${userId}`);
-    const response = await axios.get(`/learning-plans`, { params: { userId } });
+    const response = await axios.get(`/learning-plans`, { params: { userId, viewerId: getCurrentUserId() } });
     console.log(`Successfully fetched learning plans for user ${userId}`);
     return response.data as LearningPlan[];
   } catch (error) {
@@ -233,7 +233,7 @@ export const deleteLearningPlan = async (userId: string = getCurrentUserId(), pl
 export const followLearningPlan = async (planId: string, userId: string = getCurrentUserId()): Promise<LearningPlan> => {
   try {
     console.log(`Following learning plan with ID ${planId} for user ${userId}`);
-    const response = await axios.post(`/learning-plans/${planId}/follow`, userId);
+    const response = await axios.post(`/learning-plans/${planId}/follow`, { userId });
     console.log(`Successfully followed learning plan with ID ${planId}`);
     return response.data as LearningPlan;
   } catch (error) {
@@ -255,7 +255,7 @@ export const followLearningPlan = async (planId: string, userId: string = getCur
 export const unfollowLearningPlan = async (planId: string, userId: string = getCurrentUserId()): Promise<LearningPlan> => {
   try {
     console.log(`Unfollowing learning plan with ID ${planId} for user ${userId}`);
-    const response = await axios.post(`/learning-plans/${planId}/unfollow`, userId);
+    const response = await axios.post(`/learning-plans/${planId}/unfollow`, { userId });
     console.log(`Successfully unfollowed learning plan with ID ${planId}`);
     return response.data as LearningPlan;
   } catch (error) {
@@ -272,41 +272,31 @@ export const unfollowLearningPlan = async (planId: string, userId: string = getC
 
 /**
  * Mark a topic as completed
- * (Helper method that combines getLearningPlanById and updateLearningPlan)
+ * POST /learning-plans/{learning-plan-id}/topics/{topic-id}/toggle-completion?completed=
+ * Only the topic's state and the plan's progress come back; they are merged into the given plan,
+ * which is fetched first if not passed in.
  */
 export const markTopicAsCompleted = async (
   userId: string = getCurrentUserId(), 
   planId: string, 
   topicId: string, 
-  completed: boolean
+  completed: boolean,
+  currentPlan?: LearningPlan
 ): Promise<LearningPlan> => {
   try {
     console.log(`Marking topic ${topicId} as ${completed ? 'completed' : 'incomplete'}`);
-    // If we're using a real backend, we would update the plan with modified topics
-    const currentPlan = await getLearningPlanById(planId);
-    
-    // Update the specific topic
-    const updatedTopics = currentPlan.topics.map(topic => 
-      topic.id === topicId ? { ...topic, completed } : topic
-    );
-    
-    // Create a LearningPlanRQ object with all necessary fields to prevent data loss
-    const updateRequest = {
-      id: currentPlan.id,
-      title: currentPlan.title,
-      description: currentPlan.description,
-      subject: currentPlan.subject,
-      createdAt: currentPlan.createdAt,
-      topics: updatedTopics,
-      resources: currentPlan.resources,
-      estimatedDays: currentPlan.estimatedDays,
-      followers: currentPlan.followers,
-      userId: currentPlan.userId,
-      following: currentPlan.following
+    const plan = currentPlan ?? await getLearningPlanById(planId);
+    const response = await axios.post(
+      `/learning-plans/${planId}/topics/${topicId}/toggle-completion`, null, { params: { completed } });
+    const progress = response.data as { topicId: string | number; completed: boolean; completionPercentage: number };
+
+    return {
+      ...plan,
+      completionPercentage: progress.completionPercentage,
+      topics: plan.topics.map(topic =>
+        String(topic.id) === String(progress.topicId) ? { ...topic, completed: progress.completed } : topic
+      )
     };
-    
-    // Update the learning plan with the modified topics
-    return updateLearningPlan(userId, planId, updateRequest);
   } catch (error) {
     console.error(`Error marking topic ${topicId} as ${completed ? 'completed' : 'incomplete'}:`, error);
     if (USE_MOCK_DATA_ON_ERROR) {